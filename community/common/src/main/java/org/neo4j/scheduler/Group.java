@@ -66,9 +66,13 @@ public enum Group
     INDEX_SAMPLING( "IndexSampling" ),
     /** Background index update applier, for eventually consistent indexes. */
     INDEX_UPDATING( "IndexUpdating", ExecutorServiceFactory.singleThread() ), // Single-threaded to serialise updates with opening/closing/flushing of indexes.
+    /** Parallel search of the partitions of large full-text indexes. */
+    FULLTEXT_SEARCH( "FulltextSearch", ExecutorServiceFactory.workStealing() ),
     /** Thread pool for anyone who want some help doing file IO in parallel. */
     FILE_IO_HELPER( "FileIOHelper" ),
     LOG_WRITER( "LOG_WRITER" ),
+    /** Reads ahead in the transaction log while recovered transactions are being applied. */
+    RECOVERY( "Recovery" ),
     NATIVE_SECURITY( "NativeSecurity" ),
     METRICS_CSV_WRITE( "MetricsCsvWrite" ),
     METRICS_GRAPHITE_WRITE( "MetricsGraphiteWrite" ),
@@ -92,7 +92,6 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
-import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_flush_buffer_size_in_pages;
 import static org.neo4j.internal.helpers.Numbers.ceilingPowerOfTwo;
 import static org.neo4j.io.memory.ByteBuffers.allocateDirect;
 import static org.neo4j.io.memory.ByteBuffers.releaseBuffer;
@@ -267,10 +266,9 @@ public abstract class PageCacheTest<T extends PageCache> extends PageCacheTestSu
     {
         int pagesToDirty = 10_000;
         PageCache cache = getPageCache( fs, ceilingPowerOfTwo( 2 * pagesToDirty ), PageCacheTracer.NULL );
-        int pagesPerFlush = DISABLED_BUFFER_FACTORY.equals( cache.getBufferFactory() ) ? 1 : pagecache_flush_buffer_size_in_pages.defaultValue();
         AtomicInteger callbackCounter = new AtomicInteger();
         AtomicInteger ioCounter = new AtomicInteger();
-        PageCacheIOController ioController = new PageCacheIOController( ioCounter, pagesPerFlush, callbackCounter );
+        PageCacheIOController ioController = new PageCacheIOController( ioCounter, callbackCounter );
         PagedFile pfA =
                 cache.map( existingFile( "a" ), filePageSize, DEFAULT_DATABASE_NAME, immutable.empty(), ioController );
         PagedFile pfB =
@@ -292,11 +290,9 @@ public abstract class PageCacheTest<T extends PageCache> extends PageCacheTestSu
     {
         int pagesToDirty = 10_000;
         PageCache cache = getPageCache( fs, ceilingPowerOfTwo( pagesToDirty ), PageCacheTracer.NULL );
-        int pagesPerFlush = DISABLED_BUFFER_FACTORY.equals( cache.getBufferFactory() ) ? 1 : pagecache_flush_buffer_size_in_pages.defaultValue();
-
         AtomicInteger callbackCounter = new AtomicInteger();
         AtomicInteger ioCounter = new AtomicInteger();
-        PageCacheIOController ioController = new PageCacheIOController( ioCounter, pagesPerFlush, callbackCounter );
+        PageCacheIOController ioController = new PageCacheIOController( ioCounter, callbackCounter );
 
         PagedFile pf = cache.map( file( "a" ), filePageSize, DEFAULT_DATABASE_NAME, immutable.empty(), ioController );
 
@@ -310,6 +306,27 @@ public abstract class PageCacheTest<T extends PageCache> extends PageCacheTestSu
         assertThat( ioCounter.get() ).isGreaterThanOrEqualTo( pagesToDirty - 30 ); // -30 because of the eviction thread
     }
 
+    @Test
+    void pagedFileFlushAndForceMustReportEveryMergedPageToTheIOPSLimiter() throws Exception
+    {
+        int pagesToDirty = 16;
+        PageCache cache = getPageCache( fs, maxPages, PageCacheTracer.NULL );
+
+        AtomicInteger callbackCounter = new AtomicInteger();
+        AtomicInteger ioCounter = new AtomicInteger();
+        PageCacheIOController ioController = new PageCacheIOController( ioCounter, callbackCounter );
+
+        try ( PagedFile pf = cache.map( file( "a" ), filePageSize, DEFAULT_DATABASE_NAME, immutable.empty(), ioController ) )
+        {
+            dirtyManyPages( pf, pagesToDirty );
+            pf.flushAndForce();
+        }
+
+        // Sequential pages are written together, but every one of them counts towards the limit
+        assertThat( callbackCounter.get() ).isLessThan( pagesToDirty );
+        assertThat( ioCounter.get() ).isEqualTo( pagesToDirty );
+    }
+
     private static void dirtyManyPages( PagedFile pf, int pagesToDirty ) throws IOException
     {
         dirtyManyPages( pf, pagesToDirty, NULL );
@@ -6390,20 +6407,18 @@ public abstract class PageCacheTest<T extends PageCache> extends PageCacheTestSu
     private static class PageCacheIOController extends EmptyIOController
     {
         private final AtomicInteger ioCounter;
-        private final int pagesPerFlush;
         private final AtomicInteger callbackCounter;
 
-        private PageCacheIOController( AtomicInteger ioCounter, int pagesPerFlush, AtomicInteger callbackCounter )
+        private PageCacheIOController( AtomicInteger ioCounter, AtomicInteger callbackCounter )
         {
             this.ioCounter = ioCounter;
-            this.pagesPerFlush = pagesPerFlush;
             this.callbackCounter = callbackCounter;
         }
 
         @Override
         public void maybeLimitIO( int recentlyCompletedIOs, Flushable flushable, MajorFlushEvent flushEvent )
         {
-            ioCounter.addAndGet( recentlyCompletedIOs * pagesPerFlush );
+            ioCounter.addAndGet( recentlyCompletedIOs );
             callbackCounter.getAndIncrement();
         }
     }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.schema.IndexType;
+import org.neo4j.internal.kernel.api.IndexReadSession;
+import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.internal.schema.IndexOrder;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.values.storable.PointValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.constrained;
+import static org.neo4j.values.storable.CoordinateReferenceSystem.Cartesian;
+import static org.neo4j.values.storable.CoordinateReferenceSystem.WGS84;
+import static org.neo4j.values.storable.Values.pointValue;
+
+class NodeIndexNearestNeighbourTest extends KernelAPIWriteTestBase<WriteTestSupport>
+{
+    private static final String LABEL = "Node";
+    private static final String PROPERTY = "prop";
+    private static final String INDEX_NAME = "myIndex";
+
+    @Override
+    public WriteTestSupport newTestSupport()
+    {
+        return new WriteTestSupport();
+    }
+
+    @Test
+    void shouldMergeTxStatePointsIntoIndexResultsInOrderOfDistance() throws Exception
+    {
+        List<Long> expected = new ArrayList<>();
+        long changedNode;
+        try ( KernelTransaction tx = beginTransaction() )
+        {
+            nodeWithPoint( tx, pointValue( Cartesian, 1, 0 ) );
+            nodeWithPoint( tx, pointValue( Cartesian, 3, 0 ) );
+            nodeWithPoint( tx, pointValue( Cartesian, 5, 0 ) );
+            changedNode = nodeWithPoint( tx, pointValue( Cartesian, 7, 0 ) );
+            nodeWithPoint( tx, pointValue( WGS84, 2, 0 ) );
+            tx.commit();
+        }
+
+        createPointIndex();
+
+        try ( KernelTransaction tx = beginTransaction() )
+        {
+            expected.add( nodeWithPoint( tx, pointValue( Cartesian, 0, 0 ) ) );
+            expected.add( nodeWithPoint( tx, pointValue( Cartesian, 4, 0 ) ) );
+            expected.add( nodeWithPoint( tx, pointValue( Cartesian, 0, -6 ) ) );
+            setPoint( tx, changedNode, pointValue( Cartesian, -2, 0 ) );
+
+            int prop = tx.tokenRead().propertyKey( PROPERTY );
+            IndexReadSession index = tx.dataRead().indexReadSession( tx.schemaRead().indexGetForName( INDEX_NAME ) );
+            PropertyIndexQuery.NearestNeighbourPredicate query = PropertyIndexQuery.nearestNeighbours( prop, pointValue( Cartesian, 0, 0 ) );
+            try ( NodeValueIndexCursor cursor = tx.cursors().allocateNodeValueIndexCursor( tx.cursorContext(), tx.memoryTracker() ) )
+            {
+                tx.dataRead().nodeIndexSeek( tx.queryContext(), index, cursor, constrained( IndexOrder.NONE, true ), query );
+
+                List<Double> distances = new ArrayList<>();
+                List<Long> found = new ArrayList<>();
+                while ( cursor.next() )
+                {
+                    distances.add( query.distanceTo( (PointValue) cursor.propertyValue( 0 ) ) );
+                    found.add( cursor.nodeReference() );
+                }
+
+                // 0 from tx state, 1 from the index, 2 changed in tx state, 3 from the index, 4 from tx state, 5 from the index, 6 from tx state
+                assertThat( distances ).containsExactly( 0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0 );
+                assertThat( found ).contains( changedNode ).containsAll( expected );
+            }
+        }
+    }
+
+    private void createPointIndex()
+    {
+        try ( org.neo4j.graphdb.Transaction tx = graphDb.beginTx() )
+        {
+            tx.schema().indexFor( Label.label( LABEL ) ).on( PROPERTY ).withName( INDEX_NAME ).withIndexType( IndexType.POINT ).create();
+            tx.commit();
+        }
+
+        try ( org.neo4j.graphdb.Transaction tx = graphDb.beginTx() )
+        {
+            tx.schema().awaitIndexesOnline( 2, TimeUnit.MINUTES );
+        }
+    }
+
+    private static long nodeWithPoint( KernelTransaction tx, PointValue point ) throws Exception
+    {
+        Write write = tx.dataWrite();
+        long node = write.nodeCreate();
+        write.nodeAddLabel( node, tx.tokenWrite().labelGetOrCreateForName( LABEL ) );
+        setPoint( tx, node, point );
+        return node;
+    }
+
+    private static void setPoint( KernelTransaction tx, long node, PointValue point ) throws Exception
+    {
+        tx.dataWrite().nodeSetProperty( node, tx.tokenWrite().propertyKeyGetOrCreateForName( PROPERTY ), point );
+    }
+}
@@ -27,8 +27,10 @@ import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.parallel.Isolated;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Clock;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -64,11 +66,15 @@ import org.neo4j.test.utils.TestDirectory;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.dynamic_read_only_failover;
 import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderWriter.writeLogHeader;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_FORMAT_LOG_HEADER_SIZE;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_LOG_FORMAT_VERSION;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogFileRecycler.RECYCLED_FILE_SUFFIX;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogFilesHelper.DEFAULT_NAME;
 import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
 @TestDirectoryExtension
@@ -180,6 +186,34 @@ class TransactionLogChannelAllocatorIT
         }
     }
 
+    @Test
+    @EnabledOnOs( OS.LINUX )
+    void rotationReusesExtentsAllocatedForRecycledLogFile() throws IOException
+    {
+        var recycler = new TransactionLogFileRecycler( fileSystem, testDirectory.homePath(), DEFAULT_NAME, 1, NativeAccessProvider.getNativeAccess() );
+        Path prunedFile = fileHelper.getLogFileForVersion( 1 );
+        try ( StoreChannel storeChannel = fileSystem.write( prunedFile ) )
+        {
+            storeChannel.writeAll( ByteBuffer.wrap( new byte[(int) ByteUnit.kibiBytes( 64 )] ) );
+        }
+        assertTrue( recycler.recycle( prunedFile ) );
+        Path pooledFile = testDirectory.homePath().resolve( DEFAULT_NAME + RECYCLED_FILE_SUFFIX + ".0" );
+        Object pooledFileKey = Files.readAttributes( pooledFile, BasicFileAttributes.class ).fileKey();
+
+        var logFileContext = createLogFileContext();
+        var channelAllocator = new TransactionLogChannelAllocator( logFileContext, fileHelper, new LogHeaderCache( 10 ),
+                new LogFileChannelNativeAccessor( fileSystem, logFileContext ), recycler );
+        try ( PhysicalLogVersionedStoreChannel channel = channelAllocator.createLogChannel( 10, () -> 1L ) )
+        {
+            assertEquals( ByteUnit.kibiBytes( 64 ), channel.size() );
+        }
+
+        // The new log file is the preallocated pool file, not a file allocated on rotation
+        Path logFile = fileHelper.getLogFileForVersion( 10 );
+        assertFalse( fileSystem.fileExists( pooledFile ) );
+        assertEquals( pooledFileKey, Files.readAttributes( logFile, BasicFileAttributes.class ).fileKey() );
+    }
+
     @Test
     void openExistingFileDoesNotPerformAnyAllocations() throws IOException
     {
@@ -229,7 +263,7 @@ class TransactionLogChannelAllocatorIT
                 SimpleLogVersionRepository::new, fileSystem, logProvider, DatabaseTracers.EMPTY, () -> StoreId.UNKNOWN,
                 nativeAccess, INSTANCE, new Monitors(), true,
                 new DatabaseHealth( PanicEventGenerator.NO_OP, NullLog.getInstance() ), () -> KernelVersion.LATEST,
-                Clock.systemUTC(), DEFAULT_DATABASE_NAME, config );
+                Clock.systemUTC(), DEFAULT_DATABASE_NAME, config, false );
     }
 
     private static class AdviseCountingChannelNativeAccessor extends ChannelNativeAccessor.EmptyChannelNativeAccessor
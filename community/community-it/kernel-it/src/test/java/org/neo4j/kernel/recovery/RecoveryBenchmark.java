@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.helpers.Args;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.FileUtils;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.layout.Neo4jLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.time.Stopwatch;
+
+import static java.time.Duration.ofDays;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.configuration.GraphDatabaseSettings.check_point_interval_time;
+import static org.neo4j.configuration.GraphDatabaseSettings.check_point_interval_tx;
+import static org.neo4j.io.pagecache.impl.muninn.StandalonePageCacheFactory.createPageCache;
+import static org.neo4j.kernel.database.DatabaseTracers.EMPTY;
+import static org.neo4j.kernel.impl.scheduler.JobSchedulerFactory.createInitialisedScheduler;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+/**
+ * Measures how long recovery takes with different recovery settings, over a synthetic transaction log. Not a test, but a utility to run
+ * manually when working on recovery performance.
+ * <p>
+ * Creates a database with the given number of small transactions, each creating some nodes and relationships between them and existing nodes,
+ * and removes the checkpoint written on shutdown so that all of them need to be recovered. Every run recovers a fresh copy of that database.
+ * <p>
+ * Usage: {@code RecoveryBenchmark --into <dir> [--transactions 100000] [--nodes-per-transaction 10] [--runs 3]
+ * [--variants sequential,read-ahead,batched,pipelined,parallel,parallel-pipelined]}
+ */
+public class RecoveryBenchmark
+{
+    private static final Map<String,Config> VARIANTS = Map.of(
+            "sequential", Config.defaults(),
+            "read-ahead", Config.defaults( GraphDatabaseInternalSettings.recovery_read_ahead_transactions, 1_000 ),
+            "batched", Config.defaults( GraphDatabaseInternalSettings.recovery_apply_batch_size, 100 ),
+            "pipelined", Config.newBuilder()
+                    .set( GraphDatabaseInternalSettings.recovery_read_ahead_transactions, 1_000 )
+                    .set( GraphDatabaseInternalSettings.recovery_apply_batch_size, 100 ).build(),
+            "parallel", Config.defaults( GraphDatabaseInternalSettings.do_parallel_recovery, true ),
+            "parallel-pipelined", Config.newBuilder()
+                    .set( GraphDatabaseInternalSettings.do_parallel_recovery, true )
+                    .set( GraphDatabaseInternalSettings.recovery_read_ahead_transactions, 1_000 )
+                    .set( GraphDatabaseInternalSettings.recovery_apply_batch_size, 10 ).build() );
+
+    private RecoveryBenchmark()
+    {
+    }
+
+    public static void main( String[] arguments ) throws Exception
+    {
+        Args args = Args.parse( arguments );
+        Path dir = Path.of( args.get( "into" ) );
+        int transactions = args.getNumber( "transactions", 100_000 ).intValue();
+        int nodesPerTransaction = args.getNumber( "nodes-per-transaction", 10 ).intValue();
+        int runs = args.getNumber( "runs", 3 ).intValue();
+        String[] variants = args.get( "variants", "sequential,read-ahead,batched,pipelined,parallel,parallel-pipelined" ).split( "," );
+
+        Path pristine = dir.resolve( "pristine" );
+        Path recovering = dir.resolve( "recovering" );
+        FileUtils.deleteDirectory( dir );
+        System.out.println( "Generating " + transactions + " transactions" );
+        createDatabaseRequiringRecovery( pristine, transactions, nodesPerTransaction );
+
+        try ( FileSystemAbstraction fs = new DefaultFileSystemAbstraction();
+              JobScheduler jobScheduler = createInitialisedScheduler();
+              PageCache pageCache = createPageCache( fs, jobScheduler ) )
+        {
+            for ( String variant : variants )
+            {
+                Config config = VARIANTS.get( variant );
+                if ( config == null )
+                {
+                    throw new IllegalArgumentException( "Unknown variant " + variant + ", expected one of " + VARIANTS.keySet() );
+                }
+                for ( int run = 0; run < runs; run++ )
+                {
+                    FileUtils.deleteDirectory( recovering );
+                    FileUtils.copyDirectory( pristine, recovering );
+                    DatabaseLayout layout = databaseLayout( recovering );
+                    Stopwatch stopwatch = Stopwatch.start();
+                    Recovery.performRecovery( fs, pageCache, EMPTY, config, layout, INSTANCE );
+                    System.out.printf( "%s run %d: %d ms%n", variant, run + 1, stopwatch.elapsed( TimeUnit.MILLISECONDS ) );
+                }
+            }
+        }
+        FileUtils.deleteDirectory( recovering );
+    }
+
+    private static void createDatabaseRequiringRecovery( Path homeDirectory, int transactions, int nodesPerTransaction ) throws IOException
+    {
+        DatabaseManagementService managementService = new TestDatabaseManagementServiceBuilder( homeDirectory )
+                .setConfig( check_point_interval_time, ofDays( 1 ) )
+                .setConfig( check_point_interval_tx, Integer.MAX_VALUE )
+                .build();
+        GraphDatabaseService db = managementService.database( DEFAULT_DATABASE_NAME );
+        Label label = Label.label( "Synthetic" );
+        RelationshipType type = RelationshipType.withName( "LINKS" );
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long createdNodes = 0;
+        try
+        {
+            for ( int i = 0; i < transactions; i++ )
+            {
+                try ( Transaction tx = db.beginTx() )
+                {
+                    Node previous = createdNodes > 0 ? tx.getNodeById( random.nextLong( createdNodes ) ) : null;
+                    for ( int j = 0; j < nodesPerTransaction; j++ )
+                    {
+                        Node node = tx.createNode( label );
+                        node.setProperty( "id", createdNodes++ );
+                        node.setProperty( "name", "node-" + createdNodes );
+                        if ( previous != null )
+                        {
+                            previous.createRelationshipTo( node, type );
+                        }
+                        previous = node;
+                    }
+                    tx.commit();
+                }
+            }
+        }
+        finally
+        {
+            managementService.shutdown();
+        }
+        try ( FileSystemAbstraction fs = new DefaultFileSystemAbstraction() )
+        {
+            RecoveryHelpers.removeLastCheckpointRecordFromLastLogFile( databaseLayout( homeDirectory ), fs );
+        }
+    }
+
+    private static DatabaseLayout databaseLayout( Path homeDirectory )
+    {
+        return Neo4jLayout.of( homeDirectory ).databaseLayout( DEFAULT_DATABASE_NAME );
+    }
+}
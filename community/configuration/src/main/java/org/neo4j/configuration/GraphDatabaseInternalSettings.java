@@ -360,6 +360,19 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Integer> index_sampling_parallelism =
             newBuilder( "unsupported.dbms.index_sampling.parallelism", INT, 4 ).addConstraint( min( 0 ) ).build();
 
+    @Internal
+    @Description( "Enable incremental sampling of value indexes. Updates to an index are summarised in memory and merged into its sample " +
+            "when the index needs resampling, instead of scanning the whole index. A full resample is still done when no summary is " +
+            "available, e.g. after a restart, or when too much of the index has been updated since the last full sample." )
+    public static final Setting<Boolean> index_sampling_incremental =
+            newBuilder( "unsupported.dbms.index_sampling.incremental", BOOL, false ).build();
+
+    @Internal
+    @Description( "Percentage of the index size which may be updated and incrementally sampled before the index is fully resampled again. " +
+            "Only used when incremental sampling is enabled." )
+    public static final Setting<Integer> index_sampling_incremental_full_resample_percentage =
+            newBuilder( "unsupported.dbms.index_sampling.incremental.full_resample_percentage", INT, 100 ).addConstraint( min( 1 ) ).build();
+
     @Internal
     @Description( "Set the maximum number of concurrent index populations across system. " +
             "This also limit the number of threads used to scan store. " +
@@ -368,6 +381,12 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Integer> index_population_parallelism =
             newBuilder( "unsupported.dbms.index_population.parallelism", INT, 2 ).addConstraint( min( 0 ) ).build();
 
+    @Internal
+    @Description( "Set the maximum number of indexes that can concurrently be cleaned from crash pointers during recovery. " +
+            "The cleanup of each index is in turn split by page ranges over a pool of workers sized to the number of available processors." )
+    public static final Setting<Integer> index_cleanup_parallelism =
+            newBuilder( "unsupported.dbms.index_cleanup.parallelism", INT, 4 ).addConstraint( min( 1 ) ).build();
+
     @Internal
     @Description( "Set the number of threads used for each index population job. " +
             "Those threads execute individual subtasks provided by index population main threads, see unsupported.dbms.index_population.parallelism." +
@@ -383,11 +402,40 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<String> default_fulltext_provider =
             newBuilder( "unsupported.dbms.index.default_fulltext_provider", STRING, "fulltext-1.0" ).build();
 
+    @Internal
+    @Description( "Maximum time committed changes to a full-text index may remain invisible to readers. When set, index searchers are no longer " +
+            "refreshed by every committing transaction; instead a background job refreshes all changed full-text indexes in batches, often " +
+            "enough to stay within this bound. Zero means searchers are refreshed as part of each commit." )
+    public static final Setting<Duration> fulltext_refresh_max_staleness =
+            newBuilder( "unsupported.dbms.index.fulltext.refresh_max_staleness", DURATION, Duration.ZERO )
+                    .addConstraint( min( Duration.ZERO ) )
+                    .build();
+
+    @Internal
+    @Description( "Full-text indexes with at least this many partitions search their partitions in parallel, on a thread pool shared by all " +
+            "full-text queries and sized by the number of available processors. Zero disables parallel partition search." )
+    public static final Setting<Integer> fulltext_parallel_search_min_partitions =
+            newBuilder( "unsupported.dbms.index.fulltext.parallel_search_min_partitions", INT, 0 )
+                    .addConstraint( min( 0 ) )
+                    .build();
+
+    @Internal
+    @Description( "The index provider used for new text indexes that don't specify one. " +
+            "Either the Lucene based 'text-1.0' or the native, trigram based, 'trigram-1.0'." )
+    public static final Setting<String> default_text_provider =
+            newBuilder( "unsupported.dbms.index.default_text_provider", STRING, "text-1.0" ).build();
+
     @Internal
     @Description( "If 'true', new database will be created without token indexes for labels and relationships." )
     public static final Setting<Boolean> skip_default_indexes_on_creation =
             newBuilder( "unsupported.dbms.index.skip_default_indexes_on_creation", BOOL, false ).build();
 
+    @Internal
+    @Description( "If 'true', the token indexes for labels and relationship types of a new database are created with a compact, adaptive " +
+            "encoding of their entries, which uses less space for both sparse and dense tokens. Existing token indexes are not affected." )
+    public static final Setting<Boolean> token_index_adaptive_encoding =
+            newBuilder( "unsupported.dbms.index.token_index_adaptive_encoding", BOOL, false ).build();
+
     @Internal
     @Description( "If `true`, Neo4j will abort recovery if any errors are encountered in the logical log. Setting " +
             "this to `false` will allow Neo4j to restore as much as possible from the corrupted log files and ignore " +
@@ -395,6 +443,59 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> fail_on_corrupted_log_files =
             newBuilder("unsupported.dbms.tx_log.fail_on_corrupted_log_files", BOOL, true ).build();
 
+    @Internal
+    @Description( "Maximum time, in microseconds, that the thread forcing the transaction log waits for more committing transactions to join " +
+            "its batch before forcing. The actual wait is tuned from the observed force latency and transaction arrival rate, and never exceeds " +
+            "the force latency itself. A value of 0 disables waiting, so that the log is forced as soon as a transaction is appended." )
+    public static final Setting<Long> tx_log_group_commit_max_wait_micros =
+            newBuilder( "unsupported.dbms.tx_log.group_commit.max_wait_micros", LONG, 0L ).addConstraint( min( 0L ) ).build();
+
+    @Internal
+    @Description( "Upper bound on the number of transactions that the thread forcing the transaction log waits for before forcing. " +
+            "Only used when `unsupported.dbms.tx_log.group_commit.max_wait_micros` is greater than 0." )
+    public static final Setting<Integer> tx_log_group_commit_max_batch_size =
+            newBuilder( "unsupported.dbms.tx_log.group_commit.max_batch_size", INT, 64 ).addConstraint( min( 1 ) ).build();
+
+    @Internal
+    @Description( "Write the commands of each transaction to the transaction log as a single compressed block. Transaction logs written with " +
+            "this enabled can not be read by versions that don't support compressed commands." )
+    public static final Setting<Boolean> tx_log_compression =
+            newBuilder( "unsupported.dbms.tx_log.compression.enabled", BOOL, false ).build();
+
+    @Internal
+    @Description( "Smallest size of the commands of a transaction, in serialized form, for them to be compressed when " +
+            "`unsupported.dbms.tx_log.compression.enabled` is true. Smaller transactions rarely compress well enough to be worth it." )
+    public static final Setting<Long> tx_log_compression_min_size =
+            newBuilder( "unsupported.dbms.tx_log.compression.min_size", BYTES, kibiBytes( 1 ) ).addConstraint( min( 0L ) ).build();
+
+    @Internal
+    @Description( "Write node and relationship commands to the transaction log with the after record as only the fields that differ from " +
+            "the before record, instead of the whole record. Transaction logs written with this enabled can not be read by versions that " +
+            "don't support such commands." )
+    public static final Setting<Boolean> tx_log_record_deltas =
+            newBuilder( "unsupported.dbms.tx_log.record_deltas.enabled", BOOL, false ).build();
+
+    @Internal
+    @Description( "Read transaction log files that are no longer written to by mapping them into memory, instead of copying them through a " +
+            "read buffer. Used by recovery, transaction log catch-up and other sequential reads of older transactions. Truncating a " +
+            "mapped file while it is being read will crash the process." )
+    public static final Setting<Boolean> tx_log_mapped_reads =
+            newBuilder( "unsupported.dbms.tx_log.mapped_reads.enabled", BOOL, false ).build();
+
+    @Internal
+    @Description( "Write a sparse index of transaction positions next to each transaction log file when it is rotated, with an entry at least " +
+            "every this many transactions. Looking up an older transaction by id then reads its log file from the closest indexed transaction, " +
+            "instead of from the start of the file. 0 disables the index." )
+    public static final Setting<Integer> tx_log_position_index_interval =
+            newBuilder( "unsupported.dbms.tx_log.position_index.interval", INT, 0 ).addConstraint( min( 0 ) ).build();
+
+    @Internal
+    @Description( "Keep up to this many preallocated files, as large as pruned transaction log files, to reuse as new log files on rotation instead of " +
+            "creating new files. A reused file already has its disk space allocated. Only supported where files can be preallocated natively, " +
+            "0 only deletes pruned log files." )
+    public static final Setting<Integer> tx_log_recycle_pool_size =
+            newBuilder( "unsupported.dbms.tx_log.recycle_pool.size", INT, 0 ).addConstraint( min( 0 ) ).build();
+
     @Internal
     @Description( "Specifies if engine should run cypher query based on a snapshot of accessed data. " +
             "Query will be restarted in case if concurrent modification of data will be detected." )
@@ -593,6 +694,13 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Integer> checkpoint_logical_log_keep_threshold =
             newBuilder( "unsupported.dbms.checkpoint_log.rotation.keep.files", INT, 3 ).addConstraint( range( 2, 100 ) ).build();
 
+    @Internal
+    @Description( "How often the 'continuous' check point policy checks whether transactions have been committed since the last check point, " +
+            "and starts a new check point if so. Every check point flushes and forces all dirty pages of the store files, so a short interval " +
+            "turns into a constant stream of forces under any write load." )
+    public static final Setting<Duration> continuous_check_point_interval =
+            newBuilder( "unsupported.dbms.checkpoint.continuous.interval", DURATION, ofSeconds( 10 ) ).addConstraint( min( ofSeconds( 1 ) ) ).build();
+
     @Internal
     @Description( "Whether or not to dump system and database diagnostics. This takes a non-negligible amount of time to do and therefore " +
             "test databases can disable this to reduce startup times" )
@@ -723,6 +831,26 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
                     .addConstraint( max( (long) Integer.MAX_VALUE ) )
                     .build();
 
+    @Internal
+    @Description( "If 'true', index population feeds the scan updates of every populating index to its own sorting workers through a bounded queue, " +
+            "and lets all indexes merge and build concurrently once the store scan is completed. The number of workers per index scales with " +
+            "the number of available cores and populating indexes." )
+    public static final Setting<Boolean> index_population_pipelined =
+            newBuilder( "unsupported.dbms.index.population_pipelined", BOOL, false ).build();
+
+    @Internal
+    @Description( "Number of scan batches that can be queued for each index in pipelined index population before the store scan is held back, " +
+            "see unsupported.dbms.index.population_pipelined." )
+    public static final Setting<Integer> index_population_pipeline_queue_size =
+            newBuilder( "unsupported.dbms.index.population_pipeline_queue_size", INT, 4 ).addConstraint( min( 1 ) ).build();
+
+    @Internal
+    @Description( "Interval at which populating indexes checkpoint their progress, so that a population interrupted by a restart can continue " +
+            "from its last checkpoint instead of rebuilding the index from scratch. A population is only resumed if no transactions " +
+            "have been committed since its last checkpoint. Only native block based index populators support this. 0 disables checkpointing." )
+    public static final Setting<Duration> index_population_checkpoint_interval =
+            newBuilder( "unsupported.dbms.index.population_checkpoint_interval", DURATION, Duration.ZERO ).build();
+
     @Internal
     @Description( "Timeout for configuration command evaluation, per command." )
     public static final Setting<Duration> config_command_evaluation_timeout =
@@ -737,6 +865,23 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> io_controller_consider_external_io =
             newBuilder( "unsupported.dbms.io.controller.consider.external.enabled", BOOL, false ).dynamic().build();
 
+    @Internal
+    @Description( "Enable the token bucket IO controller in Community Edition, which limits the rate at which background checkpoints flush " +
+            "to the rate configured by `dbms.checkpoint.iops.limit` and `unsupported.dbms.io.controller.bytes_per_second.limit`." )
+    public static final Setting<Boolean> io_controller_enabled =
+            newBuilder( "unsupported.dbms.io.controller.enabled", BOOL, false ).build();
+
+    @Internal
+    @Description( "Limit the number of bytes per second that background checkpoints flush, in addition to the IOPS limit. 0 means no limit." )
+    public static final Setting<Long> io_controller_bytes_per_second_limit =
+            newBuilder( "unsupported.dbms.io.controller.bytes_per_second.limit", BYTES, 0L ).addConstraint( min( 0L ) ).dynamic().build();
+
+    @Internal
+    @Description( "Let the token bucket IO controller save up to one second worth of IO while no flushing is taking place, " +
+            "and spend it at full speed when the next flush starts." )
+    public static final Setting<Boolean> io_controller_burst_when_idle =
+            newBuilder( "unsupported.dbms.io.controller.burst_when_idle.enabled", BOOL, false ).dynamic().build();
+
     @Internal
     @Description( "Whether or not DBMS's byte buffer manager should be used for network stack buffers instead " +
             "of each network library managing its buffers on its own" )
@@ -753,6 +898,18 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> do_parallel_recovery =
             newBuilder( "unsupported.dbms.recovery.enable_parallelism", BOOL, false ).build();
 
+    @Internal
+    @Description( "Number of transactions that recovery reads, verifies and decodes from the transaction log ahead of the one being applied, " +
+            "on a separate thread. 0 reads every transaction on the recovering thread, right before applying it." )
+    public static final Setting<Integer> recovery_read_ahead_transactions =
+            newBuilder( "unsupported.dbms.recovery.read_ahead_transactions", INT, 0 ).addConstraint( min( 0 ) ).build();
+
+    @Internal
+    @Description( "Number of consecutive transactions that recovery applies to the store together, sharing the work done once per applied batch. " +
+            "Transactions in a batch are not visible as recovered until the whole batch has been applied." )
+    public static final Setting<Integer> recovery_apply_batch_size =
+            newBuilder( "unsupported.dbms.recovery.apply_batch_size", INT, 1 ).addConstraint( min( 1 ) ).build();
+
     @Description( "Name of storage engine to use when creating new databases (except system database). If null or empty string then a default will be used." +
             "This setting will not be used for loading existing databases, where instead the appropriate storage engine for the specific database " +
             "will be used" )
@@ -447,10 +447,9 @@ public class GraphDatabaseSettings implements SettingsDeclaration
     @Description( "Configures the general policy for when check-points should occur. The default policy is the " +
             "'periodic' check-point policy, as specified by the 'dbms.checkpoint.interval.tx' and " +
             "'dbms.checkpoint.interval.time' settings. " +
-            "The Neo4j Enterprise Edition provides two alternative policies: " +
-            "The first is the 'continuous' check-point policy, which will ignore those settings and run the " +
-            "check-point process all the time. " +
-            "The second is the 'volumetric' check-point policy, which makes a best-effort at check-pointing " +
+            "The 'continuous' check-point policy will ignore those settings and run the check-point process all the time, " +
+            "starting a new check-point shortly after the previous one whenever transactions have been committed in between. " +
+            "The Neo4j Enterprise Edition also provides the 'volumetric' check-point policy, which makes a best-effort at check-pointing " +
             "often enough so that the database doesn't get too far behind on deleting old transaction logs in " +
             "accordance with the 'dbms.tx_log.rotation.retention_policy' setting." )
     public static final Setting<CheckpointPolicy> check_point_policy =
@@ -490,7 +489,7 @@ public class GraphDatabaseSettings implements SettingsDeclaration
             newBuilder( "dbms.checkpoint.interval.volume", BYTES, mebiBytes( 250 ) ).addConstraint( min( ByteUnit.kibiBytes( 1 ) ) ).build();
 
     @Description( "Limit the number of IOs the background checkpoint process will consume per second. " +
-            "This setting is advisory, is ignored in Neo4j Community Edition, and is followed to " +
+            "This setting is advisory, is by default ignored in Neo4j Community Edition, and is followed to " +
             "best effort in Enterprise Edition. " +
             "An IO is in this case a 8 KiB (mostly sequential) write. Limiting the write IO in " +
             "this way will leave more bandwidth in the IO subsystem to service random-read IOs, " +
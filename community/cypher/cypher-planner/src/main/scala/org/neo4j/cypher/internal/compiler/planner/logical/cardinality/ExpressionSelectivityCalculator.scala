@@ -48,9 +48,11 @@ import org.neo4j.cypher.internal.compiler.planner.logical.plans.PointBoundingBox
 import org.neo4j.cypher.internal.compiler.planner.logical.plans.PointDistanceSeekable
 import org.neo4j.cypher.internal.compiler.planner.logical.plans.PrefixRangeSeekable
 import org.neo4j.cypher.internal.expressions.AssertIsNode
+import org.neo4j.cypher.internal.expressions.AutoExtractedParameter
 import org.neo4j.cypher.internal.expressions.Contains
 import org.neo4j.cypher.internal.expressions.EndsWith
 import org.neo4j.cypher.internal.expressions.Equals
+import org.neo4j.cypher.internal.expressions.ExplicitParameter
 import org.neo4j.cypher.internal.expressions.Expression
 import org.neo4j.cypher.internal.expressions.False
 import org.neo4j.cypher.internal.expressions.GreaterThan
@@ -60,6 +62,7 @@ import org.neo4j.cypher.internal.expressions.LabelName
 import org.neo4j.cypher.internal.expressions.LessThan
 import org.neo4j.cypher.internal.expressions.LessThanOrEqual
 import org.neo4j.cypher.internal.expressions.Not
+import org.neo4j.cypher.internal.expressions.NumberLiteral
 import org.neo4j.cypher.internal.expressions.Ors
 import org.neo4j.cypher.internal.expressions.PartialPredicate
 import org.neo4j.cypher.internal.expressions.Property
@@ -67,20 +70,31 @@ import org.neo4j.cypher.internal.expressions.PropertyKeyName
 import org.neo4j.cypher.internal.expressions.RelTypeName
 import org.neo4j.cypher.internal.expressions.StringLiteral
 import org.neo4j.cypher.internal.expressions.Variable
+import org.neo4j.cypher.internal.logical.plans.Bounds
 import org.neo4j.cypher.internal.logical.plans.PrefixRange
+import org.neo4j.cypher.internal.logical.plans.RangeBetween
+import org.neo4j.cypher.internal.logical.plans.RangeGreaterThan
+import org.neo4j.cypher.internal.logical.plans.RangeLessThan
 import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor.IndexType
+import org.neo4j.cypher.internal.planner.spi.PropertyValueRange
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.LabelId
 import org.neo4j.cypher.internal.util.NameId
 import org.neo4j.cypher.internal.util.PropertyKeyId
 import org.neo4j.cypher.internal.util.RelTypeId
 import org.neo4j.cypher.internal.util.Selectivity
+import org.neo4j.values.storable.NumberValue
+import org.neo4j.values.storable.TextValue
+import org.neo4j.values.virtual.MapValue
 
 import scala.language.postfixOps
 
-case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: SelectivityCombiner, planningTextIndexesEnabled: Boolean) {
+case class ExpressionSelectivityCalculator(stats: GraphStatistics,
+                                           combiner: SelectivityCombiner,
+                                           planningTextIndexesEnabled: Boolean,
+                                           parameterValues: MapValue = MapValue.EMPTY) {
 
   private val indexTypesPriorityForSubstringSargable: Seq[IndexType] = Seq(
     if (planningTextIndexesEnabled) Some(IndexType.Text) else None,
@@ -111,11 +125,12 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
 
     // WHERE x.prop STARTS WITH 'prefix'
     case AsStringRangeSeekable(seekable@PrefixRangeSeekable(PrefixRange(StringLiteral(prefix)), _, _, _)) =>
-      calculateSelectivityForSubstringSargable(seekable.name, labelInfo, relTypeInfo, seekable.propertyKeyName, Some(prefix))
+      calculateSelectivityForSubstringSargable(seekable.name, labelInfo, relTypeInfo, seekable.propertyKeyName, Some(prefix), Some(prefix))
 
     // WHERE x.prop STARTS WITH expression
-    case AsStringRangeSeekable(seekable@PrefixRangeSeekable(_:PrefixRange[_], _, _, _)) =>
-      calculateSelectivityForSubstringSargable(seekable.name, labelInfo, relTypeInfo, seekable.propertyKeyName, None)
+    case AsStringRangeSeekable(seekable@PrefixRangeSeekable(PrefixRange(prefix), _, _, _)) =>
+      val histogramPrefix = planTimeValue(prefix).collect { case string: String => string }
+      calculateSelectivityForSubstringSargable(seekable.name, labelInfo, relTypeInfo, seekable.propertyKeyName, None, histogramPrefix)
 
     // WHERE x.prop CONTAINS 'substring'
     case Contains(Property(Variable(name), propertyKey), StringLiteral(substring)) =>
@@ -325,6 +340,7 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
       }
     }
 
+    val maybeLiteralRange = literalRange(seekable)
     val labels = labelInfo.getOrElse(seekable.ident.name, Set.empty)
     val relTypes = relTypeInfo.get(seekable.ident.name)
     val indexRangeSelectivities: Seq[Selectivity] = (labels ++ relTypes).toIndexedSeq.flatMap { name =>
@@ -344,7 +360,8 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
             propertyExistsSelectivity <- stats.indexPropertyIsNotNullSelectivity(descriptor)
             propEqValueSelectivity <- stats.uniqueValueSelectivity(descriptor)
           } yield {
-            val pRangeBounded: Selectivity = getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity)
+            val pRangeBounded: Selectivity = maybeLiteralRange.flatMap(stats.rangeSelectivity(descriptor, _))
+              .getOrElse(getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity))
             pRangeBounded * propertyExistsSelectivity
           }
 
@@ -355,6 +372,46 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
     combiner.orTogetherSelectivities(indexRangeSelectivities).getOrElse(default)
   }
 
+  /**
+   * The range of the seekable if all its bounds have number or string values at planning time, with at most one bound on each side.
+   * Only such ranges can be estimated from index histograms, others use the default range selectivity.
+   */
+  private def literalRange(seekable: InequalityRangeSeekable): Option[PropertyValueRange] = {
+    def literalBound(bounds: Bounds[Expression]): Option[(AnyRef, Boolean)] =
+      if (bounds.size != 1) None
+      else planTimeValue(bounds.head.endPoint).map(value => (value, bounds.head.isInclusive))
+
+    seekable.range match {
+      case RangeGreaterThan(lower) =>
+        literalBound(lower).map { case (value, inclusive) => PropertyValueRange(Some(value), inclusive, None, upperInclusive = false) }
+      case RangeLessThan(upper) =>
+        literalBound(upper).map { case (value, inclusive) => PropertyValueRange(None, lowerInclusive = false, Some(value), inclusive) }
+      case RangeBetween(RangeGreaterThan(lower), RangeLessThan(upper)) =>
+        for {
+          (lowerValue, lowerInclusive) <- literalBound(lower)
+          (upperValue, upperInclusive) <- literalBound(upper)
+        } yield PropertyValueRange(Some(lowerValue), lowerInclusive, Some(upperValue), upperInclusive)
+    }
+  }
+
+  /**
+   * The number or string value of the expression known at planning time, if any. Literals are usually auto-extracted into
+   * parameters before planning, so the value is taken from the extracted literal, or from the value given for an explicit parameter.
+   */
+  private def planTimeValue(expression: Expression): Option[AnyRef] = expression match {
+    case literal: NumberLiteral => Some(literal.value)
+    case literal: StringLiteral => Some(literal.value)
+    case AutoExtractedParameter(_, _, literal: NumberLiteral, _) => Some(literal.value)
+    case AutoExtractedParameter(_, _, literal: StringLiteral, _) => Some(literal.value)
+    case parameter: ExplicitParameter =>
+      parameterValues.get(parameter.name) match {
+        case number: NumberValue => Some(number.asObject())
+        case text: TextValue => Some(text.stringValue())
+        case _ => None
+      }
+    case _ => None
+  }
+
   private def calculateSelectivityForPointDistanceSeekable(seekable: PointDistanceSeekable,
                                                            labelInfo: LabelInfo,
                                                            relTypeInfo: RelTypeInfo)
@@ -416,7 +473,8 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
                                                        labelInfo: LabelInfo,
                                                        relTypeInfo: RelTypeInfo,
                                                        propertyKey: PropertyKeyName,
-                                                       maybeString: Option[String])
+                                                       maybeString: Option[String],
+                                                       histogramPrefix: Option[String] = None)
                                                       (implicit semanticTable: SemanticTable): Selectivity = {
     val stringLength = getStringLength(maybeString)
 
@@ -434,7 +492,37 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
     val indexSubstringSelectivities = indexPropertyExistsSelectivities.map { case (exists, indexType) =>
       exists * indexSelectivityForSubstringSargable(stringLength, indexType)
     }
-    combiner.orTogetherSelectivities(indexSubstringSelectivities).getOrElse(default)
+
+    // A histogram of a btree index can estimate a prefix much better than the string length can
+    val histogramPrefixSelectivities = histogramPrefix.toIndexedSeq.flatMap { prefix =>
+      indexDescriptorsFor(variable, labelInfo, relTypeInfo, propertyKey, IndexType.Btree).flatMap { descriptor =>
+        for {
+          exists <- stats.indexPropertyIsNotNullSelectivity(descriptor)
+          prefixSelectivity <- stats.prefixSelectivity(descriptor, prefix)
+        } yield exists * prefixSelectivity
+      }
+    }
+
+    combiner.orTogetherSelectivities(histogramPrefixSelectivities)
+      .orElse(combiner.orTogetherSelectivities(indexSubstringSelectivities))
+      .getOrElse(default)
+  }
+
+  private def indexDescriptorsFor(variable: String,
+                                  labelInfo: LabelInfo,
+                                  relTypeInfo: RelTypeInfo,
+                                  propertyKey: PropertyKeyName,
+                                  indexType: IndexType)
+                                 (implicit semanticTable: SemanticTable): Seq[IndexDescriptor] = {
+    val labels = labelInfo.getOrElse(variable, Set.empty)
+    val relTypes = relTypeInfo.get(variable)
+    (labels ++ relTypes).toIndexedSeq.flatMap { name =>
+      (name, semanticTable.id(propertyKey)) match {
+        case (labelName: LabelName, Some(propKeyId)) => semanticTable.id(labelName).map(id => IndexDescriptor.forLabel(indexType, id, Seq(propKeyId)))
+        case (relTypeName: RelTypeName, Some(propKeyId)) => semanticTable.id(relTypeName).map(id => IndexDescriptor.forRelType(indexType, id, Seq(propKeyId)))
+        case _ => None
+      }
+    }
   }
 }
 
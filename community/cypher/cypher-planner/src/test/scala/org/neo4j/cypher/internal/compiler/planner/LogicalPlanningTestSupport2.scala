@@ -87,6 +87,7 @@ import org.neo4j.cypher.internal.planner.spi.PlanContext
 import org.neo4j.cypher.internal.planner.spi.PlanningAttributes
 import org.neo4j.cypher.internal.planner.spi.PlanningAttributes.Cardinalities
 import org.neo4j.cypher.internal.planner.spi.PlanningAttributes.ProvidedOrders
+import org.neo4j.cypher.internal.rewriting.rewriters.LiteralExtractionStrategy
 import org.neo4j.cypher.internal.rewriting.rewriters.Never
 import org.neo4j.cypher.internal.util.AnonymousVariableNameGenerator
 import org.neo4j.cypher.internal.util.CancellationChecker
@@ -98,6 +99,7 @@ import org.neo4j.cypher.internal.util.devNullLogger
 import org.neo4j.cypher.internal.util.helpers.NameDeduplicator.removeGeneratedNamesAndParamsOnTree
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.cypher.internal.util.test_helpers.CypherTestSupport
+import org.neo4j.values.virtual.MapValue
 import org.scalatest.mockito.MockitoSugar
 
 import scala.language.implicitConversions
@@ -342,10 +344,12 @@ trait LogicalPlanningTestSupport2 extends CypherTestSupport with AstConstruction
                           queryGraphSolver: QueryGraphSolver = queryGraphSolver,
                           stripProduceResults: Boolean = true,
                           deduplicateNames: Boolean = deduplicateNames,
-                          debugOptions: CypherDebugOptions = CypherDebugOptions.default
+                          debugOptions: CypherDebugOptions = CypherDebugOptions.default,
+                          literalExtractionStrategy: LiteralExtractionStrategy = Never,
+                          params: MapValue = MapValue.EMPTY
                          ): (Option[PeriodicCommit], LogicalPlan, SemanticTable, PlanningAttributes) = {
       val exceptionFactory = Neo4jCypherExceptionFactory(queryString, Some(pos))
-      val metrics = metricsFactory.newMetrics(planContext, mock[ExpressionEvaluator], config.executionModel, cypherConfig.planningTextIndexesEnabled)
+      val metrics = metricsFactory.newMetrics(planContext, mock[ExpressionEvaluator], config.executionModel, cypherConfig.planningTextIndexesEnabled, params)
       def context = ContextHelper.create(planContext = planContext,
         cypherExceptionFactory = exceptionFactory,
         queryGraphSolver = queryGraphSolver,
@@ -353,11 +357,18 @@ trait LogicalPlanningTestSupport2 extends CypherTestSupport with AstConstruction
         config = cypherConfig,
         logicalPlanIdGen = idGen,
         debugOptions = debugOptions,
+        params = params,
         executionModel = config.executionModel
       )
 
+      val transformer = literalExtractionStrategy match {
+        case Never => pipeLine(deduplicateNames)
+        case strategy =>
+          val parsingConfig = LogicalPlanningTestSupport2.defaultParsingConfig(cypherCompilerConfig).copy(literalExtractionStrategy = strategy)
+          LogicalPlanningTestSupport2.pipeLine(parsingConfig, pushdownPropertyReads, deduplicateNames)
+      }
       val state = createInitState(queryString)
-      val output = pipeLine(deduplicateNames).transform(state, context)
+      val output = transformer.transform(state, context)
       val logicalPlan = output.logicalPlan match {
         case p:ProduceResult if stripProduceResults => p.source
         case p => p
@@ -53,7 +53,7 @@ class CompositeExpressionSelectivityCalculatorWithSingleExpressionsTest extends
 
   private def mockPlanContext(stats: GraphStatistics): PlanContext = new NotImplementedPlanContext {
     val indexMap: Map[Int, IndexDescriptor] = stats match {
-      case mockStats(_, _, _, indexCardinalities, _) => indexCardinalities.keys.map(desc => getNameId(desc) -> desc).toMap
+      case mockStats(_, _, _, indexCardinalities, _, _, _) => indexCardinalities.keys.map(desc => getNameId(desc) -> desc).toMap
       case _ => Map.empty
     }
     override def getNodePropertiesWithExistenceConstraint(labelName: String): Set[String] = Set.empty
@@ -50,6 +50,7 @@ import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics.MIN_NODES_ALL_CARDINALITY
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics.MIN_NODES_WITH_LABEL_CARDINALITY
+import org.neo4j.cypher.internal.planner.spi.PropertyValueRange
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.LabelId
 import org.neo4j.cypher.internal.util.ListSizeBucket
@@ -484,6 +485,53 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
       +- 0.00000001)
   }
 
+  test("half-open (>) range with one label, histogram") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, literalInt(3))
+    )))
+    val range = PropertyValueRange(Some(java.lang.Long.valueOf(3)), lowerInclusive = false, None, upperInclusive = false)
+
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = mockStats(
+      rangeSelectivities = Map((indexPersonBtree, range) -> 0.01)))
+
+    val inequalityResult = calculator(inequality.expr)
+
+    inequalityResult.factor should equal(personPropIsNotNullSel * 0.01 +- 0.00000001)
+  }
+
+  test("closed (>= && <) range with one label, histogram") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThanOrEqual(nProp, literalInt(3)),
+      lessThan(nProp, literalInt(4))
+    )))
+    val range = PropertyValueRange(Some(java.lang.Long.valueOf(3)), lowerInclusive = true, Some(java.lang.Long.valueOf(4)), upperInclusive = false)
+
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = mockStats(
+      rangeSelectivities = Map((indexPersonBtree, range) -> 0.5)))
+
+    val inequalityResult = calculator(inequality.expr)
+
+    inequalityResult.factor should equal(personPropIsNotNullSel * 0.5 +- 0.00000001)
+  }
+
+  test("half-open (>) range with one label, histogram but parameter bound") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, parameter("p", CTInteger))
+    )))
+
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = mockStats(
+      rangeSelectivities = Map((indexPersonBtree, PropertyValueRange(None, lowerInclusive = false, None, upperInclusive = false)) -> 0.01)))
+
+    val inequalityResult = calculator(inequality.expr)
+
+    inequalityResult.factor should equal(
+      personPropIsNotNullSel
+        * (1-indexPersonUniqueSel) // Selectivity for != x
+        * DEFAULT_RANGE_SEEK_FACTOR // Selectivity for range
+        +- 0.00000001
+    )
+  }
+
   // POINT DISTANCE
 
   private val fakePoint = trueLiteral
@@ -950,6 +998,17 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
     }
   }
 
+  test("starts with length 2, one label, histogram") {
+    val stringPredicate = nPredicate(startsWith(nProp, literalString("ab")))
+
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = mockStats(
+      prefixSelectivities = Map((indexPersonBtree, "ab") -> 0.3)))
+
+    val stringPredicateResult = calculator(stringPredicate.expr)
+
+    stringPredicateResult.factor should equal(personPropIsNotNullSel * 0.3 +- 0.00000001)
+  }
+
   // IS NOT NULL
 
   private val nIsNotNull = nPredicate(isNotNull(nProp))
@@ -1433,6 +1492,8 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
    * @param labelOrRelCardinalities  for each label, the number of nodes that have that label
    * @param indexCardinalities       for each index, the number of values in that index
    * @param indexUniqueCardinalities for each index, the number of unique values in that index
+   * @param rangeSelectivities       for each index and range, the fraction of values in that index within the range
+   * @param prefixSelectivities      for each index and prefix, the fraction of values in that index starting with the prefix
    */
   protected case class mockStats(
                                   allNodesCardinality: Double = 10000.0,
@@ -1443,7 +1504,9 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
                                     indexPersonText -> 100.0,
                                     indexFriends -> 200.0,
                                   ),
-                                  indexUniqueCardinalities: Map[IndexDescriptor, Double] = Map(indexPersonBtree -> 180.0, indexFriends -> 180.0)
+                                  indexUniqueCardinalities: Map[IndexDescriptor, Double] = Map(indexPersonBtree -> 180.0, indexFriends -> 180.0),
+                                  rangeSelectivities: Map[(IndexDescriptor, PropertyValueRange), Double] = Map.empty,
+                                  prefixSelectivities: Map[(IndexDescriptor, String), Double] = Map.empty
                                 ) extends GraphStatistics {
 
     // sanity check:
@@ -1485,6 +1548,12 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
         indexUniqueCardinality <- indexUniqueCardinalities.get(index)
       } yield Selectivity(1 / indexUniqueCardinality)
     }
+
+    override def rangeSelectivity(index: IndexDescriptor, range: PropertyValueRange): Option[Selectivity] =
+      rangeSelectivities.get((index, range)).map(Selectivity(_))
+
+    override def prefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] =
+      prefixSelectivities.get((index, prefix)).map(Selectivity(_))
   }
 
   private def nPredicate(expr: Expression) = Predicate(Set("n"), expr)
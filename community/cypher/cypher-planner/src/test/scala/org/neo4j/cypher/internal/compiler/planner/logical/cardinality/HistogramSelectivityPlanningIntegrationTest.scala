@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.planner.logical.cardinality
+
+import org.neo4j.cypher.internal.compiler.planner.LogicalPlanningTestSupport2
+import org.neo4j.cypher.internal.planner.spi.DelegatingGraphStatistics
+import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
+import org.neo4j.cypher.internal.planner.spi.PropertyValueRange
+import org.neo4j.cypher.internal.rewriting.rewriters.IfNoParameter
+import org.neo4j.cypher.internal.util.Selectivity
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.MapValue
+import org.neo4j.values.virtual.VirtualValues
+
+/**
+ * Plans queries through all compilation phases, including literal extraction, to check that histograms of the index are
+ * consulted for the values of auto-extracted literals and given parameters.
+ */
+class HistogramSelectivityPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTestSupport2 {
+
+  // 10000 nodes * 0.2 with label * 0.5 with property
+  private val nodesWithProperty = 1000.0
+
+  private val greaterThan42 = PropertyValueRange(Some(java.lang.Long.valueOf(42)), lowerInclusive = false, None, upperInclusive = false)
+
+  test("should estimate range of auto-extracted literal from histogram") {
+    estimatedRows("MATCH (n:Person) WHERE n.ts > 42 RETURN n") should equal(nodesWithProperty * 0.001 +- 0.0001)
+  }
+
+  test("should estimate range of parameter from histogram using its value at planning time") {
+    val params = VirtualValues.map(Array("x"), Array[AnyValue](Values.longValue(42)))
+
+    estimatedRows("MATCH (n:Person) WHERE n.ts > $x RETURN n", params) should equal(nodesWithProperty * 0.001 +- 0.0001)
+  }
+
+  test("should estimate prefix of auto-extracted literal from histogram") {
+    estimatedRows("MATCH (n:Person) WHERE n.name STARTS WITH 'ab' RETURN n") should equal(nodesWithProperty * 0.3 +- 0.0001)
+  }
+
+  test("should fall back to default range selectivity without parameter value") {
+    estimatedRows("MATCH (n:Person) WHERE n.ts > $x RETURN n") should be > nodesWithProperty * 0.001
+  }
+
+  private def estimatedRows(query: String, params: MapValue = MapValue.EMPTY): Double = {
+    val (_, plan, _, planningAttributes) = new given {
+      indexOn("Person", "ts")
+      indexOn("Person", "name")
+      statistics = new DelegatingGraphStatistics(parent.graphStatistics) {
+        override def rangeSelectivity(index: IndexDescriptor, range: PropertyValueRange): Option[Selectivity] =
+          if (range == greaterThan42) Selectivity.of(0.001) else None
+
+        override def prefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] =
+          if (prefix == "ab") Selectivity.of(0.3) else None
+      }
+    }.getLogicalPlanFor(query, literalExtractionStrategy = IfNoParameter, params = params)
+
+    planningAttributes.cardinalities.get(plan.id).amount
+  }
+}
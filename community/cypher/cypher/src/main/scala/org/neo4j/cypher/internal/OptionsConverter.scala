@@ -47,6 +47,7 @@ import org.neo4j.kernel.impl.index.schema.PointIndexProvider
 import org.neo4j.kernel.impl.index.schema.RangeIndexProvider
 import org.neo4j.kernel.impl.index.schema.TextIndexProviderFactory
 import org.neo4j.kernel.impl.index.schema.TokenIndexProvider
+import org.neo4j.kernel.impl.index.schema.TrigramIndexProvider
 import org.neo4j.kernel.impl.index.schema.fusion.NativeLuceneFusionIndexProviderFactory30
 import org.neo4j.values.AnyValue
 import org.neo4j.values.storable.BooleanValue
@@ -197,7 +198,8 @@ trait IndexOptionsConverter[T] extends OptionsConverter[T] {
            |To create token lookup index, please use 'CREATE LOOKUP INDEX ...'.""".stripMargin)
 
   protected def checkForTextProvider(indexProviderString: String, schemaType: String): Unit =
-    if (indexProviderString.equalsIgnoreCase(TextIndexProviderFactory.DESCRIPTOR.name()))
+    if (indexProviderString.equalsIgnoreCase(TextIndexProviderFactory.DESCRIPTOR.name()) ||
+      indexProviderString.equalsIgnoreCase(TrigramIndexProvider.DESCRIPTOR.name()))
       throw new InvalidArgumentsException(
         s"""Could not create $schemaType with specified index provider '$indexProviderString'.
            |To create text index, please use 'CREATE TEXT INDEX ...'.""".stripMargin)
@@ -520,11 +522,13 @@ case object CreateTextIndexOptionsConverter extends IndexOptionsConverter[Create
       checkForTokenLookupProvider(indexProviderString, schemaType)
       checkForPointProvider(indexProviderString, schemaType)
 
-      if (!indexProviderString.equalsIgnoreCase(TextIndexProviderFactory.DESCRIPTOR.name()))
+      if (indexProviderString.equalsIgnoreCase(TrigramIndexProvider.DESCRIPTOR.name()))
+        TrigramIndexProvider.DESCRIPTOR
+      else if (indexProviderString.equalsIgnoreCase(TextIndexProviderFactory.DESCRIPTOR.name()))
+        TextIndexProviderFactory.DESCRIPTOR
+      else
         throw new InvalidArgumentsException(s"Could not create $schemaType with specified index provider '$indexProviderString'.")
 
-      TextIndexProviderFactory.DESCRIPTOR
-
     case _ =>
       throw new InvalidArgumentsException(s"Could not create $schemaType with specified index provider '$indexProvider'. Expected String value.")
   }
@@ -145,6 +145,13 @@ class ExceptionTranslatingReadQueryContext(val inner: ReadQueryContext) extends
                              values: Seq[PropertyIndexQuery]): NodeValueIndexCursor =
     translateException(tokenNameLookup, inner.nodeIndexSeek(index, needsValues, indexOrder, values))
 
+  override def nodeIndexSeek(index: IndexReadSession,
+                             needsValues: Boolean,
+                             indexOrder: IndexOrder,
+                             values: Seq[PropertyIndexQuery],
+                             limit: Long): NodeValueIndexCursor =
+    translateException(tokenNameLookup, inner.nodeIndexSeek(index, needsValues, indexOrder, values, limit))
+
   override def relationshipIndexSeek(index: IndexReadSession,
                                      needsValues: Boolean,
                                      indexOrder: IndexOrder,
@@ -22,6 +22,7 @@ package org.neo4j.cypher.internal.spi
 import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics
+import org.neo4j.cypher.internal.planner.spi.PropertyValueRange
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.LabelId
 import org.neo4j.cypher.internal.util.RelTypeId
@@ -31,8 +32,10 @@ import org.neo4j.internal.kernel.api.SchemaRead
 import org.neo4j.internal.kernel.api.TokenRead
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException
 import org.neo4j.internal.schema
+import org.neo4j.kernel.api.index.IndexHistogram
 import org.neo4j.kernel.impl.query.TransactionalContext
 import org.neo4j.logging.Log
+import org.neo4j.values.storable.Values
 
 import java.lang.Math.min
 
@@ -108,6 +111,31 @@ object TransactionBoundGraphStatistics {
           None
       }
 
+    override def rangeSelectivity(index: IndexDescriptor, range: PropertyValueRange): Option[Selectivity] =
+      if (range.lower.isEmpty && range.upper.isEmpty)
+        None
+      else
+        histogramSelectivity(index, "rangeSelectivity") { histogram =>
+          histogram.rangeFraction(range.lower.map(Values.of(_)).orNull, range.lowerInclusive, range.upper.map(Values.of(_)).orNull, range.upperInclusive)
+        }
+
+    override def prefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] =
+      histogramSelectivity(index, "prefixSelectivity") { histogram =>
+        histogram.prefixFraction(Values.stringValue(prefix))
+      }
+
+    private def histogramSelectivity(index: IndexDescriptor, description: String)(fraction: IndexHistogram => Double): Option[Selectivity] =
+      try {
+        maybeKernelIndexDescriptor(index)
+          .flatMap(indexDescriptor => Option(schemaRead.indexSample(indexDescriptor).histogram()))
+          .map(histogram => Selectivity(fraction(histogram)))
+      }
+      catch {
+        case e: IndexNotFoundKernelException =>
+          log.debug(s"Index not found for $description", e)
+          None
+      }
+
     override def nodesAllCardinality(): Cardinality =
       Cardinality(read.countsForNodeWithoutTxState(TokenRead.ANY_LABEL))
 
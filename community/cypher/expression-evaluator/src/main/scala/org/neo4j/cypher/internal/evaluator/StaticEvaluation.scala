@@ -285,6 +285,12 @@ object StaticEvaluation {
                                indexOrder: IndexOrder,
                                queries: Seq[PropertyIndexQuery]): NodeValueIndexCursor = notAvailable()
 
+    override def nodeIndexSeek(index: IndexReadSession,
+                               needsValues: Boolean,
+                               indexOrder: IndexOrder,
+                               queries: Seq[PropertyIndexQuery],
+                               limit: Long): NodeValueIndexCursor = notAvailable()
+
     override def nodeIndexSeekByContains(index: IndexReadSession,
                                          needsValues: Boolean,
                                          indexOrder: IndexOrder,
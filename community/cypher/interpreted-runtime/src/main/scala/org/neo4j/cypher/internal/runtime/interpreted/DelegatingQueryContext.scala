@@ -227,6 +227,13 @@ abstract class DelegatingQueryContext(val inner: QueryContext) extends QueryCont
                              queries: Seq[PropertyIndexQuery]): NodeValueIndexCursor =
     manyDbHits(inner.nodeIndexSeek(index, needsValues, indexOrder, queries))
 
+  override def nodeIndexSeek(index: IndexReadSession,
+                             needsValues: Boolean,
+                             indexOrder: IndexOrder,
+                             queries: Seq[PropertyIndexQuery],
+                             limit: Long): NodeValueIndexCursor =
+    manyDbHits(inner.nodeIndexSeek(index, needsValues, indexOrder, queries, limit))
+
   override def nodeIndexScan(index: IndexReadSession,
                              needsValues: Boolean,
                              indexOrder: IndexOrder): NodeValueIndexCursor =
@@ -222,6 +222,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.LetSemiApplyPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.LimitPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.LoadCSVPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.LockingMergePipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.LockingUniqueIndexSeek
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.MergePipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.NodeByIdSeekPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.NodeByLabelScanPipe
@@ -641,7 +642,14 @@ case class InterpretedPipeMapper(readOnly: Boolean,
           InterpretedExecutionContextOrdering.asComparator(stillToSortSuffix.map(translateColumnOrder).toList))(id = id)
 
       case Limit(_, count) =>
-        LimitPipe(source, buildExpression(count))(id = id)
+        val limit = buildExpression(count)
+        source match {
+          // Let the index stop reading after the rows that the limit lets through, e.g. for ORDER BY ... LIMIT on an index-backed order
+          case seek: NodeIndexSeekPipe if seek.indexMode != LockingUniqueIndexSeek && seek.limit.isEmpty =>
+            LimitPipe(seek.copy(limit = Some(limit))(id = seek.id), limit)(id = id)
+          case _ =>
+            LimitPipe(source, limit)(id = id)
+        }
 
       case ExhaustiveLimit(_, count) =>
         ExhaustiveLimitPipe(source, buildExpression(count))(id = id)
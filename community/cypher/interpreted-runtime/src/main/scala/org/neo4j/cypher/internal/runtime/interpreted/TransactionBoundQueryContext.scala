@@ -557,7 +557,21 @@ private[internal] class TransactionBoundReadQueryContext(val transactionalContex
   override def nodeIndexSeek(index: IndexReadSession,
                              needsValues: Boolean,
                              indexOrder: IndexOrder,
-                             predicates: Seq[PropertyIndexQuery]): NodeValueIndexCursor = {
+                             predicates: Seq[PropertyIndexQuery]): NodeValueIndexCursor =
+    nodeIndexSeekOrEmpty(index, needsValues, indexOrder, predicates, None)
+
+  override def nodeIndexSeek(index: IndexReadSession,
+                             needsValues: Boolean,
+                             indexOrder: IndexOrder,
+                             predicates: Seq[PropertyIndexQuery],
+                             limit: Long): NodeValueIndexCursor =
+    nodeIndexSeekOrEmpty(index, needsValues, indexOrder, predicates, Some(limit))
+
+  private def nodeIndexSeekOrEmpty(index: IndexReadSession,
+                                   needsValues: Boolean,
+                                   indexOrder: IndexOrder,
+                                   predicates: Seq[PropertyIndexQuery],
+                                   limit: Option[Long]): NodeValueIndexCursor = {
     val impossiblePredicate =
       predicates.exists {
         case p: PropertyIndexQuery.ExactPredicate => (p.value() eq Values.NO_VALUE) || (p.value().isInstanceOf[FloatingPointValue] && p.value().asInstanceOf[FloatingPointValue].isNaN)
@@ -570,7 +584,7 @@ private[internal] class TransactionBoundReadQueryContext(val transactionalContex
     if (impossiblePredicate) {
       NodeValueIndexCursor.EMPTY
     } else {
-      innerNodeIndexSeek(index, needsValues, indexOrder, predicates: _*)
+      innerNodeIndexSeek(index, needsValues, indexOrder, limit, predicates: _*)
     }
   }
 
@@ -648,6 +662,7 @@ private[internal] class TransactionBoundReadQueryContext(val transactionalContex
   private def innerNodeIndexSeek(index: IndexReadSession,
                                  needsValues: Boolean,
                                  indexOrder: IndexOrder,
+                                 limit: Option[Long],
                                  queries: PropertyIndexQuery*): NodeValueIndexCursor = {
 
     val nodeCursor: NodeValueIndexCursor = allocateAndTraceNodeValueIndexCursor()
@@ -660,8 +675,9 @@ private[internal] class TransactionBoundReadQueryContext(val transactionalContex
         null
       }
     val needsValuesFromIndexSeek = actualValues == null && needsValues
+    val constraints = IndexQueryConstraints.constrained(asKernelIndexOrder(indexOrder), needsValuesFromIndexSeek)
     reads().nodeIndexSeek(transactionalContext.kernelQueryContext, index, nodeCursor,
-      IndexQueryConstraints.constrained(asKernelIndexOrder(indexOrder), needsValuesFromIndexSeek), queries: _*)
+      limit.fold(constraints)(l => constraints.limit(l)), queries: _*)
     if (needsValues && actualValues != null) {
       new ValuedNodeIndexCursor(nodeCursor, actualValues)
     } else {
@@ -704,14 +720,14 @@ private[internal] class TransactionBoundReadQueryContext(val transactionalContex
                                        needsValues: Boolean,
                                        indexOrder: IndexOrder,
                                        value: TextValue): NodeValueIndexCursor =
-    innerNodeIndexSeek(index, needsValues, indexOrder,
+    innerNodeIndexSeek(index, needsValues, indexOrder, None,
       PropertyIndexQuery.stringContains(index.reference().schema().getPropertyIds()(0), value))
 
   override def nodeIndexSeekByEndsWith(index: IndexReadSession,
                                        needsValues: Boolean,
                                        indexOrder: IndexOrder,
                                        value: TextValue): NodeValueIndexCursor =
-    innerNodeIndexSeek(index, needsValues, indexOrder, PropertyIndexQuery.stringSuffix(index.reference().schema().getPropertyIds()(0), value))
+    innerNodeIndexSeek(index, needsValues, indexOrder, None, PropertyIndexQuery.stringSuffix(index.reference().schema().getPropertyIds()(0), value))
 
   override def nodeLockingUniqueIndexSeek(index: IndexDescriptor,
                                           queries: Seq[PropertyIndexQuery.ExactPredicate]): NodeValueIndexCursor = {
@@ -76,19 +76,24 @@ trait EntityIndexSeeker {
   def propertyIds: Array[Int]
 
   // index seek
+  /**
+   * @param limit the number of nodes after which the caller stops reading from the returned cursor, if any. Each seek of the index
+   *              is limited to as many nodes, since every one of them might be among the first nodes of the combined cursor.
+   */
   protected def indexSeek[RESULT <: AnyRef](state: QueryState,
                                             index: IndexReadSession,
                                             needsValues: Boolean,
                                             indexOrder: IndexOrder,
-                                            baseContext: CypherRow): NodeValueIndexCursor =
+                                            baseContext: CypherRow,
+                                            limit: Option[Long] = None): NodeValueIndexCursor =
     indexMode match {
       case _: ExactSeek |
            _: SeekByRange =>
         val indexQueries: Seq[Seq[PropertyIndexQuery]] = computeIndexQueries(state, baseContext)
         if (indexQueries.size == 1) {
-          state.query.nodeIndexSeek(index, needsValues, indexOrder, indexQueries.head)
+          nodeIndexSeek(state, index, needsValues, indexOrder, indexQueries.head, limit)
         } else {
-          orderedCursor(indexOrder, indexQueries.map(query => state.query.nodeIndexSeek(index, needsValues = needsValues || indexOrder != IndexOrderNone, indexOrder, query)).toArray)
+          orderedCursor(indexOrder, indexQueries.map(query => nodeIndexSeek(state, index, needsValues = needsValues || indexOrder != IndexOrderNone, indexOrder, query, limit)).toArray)
         }
 
       case LockingUniqueIndexSeek =>
@@ -115,6 +120,16 @@ trait EntityIndexSeeker {
 
   // helpers
 
+  private def nodeIndexSeek(state: QueryState,
+                            index: IndexReadSession,
+                            needsValues: Boolean,
+                            indexOrder: IndexOrder,
+                            query: Seq[PropertyIndexQuery],
+                            limit: Option[Long]): NodeValueIndexCursor = limit match {
+    case Some(count) => state.query.nodeIndexSeek(index, needsValues, indexOrder, query, count)
+    case None => state.query.nodeIndexSeek(index, needsValues, indexOrder, query)
+  }
+
   private def orderedCursor(indexOrder: IndexOrder, cursors: Array[NodeValueIndexCursor]) = indexOrder match {
     case IndexOrderNone => CompositeValueIndexCursor.unordered(cursors)
     case IndexOrderAscending => CompositeValueIndexCursor.ascending(cursors)
@@ -35,7 +35,8 @@ case class NodeIndexSeekPipe(ident: String,
                              queryIndexId: Int,
                              valueExpr: QueryExpression[Expression],
                              indexMode: IndexSeekMode = IndexSeek,
-                             indexOrder: IndexOrder)
+                             indexOrder: IndexOrder,
+                             limit: Option[Expression] = None)
                             (val id: Id = Id.INVALID_ID) extends Pipe with EntityIndexSeeker with IndexPipeWithValues {
 
   override val propertyIds: Array[Int] = properties.map(_.propertyKeyToken.nameId.id)
@@ -48,7 +49,8 @@ case class NodeIndexSeekPipe(ident: String,
   protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] = {
     val index = state.queryIndexes(queryIndexId)
     val baseContext = state.newRowWithArgument(rowFactory)
-    new NodeIndexIterator(state, state.query, baseContext, indexSeek(state, index, needsValues, indexOrder, baseContext))
+    val maxRows = limit.map(SkipPipe.evaluateStaticSkipOrLimitNumberOrThrow(_, state, "LIMIT"))
+    new NodeIndexIterator(state, state.query, baseContext, indexSeek(state, index, needsValues, indexOrder, baseContext, maxRows))
   }
 
   def canEqual(other: Any): Boolean = other.isInstanceOf[NodeIndexSeekPipe]
@@ -60,12 +62,13 @@ case class NodeIndexSeekPipe(ident: String,
         label == that.label &&
         (properties sameElements that.properties) &&
         valueExpr == that.valueExpr &&
-        indexMode == that.indexMode
+        indexMode == that.indexMode &&
+        limit == that.limit
     case _ => false
   }
 
   override def hashCode(): Int = {
-    val state = Seq(ident, label, properties.toSeq, valueExpr, indexMode)
+    val state = Seq(ident, label, properties.toSeq, valueExpr, indexMode, limit)
     state.map(_.hashCode()).foldLeft(0)((a, b) => 31 * a + b)
   }
 }
@@ -19,7 +19,10 @@
  */
 package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
+import org.mockito.ArgumentMatchers
 import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.anyLong
+import org.mockito.Mockito.verify
 import org.mockito.Mockito.when
 import org.mockito.invocation.InvocationOnMock
 import org.neo4j.cypher.internal.expressions.LabelToken
@@ -89,4 +92,24 @@ class NodeIndexSeekPipeTest extends CypherFunSuite {
     result.close()
     monitor.closedResources.collect { case `cursor` => cursor } should have size(1)
   }
+
+  test("should pass limit to index seek") {
+    val state = QueryStateHelper.emptyWithResourceManager(new ResourceManager(QueryStateHelper.trackClosedMonitor))
+
+    when(state.query.nodeIndexSeek(any[IndexReadSession], any[Boolean], any[IndexOrder], any[Seq[PropertyIndexQuery]], anyLong()))
+      .thenReturn(new StubNodeValueIndexCursor().withNode(0))
+
+    val pipe = NodeIndexSeekPipe(
+      "n",
+      LabelToken("Awesome", LabelId(0)),
+      Array(IndexedProperty(PropertyKeyToken("prop", PropertyKeyId(0)), DoNotGetValue, NODE_TYPE)),
+      0,
+      SingleQueryExpression(LiteralHelper.literal(42)),
+      IndexSeek,
+      IndexOrderNone,
+      Some(LiteralHelper.literal(3)))()
+    pipe.createResults(state).toList should have size(1)
+
+    verify(state.query).nodeIndexSeek(any[IndexReadSession], any[Boolean], any[IndexOrder], any[Seq[PropertyIndexQuery]], ArgumentMatchers.eq(3L))
+  }
 }
@@ -64,8 +64,30 @@ trait GraphStatistics {
    * indexPropertyExistsSelectivity(:X, prop) = s => |MATCH (a:X)| * s = |MATCH (a:X) WHERE x.prop IS NOT NULL|
    */
   def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity]
+
+  /**
+   * Probability of any node or relationship in the index to have a property value within the given range,
+   * estimated from a histogram of the indexed values. None if the index has no histogram.
+   *
+   * rangeSelectivity(:X, prop, range) = s => |MATCH (a:X) WHERE has(x.prop)| * s = |MATCH (a:X) WHERE x.prop IN range|
+   */
+  def rangeSelectivity(index: IndexDescriptor, range: PropertyValueRange): Option[Selectivity] = None
+
+  /**
+   * Probability of any node or relationship in the index to have a string property value starting with the given prefix,
+   * estimated from a histogram of the indexed values. None if the index has no histogram.
+   *
+   * prefixSelectivity(:X, prop, prefix) = s => |MATCH (a:X) WHERE has(x.prop)| * s = |MATCH (a:X) WHERE x.prop STARTS WITH prefix|
+   */
+  def prefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] = None
 }
 
+/**
+ * A range of literal property values, where a missing bound means the range is unbounded on that side.
+ * Values are java representations of literals, like java.lang.Long, java.lang.Double or String.
+ */
+case class PropertyValueRange(lower: Option[AnyRef], lowerInclusive: Boolean, upper: Option[AnyRef], upperInclusive: Boolean)
+
 class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatistics {
   override def nodesWithLabelCardinality(labelId: Option[LabelId]): Cardinality =
     delegate.nodesWithLabelCardinality(labelId)
@@ -79,5 +101,11 @@ class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatisti
   override def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity] =
     delegate.indexPropertyIsNotNullSelectivity(index)
 
+  override def rangeSelectivity(index: IndexDescriptor, range: PropertyValueRange): Option[Selectivity] =
+    delegate.rangeSelectivity(index, range)
+
+  override def prefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] =
+    delegate.prefixSelectivity(index, prefix)
+
   override def nodesAllCardinality(): Cardinality = delegate.nodesAllCardinality()
 }
@@ -34,6 +34,8 @@ case object NodesAllCardinality extends StatisticsKey
 case class CardinalityByLabelsAndRelationshipType(lhs: Option[LabelId], relType: Option[RelTypeId], rhs: Option[LabelId]) extends StatisticsKey
 case class IndexSelectivity(index: IndexDescriptor) extends StatisticsKey
 case class IndexPropertyExistsSelectivity(index: IndexDescriptor) extends StatisticsKey
+case class IndexRangeSelectivity(index: IndexDescriptor, range: PropertyValueRange) extends StatisticsKey
+case class IndexPrefixSelectivity(index: IndexDescriptor, prefix: String) extends StatisticsKey
 
 class MutableGraphStatisticsSnapshot(val map: mutable.Map[StatisticsKey, Double] = mutable.Map.empty) {
   def freeze: GraphStatisticsSnapshot = GraphStatisticsSnapshot(map.toMap)
@@ -57,6 +59,10 @@ case class GraphStatisticsSnapshot(statsValues: Map[StatisticsKey, Double] = Map
         instrumented.uniqueValueSelectivity(index)
       case IndexPropertyExistsSelectivity(index) =>
         instrumented.indexPropertyIsNotNullSelectivity(index)
+      case IndexRangeSelectivity(index, range) =>
+        instrumented.rangeSelectivity(index, range)
+      case IndexPrefixSelectivity(index, prefix) =>
+        instrumented.prefixSelectivity(index, prefix)
     }
     snapshot.freeze
   }
@@ -99,5 +105,17 @@ case class InstrumentedGraphStatistics(inner: GraphStatistics, snapshot: Mutable
     selectivity
   }
 
+  override def rangeSelectivity(index: IndexDescriptor, range: PropertyValueRange): Option[Selectivity] = {
+    val selectivity = inner.rangeSelectivity(index, range)
+    snapshot.map.getOrElseUpdate(IndexRangeSelectivity(index, range), selectivity.fold(0.0)(_.factor))
+    selectivity
+  }
+
+  override def prefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] = {
+    val selectivity = inner.prefixSelectivity(index, prefix)
+    snapshot.map.getOrElseUpdate(IndexPrefixSelectivity(index, prefix), selectivity.fold(0.0)(_.factor))
+    selectivity
+  }
+
   override def nodesAllCardinality(): Cardinality = snapshot.map.getOrElseUpdate(NodesAllCardinality, inner.nodesAllCardinality().amount)
 }
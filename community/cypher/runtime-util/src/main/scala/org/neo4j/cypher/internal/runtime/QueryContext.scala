@@ -138,6 +138,15 @@ trait ReadQueryContext extends ReadTokenContext with DbAccess with AutoCloseable
                     indexOrder: IndexOrder,
                     queries: Seq[PropertyIndexQuery]): NodeValueIndexCursor
 
+  /**
+   * Seeks the index like [[nodeIndexSeek]] when only the first `limit` nodes of the seek will be used, so that the index can stop reading early.
+   */
+  def nodeIndexSeek(index: IndexReadSession,
+                    needsValues: Boolean,
+                    indexOrder: IndexOrder,
+                    queries: Seq[PropertyIndexQuery],
+                    limit: Long): NodeValueIndexCursor
+
   def nodeIndexSeekByContains(index: IndexReadSession,
                               needsValues: Boolean,
                               indexOrder: IndexOrder,
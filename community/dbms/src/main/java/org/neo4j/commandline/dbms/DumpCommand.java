@@ -42,6 +42,7 @@ import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.layout.DatabaseLayout;
 import org.neo4j.io.layout.Neo4jLayout;
 import org.neo4j.kernel.impl.storemigration.StoreUpgrader;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogFiles;
 import org.neo4j.kernel.impl.util.Validators;
 import org.neo4j.kernel.internal.locker.FileLockException;
 import org.neo4j.memory.EmptyMemoryTracker;
@@ -152,7 +153,8 @@ public class DumpCommand extends AbstractCommand
             var lockFile = databaseLayout.databaseLockFile().getFileName().toString();
             var quarantineMarkerFile = databaseLayout.quarantineMarkerFile().getFileName().toString();
             var out = openDumpStream( databaseName, to );
-            dumper.dump( databasePath, databaseLayout.getTransactionLogsDirectory(), out, format, path -> oneOf( path, lockFile, quarantineMarkerFile ) );
+            dumper.dump( databasePath, databaseLayout.getTransactionLogsDirectory(), out, format,
+                    path -> oneOf( path, lockFile, quarantineMarkerFile ) || TransactionLogFiles.isAuxiliaryLogFile( path ) );
         }
         catch ( FileAlreadyExistsException e )
         {
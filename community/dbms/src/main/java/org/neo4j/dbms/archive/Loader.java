@@ -172,8 +172,8 @@ public class Loader
         Path entryName = Path.of( entry.getName() ).getFileName();
         try
         {
-            return TransactionLogFiles.DEFAULT_FILENAME_FILTER.accept( entryName ) ? transactionLogsDirectory
-                                                                                         : databaseDestination;
+            return TransactionLogFiles.DEFAULT_FILENAME_FILTER.accept( entryName ) || TransactionLogFiles.isAuxiliaryLogFile( entryName )
+                   ? transactionLogsDirectory : databaseDestination;
         }
         catch ( IOException e )
         {
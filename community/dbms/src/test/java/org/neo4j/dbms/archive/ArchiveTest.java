@@ -205,6 +205,34 @@ class ArchiveTest
         assertEquals( describeRecursively( expectedTxLogs ), describeRecursively( newDatabaseLayout.getTransactionLogsDirectory() ) );
     }
 
+    @ParameterizedTest
+    @EnumSource( StandardCompressionFormat.class )
+    void loadAuxiliaryTransactionLogFilesIntoTransactionLogsDirectory( StandardCompressionFormat compressionFormat ) throws IOException, IncorrectFormat
+    {
+        Path txLogsRoot = testDirectory.directory( "txLogsRoot" );
+        DatabaseLayout testDatabaseLayout = layoutWithCustomTxRoot( txLogsRoot,"testDatabase" );
+        Files.createDirectories( testDatabaseLayout.databaseDirectory() );
+        Path txLogsDirectory = testDatabaseLayout.getTransactionLogsDirectory();
+        Files.createDirectories( txLogsDirectory );
+        Files.write( txLogsDirectory.resolve( TransactionLogFilesHelper.DEFAULT_NAME + "_index.0" ), new byte[0] );
+        Files.write( txLogsDirectory.resolve( TransactionLogFilesHelper.DEFAULT_NAME + "_recycled.0" ), new byte[0] );
+
+        Path archive = testDirectory.file( "the-archive.dump" );
+        Dumper dumper = new Dumper();
+        dumper.dump( testDatabaseLayout.databaseDirectory(), txLogsDirectory, dumper.openForDump( archive ), compressionFormat, alwaysFalse() );
+
+        Path newTxLogsRoot = testDirectory.directory( "newTxLogsRoot" );
+        DatabaseLayout newDatabaseLayout = layoutWithCustomTxRoot( newTxLogsRoot,"the-new-database" );
+
+        new Loader().load( newDatabaseLayout, () -> Files.newInputStream( archive ) );
+
+        Path expectedTxLogs = testDirectory.directory( "expectedTxLogs" );
+        Files.write( expectedTxLogs.resolve( TransactionLogFilesHelper.DEFAULT_NAME + "_index.0" ), new byte[0] );
+        Files.write( expectedTxLogs.resolve( TransactionLogFilesHelper.DEFAULT_NAME + "_recycled.0" ), new byte[0] );
+
+        assertEquals( describeRecursively( expectedTxLogs ), describeRecursively( newDatabaseLayout.getTransactionLogsDirectory() ) );
+    }
+
     private DatabaseLayout layoutWithCustomTxRoot( Path txLogsRoot, String databaseName )
     {
         Config config = Config.newBuilder()
@@ -46,14 +46,19 @@ public class FulltextIndexAccessor extends AbstractLuceneIndexAccessor<FulltextI
 {
 
     private final IndexUpdateSink indexUpdateSink;
+    private final FulltextIndexRefresher indexRefresher;
     private final IndexDescriptor index;
     private final String[] propertyNames;
 
-    FulltextIndexAccessor( IndexUpdateSink indexUpdateSink, DatabaseIndex<FulltextIndexReader> luceneIndex, IndexDescriptor index,
-                           String[] propertyNames, IndexUpdateIgnoreStrategy ignoreStrategy )
+    /**
+     * @param indexRefresher refresher that batches searcher refreshes of committed changes, or {@code null} to refresh as part of each commit.
+     */
+    FulltextIndexAccessor( IndexUpdateSink indexUpdateSink, FulltextIndexRefresher indexRefresher, DatabaseIndex<FulltextIndexReader> luceneIndex,
+                           IndexDescriptor index, String[] propertyNames, IndexUpdateIgnoreStrategy ignoreStrategy )
     {
         super( luceneIndex, index, ignoreStrategy );
         this.indexUpdateSink = indexUpdateSink;
+        this.indexRefresher = indexRefresher;
         this.index = index;
         this.propertyNames = propertyNames;
     }
@@ -69,6 +74,16 @@ public class FulltextIndexAccessor extends AbstractLuceneIndexAccessor<FulltextI
         return indexUpdater;
     }
 
+    @Override
+    public void drop()
+    {
+        if ( indexRefresher != null )
+        {
+            indexRefresher.forget( luceneIndex );
+        }
+        super.drop();
+    }
+
     @Override
     public void close()
     {
@@ -76,6 +91,10 @@ public class FulltextIndexAccessor extends AbstractLuceneIndexAccessor<FulltextI
         {
             indexUpdateSink.awaitUpdateApplication();
         }
+        if ( indexRefresher != null )
+        {
+            indexRefresher.forget( luceneIndex );
+        }
         super.close();
     }
 
@@ -110,6 +129,19 @@ public class FulltextIndexAccessor extends AbstractLuceneIndexAccessor<FulltextI
             super( idempotent, refresh );
         }
 
+        @Override
+        protected void refreshIndex() throws IOException
+        {
+            if ( indexRefresher != null )
+            {
+                indexRefresher.markChanged( luceneIndex );
+            }
+            else
+            {
+                super.refreshIndex();
+            }
+        }
+
         @Override
         protected void addIdempotent( long entityId, Value[] values )
         {
@@ -22,6 +22,7 @@ package org.neo4j.kernel.api.impl.fulltext;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.index.IndexWriterConfig;
 
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import org.neo4j.configuration.Config;
@@ -41,6 +42,8 @@ public class FulltextIndexBuilder extends AbstractLuceneIndexBuilder<FulltextInd
     private final String[] propertyNames;
     private boolean populating;
     private IndexUpdateSink indexUpdateSink = NullIndexUpdateSink.INSTANCE;
+    private Executor searchExecutor;
+    private int parallelSearchMinPartitions;
     private final Config config;
 
     private FulltextIndexBuilder( IndexDescriptor descriptor, Config config, DatabaseReadOnlyChecker readOnlyChecker, TokenHolder propertyKeyTokenHolder,
@@ -86,6 +89,20 @@ public class FulltextIndexBuilder extends AbstractLuceneIndexBuilder<FulltextInd
         return this;
     }
 
+    /**
+     * Search the partitions of the index in parallel, when there are at least the given number of them.
+     *
+     * @param searchExecutor executor to search partitions on, or {@code null} to always search them sequentially.
+     * @param minPartitions the smallest number of partitions to search in parallel.
+     * @return this index builder.
+     */
+    FulltextIndexBuilder withParallelSearch( Executor searchExecutor, int minPartitions )
+    {
+        this.searchExecutor = searchExecutor;
+        this.parallelSearchMinPartitions = minPartitions;
+        return this;
+    }
+
     /**
      * Build lucene schema index with specified configuration
      *
@@ -103,8 +120,8 @@ public class FulltextIndexBuilder extends AbstractLuceneIndexBuilder<FulltextInd
             writerConfigFactory = () -> IndexWriterConfigs.standard( config, analyzer );
         }
         WritableIndexPartitionFactory partitionFactory = new WritableIndexPartitionFactory( writerConfigFactory );
-        LuceneFulltextIndex fulltextIndex =
-                new LuceneFulltextIndex( storageBuilder.build(), partitionFactory, descriptor, propertyKeyTokenHolder, config, analyzer, propertyNames );
+        LuceneFulltextIndex fulltextIndex = new LuceneFulltextIndex( storageBuilder.build(), partitionFactory, descriptor, propertyKeyTokenHolder, config,
+                analyzer, propertyNames, searchExecutor, parallelSearchMinPartitions );
         return new WritableFulltextIndex( indexUpdateSink, fulltextIndex, readOnlyChecker );
     }
 }
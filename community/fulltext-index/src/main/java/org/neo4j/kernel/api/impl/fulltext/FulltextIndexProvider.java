@@ -23,13 +23,16 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.lucene.analysis.Analyzer;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.FulltextSettings;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
 import org.neo4j.graphdb.schema.AnalyzerProvider;
 import org.neo4j.internal.helpers.Exceptions;
@@ -64,11 +67,13 @@ import org.neo4j.kernel.impl.api.index.IndexSamplingConfig;
 import org.neo4j.kernel.impl.index.schema.IndexUpdateIgnoreStrategy;
 import org.neo4j.logging.Log;
 import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.service.Services;
 import org.neo4j.storageengine.api.StorageEngineFactory;
 import org.neo4j.storageengine.migration.SchemaIndexMigrator;
 import org.neo4j.storageengine.migration.StoreMigrationParticipant;
+import org.neo4j.time.Clocks;
 import org.neo4j.token.TokenHolders;
 import org.neo4j.token.api.NamedToken;
 import org.neo4j.token.api.TokenHolder;
@@ -108,10 +113,21 @@ public class FulltextIndexProvider extends IndexProvider
     private final Log log;
     private final IndexUpdateSink indexUpdateSink;
     private final IndexStorageFactory indexStorageFactory;
+    private final FulltextIndexRefresher indexRefresher;
+    private final Executor searchExecutor;
+    private final int parallelSearchMinPartitions;
 
     public FulltextIndexProvider( IndexProviderDescriptor descriptor, IndexDirectoryStructure.Factory directoryStructureFactory,
             FileSystemAbstraction fileSystem, Config config, TokenHolders tokenHolders, DirectoryFactory directoryFactory,
             DatabaseReadOnlyChecker readOnlyChecker, JobScheduler scheduler, Log log )
+    {
+        this( descriptor, directoryStructureFactory, fileSystem, config, tokenHolders, directoryFactory, readOnlyChecker, scheduler, log,
+                FulltextIndexRefresher.Monitor.EMPTY );
+    }
+
+    public FulltextIndexProvider( IndexProviderDescriptor descriptor, IndexDirectoryStructure.Factory directoryStructureFactory,
+            FileSystemAbstraction fileSystem, Config config, TokenHolders tokenHolders, DirectoryFactory directoryFactory,
+            DatabaseReadOnlyChecker readOnlyChecker, JobScheduler scheduler, Log log, FulltextIndexRefresher.Monitor refreshMonitor )
     {
         super( descriptor, directoryStructureFactory );
         this.fileSystem = fileSystem;
@@ -124,6 +140,10 @@ public class FulltextIndexProvider extends IndexProvider
         defaultEventuallyConsistentSetting = config.get( FulltextSettings.eventually_consistent );
         indexUpdateSink = new IndexUpdateSink( scheduler, config.get( FulltextSettings.eventually_consistent_index_update_queue_max_length ) );
         indexStorageFactory = buildIndexStorageFactory( fileSystem, directoryFactory, directoryStructure() );
+        Duration maxStaleness = config.get( GraphDatabaseInternalSettings.fulltext_refresh_max_staleness );
+        parallelSearchMinPartitions = config.get( GraphDatabaseInternalSettings.fulltext_parallel_search_min_partitions );
+        searchExecutor = parallelSearchMinPartitions > 0 ? scheduler.executor( Group.FULLTEXT_SEARCH ) : null;
+        indexRefresher = maxStaleness.isZero() ? null : new FulltextIndexRefresher( scheduler, Clocks.nanoClock(), maxStaleness, refreshMonitor, log );
     }
 
     private static IndexStorageFactory buildIndexStorageFactory( FileSystemAbstraction fileSystem, DirectoryFactory directoryFactory,
@@ -150,6 +170,24 @@ public class FulltextIndexProvider extends IndexProvider
         return indexStorageFactory.indexStorageOf( indexId );
     }
 
+    @Override
+    public void start() throws Exception
+    {
+        if ( indexRefresher != null )
+        {
+            indexRefresher.start();
+        }
+    }
+
+    @Override
+    public void stop() throws Exception
+    {
+        if ( indexRefresher != null )
+        {
+            indexRefresher.stop();
+        }
+    }
+
     @Override
     public void shutdown() throws Exception
     {
@@ -279,7 +317,8 @@ public class FulltextIndexProvider extends IndexProvider
                 .create( index, config, readOnlyChecker, tokenHolders.propertyKeyTokens(), analyzer, propertyNames )
                 .withFileSystem( fileSystem )
                 .withIndexStorage( indexStorage )
-                .withPopulatingMode( false );
+                .withPopulatingMode( false )
+                .withParallelSearch( searchExecutor, parallelSearchMinPartitions );
         if ( isEventuallyConsistent( index ) )
         {
             fulltextIndexBuilder = fulltextIndexBuilder.withIndexUpdateSink( indexUpdateSink );
@@ -287,7 +326,8 @@ public class FulltextIndexProvider extends IndexProvider
         DatabaseIndex<FulltextIndexReader> fulltextIndex = fulltextIndexBuilder.build();
         fulltextIndex.open();
 
-        FulltextIndexAccessor accessor = new FulltextIndexAccessor( indexUpdateSink, fulltextIndex, index, propertyNames, UPDATE_IGNORE_STRATEGY );
+        FulltextIndexAccessor accessor = new FulltextIndexAccessor( indexUpdateSink, indexRefresher, fulltextIndex, index, propertyNames,
+                UPDATE_IGNORE_STRATEGY );
         log.debug( "Created online accessor for fulltext schema index %s: %s", index, accessor );
         return accessor;
     }
@@ -377,6 +417,10 @@ public class FulltextIndexProvider extends IndexProvider
     public void awaitRefresh()
     {
         indexUpdateSink.awaitUpdateApplication();
+        if ( indexRefresher != null )
+        {
+            indexRefresher.refreshChangedIndexes();
+        }
     }
 
     public Stream<AnalyzerProvider> listAvailableAnalyzers()
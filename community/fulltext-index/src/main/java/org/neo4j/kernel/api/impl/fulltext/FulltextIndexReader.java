@@ -38,6 +38,10 @@ import org.apache.lucene.search.WildcardQuery;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.LongPredicate;
 
 import org.neo4j.common.EntityType;
@@ -79,9 +83,13 @@ public class FulltextIndexReader implements ValueIndexReader
     private final Analyzer analyzer;
     private final String[] propertyNames;
     private final FulltextIndexTransactionState transactionState;
+    private final Executor searchExecutor;
 
+    /**
+     * @param searchExecutor executor used to search the partitions in parallel, or {@code null} to search them sequentially in the calling thread.
+     */
     FulltextIndexReader( List<SearcherReference> searchers, TokenHolder propertyKeyTokenHolder, IndexDescriptor descriptor, Config config,
-            Analyzer analyzer, String[] propertyNames )
+            Analyzer analyzer, String[] propertyNames, Executor searchExecutor )
     {
         this.searchers = searchers;
         this.propertyKeyTokenHolder = propertyKeyTokenHolder;
@@ -89,6 +97,7 @@ public class FulltextIndexReader implements ValueIndexReader
         this.analyzer = analyzer;
         this.propertyNames = propertyNames;
         this.transactionState = new FulltextIndexTransactionState( descriptor, config, analyzer, propertyNames );
+        this.searchExecutor = searchExecutor;
     }
 
     @Override
@@ -253,11 +262,23 @@ public class FulltextIndexReader implements ValueIndexReader
             // The StatsCollector aggregates index statistics across all our partitions.
             // Weights created based on these statistics will produce scores that are comparable across partitions.
             StatsCollector statsCollector = new StatsCollector( searches );
-            List<ValuesIterator> results = new ArrayList<>( searches.size() );
-
-            for ( PreparedSearch search : searches )
+            List<ValuesIterator> results;
+            if ( searchExecutor != null && searches.size() > 1 )
             {
-                results.add( search.search( query, constraints, statsCollector ) );
+                List<PreparedSearch.Execution> executions = new ArrayList<>( searches.size() );
+                for ( PreparedSearch search : searches )
+                {
+                    executions.add( search.prepare( query, constraints, statsCollector ) );
+                }
+                results = searchInParallel( executions );
+            }
+            else
+            {
+                results = new ArrayList<>( searches.size() );
+                for ( PreparedSearch search : searches )
+                {
+                    results.add( search.search( query, constraints, statsCollector ) );
+                }
             }
 
             return ScoreEntityIterator.mergeIterators( results );
@@ -268,6 +289,61 @@ public class FulltextIndexReader implements ValueIndexReader
         }
     }
 
+    /**
+     * Execute all but the last of the given searches on the search executor, and the last one in the calling thread. The collected results are
+     * ordered by score per search, and then merged by {@link ScoreEntityIterator#mergeIterators(List)} as usual.
+     */
+    private List<ValuesIterator> searchInParallel( List<PreparedSearch.Execution> executions ) throws IOException
+    {
+        int last = executions.size() - 1;
+        List<FutureTask<ValuesIterator>> tasks = new ArrayList<>( last );
+        for ( int i = 0; i < last; i++ )
+        {
+            FutureTask<ValuesIterator> task = new FutureTask<>( executions.get( i )::execute );
+            tasks.add( task );
+            try
+            {
+                searchExecutor.execute( task );
+            }
+            catch ( RejectedExecutionException e )
+            {
+                task.run();
+            }
+        }
+        ValuesIterator lastResult = executions.get( last ).execute();
+
+        List<ValuesIterator> results = new ArrayList<>( executions.size() );
+        for ( FutureTask<ValuesIterator> task : tasks )
+        {
+            try
+            {
+                results.add( task.get() );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                tasks.forEach( t -> t.cancel( false ) );
+                throw new RuntimeException( "Interrupted while searching fulltext index partitions.", e );
+            }
+            catch ( ExecutionException e )
+            {
+                tasks.forEach( t -> t.cancel( false ) );
+                Throwable cause = e.getCause();
+                if ( cause instanceof IOException )
+                {
+                    throw (IOException) cause;
+                }
+                if ( cause instanceof RuntimeException )
+                {
+                    throw (RuntimeException) cause;
+                }
+                throw new RuntimeException( cause );
+            }
+        }
+        results.add( lastResult );
+        return results;
+    }
+
     private String getPropertyKeyName( int propertyKey ) throws TokenNotFoundException
     {
         return propertyKeyTokenHolder.getTokenById( propertyKey ).name();
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.kernel.api.impl.index.DatabaseIndex;
+import org.neo4j.logging.Log;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * Refreshes the searchers of changed full-text indexes in batches, instead of once per committing transaction.
+ * <p>
+ * Committing updaters only {@link #markChanged(DatabaseIndex) mark} their index as changed. A recurring job then refreshes every changed index,
+ * so that all changes committed since the previous refresh become visible at once. The job runs at half of the configured maximum staleness,
+ * which keeps the time from commit to visibility within that bound as long as a refresh takes less time than the remaining half.
+ */
+public class FulltextIndexRefresher
+{
+    private final Map<DatabaseIndex<?>,Long> changedSince = new ConcurrentHashMap<>();
+    private final JobScheduler scheduler;
+    private final SystemNanoClock clock;
+    private final long refreshIntervalMillis;
+    private final Monitor monitor;
+    private final Log log;
+    private JobHandle<?> refreshJob;
+
+    FulltextIndexRefresher( JobScheduler scheduler, SystemNanoClock clock, Duration maxStaleness, Monitor monitor, Log log )
+    {
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.refreshIntervalMillis = Math.max( 1, maxStaleness.toMillis() / 2 );
+        this.monitor = monitor;
+        this.log = log;
+    }
+
+    void start()
+    {
+        refreshJob = scheduler.scheduleRecurring( Group.INDEX_UPDATING, JobMonitoringParams.systemJob( "Refresh of full-text index searchers" ),
+                this::refreshChangedIndexes, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS );
+    }
+
+    void stop()
+    {
+        if ( refreshJob != null )
+        {
+            refreshJob.cancel();
+            refreshJob = null;
+        }
+        refreshChangedIndexes();
+    }
+
+    /**
+     * Note that the given index has committed changes that are not yet visible to readers.
+     */
+    void markChanged( DatabaseIndex<?> index )
+    {
+        changedSince.putIfAbsent( index, clock.nanos() );
+    }
+
+    /**
+     * Stop tracking the given index, typically because it is about to be closed. Changes not yet refreshed are not made visible.
+     */
+    synchronized void forget( DatabaseIndex<?> index )
+    {
+        changedSince.remove( index );
+    }
+
+    /**
+     * Refresh the searchers of all indexes that have changed since they were last refreshed.
+     */
+    synchronized void refreshChangedIndexes()
+    {
+        for ( DatabaseIndex<?> index : changedSince.keySet() )
+        {
+            // Remove before refreshing, so that changes marked while refreshing are picked up by the next round.
+            Long since = changedSince.remove( index );
+            if ( since == null )
+            {
+                continue;
+            }
+            try
+            {
+                index.maybeRefreshBlocking();
+                monitor.refreshed( index.getDescriptor().getName(), TimeUnit.NANOSECONDS.toMillis( clock.nanos() - since ) );
+            }
+            catch ( IOException | RuntimeException e )
+            {
+                log.warn( "Failed to refresh full-text index " + index.getDescriptor().getName(), e );
+            }
+        }
+    }
+
+    public interface Monitor
+    {
+        Monitor EMPTY = ( indexName, lagMillis ) ->
+        {
+        };
+
+        /**
+         * Called after the searchers of an index have been refreshed.
+         *
+         * @param indexName name of the refreshed index.
+         * @param lagMillis time between the oldest change made visible by this refresh being committed, and it becoming visible.
+         */
+        void refreshed( String indexName, long lagMillis );
+    }
+}
@@ -51,7 +51,8 @@ import org.neo4j.storageengine.api.txstate.ReadableTransactionState;
  * index, where the transaction state is indexed.
  * <p>
  * The transaction state is indexed prior to querying whenever we detect that the
- * {@link ReadableTransactionState#getDataRevision()}  transaction data revision} has changed.
+ * {@link ReadableTransactionState#getDataRevision()}  transaction data revision} has changed. The in-memory index is kept for the life of the
+ * transaction, and each such update only re-indexes the entities whose indexed values have changed since the previous update.
  * <p>
  * The actual transaction state indexing is done by the {@link FulltextIndexTransactionStateVisitor}, which for the most part only looks at the ids, and then
  * loads the modified entities up through the existing transaction state, via the kernel API.
@@ -69,10 +70,10 @@ class FulltextIndexTransactionState implements Closeable
     FulltextIndexTransactionState( IndexDescriptor descriptor, Config config, Analyzer analyzer, String[] propertyNames )
     {
         toCloseLater = new ArrayList<>();
-        writer = new TransactionStateLuceneIndexWriter( config, analyzer );
+        writer = new TransactionStateLuceneIndexWriter( config, analyzer, propertyNames );
         modifiedEntityIdsInThisTransaction = new LongHashSet();
         visitingNodes = descriptor.schema().entityType() == EntityType.NODE;
-        txStateVisitor = new FulltextIndexTransactionStateVisitor( descriptor, propertyNames, modifiedEntityIdsInThisTransaction, writer );
+        txStateVisitor = new FulltextIndexTransactionStateVisitor( descriptor, modifiedEntityIdsInThisTransaction, writer );
     }
 
     SearcherReference maybeUpdate( QueryContext context, CursorContext cursorContext, MemoryTracker memoryTracker )
@@ -97,7 +98,7 @@ class FulltextIndexTransactionState implements Closeable
         CursorFactory cursors = context.cursors();
         ReadableTransactionState state = context.getTransactionStateOrNull();
         modifiedEntityIdsInThisTransaction.clear(); // Clear this, so we don't filter out entities who have had their changes reversed since last time.
-        writer.resetWriterState();
+        writer.beginUpdate();
 
         try ( NodeCursor nodeCursor = visitingNodes ? cursors.allocateFullAccessNodeCursor( cursorContext ) : null;
               RelationshipScanCursor relationshipCursor = visitingNodes ? null : cursors.allocateRelationshipScanCursor( cursorContext );
@@ -105,8 +106,13 @@ class FulltextIndexTransactionState implements Closeable
         {
             state.accept( txStateVisitor.init( read, nodeCursor, relationshipCursor, propertyCursor ) );
         }
-        currentSearcher = writer.getNearRealTimeSearcher();
-        toCloseLater.add( currentSearcher );
+        writer.finishUpdate();
+        SearcherReference newSearcher = writer.refreshSearcher();
+        if ( newSearcher != null )
+        {
+            currentSearcher = newSearcher;
+            toCloseLater.add( currentSearcher );
+        }
         lastUpdateRevision = state.getDataRevision();
     }
 
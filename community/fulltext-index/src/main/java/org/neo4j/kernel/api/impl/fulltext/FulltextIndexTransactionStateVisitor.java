@@ -43,15 +43,12 @@ import org.neo4j.storageengine.api.txstate.RelationshipModifications;
 import org.neo4j.storageengine.api.txstate.TxStateVisitor;
 import org.neo4j.values.storable.Value;
 
-import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.documentRepresentingProperties;
-
 /**
  * A {@link TxStateVisitor} that adds all entities to a {@link TransactionStateLuceneIndexWriter}, that matches the index according to the
  * {@link FulltextSchemaDescriptor}.
  */
 class FulltextIndexTransactionStateVisitor extends TxStateVisitor.Adapter
 {
-    private final String[] propertyNames;
     private final SchemaDescriptor schema;
     private final boolean visitingNodes;
     private final int[] entityTokenIds;
@@ -65,10 +62,9 @@ class FulltextIndexTransactionStateVisitor extends TxStateVisitor.Adapter
     private PropertyCursor propertyCursor;
     private RelationshipScanCursor relationshipCursor;
 
-    FulltextIndexTransactionStateVisitor( IndexDescriptor descriptor, String[] propertyNames, MutableLongSet modifiedEntityIdsInThisTransaction,
+    FulltextIndexTransactionStateVisitor( IndexDescriptor descriptor, MutableLongSet modifiedEntityIdsInThisTransaction,
             TransactionStateLuceneIndexWriter writer )
     {
-        this.propertyNames = propertyNames;
         this.schema = descriptor.schema();
         this.modifiedEntityIdsInThisTransaction = modifiedEntityIdsInThisTransaction;
         this.writer = writer;
@@ -187,7 +183,7 @@ class FulltextIndexTransactionStateVisitor extends TxStateVisitor.Adapter
         {
             try
             {
-                writer.nullableAddDocument( documentRepresentingProperties( id, propertyNames, propertyValues ) );
+                writer.indexEntity( id, propertyValues );
             }
             catch ( IOException e )
             {
@@ -25,6 +25,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.internal.schema.IndexDescriptor;
@@ -43,9 +44,12 @@ public class LuceneFulltextIndex extends AbstractLuceneIndex<FulltextIndexReader
     private final String[] propertyNames;
     private final Path transactionsFolder;
     private final IndexDescriptor descriptor;
+    private final Executor searchExecutor;
+    private final int parallelSearchMinPartitions;
 
     LuceneFulltextIndex( PartitionedIndexStorage storage, IndexPartitionFactory partitionFactory, IndexDescriptor descriptor,
-            TokenHolder propertyKeyTokenHolder, Config config, Analyzer analyzer, String[] propertyNames )
+            TokenHolder propertyKeyTokenHolder, Config config, Analyzer analyzer, String[] propertyNames, Executor searchExecutor,
+            int parallelSearchMinPartitions )
     {
         super( storage, partitionFactory, descriptor );
         this.descriptor = descriptor;
@@ -53,6 +57,8 @@ public class LuceneFulltextIndex extends AbstractLuceneIndex<FulltextIndexReader
         this.analyzer = analyzer;
         this.propertyNames = propertyNames;
         this.propertyKeyTokenHolder = propertyKeyTokenHolder;
+        this.searchExecutor = searchExecutor;
+        this.parallelSearchMinPartitions = parallelSearchMinPartitions;
         Path indexFolder = storage.getIndexFolder();
         transactionsFolder = indexFolder.resolve( indexFolder.getFileName() + ".tx" );
     }
@@ -87,6 +93,8 @@ public class LuceneFulltextIndex extends AbstractLuceneIndex<FulltextIndexReader
     protected FulltextIndexReader createPartitionedReader( List<AbstractIndexPartition> partitions ) throws IOException
     {
         List<SearcherReference> searchers = acquireSearchers( partitions );
-        return new FulltextIndexReader( searchers, propertyKeyTokenHolder, getDescriptor(), config, analyzer, propertyNames );
+        boolean parallelSearch = searchExecutor != null && searchers.size() >= parallelSearchMinPartitions;
+        return new FulltextIndexReader( searchers, propertyKeyTokenHolder, getDescriptor(), config, analyzer, propertyNames,
+                parallelSearch ? searchExecutor : null );
     }
 }
@@ -47,6 +47,15 @@ class PreparedSearch
     }
 
     ValuesIterator search( Query query, IndexQueryConstraints constraints, StatsCollector statsCollector ) throws IOException
+    {
+        return prepare( query, constraints, statsCollector ).execute();
+    }
+
+    /**
+     * Create the weight for this search up front, so that the search itself can be executed on another thread.
+     * The {@link StatsCollector} is not thread-safe, and is only used while preparing.
+     */
+    Execution prepare( Query query, IndexQueryConstraints constraints, StatsCollector statsCollector ) throws IOException
     {
         FulltextResultCollector collector = new FulltextResultCollector( constraints, filter );
 
@@ -56,7 +65,15 @@ class PreparedSearch
         StatsCachingIndexSearcher statsCachingIndexSearcher = new StatsCachingIndexSearcher( this, statsCollector );
         Weight weight = statsCachingIndexSearcher.createWeight( query, collector.scoreMode(), 1 );
 
-        searcher.search( weight, collector );
-        return collector.iterator();
+        return () ->
+        {
+            searcher.search( weight, collector );
+            return collector.iterator();
+        };
+    }
+
+    interface Execution
+    {
+        ValuesIterator execute() throws IOException;
     }
 }
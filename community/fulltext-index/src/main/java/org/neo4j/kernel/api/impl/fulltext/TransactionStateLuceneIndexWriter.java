@@ -28,8 +28,16 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.RAMDirectory;
 
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.io.IOUtils;
@@ -37,18 +45,35 @@ import org.neo4j.kernel.api.impl.index.IndexWriterConfigs;
 import org.neo4j.kernel.api.impl.index.SearcherReference;
 import org.neo4j.kernel.api.impl.index.partition.Neo4jIndexSearcher;
 import org.neo4j.kernel.api.impl.schema.writer.LuceneIndexWriter;
+import org.neo4j.values.storable.Value;
+
+import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.documentRepresentingProperties;
+import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.newTermForChangeOrRemove;
 
+/**
+ * Maintains the in-memory Lucene index of the transaction state of a fulltext index.
+ * <p>
+ * The index is kept up to date incrementally. Each update is bracketed by {@link #beginUpdate()} and {@link #finishUpdate()}, and in between every entity
+ * that currently belongs in the index is offered through {@link #indexEntity(long, Value[])}. Only entities whose indexed values differ from what was
+ * indexed by the previous update are re-indexed, and entities that were not offered are removed. This means that querying after a few more writes only
+ * costs as much as indexing those writes, rather than re-indexing the whole transaction state.
+ */
 class TransactionStateLuceneIndexWriter implements LuceneIndexWriter, Closeable
 {
     private final Config config;
     private final Analyzer analyzer;
+    private final String[] propertyNames;
+    private final MutableLongObjectMap<Value[]> indexedValues = new LongObjectHashMap<>();
+    private final MutableLongSet offeredEntities = new LongHashSet();
     private IndexWriter writer;
     private final Directory directory;
+    private DirectoryReader currentReader;
 
-    TransactionStateLuceneIndexWriter( Config config, Analyzer analyzer )
+    TransactionStateLuceneIndexWriter( Config config, Analyzer analyzer, String[] propertyNames )
     {
         this.config = config;
         this.analyzer = analyzer;
+        this.propertyNames = propertyNames;
         directory = new RAMDirectory();
     }
 
@@ -82,26 +107,73 @@ class TransactionStateLuceneIndexWriter implements LuceneIndexWriter, Closeable
         writer.deleteDocuments( query );
     }
 
-    void resetWriterState() throws IOException
+    void beginUpdate() throws IOException
     {
-        if ( writer != null )
+        if ( writer == null )
         {
-            // Note that 'rollback' closes the writer.
-            writer.rollback();
+            writer = new IndexWriter( directory, IndexWriterConfigs.transactionState( config, analyzer ) );
         }
-        openWriter();
+        offeredEntities.clear();
     }
 
-    private void openWriter() throws IOException
+    /**
+     * Make sure the given entity is indexed with the given values. Must only be called once per entity and update.
+     */
+    void indexEntity( long id, Value[] values ) throws IOException
     {
-        writer = new IndexWriter( directory, IndexWriterConfigs.transactionState( config, analyzer ) );
+        offeredEntities.add( id );
+        Value[] previousValues = indexedValues.get( id );
+        if ( previousValues == null )
+        {
+            nullableAddDocument( documentRepresentingProperties( id, propertyNames, values ) );
+        }
+        else if ( !Arrays.equals( previousValues, values ) )
+        {
+            updateOrDeleteDocument( newTermForChangeOrRemove( id ), documentRepresentingProperties( id, propertyNames, values ) );
+        }
+        else
+        {
+            return;
+        }
+        indexedValues.put( id, values.clone() );
     }
 
-    SearcherReference getNearRealTimeSearcher() throws IOException
+    /**
+     * Remove all entities that were indexed by a previous update, but not offered in this one.
+     */
+    void finishUpdate() throws IOException
     {
-        DirectoryReader directoryReader = DirectoryReader.open( writer );
-        Neo4jIndexSearcher searcher = new Neo4jIndexSearcher( directoryReader );
-        return new DirectSearcherReference( searcher, directoryReader );
+        MutableLongList removedEntities = new LongArrayList();
+        indexedValues.forEachKey( id ->
+        {
+            if ( !offeredEntities.contains( id ) )
+            {
+                removedEntities.add( id );
+            }
+        } );
+        for ( int i = 0; i < removedEntities.size(); i++ )
+        {
+            long id = removedEntities.get( i );
+            deleteDocuments( newTermForChangeOrRemove( id ) );
+            indexedValues.remove( id );
+        }
+    }
+
+    /**
+     * Open a new searcher if anything has changed since the last one was opened. Previously opened searchers are not closed by this method.
+     *
+     * @return the newly opened searcher, or {@code null} if the last searcher is still current.
+     */
+    SearcherReference refreshSearcher() throws IOException
+    {
+        DirectoryReader directoryReader = currentReader == null ? DirectoryReader.open( writer ) : DirectoryReader.openIfChanged( currentReader, writer );
+        if ( directoryReader == null )
+        {
+            return null;
+        }
+        // Unchanged segments are shared with the previous reader, so only the changes since then have to be loaded.
+        currentReader = directoryReader;
+        return new DirectSearcherReference( new Neo4jIndexSearcher( directoryReader ), directoryReader );
     }
 
     @Override
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.neo4j.common.EntityType;
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.kernel.api.IndexQueryConstraints;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.QueryContext;
+import org.neo4j.internal.kernel.api.security.AccessMode;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.internal.schema.SchemaDescriptors;
+import org.neo4j.io.IOUtils;
+import org.neo4j.kernel.api.impl.index.SearcherReference;
+import org.neo4j.kernel.api.impl.index.partition.Neo4jIndexSearcher;
+import org.neo4j.kernel.api.index.IndexProgressor;
+import org.neo4j.values.storable.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.documentRepresentingProperties;
+import static org.neo4j.values.storable.Values.stringValue;
+
+class FulltextIndexReaderTest
+{
+    private static final String[] PROPERTY_NAMES = {"prop"};
+    private static final IndexDescriptor DESCRIPTOR =
+            IndexPrototype.forSchema( SchemaDescriptors.fulltext( EntityType.NODE, new int[]{1}, new int[]{1} ) )
+                          .withIndexType( IndexType.FULLTEXT ).withName( "fulltext" ).materialise( 1 );
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final List<AutoCloseable> toClose = new ArrayList<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool( 3 );
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        executor.shutdown();
+        IOUtils.closeAll( toClose );
+    }
+
+    @Test
+    void shouldFindSameEntitiesWithSameScoresWhenSearchingPartitionsInParallel() throws Exception
+    {
+        List<List<String>> partitions = List.of(
+                List.of( "apple banana", "apple", "cherry" ),
+                List.of( "banana", "apple apple apple" ),
+                List.of( "cherry apple", "date" ),
+                List.of( "apple date banana" ) );
+
+        Map<Long,Float> sequential = search( new FulltextIndexReader( partitions( partitions ), null, DESCRIPTOR, Config.defaults(), analyzer,
+                PROPERTY_NAMES, null ), "apple" );
+        Map<Long,Float> parallel = search( new FulltextIndexReader( partitions( partitions ), null, DESCRIPTOR, Config.defaults(), analyzer,
+                PROPERTY_NAMES, executor ), "apple" );
+
+        assertThat( parallel ).hasSize( 5 );
+        assertThat( parallel ).containsExactlyEntriesOf( sequential );
+    }
+
+    private List<SearcherReference> partitions( List<List<String>> partitionContents ) throws Exception
+    {
+        List<SearcherReference> searchers = new ArrayList<>();
+        long id = 0;
+        for ( List<String> contents : partitionContents )
+        {
+            Directory directory = new RAMDirectory();
+            toClose.add( directory );
+            try ( IndexWriter writer = new IndexWriter( directory, new IndexWriterConfig( analyzer ) ) )
+            {
+                for ( String content : contents )
+                {
+                    writer.addDocument( documentRepresentingProperties( id++, PROPERTY_NAMES, new Value[]{stringValue( content )} ) );
+                }
+            }
+            DirectoryReader reader = DirectoryReader.open( directory );
+            searchers.add( new DirectSearcherReference( new Neo4jIndexSearcher( reader ), reader ) );
+        }
+        return searchers;
+    }
+
+    private Map<Long,Float> search( FulltextIndexReader reader, String query ) throws Exception
+    {
+        toClose.add( 0, reader );
+        Map<Long,Float> result = new LinkedHashMap<>();
+        IndexProgressor.EntityValueClient client = new IndexProgressor.EntityValueClient()
+        {
+            @Override
+            public void initialize( IndexDescriptor descriptor, IndexProgressor progressor, AccessMode accessMode, boolean indexIncludesTransactionState,
+                    IndexQueryConstraints constraints, PropertyIndexQuery... query )
+            {
+                while ( progressor.next() )
+                {
+                    // Accepted entities are collected below.
+                }
+            }
+
+            @Override
+            public boolean acceptEntity( long reference, float score, Value... values )
+            {
+                result.put( reference, score );
+                return true;
+            }
+
+            @Override
+            public boolean needsValues()
+            {
+                return false;
+            }
+        };
+        reader.query( client, mock( QueryContext.class ), AccessMode.Static.READ, IndexQueryConstraints.unconstrained(),
+                PropertyIndexQuery.fulltextSearch( query ) );
+        return result;
+    }
+}
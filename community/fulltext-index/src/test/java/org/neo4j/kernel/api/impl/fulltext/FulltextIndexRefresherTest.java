@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.SchemaDescriptors;
+import org.neo4j.kernel.api.impl.index.DatabaseIndex;
+import org.neo4j.logging.NullLog;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.time.FakeClock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FulltextIndexRefresherTest
+{
+    private final FakeClock clock = new FakeClock();
+    private final List<Long> lags = new ArrayList<>();
+    private final FulltextIndexRefresher refresher =
+            new FulltextIndexRefresher( mock( JobScheduler.class ), clock, Duration.ofSeconds( 1 ), ( name, lag ) -> lags.add( lag ), NullLog.getInstance() );
+
+    @Test
+    void shouldRefreshChangedIndexOnceForManyCommits() throws IOException
+    {
+        DatabaseIndex<?> index = index( "a" );
+        DatabaseIndex<?> unchanged = index( "b" );
+
+        refresher.markChanged( index );
+        clock.forward( Duration.ofMillis( 100 ) );
+        refresher.markChanged( index );
+        clock.forward( Duration.ofMillis( 200 ) );
+        refresher.refreshChangedIndexes();
+
+        verify( index ).maybeRefreshBlocking();
+        verify( unchanged, never() ).maybeRefreshBlocking();
+        assertThat( lags ).containsExactly( 300L );
+
+        refresher.refreshChangedIndexes();
+        verify( index ).maybeRefreshBlocking();
+    }
+
+    @Test
+    void shouldNotRefreshForgottenIndex() throws IOException
+    {
+        DatabaseIndex<?> index = index( "a" );
+
+        refresher.markChanged( index );
+        refresher.forget( index );
+        refresher.refreshChangedIndexes();
+
+        verify( index, never() ).maybeRefreshBlocking();
+        assertThat( lags ).isEmpty();
+    }
+
+    @Test
+    void shouldKeepRefreshingOtherIndexesWhenOneFails() throws IOException
+    {
+        DatabaseIndex<?> failing = index( "a" );
+        DatabaseIndex<?> index = index( "b" );
+        doThrow( new IOException( "boom" ) ).when( failing ).maybeRefreshBlocking();
+
+        refresher.markChanged( failing );
+        refresher.markChanged( index );
+        refresher.refreshChangedIndexes();
+
+        verify( failing ).maybeRefreshBlocking();
+        verify( index ).maybeRefreshBlocking();
+        assertThat( lags ).hasSize( 1 );
+
+        refresher.markChanged( failing );
+        refresher.refreshChangedIndexes();
+        verify( failing, times( 2 ) ).maybeRefreshBlocking();
+    }
+
+    private static DatabaseIndex<?> index( String name )
+    {
+        DatabaseIndex<?> index = mock( DatabaseIndex.class );
+        IndexDescriptor descriptor = IndexPrototype.forSchema( SchemaDescriptors.forLabel( 1, 2 ) ).withName( name ).materialise( 1 );
+        when( index.getDescriptor() ).thenReturn( descriptor );
+        return index;
+    }
+}
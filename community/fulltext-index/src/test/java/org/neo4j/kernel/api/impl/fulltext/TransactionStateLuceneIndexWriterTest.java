@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.io.IOUtils;
+import org.neo4j.kernel.api.impl.index.SearcherReference;
+import org.neo4j.values.storable.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+class TransactionStateLuceneIndexWriterTest
+{
+    private static final String PROP = "prop";
+
+    private final TransactionStateLuceneIndexWriter writer =
+            new TransactionStateLuceneIndexWriter( Config.defaults(), new StandardAnalyzer(), new String[]{PROP} );
+
+    private final List<AutoCloseable> toClose = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        // Like the transaction state, keep all searchers open until the writer is closed, since newer readers are opened from older ones.
+        toClose.add( writer );
+        IOUtils.closeAll( toClose );
+    }
+
+    @Test
+    void shouldOnlyApplyChangesSincePreviousUpdate() throws IOException
+    {
+        update( 1, stringValue( "apple" ), 2, stringValue( "banana" ) );
+        SearcherReference searcher = refreshSearcher();
+        assertThat( hits( searcher, "apple" ) ).isEqualTo( 1 );
+        assertThat( hits( searcher, "banana" ) ).isEqualTo( 1 );
+
+        update( 1, stringValue( "apple" ), 2, stringValue( "cherry" ) );
+        searcher = refreshSearcher();
+        assertThat( hits( searcher, "apple" ) ).isEqualTo( 1 );
+        assertThat( hits( searcher, "banana" ) ).isEqualTo( 0 );
+        assertThat( hits( searcher, "cherry" ) ).isEqualTo( 1 );
+    }
+
+    @Test
+    void shouldRemoveEntitiesNoLongerOffered() throws IOException
+    {
+        update( 1, stringValue( "apple" ), 2, stringValue( "banana" ) );
+        refreshSearcher();
+
+        writer.beginUpdate();
+        writer.indexEntity( 2, new Value[]{stringValue( "banana" )} );
+        writer.finishUpdate();
+        SearcherReference searcher = refreshSearcher();
+        assertThat( hits( searcher, "apple" ) ).isEqualTo( 0 );
+        assertThat( hits( searcher, "banana" ) ).isEqualTo( 1 );
+    }
+
+    @Test
+    void shouldRemoveEntityWhoseValuesAreNoLongerIndexable() throws IOException
+    {
+        update( 1, stringValue( "apple" ), 2, stringValue( "banana" ) );
+        refreshSearcher();
+
+        update( 1, intValue( 42 ), 2, stringValue( "banana" ) );
+        SearcherReference searcher = refreshSearcher();
+        assertThat( hits( searcher, "apple" ) ).isEqualTo( 0 );
+        assertThat( searcher.getIndexSearcher().getIndexReader().numDocs() ).isEqualTo( 1 );
+    }
+
+    @Test
+    void shouldReuseSearcherWhenNothingChanged() throws IOException
+    {
+        update( 1, stringValue( "apple" ), 2, stringValue( "banana" ) );
+        refreshSearcher();
+
+        update( 1, stringValue( "apple" ), 2, stringValue( "banana" ) );
+        assertThat( writer.refreshSearcher() ).isNull();
+    }
+
+    private SearcherReference refreshSearcher() throws IOException
+    {
+        SearcherReference searcher = writer.refreshSearcher();
+        if ( searcher != null )
+        {
+            toClose.add( searcher );
+        }
+        return searcher;
+    }
+
+    private void update( long firstId, Value firstValue, long secondId, Value secondValue ) throws IOException
+    {
+        writer.beginUpdate();
+        writer.indexEntity( firstId, new Value[]{firstValue} );
+        writer.indexEntity( secondId, new Value[]{secondValue} );
+        writer.finishUpdate();
+    }
+
+    private static int hits( SearcherReference searcher, String term ) throws IOException
+    {
+        return searcher.getIndexSearcher().count( new TermQuery( new Term( PROP, term ) ) );
+    }
+}
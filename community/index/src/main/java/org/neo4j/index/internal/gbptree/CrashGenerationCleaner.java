@@ -95,13 +95,15 @@ class CrashGenerationCleaner
         int threads = NUMBER_OF_WORKERS;
         long batchSize = batchSize( pagesToClean, threads );
         AtomicLong nextId = new AtomicLong( lowTreeNodeId );
+        AtomicLong visitedPages = new AtomicLong();
         AtomicBoolean stopFlag = new AtomicBoolean();
         LongAdder cleanedPointers = new LongAdder();
         LongAdder numberOfTreeNodes = new LongAdder();
         List<CleanupJob.JobResult<?>> jobResults = new ArrayList<>();
         for ( int i = 0; i < threads; i++ )
         {
-            Callable<?> cleanerTask = cleaner( nextId, batchSize, numberOfTreeNodes, cleanedPointers, stopFlag, pageCacheTracer );
+            Callable<?> cleanerTask = cleaner( nextId, batchSize, pagesToClean, visitedPages, numberOfTreeNodes, cleanedPointers, stopFlag,
+                    pageCacheTracer );
             CleanupJob.JobResult<?> jobHandle = executor.submit( "Recovery clean up of '" + treeName + "'", cleanerTask );
             jobResults.add( jobHandle );
         }
@@ -111,8 +113,8 @@ class CrashGenerationCleaner
         monitor.cleanupFinished( pagesToClean, numberOfTreeNodes.sum(), cleanedPointers.sum(), startTime.elapsed( MILLISECONDS ) );
     }
 
-    private Callable<?> cleaner( AtomicLong nextId, long batchSize, LongAdder numberOfTreeNodes, LongAdder cleanedPointers, AtomicBoolean stopFlag,
-            PageCacheTracer pageCacheTracer )
+    private Callable<?> cleaner( AtomicLong nextId, long batchSize, long pagesToClean, AtomicLong visitedPages, LongAdder numberOfTreeNodes,
+            LongAdder cleanedPointers, AtomicBoolean stopFlag, PageCacheTracer pageCacheTracer )
     {
         return () ->
         {
@@ -124,7 +126,8 @@ class CrashGenerationCleaner
                 while ( ( localNextId = nextId.getAndAdd( batchSize )) < highTreeNodeId )
                 {
                     int localNumberOfTreeNodes = 0;
-                    for ( int i = 0; i < batchSize && localNextId < highTreeNodeId; i++, localNextId++ )
+                    int localVisitedPages = 0;
+                    for ( ; localVisitedPages < batchSize && localNextId < highTreeNodeId; localVisitedPages++, localNextId++ )
                     {
                         PageCursorUtil.goTo( cursor, "clean", localNextId );
 
@@ -140,6 +143,7 @@ class CrashGenerationCleaner
                         }
                     }
                     numberOfTreeNodes.add( localNumberOfTreeNodes );
+                    reportProgress( visitedPages, localVisitedPages, pagesToClean );
 
                     if ( stopFlag.get() )
                     {
@@ -156,6 +160,17 @@ class CrashGenerationCleaner
         };
     }
 
+    private void reportProgress( AtomicLong visitedPages, int localVisitedPages, long pagesToClean )
+    {
+        long visitedAfter = visitedPages.addAndGet( localVisitedPages );
+        long visitedBefore = visitedAfter - localVisitedPages;
+        // Only report when crossing a percent boundary, to not flood the monitor for large trees
+        if ( visitedBefore * 100 / pagesToClean != visitedAfter * 100 / pagesToClean )
+        {
+            monitor.cleanupProgress( visitedAfter, pagesToClean );
+        }
+    }
+
     // === Methods about checking if a tree node has crashed pointers ===
 
     private static boolean isTreeNode( PageCursor cursor ) throws IOException
@@ -171,6 +171,11 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
             {   // no-op
             }
 
+            @Override
+            public void cleanupProgress( long numberOfPagesVisited, long numberOfPagesToVisit )
+            {   // no-op
+            }
+
             @Override
             public void cleanupFinished( long numberOfPagesVisited, long numberOfTreeNodes, long numberOfCleanedCrashPointers, long durationMillis )
             {   // no-op
@@ -235,6 +240,12 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
                 delegate.cleanupStarted();
             }
 
+            @Override
+            public void cleanupProgress( long numberOfPagesVisited, long numberOfPagesToVisit )
+            {
+                delegate.cleanupProgress( numberOfPagesVisited, numberOfPagesToVisit );
+            }
+
             @Override
             public void cleanupFinished( long numberOfPagesVisited, long numberOfTreeNodes, long numberOfCleanedCrashPointers, long durationMillis )
             {
@@ -293,6 +304,13 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
          */
         void cleanupStarted();
 
+        /**
+         * Called periodically while cleanup job is running, roughly for every percent of pages visited.
+         * @param numberOfPagesVisited number of pages visited by the cleaner so far.
+         * @param numberOfPagesToVisit total number of pages the cleaner will visit.
+         */
+        void cleanupProgress( long numberOfPagesVisited, long numberOfPagesToVisit );
+
         /**
          * Called after recovery has completed and cleaning has been done.
          * @param numberOfPagesVisited number of pages visited by the cleaner.
@@ -1024,6 +1042,13 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
         return initializeSeeker( seeker, fromInclusive, toExclusive, DEFAULT_MAX_READ_AHEAD, LEAF_LEVEL );
     }
 
+    @Override
+    public Seeker<KEY,VALUE> seek( KEY fromInclusive, KEY toExclusive, CursorContext cursorContext, long maxHits ) throws IOException
+    {
+        int readAheadLength = (int) Math.max( 1, Math.min( maxHits, DEFAULT_MAX_READ_AHEAD ) );
+        return initializeSeeker( allocateSeeker( cursorContext ), fromInclusive, toExclusive, readAheadLength, LEAF_LEVEL );
+    }
+
     private Seeker<KEY,VALUE> initializeSeeker( Seeker<KEY,VALUE> seeker, KEY fromInclusive, KEY toExclusive, int readAheadLength, int searchLevel )
             throws IOException
     {
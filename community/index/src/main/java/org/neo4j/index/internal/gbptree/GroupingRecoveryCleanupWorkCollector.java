@@ -19,6 +19,8 @@
  */
 package org.neo4j.index.internal.gbptree;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -41,8 +43,9 @@ public class GroupingRecoveryCleanupWorkCollector extends RecoveryCleanupWorkCol
     private final Group group;
     private final Group workerGroup;
     private final String databaseName;
+    private final int parallelism;
+    private final List<JobHandle<?>> handles = new ArrayList<>();
     private volatile boolean moreJobsAllowed = true;
-    private JobHandle handle;
 
     /**
      * @param jobScheduler {@link JobScheduler} to queue {@link CleanupJob} into.
@@ -53,10 +56,26 @@ public class GroupingRecoveryCleanupWorkCollector extends RecoveryCleanupWorkCol
      */
     public GroupingRecoveryCleanupWorkCollector( JobScheduler jobScheduler, Group group, Group workerGroup, String databaseName )
     {
+        this( jobScheduler, group, workerGroup, databaseName, 1 );
+    }
+
+    /**
+     * @param jobScheduler {@link JobScheduler} to queue {@link CleanupJob} into.
+     * @param group {@link Group} to which all cleanup jobs should be scheduled.
+     * @param workerGroup {@link Group} to which all sub-tasks of cleanup jobs should be scheduled.
+     * @param databaseName name of the database that is being recovered. This is currently used only for monitoring
+     * purposes to link this unit of work with a database it belongs to.
+     * @param parallelism number of {@link CleanupJob cleanup jobs}, i.e. trees, that may be cleaned concurrently.
+     * Each job will in turn split its work into page ranges and submit those to the {@code workerGroup}.
+     */
+    public GroupingRecoveryCleanupWorkCollector( JobScheduler jobScheduler, Group group, Group workerGroup, String databaseName, int parallelism )
+    {
+        Preconditions.requirePositive( parallelism );
         this.jobScheduler = jobScheduler;
         this.group = group;
         this.workerGroup = workerGroup;
         this.databaseName = databaseName;
+        this.parallelism = parallelism;
     }
 
     @Override
@@ -83,13 +102,14 @@ public class GroupingRecoveryCleanupWorkCollector extends RecoveryCleanupWorkCol
     public void shutdown() throws ExecutionException, InterruptedException
     {
         moreJobsAllowed = false;
-        if ( handle != null )
+        // Also set the started flag which acts as a signal to exit the scheduled jobs on empty queue,
+        // this is of course a special case where perhaps not start() gets called, i.e. if something fails
+        // before reaching that phase in the lifecycle.
+        for ( JobHandle<?> handle : handles )
         {
-            // Also set the started flag which acts as a signal to exit the scheduled job on empty queue,
-            // this is of course a special case where perhaps not start() gets called, i.e. if something fails
-            // before reaching that phase in the lifecycle.
             handle.waitTermination();
         }
+        handles.clear();
         CleanupJob job;
         while ( (job = jobs.poll()) != null )
         {
@@ -99,7 +119,11 @@ public class GroupingRecoveryCleanupWorkCollector extends RecoveryCleanupWorkCol
 
     private void scheduleJobs()
     {
-        handle = jobScheduler.schedule( group, JobMonitoringParams.systemJob( databaseName, "Index recovery clean up" ), allJobs() );
+        // Each scheduled job drains the shared queue, so this many trees will be cleaned concurrently
+        for ( int i = 0; i < parallelism; i++ )
+        {
+            handles.add( jobScheduler.schedule( group, JobMonitoringParams.systemJob( databaseName, "Index recovery clean up" ), allJobs() ) );
+        }
     }
 
     private Runnable allJobs()
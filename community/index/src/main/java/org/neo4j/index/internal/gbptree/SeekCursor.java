@@ -618,13 +618,15 @@ class SeekCursor<KEY,VALUE> implements Seeker<KEY,VALUE>
         }
 
         // We've now come to the first relevant leaf, initialize the state for the coming leaf scan
-        pos -= stride;
-        if ( !seekForward )
+        if ( !seekForward && (isInternal || pos >= keyCount) )
         {
             // The tree traversal is best effort when seeking backwards
-            // need to trigger search for key in next
+            // need to trigger search for key in next.
+            // When the start position is inside this leaf the search in next would end up on the same position,
+            // and concurrent changes since the traversal are still detected when reading the first batch.
             concurrentWriteHappened = true;
         }
+        pos -= stride;
         cachedLength = 0;
     }
 
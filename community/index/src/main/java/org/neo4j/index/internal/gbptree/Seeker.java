@@ -93,6 +93,22 @@ public interface Seeker<KEY,VALUE> extends Closeable
             return seek( allocateSeeker( cursorContext ), fromInclusive, toExclusive );
         }
 
+        /**
+         * Like {@link #seek(Object, Object, CursorContext)}, but for a caller that will read at most {@code maxHits} results, e.g. because
+         * of a limit. Implementations can use this to not read ahead more entries than will be used.
+         *
+         * @param fromInclusive lower bound of the range to seek (inclusive).
+         * @param toExclusive higher bound of the range to seek (exclusive).
+         * @param cursorContext underlying page cursor context
+         * @param maxHits the maximum number of results the caller will read.
+         * @return a {@link Seeker} used to iterate over the hits within the specified key range.
+         * @throws IOException on error reading from index.
+         */
+        default Seeker<KEY,VALUE> seek( KEY fromInclusive, KEY toExclusive, CursorContext cursorContext, long maxHits ) throws IOException
+        {
+            return seek( fromInclusive, toExclusive, cursorContext );
+        }
+
         /**
          * Seeks with an existing {@link Seeker} instance, for reduced overhead.
          *
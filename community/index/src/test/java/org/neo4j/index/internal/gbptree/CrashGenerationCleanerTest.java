@@ -276,6 +276,28 @@ class CrashGenerationCleanerTest
         assertCleanedCrashPointers( monitor, totalNumberOfCorruptions.getValue() );
     }
 
+    @Test
+    void shouldReportProgressUntilAllPagesVisited() throws Exception
+    {
+        // GIVEN
+        int numberOfPages = randomRule.intBetween( 1_000, 10_000 );
+        Page[] pages = new Page[numberOfPages];
+        for ( int i = 0; i < numberOfPages; i++ )
+        {
+            pages[i] = randomPage( 0, new MutableInt() );
+        }
+        initializeFile( pagedFile, pages );
+
+        // WHEN
+        SimpleCleanupMonitor monitor = new SimpleCleanupMonitor();
+        crashGenerationCleaner( pagedFile, 0, numberOfPages, monitor ).clean( executor );
+
+        // THEN
+        assertThat( monitor.numberOfProgressReports ).isBetween( 1L, 100L );
+        assertThat( monitor.progressPagesToVisit ).isEqualTo( numberOfPages );
+        assertThat( monitor.maxProgressPagesVisited ).isEqualTo( numberOfPages );
+    }
+
     @Test
     void tracePageCacheAccessInCleaners() throws IOException
     {
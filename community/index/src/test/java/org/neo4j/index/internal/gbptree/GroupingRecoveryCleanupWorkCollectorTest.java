@@ -26,12 +26,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobHandle;
@@ -48,7 +50,7 @@ class GroupingRecoveryCleanupWorkCollectorTest
 {
     private static final Group GROUP = Group.INDEX_CLEANUP;
     private static final Group WORK_GROUP = Group.INDEX_CLEANUP_WORK;
-    private final SingleGroupJobScheduler jobScheduler = new SingleGroupJobScheduler( GROUP, WORK_GROUP );
+    private final SingleGroupJobScheduler jobScheduler = new SingleGroupJobScheduler( GROUP, WORK_GROUP, 1 );
     private final GroupingRecoveryCleanupWorkCollector collector = new GroupingRecoveryCleanupWorkCollector( jobScheduler, GROUP, WORK_GROUP, "test db" );
 
     @Test
@@ -146,6 +148,50 @@ class GroupingRecoveryCleanupWorkCollectorTest
         assertThrows( IllegalStateException.class, () -> collector.add( new DummyJob( "first", new ArrayList<>() ) ) );
     }
 
+    @Test
+    void shouldCleanMultipleTreesConcurrently() throws Exception
+    {
+        // given
+        int parallelism = 3;
+        SingleGroupJobScheduler parallelScheduler = new SingleGroupJobScheduler( GROUP, WORK_GROUP, parallelism );
+        GroupingRecoveryCleanupWorkCollector parallelCollector =
+                new GroupingRecoveryCleanupWorkCollector( parallelScheduler, GROUP, WORK_GROUP, "test db", parallelism );
+        CountDownLatch allRunning = new CountDownLatch( parallelism );
+        AtomicInteger completed = new AtomicInteger();
+        parallelCollector.init();
+        for ( int i = 0; i < parallelism; i++ )
+        {
+            // Each job can only complete if all of them are running at the same time
+            parallelCollector.add( new CleanupJob.Adaptor()
+            {
+                @Override
+                public void run( Executor executor )
+                {
+                    allRunning.countDown();
+                    try
+                    {
+                        if ( allRunning.await( 1, TimeUnit.MINUTES ) )
+                        {
+                            completed.incrementAndGet();
+                        }
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            } );
+        }
+
+        // when
+        parallelCollector.start();
+        parallelCollector.shutdown();
+        parallelScheduler.shutdown();
+
+        // then
+        assertEquals( parallelism, completed.get() );
+    }
+
     private void addAll( Collection<DummyJob> jobs )
     {
         jobs.forEach( collector::add );
@@ -168,13 +214,14 @@ class GroupingRecoveryCleanupWorkCollectorTest
 
     private static class SingleGroupJobScheduler extends JobSchedulerAdapter
     {
-        private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        private final ExecutorService executorService;
         private final Group mainGroup;
         private final Group workGroup;
         private MonitoredJobExecutor createdExecutor;
 
-        SingleGroupJobScheduler( Group mainGroup, Group workGroup )
+        SingleGroupJobScheduler( Group mainGroup, Group workGroup, int threads )
         {
+            this.executorService = Executors.newFixedThreadPool( threads );
             this.mainGroup = mainGroup;
             this.workGroup = workGroup;
         }
@@ -25,6 +25,17 @@ class SimpleCleanupMonitor extends GBPTree.Monitor.Adaptor
     long numberOfPagesVisited;
     long numberOfTreeNodes;
     long numberOfCleanedCrashPointers;
+    long numberOfProgressReports;
+    long maxProgressPagesVisited;
+    long progressPagesToVisit;
+
+    @Override
+    public synchronized void cleanupProgress( long numberOfPagesVisited, long numberOfPagesToVisit )
+    {
+        numberOfProgressReports++;
+        maxProgressPagesVisited = Math.max( maxProgressPagesVisited, numberOfPagesVisited );
+        progressPagesToVisit = numberOfPagesToVisit;
+    }
 
     @Override
     public void cleanupFinished( long numberOfPagesVisited, long numberOfTreeNodes, long numberOfCleanedCrashPointers, long durationMillis )
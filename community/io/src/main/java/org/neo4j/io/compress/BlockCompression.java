@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.compress;
+
+import com.github.luben.zstd.Zstd;
+
+import java.io.IOException;
+
+import org.neo4j.io.ByteUnit;
+
+/**
+ * Compression of self-contained blocks of bytes. The length of a block before compression is not part of the compressed block, so it has to
+ * be stored separately and passed in when decompressing it. Every format has an {@link #id() id}, which can be stored alongside compressed
+ * blocks to select the format to decompress them with.
+ * <p>
+ * The zstd library is not a dependency of this module, but of the modules that ship it, so it is only on the class path of a full database.
+ */
+public enum BlockCompression
+{
+    ZSTD( (byte) 1 )
+            {
+                @Override
+                public int maxCompressedLength( int length )
+                {
+                    return Math.toIntExact( Zstd.compressBound( length ) );
+                }
+
+                @Override
+                public int compress( byte[] source, int sourceOffset, int length, byte[] target, int targetOffset ) throws IOException
+                {
+                    long result = Zstd.compressByteArray( target, targetOffset, target.length - targetOffset, source, sourceOffset, length, ZSTD_LEVEL );
+                    if ( Zstd.isError( result ) )
+                    {
+                        throw new IOException( "Failed to compress block of " + length + " bytes: " + Zstd.getErrorName( result ) );
+                    }
+                    return (int) result;
+                }
+
+                @Override
+                public void decompress( byte[] source, int sourceOffset, int length, byte[] target, int targetOffset, int decompressedLength )
+                        throws IOException
+                {
+                    long result = Zstd.decompressByteArray( target, targetOffset, decompressedLength, source, sourceOffset, length );
+                    if ( Zstd.isError( result ) )
+                    {
+                        throw new IOException( "Failed to decompress block of " + length + " bytes: " + Zstd.getErrorName( result ) );
+                    }
+                    if ( result != decompressedLength )
+                    {
+                        throw new IOException( "Block decompressed to " + result + " bytes, expected " + decompressedLength );
+                    }
+                }
+            };
+
+    /**
+     * Largest length of a block before compression. Readers reject longer blocks, so that a corrupted length read alongside a compressed block
+     * can not make them allocate arbitrarily large arrays.
+     */
+    public static final int MAX_BLOCK_LENGTH = (int) ByteUnit.mebiBytes( 64 );
+
+    /**
+     * Favour speed over compression ratio, blocks are typically compressed on the commit path.
+     */
+    private static final int ZSTD_LEVEL = 1;
+
+    private final byte id;
+
+    BlockCompression( byte id )
+    {
+        this.id = id;
+    }
+
+    /**
+     * @return the id of this format, to store alongside compressed blocks.
+     */
+    public byte id()
+    {
+        return id;
+    }
+
+    /**
+     * @param length length of a block before compression.
+     * @return the largest length that the block can have after compression.
+     */
+    public abstract int maxCompressedLength( int length );
+
+    /**
+     * Compress a block.
+     *
+     * @param target array to write the compressed block to, must have room for at least {@link #maxCompressedLength(int)} bytes from
+     * {@code targetOffset}.
+     * @return length of the compressed block.
+     * @throws IOException if the block could not be compressed.
+     */
+    public abstract int compress( byte[] source, int sourceOffset, int length, byte[] target, int targetOffset ) throws IOException;
+
+    /**
+     * Decompress a block.
+     *
+     * @param decompressedLength length of the block before it was compressed.
+     * @throws IOException if the block could not be decompressed, or didn't decompress to the expected length.
+     */
+    public abstract void decompress( byte[] source, int sourceOffset, int length, byte[] target, int targetOffset, int decompressedLength )
+            throws IOException;
+
+    /**
+     * @param id id of a format, as returned by {@link #id()}.
+     * @return the format with the given id.
+     * @throws IOException if there is no format with that id.
+     */
+    public static BlockCompression forId( byte id ) throws IOException
+    {
+        for ( BlockCompression compression : values() )
+        {
+            if ( compression.id == id )
+            {
+                return compression;
+            }
+        }
+        throw new IOException( "Unknown block compression format " + id );
+    }
+}
@@ -171,4 +171,10 @@ public class DelegatingStoreChannel<T extends StoreChannel> implements StoreChan
     {
         delegate.tryMakeUninterruptible();
     }
+
+    @Override
+    public ByteBuffer mapReadOnly( long position, long size ) throws IOException
+    {
+        return delegate.mapReadOnly( position, size );
+    }
 }
@@ -101,4 +101,18 @@ public interface StoreChannel extends Flushable, SeekableByteChannel, GatheringB
      * An uninterruptible channel will not automatically close itself if a calling thread is interrupted before or during an IO operation.
      */
     void tryMakeUninterruptible();
+
+    /**
+     * Map a region of the file behind this channel into memory for reading, if possible.
+     * The mapping stays valid until the returned buffer is unmapped, even if the channel is closed.
+     *
+     * @param position the position in the file where the mapped region starts.
+     * @param size the size of the mapped region.
+     * @return a read-only buffer over the mapped region, or {@code null} if this channel cannot be mapped.
+     * @throws IOException If an I/O error occurs.
+     */
+    default ByteBuffer mapReadOnly( long position, long size ) throws IOException
+    {
+        return null;
+    }
 }
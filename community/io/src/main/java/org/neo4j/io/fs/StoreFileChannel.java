@@ -175,6 +175,16 @@ public class StoreFileChannel implements StoreChannel
         }
     }
 
+    @Override
+    public ByteBuffer mapReadOnly( long position, long size ) throws IOException
+    {
+        if ( channel.getClass() != CLS_FILE_CHANNEL_IMPL )
+        {
+            return null;
+        }
+        return channel.map( FileChannel.MapMode.READ_ONLY, position, size );
+    }
+
     @Override
     public StoreFileChannel truncate( long size ) throws IOException
     {
@@ -52,7 +52,8 @@ public interface IOController
      * {@link InterruptedException}, however. Those should be dealt with by catching them and re-interrupting the
      * current thread, or by wrapping them in {@link IOException}s.
      *
-     * @param recentlyCompletedIOs The number of IOs completed by caller since the last call to this method.
+     * @param recentlyCompletedIOs The number of IOs completed by caller since the last call to this method, counted in pages, so that a write
+     * of several merged pages counts as that many IOs.
      * @param flushable A {@link Flushable} instance that can flush any relevant dirty system buffers, to help smooth
      * out the IO load on the storage device.
      * @param flushEvent A {@link MajorFlushEvent} event that describes ongoing io represented by flushable instance.
@@ -571,7 +571,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                 if ( pagesGrabbed > 0 )
                 {
                     vectoredFlush( pages, bufferAddresses, flushStamps, bufferLengths, numberOfBuffers, pagesGrabbed, mergedPages, flushes, forClosing );
-                    limiter.maybeLimitIO( numberOfBuffers, this, flushes );
+                    limiter.maybeLimitIO( pagesGrabbed, this, flushes );
                     pagesGrabbed = 0;
                     nextSequentialAddress = -1;
                     numberOfBuffers = 0;
@@ -585,7 +585,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             if ( pagesGrabbed > 0 )
             {
                 vectoredFlush( pages, bufferAddresses, flushStamps, bufferLengths, numberOfBuffers, pagesGrabbed, mergedPages, flushes, forClosing );
-                limiter.maybeLimitIO( numberOfBuffers, this, flushes );
+                limiter.maybeLimitIO( pagesGrabbed, this, flushes );
                 flushPerChunk++;
             }
             chunkEvent.chunkFlushed( notModifiedPages, flushPerChunk, buffersPerChunk, mergesPerChunk );
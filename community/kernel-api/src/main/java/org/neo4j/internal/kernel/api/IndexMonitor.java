@@ -44,6 +44,15 @@ public interface IndexMonitor
 
     void queried( IndexDescriptor descriptor );
 
+    /**
+     * Called when the index entries found for a geometry range query have been filtered against the search area.
+     *
+     * @param descriptor the queried index.
+     * @param candidates the number of index entries found in the space filling curve ranges of the query.
+     * @param falsePositives the number of those entries that were outside of the search area.
+     */
+    void geometryRangeFiltered( IndexDescriptor descriptor, long candidates, long falsePositives );
+
     class MonitorAdapter implements IndexMonitor
     {
         @Override
@@ -91,5 +100,10 @@ public interface IndexMonitor
         {   // Do nothing
 
         }
+
+        @Override
+        public void geometryRangeFiltered( IndexDescriptor descriptor, long candidates, long falsePositives )
+        {   // Do nothing
+        }
     }
 }
@@ -199,6 +199,24 @@ public abstract class PropertyIndexQuery implements IndexQuery
         return new FulltextSearchPredicate( query );
     }
 
+    /**
+     * Searches the index for points in the same coordinate reference system as {@code origin}, returning them in order of increasing distance
+     * from {@code origin}. Use {@link IndexQueryConstraints#limit(long)} to only get the {@code k} nearest points; without a limit all points in the
+     * coordinate reference system are returned, still in distance order.
+     * <p>
+     * Entities added or changed in the querying transaction are merged into the results in order of distance too.
+     * <p>
+     * The Cypher planner does not plan point indexes, so {@code ORDER BY point.distance(...) LIMIT k} is not rewritten into this query.
+     *
+     * @param propertyKeyId the property ID to match.
+     * @param origin the point to measure distances from.
+     * @return an {@link PropertyIndexQuery} instance to be used for querying an index.
+     */
+    public static NearestNeighbourPredicate nearestNeighbours( int propertyKeyId, PointValue origin )
+    {
+        return new NearestNeighbourPredicate( propertyKeyId, origin );
+    }
+
     public static ValueTuple asValueTuple( PropertyIndexQuery.ExactPredicate... query )
     {
         Value[] values = new Value[query.length];
@@ -551,6 +569,53 @@ public abstract class PropertyIndexQuery implements IndexQuery
         }
     }
 
+    public static final class NearestNeighbourPredicate extends PropertyIndexQuery
+    {
+        private final PointValue origin;
+
+        private NearestNeighbourPredicate( int propertyKeyId, PointValue origin )
+        {
+            super( propertyKeyId );
+            this.origin = origin;
+        }
+
+        @Override
+        public IndexQueryType type()
+        {
+            return IndexQueryType.NEAREST_NEIGHBOURS;
+        }
+
+        @Override
+        public boolean acceptsValue( Value value )
+        {
+            return value instanceof PointValue && ((PointValue) value).getCoordinateReferenceSystem().equals( origin.getCoordinateReferenceSystem() );
+        }
+
+        @Override
+        public ValueGroup valueGroup()
+        {
+            return ValueGroup.GEOMETRY;
+        }
+
+        public PointValue origin()
+        {
+            return origin;
+        }
+
+        public CoordinateReferenceSystem crs()
+        {
+            return origin.getCoordinateReferenceSystem();
+        }
+
+        /**
+         * @return the distance between {@code point} and the {@link #origin()}, in the unit of the coordinate reference system.
+         */
+        public double distanceTo( PointValue point )
+        {
+            return crs().getCalculator().distance( origin, point );
+        }
+    }
+
     public static final class TextRangePredicate extends RangePredicate<TextValue>
     {
         private TextRangePredicate( int propertyKeyId,
@@ -37,4 +37,25 @@ public interface ValueIndexCursor
     boolean hasValue();
 
     Value propertyValue( int offset );
+
+    /**
+     * Check before trying to access values of included properties with {@link #includedPropertyValue(int)}.
+     * Result can change with each call to {@link #next()}.
+     *
+     * @return {@code true} if the index stores values of included properties for the cursor's current location and they are known to be
+     * the current values of those properties, else {@code false}.
+     */
+    default boolean hasIncludedValues()
+    {
+        return false;
+    }
+
+    /**
+     * @param offset offset of the included property, in the order the properties were included in the index.
+     * @return the value of the included property at the cursor's current location.
+     */
+    default Value includedPropertyValue( int offset )
+    {
+        throw new UnsupportedOperationException( "This cursor has no included property values" );
+    }
 }
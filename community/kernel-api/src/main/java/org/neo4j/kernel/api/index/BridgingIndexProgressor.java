@@ -41,16 +41,33 @@ public class BridgingIndexProgressor implements IndexProgressor.EntityValueClien
     // of progressors and each progressor has many results each
     private final Queue<IndexProgressor> progressors = new ConcurrentLinkedQueue<>();
     private IndexProgressor current;
+    private long remainingSkip;
+    private long remainingHits;
 
     public BridgingIndexProgressor( EntityValueClient client, int[] keys )
+    {
+        this( client, keys, 0, Long.MAX_VALUE );
+    }
+
+    /**
+     * @param skip the number of entities accepted by the client to skip, over all combined progressors, before returning any.
+     * @param limit the number of entities to return after the skipped ones, over all combined progressors.
+     */
+    public BridgingIndexProgressor( EntityValueClient client, int[] keys, long skip, long limit )
     {
         this.client = client;
         this.keys = keys;
+        this.remainingSkip = skip;
+        this.remainingHits = limit;
     }
 
     @Override
     public boolean next()
     {
+        if ( remainingHits <= 0 )
+        {
+            return false;
+        }
         if ( current == null )
         {
             current = progressors.poll();
@@ -59,6 +76,7 @@ public class BridgingIndexProgressor implements IndexProgressor.EntityValueClien
         {
             if ( current.next() )
             {
+                remainingHits--;
                 return true;
             }
             else
@@ -101,6 +119,16 @@ public class BridgingIndexProgressor implements IndexProgressor.EntityValueClien
     @Override
     public boolean acceptEntity( long reference, float score, Value... values )
     {
-        return client.acceptEntity( reference, score, values );
+        if ( !client.acceptEntity( reference, score, values ) )
+        {
+            return false;
+        }
+        if ( remainingSkip > 0 )
+        {
+            // Make the combined progressor move on to the next entity, as if this one was not accepted
+            remainingSkip--;
+            return false;
+        }
+        return true;
     }
 }
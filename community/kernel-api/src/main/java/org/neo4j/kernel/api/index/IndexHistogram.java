@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
+
+import static org.neo4j.util.Preconditions.requirePositive;
+
+/**
+ * Equi-depth histogram over the values of a single-property index, built from a full scan of the index in sorted order.
+ * Each bucket covers a contiguous range of values of one {@link ValueGroup} and holds roughly the same number of entries,
+ * which lets the planner estimate the fraction of entries matching a range or prefix predicate without assuming a uniform distribution.
+ */
+public final class IndexHistogram
+{
+    private final Bucket[] buckets;
+    private final long totalCount;
+
+    private IndexHistogram( Bucket[] buckets, long totalCount )
+    {
+        this.buckets = buckets;
+        this.totalCount = totalCount;
+    }
+
+    public static Builder builder( int maxBuckets )
+    {
+        return new Builder( maxBuckets );
+    }
+
+    public int numberOfBuckets()
+    {
+        return buckets.length;
+    }
+
+    public long totalCount()
+    {
+        return totalCount;
+    }
+
+    /**
+     * Estimates the fraction of all entries in the histogram whose value lies within the given range.
+     * A {@code null} bound means unbounded on that side, but at least one bound must be given since it decides the value group of the range.
+     *
+     * @return fraction of entries in the range, between {@code 0} and {@code 1}.
+     */
+    public double rangeFraction( Value from, boolean fromInclusive, Value to, boolean toInclusive )
+    {
+        if ( from == null && to == null )
+        {
+            throw new IllegalArgumentException( "At least one bound of the range is required" );
+        }
+        ValueGroup group = from != null ? from.valueGroup() : to.valueGroup();
+        if ( totalCount == 0 || (from != null && to != null && from.valueGroup() != to.valueGroup()) )
+        {
+            return 0;
+        }
+
+        double matching = 0;
+        for ( Bucket bucket : buckets )
+        {
+            if ( bucket.group() != group )
+            {
+                continue;
+            }
+            int upperVsFrom = from == null ? 1 : Values.COMPARATOR.compare( bucket.upper, from );
+            int lowerVsTo = to == null ? -1 : Values.COMPARATOR.compare( bucket.lower, to );
+            if ( upperVsFrom < 0 || (upperVsFrom == 0 && !fromInclusive) || lowerVsTo > 0 || (lowerVsTo == 0 && !toInclusive) )
+            {
+                continue;
+            }
+            int lowerVsFrom = from == null ? 1 : Values.COMPARATOR.compare( bucket.lower, from );
+            int upperVsTo = to == null ? -1 : Values.COMPARATOR.compare( bucket.upper, to );
+            boolean coversLower = lowerVsFrom > 0 || (lowerVsFrom == 0 && fromInclusive);
+            boolean coversUpper = upperVsTo < 0 || (upperVsTo == 0 && toInclusive);
+            matching += coversLower && coversUpper ? bucket.count : bucket.count * bucket.overlap( coversLower ? null : from, coversUpper ? null : to );
+        }
+        return Math.min( 1.0, matching / totalCount );
+    }
+
+    /**
+     * Estimates the fraction of all entries in the histogram which are text values starting with the given prefix.
+     *
+     * @return fraction of entries matching the prefix, between {@code 0} and {@code 1}.
+     */
+    public double prefixFraction( TextValue prefix )
+    {
+        if ( totalCount == 0 )
+        {
+            return 0;
+        }
+
+        double matching = 0;
+        for ( Bucket bucket : buckets )
+        {
+            if ( bucket.group() != ValueGroup.TEXT )
+            {
+                continue;
+            }
+            TextValue lower = (TextValue) bucket.lower;
+            TextValue upper = (TextValue) bucket.upper;
+            boolean lowerMatches = lower.startsWith( prefix );
+            boolean upperMatches = upper.startsWith( prefix );
+            if ( lowerMatches && upperMatches )
+            {
+                matching += bucket.count;
+            }
+            else if ( lowerMatches || upperMatches ||
+                      (Values.COMPARATOR.compare( lower, prefix ) < 0 && Values.COMPARATOR.compare( upper, prefix ) > 0) )
+            {
+                matching += bucket.count * bucket.partialFraction();
+            }
+        }
+        return Math.min( 1.0, matching / totalCount );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "IndexHistogram{" +
+               "buckets=" + buckets.length +
+               ", totalCount=" + totalCount +
+               '}';
+    }
+
+    private static final class Bucket
+    {
+        private Value lower;
+        private Value upper;
+        private long count;
+        private long distinctValues;
+
+        Bucket( Value value, long count )
+        {
+            this.lower = value;
+            this.upper = value;
+            this.count = count;
+            this.distinctValues = 1;
+        }
+
+        ValueGroup group()
+        {
+            return lower.valueGroup();
+        }
+
+        void merge( Bucket next )
+        {
+            upper = next.upper;
+            count += next.count;
+            distinctValues += next.distinctValues;
+        }
+
+        /**
+         * Fraction of this bucket falling within the given bounds, where a {@code null} bound means the bucket is covered on that side.
+         * Numbers are interpolated linearly between the bucket boundaries, other values are assumed to be half covered.
+         */
+        double overlap( Value from, Value to )
+        {
+            if ( group() != ValueGroup.NUMBER )
+            {
+                return partialFraction();
+            }
+            double low = ((NumberValue) lower).doubleValue();
+            double high = ((NumberValue) upper).doubleValue();
+            double width = high - low;
+            if ( width <= 0 || Double.isNaN( width ) || Double.isInfinite( width ) )
+            {
+                return partialFraction();
+            }
+            double start = from == null ? low : Math.max( low, ((NumberValue) from).doubleValue() );
+            double end = to == null ? high : Math.min( high, ((NumberValue) to).doubleValue() );
+            return Math.max( (end - start) / width, 1.0 / distinctValues );
+        }
+
+        double partialFraction()
+        {
+            return Math.max( 0.5, 1.0 / distinctValues );
+        }
+    }
+
+    /**
+     * Builds an {@link IndexHistogram} from values included in index order, i.e. sorted and with all values of a {@link ValueGroup} adjacent.
+     * Bucket depth starts at one entry and doubles, merging adjacent buckets pairwise, whenever there are more than twice {@code maxBuckets} buckets.
+     */
+    public static final class Builder
+    {
+        private final int maxBuckets;
+        private List<Bucket> buckets = new ArrayList<>();
+        private long depth = 1;
+        private long totalCount;
+
+        private Builder( int maxBuckets )
+        {
+            this.maxBuckets = requirePositive( maxBuckets );
+        }
+
+        /**
+         * @param value distinct value, greater than all previously included values of the same group.
+         * @param count number of entries having this value.
+         */
+        public void include( Value value, long count )
+        {
+            totalCount += count;
+            Bucket last = buckets.isEmpty() ? null : buckets.get( buckets.size() - 1 );
+            if ( last != null && last.group() == value.valueGroup() && last.count < depth )
+            {
+                last.upper = value;
+                last.count += count;
+                last.distinctValues++;
+                return;
+            }
+            buckets.add( new Bucket( value, count ) );
+            if ( buckets.size() > 2 * maxBuckets )
+            {
+                compact();
+            }
+        }
+
+        public IndexHistogram build()
+        {
+            return new IndexHistogram( buckets.toArray( new Bucket[0] ), totalCount );
+        }
+
+        private void compact()
+        {
+            List<Bucket> compacted = new ArrayList<>( maxBuckets + 1 );
+            for ( int i = 0; i < buckets.size(); i++ )
+            {
+                Bucket bucket = buckets.get( i );
+                if ( i + 1 < buckets.size() && buckets.get( i + 1 ).group() == bucket.group() )
+                {
+                    bucket.merge( buckets.get( ++i ) );
+                }
+                compacted.add( bucket );
+            }
+            buckets = compacted;
+            depth *= 2;
+        }
+    }
+}
@@ -168,6 +168,47 @@ public interface IndexPopulator extends MinimalIndexAccessor
     {   // no-op by default
     }
 
+    /**
+     * Returned from {@link #checkpointedEntityId(long)} when there's no checkpoint to resume this population from.
+     */
+    long NO_CHECKPOINT = -1;
+
+    /**
+     * Persists the progress of this population so that it can be {@link #resume() resumed} after a restart, instead of being rebuilt from scratch.
+     * Called while there are no concurrent calls to {@link #add(Collection, CursorContext)} or to updaters from
+     * {@link #newPopulatingUpdater(NodePropertyAccessor, CursorContext)}.
+     *
+     * @param scannedEntityId the highest entity id processed by the store scan. All updates of entities up to and including this id
+     * have been added to this populator.
+     * @param lastClosedTransactionId id of the last closed transaction, all updates of which have been applied to this populator.
+     * @return {@code true} if a checkpoint was written, {@code false} if this populator doesn't support checkpointing.
+     * @throws UncheckedIOException on I/O error.
+     */
+    default boolean checkpoint( long scannedEntityId, long lastClosedTransactionId ) throws IOException
+    {
+        return false;
+    }
+
+    /**
+     * @param lastClosedTransactionId id of the last closed transaction of the database.
+     * @return the highest entity id covered by a previous checkpoint of this population, if the population can be resumed from that checkpoint
+     * given the last closed transaction, otherwise {@link #NO_CHECKPOINT}.
+     */
+    default long checkpointedEntityId( long lastClosedTransactionId )
+    {
+        return NO_CHECKPOINT;
+    }
+
+    /**
+     * Called instead of {@link #create()} to continue this population from the checkpoint reported by {@link #checkpointedEntityId(long)}.
+     *
+     * @throws UncheckedIOException on I/O error.
+     */
+    default void resume() throws IOException
+    {
+        throw new UnsupportedOperationException( getClass().getSimpleName() + " can not resume a population" );
+    }
+
     /**
      * A scheduler for delegating index population related jobs to other threads.
      */
@@ -324,6 +365,24 @@ public interface IndexPopulator extends MinimalIndexAccessor
             delegate.scanCompleted( phaseTracker, jobScheduler, cursorContext );
         }
 
+        @Override
+        public boolean checkpoint( long scannedEntityId, long lastClosedTransactionId ) throws IOException
+        {
+            return delegate.checkpoint( scannedEntityId, lastClosedTransactionId );
+        }
+
+        @Override
+        public long checkpointedEntityId( long lastClosedTransactionId )
+        {
+            return delegate.checkpointedEntityId( lastClosedTransactionId );
+        }
+
+        @Override
+        public void resume() throws IOException
+        {
+            delegate.resume();
+        }
+
         @Override
         public Map<String,Value> indexConfig()
         {
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.api.index;
 
 import java.util.Arrays;
+import java.util.Objects;
 
 public final class IndexSample
 {
@@ -27,6 +28,7 @@ public final class IndexSample
     private final long uniqueValues;
     private final long sampleSize;
     private final long updates;
+    private final IndexHistogram histogram;
 
     public IndexSample()
     {
@@ -39,11 +41,17 @@ public final class IndexSample
     }
 
     public IndexSample( long indexSize, long uniqueValues, long sampleSize, long updates )
+    {
+        this( indexSize, uniqueValues, sampleSize, updates, null );
+    }
+
+    public IndexSample( long indexSize, long uniqueValues, long sampleSize, long updates, IndexHistogram histogram )
     {
         this.indexSize = indexSize;
         this.uniqueValues = uniqueValues;
         this.sampleSize = sampleSize;
         this.updates = updates;
+        this.histogram = histogram;
     }
 
     public long indexSize()
@@ -66,6 +74,14 @@ public final class IndexSample
         return updates;
     }
 
+    /**
+     * @return histogram of the sampled values, or {@code null} if the sampler did not collect one.
+     */
+    public IndexHistogram histogram()
+    {
+        return histogram;
+    }
+
     @Override
     public boolean equals( Object o )
     {
@@ -78,7 +94,8 @@ public final class IndexSample
             return false;
         }
         IndexSample that = (IndexSample) o;
-        return indexSize == that.indexSize && uniqueValues == that.uniqueValues && sampleSize == that.sampleSize && updates == that.updates;
+        return indexSize == that.indexSize && uniqueValues == that.uniqueValues && sampleSize == that.sampleSize && updates == that.updates &&
+               Objects.equals( histogram, that.histogram );
     }
 
     @Override
@@ -95,6 +112,7 @@ public final class IndexSample
                ", uniqueValues=" + uniqueValues +
                ", sampleSize=" + sampleSize +
                ", updates=" + updates +
+               ", histogram=" + histogram +
                '}';
     }
 }
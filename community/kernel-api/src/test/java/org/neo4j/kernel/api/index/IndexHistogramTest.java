@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+class IndexHistogramTest
+{
+    @Test
+    void shouldKeepNumberOfBucketsBounded()
+    {
+        IndexHistogram.Builder builder = IndexHistogram.builder( 16 );
+        for ( int i = 0; i < 10_000; i++ )
+        {
+            builder.include( intValue( i ), 1 );
+        }
+        IndexHistogram histogram = builder.build();
+
+        assertTrue( histogram.numberOfBuckets() <= 32 );
+        assertEquals( 10_000, histogram.totalCount() );
+    }
+
+    @Test
+    void shouldEstimateRangeOfUniformValues()
+    {
+        IndexHistogram.Builder builder = IndexHistogram.builder( 16 );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            builder.include( intValue( i ), 1 );
+        }
+        IndexHistogram histogram = builder.build();
+
+        assertEquals( 0.1, histogram.rangeFraction( intValue( 100 ), true, intValue( 200 ), false ), 0.01 );
+        assertEquals( 0.5, histogram.rangeFraction( intValue( 500 ), true, null, false ), 0.01 );
+        assertEquals( 0.25, histogram.rangeFraction( null, false, intValue( 250 ), false ), 0.01 );
+        assertEquals( 0, histogram.rangeFraction( intValue( 1000 ), false, null, false ) );
+    }
+
+    @Test
+    void shouldEstimateRangeOfSkewedValues()
+    {
+        IndexHistogram.Builder builder = IndexHistogram.builder( 16 );
+        for ( int i = 0; i < 100; i++ )
+        {
+            builder.include( intValue( i ), 1 );
+        }
+        builder.include( intValue( 100 ), 900 );
+        IndexHistogram histogram = builder.build();
+
+        assertEquals( 0.9, histogram.rangeFraction( intValue( 100 ), true, null, false ), 0.01 );
+        assertEquals( 0.1, histogram.rangeFraction( null, false, intValue( 100 ), false ), 0.01 );
+    }
+
+    @Test
+    void shouldOnlyCountValuesOfSameGroupAsRange()
+    {
+        IndexHistogram.Builder builder = IndexHistogram.builder( 16 );
+        for ( int i = 0; i < 100; i++ )
+        {
+            builder.include( stringValue( "s" + i ), 1 );
+        }
+        for ( int i = 0; i < 100; i++ )
+        {
+            builder.include( intValue( i ), 1 );
+        }
+        IndexHistogram histogram = builder.build();
+
+        assertEquals( 0.5, histogram.rangeFraction( intValue( 0 ), true, null, false ), 0.01 );
+        assertEquals( 0, histogram.rangeFraction( intValue( 0 ), true, stringValue( "s" ), true ) );
+    }
+
+    @Test
+    void shouldEstimatePrefix()
+    {
+        IndexHistogram.Builder builder = IndexHistogram.builder( 16 );
+        for ( char c = 'a'; c <= 'z'; c++ )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                builder.include( stringValue( c + String.format( "%03d", i ) ), c == 'b' ? 10 : 1 );
+            }
+        }
+        IndexHistogram histogram = builder.build();
+
+        double expected = 1000.0 / (25 * 100 + 1000);
+        assertEquals( expected, histogram.prefixFraction( stringValue( "b" ) ), 0.02 );
+        assertEquals( 0, histogram.prefixFraction( stringValue( "zz" ) ) );
+    }
+
+    @Test
+    void shouldBeEmptyWithoutValues()
+    {
+        IndexHistogram histogram = IndexHistogram.builder( 16 ).build();
+
+        assertEquals( 0, histogram.numberOfBuckets() );
+        assertEquals( 0, histogram.rangeFraction( intValue( 0 ), true, null, false ) );
+        assertEquals( 0, histogram.prefixFraction( stringValue( "a" ) ) );
+    }
+}
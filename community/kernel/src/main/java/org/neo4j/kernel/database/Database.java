@@ -56,6 +56,7 @@ import org.neo4j.internal.id.IdGeneratorFactory;
 import org.neo4j.internal.kernel.api.IndexMonitor;
 import org.neo4j.internal.kernel.api.security.AuthSubject;
 import org.neo4j.internal.kernel.api.security.LoginContext;
+import org.neo4j.internal.schema.IndexConfig;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexPrototype;
 import org.neo4j.internal.schema.SchemaDescriptors;
@@ -104,6 +105,7 @@ import org.neo4j.kernel.impl.factory.DbmsInfo;
 import org.neo4j.kernel.impl.factory.FacadeKernelTransactionFactory;
 import org.neo4j.kernel.impl.factory.GraphDatabaseFacade;
 import org.neo4j.kernel.impl.factory.KernelTransactionFactory;
+import org.neo4j.kernel.impl.index.schema.TokenIndexProvider;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.pagecache.IOControllerService;
 import org.neo4j.kernel.impl.pagecache.PageCacheLifecycle;
@@ -176,6 +178,7 @@ import org.neo4j.storageengine.api.TransactionIdStore;
 import org.neo4j.time.SystemNanoClock;
 import org.neo4j.token.TokenHolders;
 import org.neo4j.util.VisibleForTesting;
+import org.neo4j.values.storable.Values;
 
 import static java.lang.String.format;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_BYTE_ARRAY;
@@ -556,6 +559,10 @@ public class Database extends LifecycleAdapter
 
         IndexPrototype prototype = IndexPrototype.forSchema( descriptor ).withIndexType( LOOKUP )
                                                  .withIndexProvider( indexProviderMap.getTokenIndexProvider().getProviderDescriptor() );
+        if ( databaseConfig.get( GraphDatabaseInternalSettings.token_index_adaptive_encoding ) )
+        {
+            prototype = prototype.withIndexConfig( IndexConfig.with( TokenIndexProvider.ADAPTIVE_ENCODING_SETTING, Values.TRUE ) );
+        }
         prototype = prototype.withName( SchemaNameUtil.generateName( prototype, new String[]{}, new String[]{} ) );
 
         tx.schemaWrite().indexCreate( prototype );
@@ -726,7 +733,8 @@ public class Database extends LifecycleAdapter
     {
         IndexingService indexingService = IndexingServiceFactory.createIndexingService( config, jobScheduler, indexProviderMap, indexStoreViewFactory,
                 tokenNameLookup, initialSchemaRulesLoader( storageEngine ), internalLogProvider, userLogProvider, indexMonitor,
-                databaseSchemaState, indexStatisticsStore, pageCacheTracer, memoryTracker, databaseName, readOnlyChecker );
+                databaseSchemaState, indexStatisticsStore, pageCacheTracer, memoryTracker, databaseName, readOnlyChecker,
+                storageEngine.metadataProvider()::getLastClosedTransactionId );
         storageEngine.addIndexUpdateListener( indexingService );
         return indexingService;
     }
@@ -747,7 +755,8 @@ public class Database extends LifecycleAdapter
                 new LogPruningImpl( fs, logFiles, logProvider, new LogPruneStrategyFactory(), clock, config, pruneLock );
 
         var transactionAppender =
-                createTransactionAppender( logFiles, metadataProvider, transactionMetadataCache, config, databaseHealth, scheduler, logProvider );
+                createTransactionAppender( logFiles, metadataProvider, transactionMetadataCache, config, databaseHealth, scheduler, logProvider,
+                        monitors );
         life.add( transactionAppender );
 
         final LogicalTransactionStore logicalTransactionStore =
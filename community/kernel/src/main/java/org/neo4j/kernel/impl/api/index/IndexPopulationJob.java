@@ -181,7 +181,8 @@ public class IndexPopulationJob implements Runnable
 
     /**
      * Signal to stop index population.
-     * All populating indexes will remain in {@link InternalIndexState#POPULATING populating state} to be rebuilt on next db start up.
+     * All populating indexes will remain in {@link InternalIndexState#POPULATING populating state} to be rebuilt on next db start up,
+     * or resumed from where the scan stopped if the populators were checkpointed.
      * Asynchronous call, need to {@link #awaitCompletion(long, TimeUnit) await completion}.
      */
     public void stop()
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.impl.api.index.MultipleIndexPopulator.IndexPopulation;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+
+/**
+ * Feeds scan updates to the {@link IndexPopulator populators} of a {@link MultipleIndexPopulator} through one bounded queue per index,
+ * each drained by workers of its own. This way key generation and sorting of the different indexes run in parallel with each other
+ * and with the store scan, instead of all indexes being populated in turn by the scan threads.
+ * <p>
+ * A full queue blocks the submitting scan thread, which gives backpressure towards the scan. Heap held by queued batches is
+ * accounted for in the given {@link MemoryTracker}.
+ */
+class IndexPopulationPipeline implements AutoCloseable
+{
+    private static final String PIPELINE_TAG = "indexPopulationPipeline";
+    private static final Batch END = new Batch( List.of(), 0 );
+
+    private final Map<IndexPopulation,Lane> lanes = new IdentityHashMap<>();
+    private final PageCacheTracer cacheTracer;
+    private final MemoryTracker memoryTracker;
+    private final FailureHandler failureHandler;
+    private boolean closed;
+
+    IndexPopulationPipeline( Collection<IndexPopulation> populations, int queueSize, int workersPerIndex, JobScheduler jobScheduler,
+            JobMonitoringParams monitoringParams, PageCacheTracer cacheTracer, MemoryTracker memoryTracker, FailureHandler failureHandler )
+    {
+        this.cacheTracer = cacheTracer;
+        this.memoryTracker = memoryTracker;
+        this.failureHandler = failureHandler;
+        for ( IndexPopulation population : populations )
+        {
+            Lane lane = new Lane( population, queueSize );
+            for ( int i = 0; i < workersPerIndex; i++ )
+            {
+                lane.workers.add( jobScheduler.schedule( Group.INDEX_POPULATION_WORK, monitoringParams, () -> work( lane ) ) );
+            }
+            lanes.put( population, lane );
+        }
+    }
+
+    /**
+     * Number of workers to give each index, such that all available cores are used, but every index gets at least one worker.
+     *
+     * @param numberOfIndexes number of indexes being populated.
+     * @param numberOfCores number of available cores.
+     * @return number of workers per index.
+     */
+    static int workersPerIndex( int numberOfIndexes, int numberOfCores )
+    {
+        return Math.max( 1, numberOfCores / Math.max( 1, numberOfIndexes ) );
+    }
+
+    /**
+     * Queues a batch of updates for the given population, blocking while its queue is full.
+     * Populations that aren't part of this pipeline, or whose population already failed, are silently ignored.
+     *
+     * @param population population the updates are for.
+     * @param updates updates to add to the populator of the population.
+     */
+    void submit( IndexPopulation population, List<IndexEntryUpdate<IndexPopulation>> updates )
+    {
+        Lane lane = lanes.get( population );
+        if ( lane == null || lane.failed )
+        {
+            return;
+        }
+        long heapSize = 0;
+        for ( IndexEntryUpdate<IndexPopulation> update : updates )
+        {
+            heapSize += update.roughSizeOfUpdate();
+        }
+        allocate( heapSize );
+        lane.enqueued();
+        try
+        {
+            lane.queue.put( new Batch( updates, heapSize ) );
+        }
+        catch ( InterruptedException e )
+        {
+            lane.processed();
+            release( heapSize );
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted while waiting to queue updates for index population", e );
+        }
+    }
+
+    /**
+     * Waits until all batches submitted so far have been added to their populators.
+     */
+    void awaitProcessed()
+    {
+        for ( Lane lane : lanes.values() )
+        {
+            lane.awaitProcessed();
+        }
+    }
+
+    /**
+     * Lets the workers finish all submitted batches and then stops them. Failures of individual populations have already been
+     * reported to the {@link FailureHandler} by then.
+     */
+    @Override
+    public synchronized void close()
+    {
+        if ( closed )
+        {
+            return;
+        }
+        closed = true;
+        boolean interrupted = false;
+        for ( Lane lane : lanes.values() )
+        {
+            for ( int i = 0; i < lane.workers.size(); i++ )
+            {
+                while ( true )
+                {
+                    try
+                    {
+                        lane.queue.put( END );
+                        break;
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        interrupted = true;
+                    }
+                }
+            }
+        }
+        for ( Lane lane : lanes.values() )
+        {
+            for ( JobHandle<?> worker : lane.workers )
+            {
+                try
+                {
+                    worker.waitTermination();
+                }
+                catch ( InterruptedException e )
+                {
+                    interrupted = true;
+                }
+                catch ( ExecutionException e )
+                {
+                    // Failures are handed to the failure handler by the worker itself
+                }
+            }
+        }
+        if ( interrupted )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Void work( Lane lane ) throws InterruptedException
+    {
+        try ( CursorContext cursorContext = new CursorContext( cacheTracer.createPageCursorTracer( PIPELINE_TAG ) ) )
+        {
+            while ( true )
+            {
+                Batch batch = lane.queue.take();
+                if ( batch == END )
+                {
+                    return null;
+                }
+                try
+                {
+                    if ( !lane.failed )
+                    {
+                        lane.population.populator.add( batch.updates, cursorContext );
+                    }
+                }
+                catch ( Throwable t )
+                {
+                    lane.failed = true;
+                    failureHandler.failed( lane.population, t, cursorContext );
+                }
+                finally
+                {
+                    release( batch.heapSize );
+                    lane.processed();
+                }
+            }
+        }
+    }
+
+    private void allocate( long heapSize )
+    {
+        synchronized ( memoryTracker )
+        {
+            memoryTracker.allocateHeap( heapSize );
+        }
+    }
+
+    private void release( long heapSize )
+    {
+        synchronized ( memoryTracker )
+        {
+            memoryTracker.releaseHeap( heapSize );
+        }
+    }
+
+    @FunctionalInterface
+    interface FailureHandler
+    {
+        void failed( IndexPopulation population, Throwable failure, CursorContext cursorContext );
+    }
+
+    private static class Lane
+    {
+        private final IndexPopulation population;
+        private final BlockingQueue<Batch> queue;
+        private final List<JobHandle<?>> workers = new ArrayList<>();
+        private volatile boolean failed;
+        private long inFlight;
+
+        Lane( IndexPopulation population, int queueSize )
+        {
+            this.population = population;
+            this.queue = new ArrayBlockingQueue<>( queueSize );
+        }
+
+        synchronized void enqueued()
+        {
+            inFlight++;
+        }
+
+        synchronized void processed()
+        {
+            if ( --inFlight == 0 )
+            {
+                notifyAll();
+            }
+        }
+
+        synchronized void awaitProcessed()
+        {
+            boolean interrupted = false;
+            while ( inFlight > 0 )
+            {
+                try
+                {
+                    wait();
+                }
+                catch ( InterruptedException e )
+                {
+                    interrupted = true;
+                }
+            }
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class Batch
+    {
+        private final List<IndexEntryUpdate<IndexPopulation>> updates;
+        private final long heapSize;
+
+        Batch( List<IndexEntryUpdate<IndexPopulation>> updates, long heapSize )
+        {
+            this.updates = updates;
+            this.heapSize = heapSize;
+        }
+    }
+}
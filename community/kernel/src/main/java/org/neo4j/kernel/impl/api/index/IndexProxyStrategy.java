@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.api.index;
 
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.impl.api.index.sampling.IndexUpdateSketch;
 
 /**
  * Representation of an index used by indexing services in this package.
@@ -41,6 +42,12 @@ interface IndexProxyStrategy
 
     void replaceStatisticsForIndex( IndexSample sample );
 
+    /**
+     * @return sketch to include updates to this index in, for incremental sampling, or {@code null} if updates should not be sketched.
+     * The sketch is acquired and must be {@link IndexUpdateSketch#release() released} once no more updates are included in it.
+     */
+    IndexUpdateSketch acquireUpdateSketchForIndex();
+
     void changeIndexDescriptor( IndexDescriptor descriptor );
 
     String getIndexUserDescription();
@@ -94,6 +94,11 @@ public interface IndexStoreView
         {
             return PopulationProgress.DONE;
         }
+
+        @Override
+        public void resumeAfter( long entityId )
+        {
+        }
     };
 
     IndexStoreView EMPTY = new Adaptor();
@@ -36,6 +36,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
@@ -130,6 +131,7 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
     private final IndexPopulationJobController populationJobController;
     private static final String INIT_TAG = "Initialize IndexingService";
     private final IndexStoreView storeView;
+    private final LongSupplier lastClosedTransactionId;
 
     enum State
     {
@@ -158,7 +160,8 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
             MemoryTracker memoryTracker,
             String databaseName,
             DatabaseReadOnlyChecker readOnlyChecker,
-            Config config )
+            Config config,
+            LongSupplier lastClosedTransactionId )
     {
         this.indexProxyCreator = indexProxyCreator;
         this.providerMap = providerMap;
@@ -179,6 +182,7 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
         this.databaseName = databaseName;
         this.readOnlyChecker = readOnlyChecker;
         this.config = config;
+        this.lastClosedTransactionId = lastClosedTransactionId;
         this.storeView = indexStoreViewFactory.createTokenIndexStoreView( descriptor -> indexMapRef.getIndexProxy( descriptor.getId() ) );
     }
 
@@ -835,7 +839,7 @@ public class IndexingService extends LifecycleAdapter implements IndexUpdateList
     private IndexPopulationJob newIndexPopulationJob( EntityType type, boolean verifyBeforeFlipping, Subject subject )
     {
         MultipleIndexPopulator multiPopulator = new MultipleIndexPopulator( storeView, internalLogProvider, type, schemaState,
-                jobScheduler, tokenNameLookup, pageCacheTracer, memoryTracker, databaseName, subject, config );
+                jobScheduler, tokenNameLookup, pageCacheTracer, memoryTracker, databaseName, subject, config, lastClosedTransactionId );
         return new IndexPopulationJob( multiPopulator, monitor, verifyBeforeFlipping, pageCacheTracer, memoryTracker, databaseName, subject, NODE, config );
     }
 
@@ -19,6 +19,8 @@
  */
 package org.neo4j.kernel.impl.api.index;
 
+import java.util.function.LongSupplier;
+
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
@@ -58,6 +60,32 @@ public final class IndexingServiceFactory
                                           MemoryTracker memoryTracker,
                                           String databaseName,
                                           DatabaseReadOnlyChecker readOnlyChecker )
+    {
+        return createIndexingService( config, scheduler, providerMap, indexStoreViewFactory, tokenNameLookup, indexRules, internalLogProvider,
+                userLogProvider, monitor, schemaState, indexStatisticsStore, pageCacheTracer, memoryTracker, databaseName, readOnlyChecker, null );
+    }
+
+    /**
+     * @param lastClosedTransactionId supplier of the id of the last closed transaction, needed for checkpointing index populations so that they can
+     * be resumed after a restart, see {@link org.neo4j.configuration.GraphDatabaseInternalSettings#index_population_checkpoint_interval}.
+     * May be {@code null}, in which case index populations are never checkpointed.
+     */
+    public static IndexingService createIndexingService( Config config,
+                                          JobScheduler scheduler,
+                                          IndexProviderMap providerMap,
+                                          IndexStoreViewFactory indexStoreViewFactory,
+                                          TokenNameLookup tokenNameLookup,
+                                          Iterable<IndexDescriptor> indexRules,
+                                          LogProvider internalLogProvider,
+                                          LogProvider userLogProvider,
+                                          IndexMonitor monitor,
+                                          SchemaState schemaState,
+                                          IndexStatisticsStore indexStatisticsStore,
+                                          PageCacheTracer pageCacheTracer,
+                                          MemoryTracker memoryTracker,
+                                          String databaseName,
+                                          DatabaseReadOnlyChecker readOnlyChecker,
+                                          LongSupplier lastClosedTransactionId )
     {
         IndexSamplingConfig samplingConfig = new IndexSamplingConfig( config );
         IndexMapReference indexMapRef = new IndexMapReference();
@@ -69,6 +97,7 @@ public final class IndexingServiceFactory
 
         return new IndexingService( proxySetup, providerMap, indexMapRef, indexStoreViewFactory, indexRules,
                 indexSamplingController, tokenNameLookup, scheduler, schemaState,
-                internalLogProvider, userLogProvider, monitor, indexStatisticsStore, pageCacheTracer, memoryTracker, databaseName, readOnlyChecker, config );
+                internalLogProvider, userLogProvider, monitor, indexStatisticsStore, pageCacheTracer, memoryTracker, databaseName, readOnlyChecker, config,
+                lastClosedTransactionId );
     }
 }
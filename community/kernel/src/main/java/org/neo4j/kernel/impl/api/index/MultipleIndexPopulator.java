@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.api.index;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -28,10 +29,12 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.IntPredicate;
+import java.util.function.LongSupplier;
 import java.util.stream.IntStream;
 
 import org.neo4j.common.EntityType;
@@ -72,9 +75,11 @@ import org.neo4j.values.storable.Value;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.collections.impl.utility.ArrayIterate.contains;
 import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
 import static org.neo4j.internal.schema.IndexType.LOOKUP;
+import static org.neo4j.kernel.api.index.IndexPopulator.NO_CHECKPOINT;
 import static org.neo4j.io.IOUtils.closeAllUnchecked;
 import static org.neo4j.kernel.impl.api.index.IndexPopulationFailure.failure;
 
@@ -108,16 +113,30 @@ import static org.neo4j.kernel.impl.api.index.IndexPopulationFailure.failure;
  * {@link #queueThreshold} than all queued concurrent updates are flushed after the store scan in
  * {@link MultipleIndexPopulator#flipAfterStoreScan(boolean, CursorContext)}.
  * <p>
+ * If {@link GraphDatabaseInternalSettings#index_population_checkpoint_interval} is set, the populators are also
+ * {@link IndexPopulator#checkpoint(long, long) checkpointed} at that interval, at the same point in the scan where external updates are applied.
+ * A population that is stopped before its scan completes, like on shutdown, is checkpointed one last time where the scan stopped. A population
+ * interrupted by a restart is then {@link IndexPopulator#resume() resumed} from the last checkpoint, as long as all its populators have an equal
+ * checkpoint and no transaction has been closed since. That holds after a clean shutdown, while after a crash the transactions recovered past
+ * the checkpoint make the population start over.
+ * <p>
  */
 public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, AutoCloseable
 {
     private static final String MULTIPLE_INDEX_POPULATOR_TAG = "multipleIndexPopulator";
     private static final String POPULATION_WORK_FLUSH_TAG = "populationWorkFlush";
+    private static final String POPULATION_SCAN_COMPLETED_TAG = "populationScanCompleted";
     private static final String EOL = System.lineSeparator();
 
     private final int queueThreshold;
     final int batchMaxByteSizeScan;
     private final boolean printDebug;
+    private final boolean pipelined;
+    private final int pipelineQueueSize;
+    private final long checkpointIntervalNanos;
+    private final LongSupplier lastClosedTransactionId;
+    private volatile long lastCheckpointNanos;
+    private long resumeAfterEntityId = NO_CHECKPOINT;
 
     // Concurrency queue since multiple concurrent threads may enqueue updates into it. It is important for this queue
     // to have fast #size() method since it might be drained in batches
@@ -141,6 +160,7 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
     private final CursorContext cursorContext;
     private final MemoryTracker memoryTracker;
     private volatile StoreScan storeScan;
+    private volatile IndexPopulationPipeline pipeline;
     private final TokenNameLookup tokenNameLookup;
     private final PageCacheTracer cacheTracer;
     private final String databaseName;
@@ -149,6 +169,17 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
     public MultipleIndexPopulator( IndexStoreView storeView, LogProvider logProvider, EntityType type, SchemaState schemaState,
             JobScheduler jobScheduler, TokenNameLookup tokenNameLookup, PageCacheTracer cacheTracer,
             MemoryTracker memoryTracker, String databaseName, Subject subject, Config config )
+    {
+        this( storeView, logProvider, type, schemaState, jobScheduler, tokenNameLookup, cacheTracer, memoryTracker, databaseName, subject, config, null );
+    }
+
+    /**
+     * @param lastClosedTransactionId supplier of the id of the last closed transaction, which is what checkpoints are validated against.
+     * If {@code null} the populators are never checkpointed.
+     */
+    public MultipleIndexPopulator( IndexStoreView storeView, LogProvider logProvider, EntityType type, SchemaState schemaState,
+            JobScheduler jobScheduler, TokenNameLookup tokenNameLookup, PageCacheTracer cacheTracer,
+            MemoryTracker memoryTracker, String databaseName, Subject subject, Config config, LongSupplier lastClosedTransactionId )
     {
         this.storeView = storeView;
         this.cursorContext = new CursorContext( cacheTracer.createPageCursorTracer( MULTIPLE_INDEX_POPULATOR_TAG ) );
@@ -168,6 +199,11 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
         this.printDebug = config.get( GraphDatabaseInternalSettings.index_population_print_debug );
         this.queueThreshold = config.get( GraphDatabaseInternalSettings.index_population_queue_threshold );
         this.batchMaxByteSizeScan = config.get( GraphDatabaseInternalSettings.index_population_batch_max_byte_size ).intValue();
+        this.pipelined = config.get( GraphDatabaseInternalSettings.index_population_pipelined );
+        this.pipelineQueueSize = config.get( GraphDatabaseInternalSettings.index_population_pipeline_queue_size );
+        this.checkpointIntervalNanos =
+                lastClosedTransactionId != null ? config.get( GraphDatabaseInternalSettings.index_population_checkpoint_interval ).toNanos() : 0;
+        this.lastClosedTransactionId = lastClosedTransactionId;
     }
 
     IndexPopulation addPopulator( IndexPopulator populator, IndexProxyStrategy indexProxyStrategy, FlippableIndexProxy flipper,
@@ -191,13 +227,47 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
 
     public void create( CursorContext cursorContext )
     {
+        resumeAfterEntityId = resumableEntityId();
+        lastCheckpointNanos = System.nanoTime();
         forEachPopulation( population ->
         {
-            log.info( "Index population started: [%s]", population.userDescription( tokenNameLookup ) );
-            population.create();
+            if ( resumeAfterEntityId != NO_CHECKPOINT )
+            {
+                log.info( "Index population resumed after entity %d: [%s]", resumeAfterEntityId, population.userDescription( tokenNameLookup ) );
+                population.resume();
+            }
+            else
+            {
+                log.info( "Index population started: [%s]", population.userDescription( tokenNameLookup ) );
+                population.create();
+            }
         }, cursorContext );
     }
 
+    /**
+     * @return the entity id all populations have checkpointed up to, if they all can be resumed from that checkpoint,
+     * otherwise {@link IndexPopulator#NO_CHECKPOINT}.
+     */
+    private long resumableEntityId()
+    {
+        if ( checkpointIntervalNanos == 0 || populations.isEmpty() )
+        {
+            return NO_CHECKPOINT;
+        }
+        long transactionId = lastClosedTransactionId.getAsLong();
+        long entityId = NO_CHECKPOINT;
+        for ( IndexPopulation population : populations )
+        {
+            long checkpointedEntityId = population.populator.checkpointedEntityId( transactionId );
+            if ( checkpointedEntityId == NO_CHECKPOINT || (entityId != NO_CHECKPOINT && checkpointedEntityId != entityId) )
+            {
+                return NO_CHECKPOINT;
+            }
+            entityId = checkpointedEntityId;
+        }
+        return entityId;
+    }
+
     StoreScan createStoreScan( PageCacheTracer cacheTracer )
     {
         int[] entityTokenIds = entityTokenIds();
@@ -229,9 +299,37 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
             storeScan = new LoggingStoreScan( innerStoreScan, true );
         }
         storeScan.setPhaseTracker( phaseTracker );
+        if ( resumeAfterEntityId != NO_CHECKPOINT )
+        {
+            storeScan.resumeAfter( resumeAfterEntityId );
+        }
+        if ( pipelined )
+        {
+            pipeline = createPipeline();
+        }
         return storeScan;
     }
 
+    private IndexPopulationPipeline createPipeline()
+    {
+        List<IndexPopulation> valuePopulations = populations.stream()
+                .filter( population -> population.indexProxyStrategy.getIndexDescriptor().getIndexType() != LOOKUP )
+                .collect( toList() );
+        int workersPerIndex = IndexPopulationPipeline.workersPerIndex( valuePopulations.size(), Runtime.getRuntime().availableProcessors() );
+        var monitoringParams = new JobMonitoringParams( subject, databaseName, "Sorting and merging scan updates of populating indexes" );
+        return new IndexPopulationPipeline( valuePopulations, pipelineQueueSize, workersPerIndex, jobScheduler, monitoringParams, cacheTracer,
+                memoryTracker, this::cancel );
+    }
+
+    private void closePipeline()
+    {
+        IndexPopulationPipeline currentPipeline = pipeline;
+        if ( currentPipeline != null )
+        {
+            currentPipeline.close();
+        }
+    }
+
     /**
      * Queues an update to be fed into the index populators. These updates come from changes being made
      * to storage while a concurrent scan is happening to keep populators up to date with all latest changes.
@@ -326,6 +424,7 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
      */
     public void close()
     {
+        closePipeline();
         phaseTracker.stop();
         closeAllUnchecked( propertyAccessor, cursorContext );
     }
@@ -355,11 +454,19 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
      */
     void flipAfterStoreScan( boolean verifyBeforeFlipping, CursorContext cursorContext )
     {
+        closePipeline();
+        if ( pipelined )
+        {
+            completeScansInParallel();
+        }
         for ( IndexPopulation population : populations )
         {
             try
             {
-                population.scanCompleted( cursorContext );
+                if ( !pipelined )
+                {
+                    population.scanCompleted( phaseTracker, cursorContext );
+                }
                 population.flip( verifyBeforeFlipping, cursorContext );
             }
             catch ( Throwable t )
@@ -369,6 +476,55 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
         }
     }
 
+    /**
+     * Lets all populators complete their scans, i.e. merge and build their indexes, concurrently.
+     * Populations failing to do so are cancelled.
+     */
+    private void completeScansInParallel()
+    {
+        PhaseTracker sharedPhaseTracker = new SynchronizedPhaseTracker( phaseTracker );
+        List<JobHandle<?>> handles = new ArrayList<>();
+        for ( IndexPopulation population : populations )
+        {
+            var monitoringParams = new JobMonitoringParams( subject, databaseName,
+                    "Completing scan of index '" + population.indexProxyStrategy.getIndexDescriptor().getName() + "'" );
+            handles.add( jobScheduler.schedule( Group.INDEX_POPULATION_WORK, monitoringParams, () ->
+            {
+                try ( var scanCompletedContext = new CursorContext( cacheTracer.createPageCursorTracer( POPULATION_SCAN_COMPLETED_TAG ) ) )
+                {
+                    try
+                    {
+                        population.scanCompleted( sharedPhaseTracker, scanCompletedContext );
+                    }
+                    catch ( Throwable t )
+                    {
+                        cancel( population, t, scanCompletedContext );
+                    }
+                }
+            } ) );
+        }
+        boolean interrupted = false;
+        for ( JobHandle<?> handle : handles )
+        {
+            try
+            {
+                handle.waitTermination();
+            }
+            catch ( InterruptedException e )
+            {
+                interrupted = true;
+            }
+            catch ( ExecutionException e )
+            {
+                // Failures are handled by cancelling the population in the job itself
+            }
+        }
+        if ( interrupted )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private int[] propertyKeyIds()
     {
         return populations.stream().flatMapToInt( this::propertyKeyIds ).distinct().toArray();
@@ -376,7 +532,7 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
 
     private IntStream propertyKeyIds( IndexPopulation population )
     {
-        return IntStream.of( population.schema().getPropertyIds() );
+        return IntStream.concat( IntStream.of( population.schema().getPropertyIds() ), IntStream.of( population.getIncludedPropertyIds() ) );
     }
 
     private int[] entityTokenIds()
@@ -432,11 +588,55 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
     public boolean needToApplyExternalUpdates()
     {
         int queueSize = concurrentUpdateQueue.size();
-        return (queueSize > 0 && queueSize >= queueThreshold) || concurrentUpdateQueueByteSize.get() >= batchMaxByteSizeScan;
+        return (queueSize > 0 && queueSize >= queueThreshold) || concurrentUpdateQueueByteSize.get() >= batchMaxByteSizeScan || checkpointDue();
+    }
+
+    private boolean checkpointDue()
+    {
+        return checkpointIntervalNanos > 0 && System.nanoTime() - lastCheckpointNanos >= checkpointIntervalNanos;
     }
 
     @Override
     public void applyExternalUpdates( long currentlyIndexedNodeId )
+    {
+        // The scan reports entity id 0 also before it has processed any entity, so checkpointing is held off until it has come further than that
+        if ( !checkpointDue() || currentlyIndexedNodeId <= 0 )
+        {
+            applyQueuedUpdates( currentlyIndexedNodeId );
+            return;
+        }
+
+        checkpoint( currentlyIndexedNodeId );
+    }
+
+    @Override
+    public void scanStopped( long lastScannedEntityId )
+    {
+        // Without this the checkpoint would always be older than the last transactions before a shutdown, and so never resumed from
+        if ( checkpointIntervalNanos > 0 && lastScannedEntityId > 0 )
+        {
+            checkpoint( lastScannedEntityId );
+        }
+    }
+
+    private void checkpoint( long currentlyIndexedNodeId )
+    {
+        // All transactions up to and including this one have queued their updates by now, so those will all be applied before the checkpoint
+        long transactionId = lastClosedTransactionId.getAsLong();
+        IndexPopulationPipeline currentPipeline = pipeline;
+        if ( currentPipeline != null )
+        {
+            currentPipeline.awaitProcessed();
+        }
+        applyQueuedUpdates( currentlyIndexedNodeId );
+        lastCheckpointNanos = System.nanoTime();
+        for ( IndexPopulation population : populations )
+        {
+            population.checkpoint( currentlyIndexedNodeId, transactionId );
+        }
+    }
+
+    private void applyQueuedUpdates( long currentlyIndexedNodeId )
     {
         if ( concurrentUpdateQueue.isEmpty() )
         {
@@ -448,6 +648,13 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
             log.info( "Populating from queue at %d", currentlyIndexedNodeId );
         }
 
+        IndexPopulationPipeline currentPipeline = pipeline;
+        if ( currentPipeline != null )
+        {
+            // Scan updates of already scanned entities must reach the populators before the external updates of those entities
+            currentPipeline.awaitProcessed();
+        }
+
         long updateByteSizeDrained = 0;
         try ( MultipleIndexUpdater updater = newPopulatingUpdater( propertyAccessor, cursorContext ) )
         {
@@ -634,6 +841,43 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
             }
         }
 
+        void resume() throws IOException
+        {
+            populatorLock.lock();
+            try
+            {
+                if ( populationOngoing )
+                {
+                    populator.resume();
+                }
+            }
+            finally
+            {
+                populatorLock.unlock();
+            }
+        }
+
+        void checkpoint( long scannedEntityId, long lastClosedTransactionId )
+        {
+            populatorLock.lock();
+            try
+            {
+                if ( populationOngoing )
+                {
+                    populator.checkpoint( scannedEntityId, lastClosedTransactionId );
+                }
+            }
+            catch ( IOException | UncheckedIOException e )
+            {
+                // Not being able to checkpoint is no reason to fail the population, it only means that a restart may need to redo more work
+                log.warn( format( "Failed to checkpoint population of index %s", userDescription( tokenNameLookup ) ), e );
+            }
+            finally
+            {
+                populatorLock.unlock();
+            }
+        }
+
         /**
          * Disconnect this single {@link IndexPopulation index population} from ongoing multiple index population
          * and close {@link IndexPopulator index populator}, leaving it in {@link InternalIndexState#POPULATING populating state}.
@@ -683,7 +927,7 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
                 {
                     if ( populationOngoing )
                     {
-                        applyExternalUpdates( Long.MAX_VALUE );
+                        applyQueuedUpdates( Long.MAX_VALUE );
                         if ( populations.contains( IndexPopulation.this ) )
                         {
                             if ( verifyBeforeFlipping )
@@ -723,13 +967,19 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
             return indexProxyStrategy.getIndexDescriptor().schema();
         }
 
+        @Override
+        public int[] getIncludedPropertyIds()
+        {
+            return indexProxyStrategy.getIndexDescriptor().getIncludedPropertyIds();
+        }
+
         @Override
         public String userDescription( TokenNameLookup tokenNameLookup )
         {
             return indexProxyStrategy.getIndexUserDescription();
         }
 
-        void scanCompleted( CursorContext cursorContext ) throws IndexEntryConflictException
+        void scanCompleted( PhaseTracker phaseTracker, CursorContext cursorContext ) throws IndexEntryConflictException
         {
             IndexPopulator.PopulationWorkScheduler populationWorkScheduler = new IndexPopulator.PopulationWorkScheduler()
             {
@@ -807,8 +1057,14 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
                     updates.computeIfAbsent( population, p -> new ArrayList<>() ).add( indexUpdate );
                 }
             }
+            IndexPopulationPipeline currentPipeline = pipeline;
             for ( Map.Entry<IndexPopulation,List<IndexEntryUpdate<IndexPopulation>>> entry : updates.entrySet() )
             {
+                if ( currentPipeline != null )
+                {
+                    currentPipeline.submit( entry.getKey(), entry.getValue() );
+                    continue;
+                }
                 try
                 {
                     entry.getKey().populator.add( entry.getValue(), cursorContext );
@@ -907,5 +1163,42 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
         {
             delegate.setPhaseTracker( phaseTracker );
         }
+
+        @Override
+        public void resumeAfter( long entityId )
+        {
+            delegate.resumeAfter( entityId );
+        }
+    }
+
+    /**
+     * Lets populators completing their scans concurrently report their phases to the same, not thread safe, {@link PhaseTracker}.
+     */
+    private static class SynchronizedPhaseTracker implements PhaseTracker
+    {
+        private final PhaseTracker delegate;
+
+        SynchronizedPhaseTracker( PhaseTracker delegate )
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized void enterPhase( Phase phase )
+        {
+            delegate.enterPhase( phase );
+        }
+
+        @Override
+        public synchronized void registerTime( Phase phase, long millis )
+        {
+            delegate.registerTime( phase, millis );
+        }
+
+        @Override
+        public synchronized void stop()
+        {
+            delegate.stop();
+        }
     }
 }
@@ -38,6 +38,16 @@ public interface StoreScan
     {   // no-op
     }
 
+    /**
+     * Makes this {@link StoreScan} skip all entities with ids up to and including the given id, because they have been fully processed
+     * by a previous, checkpointed, scan. Must not be called once scan has already started.
+     * @param entityId the highest entity id to skip.
+     */
+    default void resumeAfter( long entityId )
+    {
+        throw new UnsupportedOperationException( getClass().getSimpleName() + " can not resume a previous scan" );
+    }
+
     /**
      * Interaction point from the store scan with the index population to synchronize store scan with applying external concurrent updates
      * that happens while the store scan is running.
@@ -56,6 +66,15 @@ public interface StoreScan
          * @param currentlyIndexedNodeId the highest entity id which has been processed by the store scan.
          */
         void applyExternalUpdates( long currentlyIndexedNodeId );
+
+        /**
+         * Called by the thread running the store scan when the scan has been {@link #stop() stopped} before completing, once all entities it
+         * has read have been processed, so that the progress made so far can be kept.
+         * @param lastScannedEntityId the highest entity id which has been processed by the store scan.
+         */
+        default void scanStopped( long lastScannedEntityId )
+        {   // no-op
+        }
     }
 
     ExternalUpdatesCheck NO_EXTERNAL_UPDATES = new ExternalUpdatesCheck()
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.api.index;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.impl.api.index.sampling.IndexUpdateSketch;
 
 /**
  * Method {@link #changeIndexDescriptor} allows changing the descriptor.
@@ -66,6 +67,12 @@ class TokenIndexProxyStrategy implements IndexProxyStrategy
 
     }
 
+    @Override
+    public IndexUpdateSketch acquireUpdateSketchForIndex()
+    {
+        return null;
+    }
+
     @Override
     public void changeIndexDescriptor( IndexDescriptor descriptor )
     {
@@ -21,31 +21,48 @@ package org.neo4j.kernel.impl.api.index;
 
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.impl.api.index.sampling.IndexUpdateSketch;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 
 public class UpdateCountingIndexUpdater implements IndexUpdater
 {
     private final IndexProxyStrategy indexProxyStrategy;
     private final IndexUpdater delegate;
+    private final IndexUpdateSketch updateSketch;
     private long updates;
 
     public UpdateCountingIndexUpdater( IndexProxyStrategy indexProxyStrategy, IndexUpdater delegate )
     {
         this.indexProxyStrategy = indexProxyStrategy;
         this.delegate = delegate;
+        this.updateSketch = indexProxyStrategy.acquireUpdateSketchForIndex();
     }
 
     @Override
     public void process( IndexEntryUpdate<?> update ) throws IndexEntryConflictException
     {
         delegate.process( update );
+        if ( updateSketch != null )
+        {
+            updateSketch.include( update );
+        }
         updates++;
     }
 
     @Override
     public void close() throws IndexEntryConflictException
     {
-        delegate.close();
-        indexProxyStrategy.incrementUpdateStatisticsForIndex( updates );
+        try
+        {
+            delegate.close();
+            indexProxyStrategy.incrementUpdateStatisticsForIndex( updates );
+        }
+        finally
+        {
+            if ( updateSketch != null )
+            {
+                updateSketch.release();
+            }
+        }
     }
 }
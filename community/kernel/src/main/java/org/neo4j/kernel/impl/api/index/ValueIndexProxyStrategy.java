@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.api.index;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.impl.api.index.sampling.IndexUpdateSketch;
 import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
 
 class ValueIndexProxyStrategy implements IndexProxyStrategy
@@ -29,11 +30,19 @@ class ValueIndexProxyStrategy implements IndexProxyStrategy
     private final IndexDescriptor indexDescriptor;
     private final IndexStatisticsStore statisticsStore;
     private final String indexUserDescription;
+    private final boolean incrementalSampling;
 
     ValueIndexProxyStrategy( IndexDescriptor indexDescriptor, IndexStatisticsStore statisticsStore, TokenNameLookup tokenNameLookup )
+    {
+        this( indexDescriptor, statisticsStore, tokenNameLookup, false );
+    }
+
+    ValueIndexProxyStrategy( IndexDescriptor indexDescriptor, IndexStatisticsStore statisticsStore, TokenNameLookup tokenNameLookup,
+            boolean incrementalSampling )
     {
         this.indexDescriptor = indexDescriptor;
         this.statisticsStore = statisticsStore;
+        this.incrementalSampling = incrementalSampling;
         indexUserDescription = indexDescriptor.userDescription( tokenNameLookup );
     }
 
@@ -61,6 +70,12 @@ class ValueIndexProxyStrategy implements IndexProxyStrategy
         statisticsStore.replaceStats( indexDescriptor.getId(), sample );
     }
 
+    @Override
+    public IndexUpdateSketch acquireUpdateSketchForIndex()
+    {
+        return incrementalSampling ? statisticsStore.acquireUpdateSketch( indexDescriptor.getId() ) : null;
+    }
+
     @Override
     public void changeIndexDescriptor( IndexDescriptor descriptor )
     {
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.impl.api.index.IndexProxy;
+import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+
+import static java.lang.String.format;
+import static org.neo4j.internal.kernel.api.InternalIndexState.ONLINE;
+
+/**
+ * Samples an index by merging the {@link IndexUpdateSketch} of updates applied since last sample into the existing sample,
+ * instead of scanning the index.
+ */
+class IncrementalIndexSamplingJob implements IndexSamplingJob
+{
+    private final long indexId;
+    private final IndexProxy indexProxy;
+    private final IndexStatisticsStore indexStatisticsStore;
+    private final Log log;
+    private final String indexUserDescription;
+    private final String indexName;
+
+    IncrementalIndexSamplingJob( long indexId, IndexProxy indexProxy, IndexStatisticsStore indexStatisticsStore, String indexUserDescription,
+            String indexName, LogProvider logProvider )
+    {
+        this.indexId = indexId;
+        this.indexProxy = indexProxy;
+        this.indexStatisticsStore = indexStatisticsStore;
+        this.log = logProvider.getLog( getClass() );
+        this.indexUserDescription = indexUserDescription;
+        this.indexName = indexName;
+    }
+
+    @Override
+    public long indexId()
+    {
+        return indexId;
+    }
+
+    @Override
+    public String indexName()
+    {
+        return indexName;
+    }
+
+    @Override
+    public void run()
+    {
+        if ( indexProxy.getState() == ONLINE )
+        {
+            IndexSample sample = indexStatisticsStore.mergeUpdateSketch( indexId );
+            log.debug( format( "Incrementally sampled index %s to %d unique values in sample of avg size %d for index containing %d entries",
+                    indexUserDescription, sample.uniqueValues(), sample.sampleSize(), sample.indexSize() ) );
+        }
+    }
+}
@@ -67,7 +67,9 @@ public class IndexSamplingController
     private final IndexMapSnapshotProvider indexMapSnapshotProvider;
     private final JobScheduler scheduler;
     private final RecoveryCondition indexRecoveryCondition;
+    private final RecoveryCondition histogramRecoveryCondition;
     private final boolean backgroundSampling;
+    private final boolean incrementalSampling;
     private final Lock samplingLock = new ReentrantLock();
     private final Log log;
     private final boolean logRecoverIndexSamples;
@@ -85,17 +87,20 @@ public class IndexSamplingController
                              IndexMapSnapshotProvider indexMapSnapshotProvider,
                              JobScheduler scheduler,
                              RecoveryCondition indexRecoveryCondition,
+                             RecoveryCondition histogramRecoveryCondition,
                              LogProvider logProvider,
                              Config config,
                              String databaseName )
     {
         this.backgroundSampling = samplingConfig.backgroundSampling();
+        this.incrementalSampling = samplingConfig.incrementalSampling();
         this.jobFactory = jobFactory;
         this.indexMapSnapshotProvider = indexMapSnapshotProvider;
         this.samplingUpdatePredicate = samplingUpdatePredicate;
         this.jobTracker = jobTracker;
         this.scheduler = scheduler;
         this.indexRecoveryCondition = indexRecoveryCondition;
+        this.histogramRecoveryCondition = histogramRecoveryCondition;
         this.log = logProvider.getLog( getClass() );
         this.logRecoverIndexSamples = config.get( GraphDatabaseInternalSettings.log_recover_index_samples );
         this.asyncRecoverIndexSamples = config.get( GraphDatabaseInternalSettings.async_recover_index_samples );
@@ -140,13 +145,22 @@ public class IndexSamplingController
 
                     if ( asyncRecoverIndexSamples )
                     {
-                        asyncSamplingJobs.add( sampleIndexOnTracker( indexMap, indexId ) );
+                        asyncSamplingJobs.add( sampleIndexOnTracker( indexMap, indexId, false ) );
                     }
                     else
                     {
                         sampleIndexOnCurrentThread( indexMap, indexId );
                     }
                 }
+                else if ( histogramRecoveryCondition.test( descriptor ) )
+                {
+                    // Histograms are not persisted, so rebuild them in the background rather than holding up startup for it.
+                    if ( logRecoverIndexSamples )
+                    {
+                        log.info( "Index requires sampling to rebuild its histogram, id=%d, name=%s.", indexId, descriptor.getName() );
+                    }
+                    sampleIndexOnTracker( indexMap, indexId, false );
+                }
                 else
                 {
                     if ( logRecoverIndexSamples )
@@ -185,7 +199,9 @@ public class IndexSamplingController
 
     private void scheduleSampling( LongIterable indexesToSample, IndexSamplingMode mode, IndexMap indexMap )
     {
-        List<IndexSamplingJobHandle> allJobs = scheduleAllSampling( indexesToSample, indexMap );
+        // Only sampling of updated indexes can be done from the updates alone, explicitly requested sampling of all indexes is always full
+        boolean incremental = incrementalSampling && mode.sampleOnlyIfUpdated();
+        List<IndexSamplingJobHandle> allJobs = scheduleAllSampling( indexesToSample, indexMap, incremental );
 
         long millisToWait = mode.millisToWaitForCompletion();
         if ( millisToWait != IndexSamplingMode.NO_WAIT )
@@ -217,13 +233,13 @@ public class IndexSamplingController
         }
     }
 
-    private List<IndexSamplingJobHandle> scheduleAllSampling( LongIterable indexesToSample, IndexMap indexMap )
+    private List<IndexSamplingJobHandle> scheduleAllSampling( LongIterable indexesToSample, IndexMap indexMap, boolean incremental )
     {
         samplingLock.lock();
         try
         {
             MutableList<IndexSamplingJobHandle> allJobs = Lists.mutable.of();
-            indexesToSample.forEach( l -> allJobs.add( sampleIndexOnTracker( indexMap, l ) ) );
+            indexesToSample.forEach( l -> allJobs.add( sampleIndexOnTracker( indexMap, l, incremental ) ) );
             return allJobs;
         }
         finally
@@ -232,9 +248,9 @@ public class IndexSamplingController
         }
     }
 
-    private IndexSamplingJobHandle sampleIndexOnTracker( IndexMap indexMap, long indexId )
+    private IndexSamplingJobHandle sampleIndexOnTracker( IndexMap indexMap, long indexId, boolean incremental )
     {
-        IndexSamplingJob job = createSamplingJob( indexMap, indexId );
+        IndexSamplingJob job = createSamplingJob( indexMap, indexId, incremental );
         IndexDescriptor descriptor = indexMap.getIndexProxy( indexId ).getDescriptor();
         if ( job != null )
         {
@@ -245,21 +261,21 @@ public class IndexSamplingController
 
     private void sampleIndexOnCurrentThread( IndexMap indexMap, long indexId )
     {
-        IndexSamplingJob job = createSamplingJob( indexMap, indexId );
+        IndexSamplingJob job = createSamplingJob( indexMap, indexId, false );
         if ( job != null )
         {
             job.run();
         }
     }
 
-    private IndexSamplingJob createSamplingJob( IndexMap indexMap, long indexId )
+    private IndexSamplingJob createSamplingJob( IndexMap indexMap, long indexId, boolean incremental )
     {
         IndexProxy proxy = indexMap.getIndexProxy( indexId );
         if ( proxy == null || proxy.getState() != InternalIndexState.ONLINE || proxy.getDescriptor().getIndexType() == LOOKUP )
         {
             return null;
         }
-        return jobFactory.create( indexId, proxy );
+        return incremental ? jobFactory.createIncremental( indexId, proxy ) : jobFactory.create( indexId, proxy );
     }
 
     public void start()
@@ -24,11 +24,14 @@ import java.util.function.LongPredicate;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
 import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexProviderDescriptor;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.impl.api.index.IndexMapSnapshotProvider;
 import org.neo4j.kernel.impl.api.index.IndexSamplingConfig;
 import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
+import org.neo4j.kernel.impl.index.schema.GenericNativeIndexProvider;
+import org.neo4j.kernel.impl.index.schema.RangeIndexProvider;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.scheduler.JobScheduler;
@@ -60,12 +63,14 @@ public class IndexSamplingControllerFactory
 
     public IndexSamplingController create( IndexMapSnapshotProvider snapshotProvider )
     {
-        OnlineIndexSamplingJobFactory jobFactory = new OnlineIndexSamplingJobFactory( indexStatisticsStore, tokenNameLookup, logProvider, cacheTracer );
+        OnlineIndexSamplingJobFactory jobFactory = new OnlineIndexSamplingJobFactory( indexStatisticsStore, tokenNameLookup, logProvider, cacheTracer,
+                samplingConfig.incrementalFullResampleRatio() );
         LongPredicate samplingUpdatePredicate = createSamplingPredicate();
         IndexSamplingJobTracker jobTracker = new IndexSamplingJobTracker( scheduler, databaseName );
         RecoveryCondition indexRecoveryCondition = createIndexRecoveryCondition( logProvider, tokenNameLookup );
+        RecoveryCondition histogramRecoveryCondition = createHistogramRecoveryCondition();
         return new IndexSamplingController( samplingConfig, jobFactory, samplingUpdatePredicate, jobTracker, snapshotProvider, scheduler,
-                indexRecoveryCondition, logProvider, config, databaseName );
+                indexRecoveryCondition, histogramRecoveryCondition, logProvider, config, databaseName );
     }
 
     private LongPredicate createSamplingPredicate()
@@ -101,4 +106,24 @@ public class IndexSamplingControllerFactory
             }
         };
     }
+
+    /**
+     * Histograms are only kept in memory by the {@link IndexStatisticsStore}, so after a restart the indexes that build one during full sampling
+     * are sampled again to get them back. Until then, range and prefix selectivity falls back to the default estimates.
+     */
+    private RecoveryCondition createHistogramRecoveryCondition()
+    {
+        return descriptor ->
+        {
+            IndexProviderDescriptor provider = descriptor.getIndexProvider();
+            boolean buildsHistogram = descriptor.schema().getPropertyIds().length == 1 &&
+                    (provider.equals( GenericNativeIndexProvider.DESCRIPTOR ) || provider.equals( RangeIndexProvider.DESCRIPTOR ));
+            if ( !buildsHistogram )
+            {
+                return false;
+            }
+            IndexSample indexSample = indexStatisticsStore.indexSample( descriptor.getId() );
+            return indexSample.sampleSize() > 0 && indexSample.histogram() == null;
+        };
+    }
 }
@@ -24,4 +24,10 @@ import org.neo4j.kernel.impl.api.index.IndexProxy;
 public interface IndexSamplingJobFactory
 {
     IndexSamplingJob create( long indexId, IndexProxy indexProxy );
+
+    /**
+     * Creates a job which samples the index from the updates applied since it was last sampled, if possible.
+     * Falls back to a {@link #create(long, IndexProxy) full sampling job} otherwise.
+     */
+    IndexSamplingJob createIncremental( long indexId, IndexProxy indexProxy );
 }
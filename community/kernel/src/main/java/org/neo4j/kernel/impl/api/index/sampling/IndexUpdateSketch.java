@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.neo4j.hashing.HashFunction;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
+import org.neo4j.values.storable.Value;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Summary of the updates applied to a value index since its statistics were last sampled, used for incremental index sampling.
+ * <p>
+ * Distinct added values are counted using a HyperLogLog sketch, which has a fixed and small memory footprint regardless of the
+ * number of updates and can be updated concurrently without locking. The sketch is {@link #mergeInto(IndexSample) merged} into
+ * the previous {@link IndexSample} to produce a new sample without scanning the index.
+ * <p>
+ * When merging, the distinct values added are assumed to already exist in the index with a probability given by the ratio of
+ * unique values in the previous sample, i.e. new entries in an index with few distinct values are most likely duplicates,
+ * while new entries in an index with mostly unique values are most likely new values.
+ * <p>
+ * Updaters {@link #tryAcquire() acquire} the sketch for as long as they include updates in it. Before a sketch is merged it is
+ * {@link #retire() retired}, so that it can't be acquired anymore, and the merge {@link #awaitReleased() waits} for the updaters
+ * still holding it, so that no update is lost and the registers are not read while being written.
+ */
+public class IndexUpdateSketch
+{
+    private static final int PRECISION = 11;
+    private static final int NUMBER_OF_REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / NUMBER_OF_REGISTERS);
+    private static final HashFunction HASH_FUNCTION = HashFunction.incrementalXXH64();
+    private static final int RETIRED = 1 << 30;
+
+    private final AtomicIntegerArray registers = new AtomicIntegerArray( NUMBER_OF_REGISTERS );
+    private final LongAdder addedValues = new LongAdder();
+    private final LongAdder removedValues = new LongAdder();
+    private final AtomicLong previouslyMergedUpdates;
+    // Number of updaters holding this sketch, and the RETIRED bit
+    private final AtomicInteger holders = new AtomicInteger();
+    private volatile IndexUpdateSketch successor;
+
+    public IndexUpdateSketch()
+    {
+        this( 0 );
+    }
+
+    private IndexUpdateSketch( long previouslyMergedUpdates )
+    {
+        this.previouslyMergedUpdates = new AtomicLong( previouslyMergedUpdates );
+    }
+
+    /**
+     * Acquires this sketch to include updates in, until {@link #release() released}.
+     *
+     * @return {@code true} if acquired, {@code false} if this sketch has been {@link #retire() retired}.
+     */
+    public boolean tryAcquire()
+    {
+        int current;
+        do
+        {
+            current = holders.get();
+            if ( (current & RETIRED) != 0 )
+            {
+                return false;
+            }
+        }
+        while ( !holders.compareAndSet( current, current + 1 ) );
+        return true;
+    }
+
+    /**
+     * Releases this sketch, previously {@link #tryAcquire() acquired}.
+     */
+    public void release()
+    {
+        holders.decrementAndGet();
+    }
+
+    /**
+     * Prevents this sketch from being acquired again, before it is {@link #mergeInto(IndexSample) merged}.
+     *
+     * @return a new empty sketch to replace this sketch, which remembers the number of updates merged since the last full sample
+     * once this sketch has been {@link #awaitReleased() released}.
+     */
+    public IndexUpdateSketch retire()
+    {
+        IndexUpdateSketch next = new IndexUpdateSketch( previouslyMergedUpdates.get() );
+        successor = next;
+        holders.getAndUpdate( current -> current | RETIRED );
+        return next;
+    }
+
+    /**
+     * Waits for the updaters that acquired this {@link #retire() retired} sketch to release it, after which it can be merged.
+     */
+    public void awaitReleased()
+    {
+        while ( (holders.get() & ~RETIRED) != 0 )
+        {
+            LockSupport.parkNanos( TimeUnit.MICROSECONDS.toNanos( 100 ) );
+        }
+        successor.previouslyMergedUpdates.addAndGet( includedUpdates() );
+    }
+
+    /**
+     * Includes the given update in this sketch. Changed entries are seen as removal of the old value and addition of the new one.
+     *
+     * @param update the index update to include.
+     */
+    public void include( IndexEntryUpdate<?> update )
+    {
+        if ( !(update instanceof ValueIndexEntryUpdate) )
+        {
+            return;
+        }
+        ValueIndexEntryUpdate<?> valueUpdate = (ValueIndexEntryUpdate<?>) update;
+        // Values of included properties follow the indexed ones, but don't make entries distinct
+        int indexedValues = update.indexKey().schema().getPropertyIds().length;
+        switch ( update.updateMode() )
+        {
+        case ADDED:
+            valueAdded( valueUpdate.values(), indexedValues );
+            break;
+        case CHANGED:
+            removedValues.increment();
+            valueAdded( valueUpdate.values(), indexedValues );
+            break;
+        case REMOVED:
+            removedValues.increment();
+            break;
+        default:
+            throw new IllegalArgumentException( "Unknown update mode " + update.updateMode() );
+        }
+    }
+
+    /**
+     * @return number of index entry additions and removals included in this sketch and in all sketches previously merged
+     * since the last full sample.
+     */
+    public long updatesSinceFullSample()
+    {
+        return previouslyMergedUpdates.get() + includedUpdates();
+    }
+
+    /**
+     * @return number of index entry additions and removals included in this sketch.
+     */
+    public long includedUpdates()
+    {
+        return addedValues.sum() + removedValues.sum();
+    }
+
+    /**
+     * @return estimated number of distinct values added to the index.
+     */
+    public long distinctAddedValues()
+    {
+        double sum = 0;
+        int zeroRegisters = 0;
+        for ( int i = 0; i < NUMBER_OF_REGISTERS; i++ )
+        {
+            int register = registers.get( i );
+            sum += 1d / (1L << register);
+            if ( register == 0 )
+            {
+                zeroRegisters++;
+            }
+        }
+        double estimate = ALPHA * NUMBER_OF_REGISTERS * NUMBER_OF_REGISTERS / sum;
+        if ( estimate <= 2.5 * NUMBER_OF_REGISTERS && zeroRegisters > 0 )
+        {
+            // Small range correction, linear counting
+            estimate = NUMBER_OF_REGISTERS * Math.log( (double) NUMBER_OF_REGISTERS / zeroRegisters );
+        }
+        return min( addedValues.sum(), Math.round( estimate ) );
+    }
+
+    /**
+     * Merges the updates in this sketch into the given sample. The sketch must be {@link #retire() retired} and
+     * {@link #awaitReleased() released} first if updates can be included in it concurrently.
+     * <p>
+     * The sketch counts updates to the whole index, while the sample may only cover part of it, so the updates are scaled
+     * down to the ratio of the index that was sampled before being merged. Removed entries are assumed to remove a unique
+     * value with the same probability as added entries are assumed to add one.
+     *
+     * @param sample the sample to merge the updates into.
+     * @return a new sample reflecting the updates in this sketch, with zero updates.
+     */
+    public IndexSample mergeInto( IndexSample sample )
+    {
+        long added = addedValues.sum();
+        long removed = removedValues.sum();
+        double sampledRatio = sample.indexSize() == 0 ? 1d : min( 1d, (double) sample.sampleSize() / sample.indexSize() );
+        double uniqueRatio = sample.sampleSize() == 0 ? 1d : (double) sample.uniqueValues() / sample.sampleSize();
+        long indexSize = max( 0, sample.indexSize() + added - removed );
+        long sampleSize = max( 0, sample.sampleSize() + Math.round( (added - removed) * sampledRatio ) );
+        long uniqueValues = sample.uniqueValues() + Math.round( (distinctAddedValues() - removed) * sampledRatio * uniqueRatio );
+        return new IndexSample( indexSize, max( min( 1, sampleSize ), min( uniqueValues, sampleSize ) ), sampleSize );
+    }
+
+    private void valueAdded( Value[] values, int indexedValues )
+    {
+        addedValues.increment();
+        long hash = hash( values, indexedValues );
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        int rank = min( Long.numberOfLeadingZeros( hash << PRECISION ), Long.SIZE - PRECISION ) + 1;
+        int current = registers.get( index );
+        while ( rank > current && !registers.compareAndSet( index, current, rank ) )
+        {
+            current = registers.get( index );
+        }
+    }
+
+    private static long hash( Value[] values, int indexedValues )
+    {
+        if ( indexedValues == 1 )
+        {
+            return values[0].hashCode64();
+        }
+        long hash = HASH_FUNCTION.initialise( 1 );
+        for ( int i = 0; i < indexedValues; i++ )
+        {
+            hash = HASH_FUNCTION.update( hash, values[i].hashCode64() );
+        }
+        return HASH_FUNCTION.finalise( hash );
+    }
+}
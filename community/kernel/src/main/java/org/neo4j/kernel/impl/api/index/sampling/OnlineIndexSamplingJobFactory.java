@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.api.index.sampling;
 
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.impl.api.index.IndexProxy;
 import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
 import org.neo4j.logging.LogProvider;
@@ -31,14 +32,25 @@ public class OnlineIndexSamplingJobFactory implements IndexSamplingJobFactory
     private final LogProvider logProvider;
     private final TokenNameLookup nameLookup;
     private final PageCacheTracer pageCacheTracer;
+    private final double fullResampleRatio;
 
     public OnlineIndexSamplingJobFactory( IndexStatisticsStore indexStatisticsStore, TokenNameLookup nameLookup, LogProvider logProvider,
             PageCacheTracer pageCacheTracer )
+    {
+        this( indexStatisticsStore, nameLookup, logProvider, pageCacheTracer, 1d );
+    }
+
+    /**
+     * @param fullResampleRatio ratio of the index size which may be updated and incrementally sampled before a full sample is required again.
+     */
+    public OnlineIndexSamplingJobFactory( IndexStatisticsStore indexStatisticsStore, TokenNameLookup nameLookup, LogProvider logProvider,
+            PageCacheTracer pageCacheTracer, double fullResampleRatio )
     {
         this.indexStatisticsStore = indexStatisticsStore;
         this.logProvider = logProvider;
         this.nameLookup = nameLookup;
         this.pageCacheTracer = pageCacheTracer;
+        this.fullResampleRatio = fullResampleRatio;
     }
 
     @Override
@@ -48,4 +60,23 @@ public class OnlineIndexSamplingJobFactory implements IndexSamplingJobFactory
         String indexName = indexProxy.getDescriptor().getName();
         return new OnlineIndexSamplingJob( indexId, indexProxy, indexStatisticsStore, indexUserDescription, indexName, logProvider, pageCacheTracer );
     }
+
+    @Override
+    public IndexSamplingJob createIncremental( long indexId, IndexProxy indexProxy )
+    {
+        IndexSample sample = indexStatisticsStore.indexSample( indexId );
+        IndexUpdateSketch sketch = indexStatisticsStore.updateSketch( indexId );
+        // The sketch must have seen all updates counted since last sample, which is not the case after a restart, and must not have
+        // drifted too far from the last full sample
+        boolean canSampleIncrementally = sample.sampleSize() > 0 &&
+                sketch.includedUpdates() >= sample.updates() &&
+                sketch.updatesSinceFullSample() <= Math.round( fullResampleRatio * sample.indexSize() );
+        if ( !canSampleIncrementally )
+        {
+            return create( indexId, indexProxy );
+        }
+        final String indexUserDescription = indexProxy.getDescriptor().userDescription( nameLookup );
+        String indexName = indexProxy.getDescriptor().getName();
+        return new IncrementalIndexSamplingJob( indexId, indexProxy, indexStatisticsStore, indexUserDescription, indexName, logProvider );
+    }
 }
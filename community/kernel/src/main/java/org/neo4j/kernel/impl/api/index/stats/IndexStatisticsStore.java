@@ -40,7 +40,9 @@ import org.neo4j.io.layout.DatabaseLayout;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.api.index.IndexHistogram;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.impl.api.index.sampling.IndexUpdateSketch;
 import org.neo4j.kernel.impl.index.schema.ConsistencyCheckable;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 
@@ -73,6 +75,8 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
     // Let IndexStatisticsValue be immutable in this map so that checkpoint doesn't have to coordinate with concurrent writers
     // It's assumed that the data in this map will be so small that everything can just be in it always.
     private final ConcurrentHashMap<Long,ImmutableIndexStatistics> cache = new ConcurrentHashMap<>();
+    // Sketches of updates since last sample, for incremental sampling. These are only kept in memory and so are lost on restart.
+    private final ConcurrentHashMap<Long,IndexUpdateSketch> updateSketches = new ConcurrentHashMap<>();
 
     public IndexStatisticsStore( PageCache pageCache, Path path, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
             DatabaseReadOnlyChecker readOnlyChecker, String databaseName, PageCacheTracer pageCacheTracer )
@@ -115,23 +119,74 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
     public IndexSample indexSample( long indexId )
     {
         ImmutableIndexStatistics value = cache.getOrDefault( indexId, EMPTY_STATISTICS );
-        return new IndexSample( value.indexSize, value.sampleUniqueValues, value.sampleSize, value.updatesCount );
+        return new IndexSample( value.indexSize, value.sampleUniqueValues, value.sampleSize, value.updatesCount, value.histogram );
     }
 
     public void replaceStats( long indexId, IndexSample sample )
     {
-        cache.put( indexId, new ImmutableIndexStatistics( sample.uniqueValues(), sample.sampleSize(), sample.updates(), sample.indexSize() ) );
+        cache.put( indexId,
+                new ImmutableIndexStatistics( sample.uniqueValues(), sample.sampleSize(), sample.updates(), sample.indexSize(), sample.histogram() ) );
+        updateSketches.remove( indexId );
     }
 
     public void removeIndex( long indexId )
     {
         cache.remove( indexId );
+        updateSketches.remove( indexId );
+    }
+
+    /**
+     * @param indexId id of the index to get the sketch for.
+     * @return the {@link IndexUpdateSketch} collecting updates to the given index since it was last sampled.
+     */
+    public IndexUpdateSketch updateSketch( long indexId )
+    {
+        return updateSketches.computeIfAbsent( indexId, id -> new IndexUpdateSketch() );
+    }
+
+    /**
+     * @param indexId id of the index to get the sketch for.
+     * @return the {@link IndexUpdateSketch} collecting updates to the given index, {@link IndexUpdateSketch#tryAcquire() acquired}
+     * by the caller, who must {@link IndexUpdateSketch#release() release} it when done including updates in it.
+     */
+    public IndexUpdateSketch acquireUpdateSketch( long indexId )
+    {
+        while ( true )
+        {
+            IndexUpdateSketch sketch = updateSketch( indexId );
+            if ( sketch.tryAcquire() )
+            {
+                return sketch;
+            }
+            // The sketch is being merged and is about to be replaced by its successor
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Merges the {@link #updateSketch(long) update sketch} of the given index into its sample and starts a new sketch.
+     *
+     * @param indexId id of the index to sample.
+     * @return the new sample of the index.
+     */
+    public IndexSample mergeUpdateSketch( long indexId )
+    {
+        IndexUpdateSketch sketch = updateSketch( indexId );
+        updateSketches.replace( indexId, sketch, sketch.retire() );
+        sketch.awaitReleased();
+        cache.computeIfPresent( indexId, ( id, existing ) ->
+        {
+            IndexSample merged = sketch.mergeInto( new IndexSample( existing.indexSize, existing.sampleUniqueValues, existing.sampleSize ) );
+            return new ImmutableIndexStatistics( merged.uniqueValues(), merged.sampleSize(), merged.updates(), merged.indexSize(), existing.histogram );
+        } );
+        return indexSample( indexId );
     }
 
     public void incrementIndexUpdates( long indexId, long delta )
     {
         cache.computeIfPresent( indexId, ( id, existing ) ->
-                new ImmutableIndexStatistics( existing.sampleUniqueValues, existing.sampleSize, existing.updatesCount + delta, existing.indexSize ) );
+                new ImmutableIndexStatistics( existing.sampleUniqueValues, existing.sampleSize, existing.updatesCount + delta, existing.indexSize,
+                        existing.histogram ) );
     }
 
     @Override
@@ -237,13 +292,22 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
         private final long sampleSize;
         private final long updatesCount;
         private final long indexSize;
+        // Histograms are only kept in memory, not in the statistics tree. After a restart the sampling controller resamples the indexes
+        // that build one, see IndexSamplingControllerFactory, and range and prefix selectivity uses default estimates until that is done.
+        private final IndexHistogram histogram;
 
         ImmutableIndexStatistics( long sampleUniqueValues, long sampleSize, long updatesCount, long indexSize )
+        {
+            this( sampleUniqueValues, sampleSize, updatesCount, indexSize, null );
+        }
+
+        ImmutableIndexStatistics( long sampleUniqueValues, long sampleSize, long updatesCount, long indexSize, IndexHistogram histogram )
         {
             this.sampleUniqueValues = sampleUniqueValues;
             this.sampleSize = sampleSize;
             this.updatesCount = updatesCount;
             this.indexSize = indexSize;
+            this.histogram = histogram;
         }
 
         ImmutableIndexStatistics( IndexStatisticsValue value )
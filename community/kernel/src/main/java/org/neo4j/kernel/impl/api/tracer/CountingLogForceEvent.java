@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.tracer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.neo4j.kernel.impl.transaction.tracing.LogForceEvent;
+
+/**
+ * Keeps histograms of the group commit batches forced to the transaction log, with power of two buckets: bucket {@code i} counts the
+ * values in the range {@code [2^i, 2^(i+1))}, except for bucket {@code 0} which also counts the value {@code 0}.
+ */
+class CountingLogForceEvent implements LogForceEvent
+{
+    private final AtomicLongArray batchSizes = new AtomicLongArray( Long.SIZE );
+    private final AtomicLongArray waitMicros = new AtomicLongArray( Long.SIZE );
+
+    @Override
+    public void batchForced( long batchSize, long waitNanos )
+    {
+        batchSizes.incrementAndGet( bucket( batchSize ) );
+        waitMicros.incrementAndGet( bucket( TimeUnit.NANOSECONDS.toMicros( waitNanos ) ) );
+    }
+
+    @Override
+    public void close()
+    {
+    }
+
+    long[] batchSizeHistogram()
+    {
+        return snapshot( batchSizes );
+    }
+
+    long[] waitMicrosHistogram()
+    {
+        return snapshot( waitMicros );
+    }
+
+    private static int bucket( long value )
+    {
+        return value <= 1 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros( value );
+    }
+
+    private static long[] snapshot( AtomicLongArray histogram )
+    {
+        long[] snapshot = new long[histogram.length()];
+        for ( int i = 0; i < snapshot.length; i++ )
+        {
+            snapshot[i] = histogram.get( i );
+        }
+        return snapshot;
+    }
+}
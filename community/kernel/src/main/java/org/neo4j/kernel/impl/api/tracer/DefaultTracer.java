@@ -48,6 +48,7 @@ public class DefaultTracer implements DatabaseTracer
     private final AtomicLong appliedBatchSize = new AtomicLong();
 
     private final CountingLogRotateEvent countingLogRotateEvent = new CountingLogRotateEvent();
+    private final CountingLogForceEvent countingLogForceEvent = new CountingLogForceEvent();
     private final LogFileCreateEvent logFileCreateEvent = () -> appendedBytes.addAndGet( CURRENT_FORMAT_LOG_HEADER_SIZE );
     private final LogFileFlushEvent logFileFlushEvent = numberOfFlushes::incrementAndGet;
     private final CountingLogCheckPointEvent logCheckPointEvent = new CountingLogCheckPointEvent( this::appendLogBytes, countingLogRotateEvent );
@@ -102,6 +103,18 @@ public class DefaultTracer implements DatabaseTracer
         return appliedBatchSize.get();
     }
 
+    @Override
+    public long[] logForceBatchSizeHistogram()
+    {
+        return countingLogForceEvent.batchSizeHistogram();
+    }
+
+    @Override
+    public long[] logForceWaitMicrosHistogram()
+    {
+        return countingLogForceEvent.waitMicrosHistogram();
+    }
+
     @Override
     public long numberOfCheckPoints()
     {
@@ -249,7 +262,7 @@ public class DefaultTracer implements DatabaseTracer
         @Override
         public LogForceEvent beginLogForce()
         {
-            return LogForceEvent.NULL;
+            return countingLogForceEvent;
         }
     }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+import static java.lang.String.format;
+
+/**
+ * Dynamically sized {@link Layout} for {@link GBPTree} used by token index. Logically the same as {@link TokenScanLayout},
+ * i.e. keys are {@code tokenId} and {@code entityIdRange} and values are 64-bit bit sets, but entries are encoded
+ * as compactly as their contents allow, so that more of them fit on each page.
+ *
+ * <ul>
+ * <li>
+ * Keys are written as an unsigned variable length {@code tokenId} followed by an unsigned variable length {@code entityIdRange}.
+ * </li>
+ * <li>
+ * Values are written in one of the following encodings, told apart by the size of the value:
+ * <ul>
+ *     <li>0 bytes: no bit set.</li>
+ *     <li>1 byte {@code 0xFF}: all bits set.</li>
+ *     <li>2 bytes {@code [1,f,f,f,f,f,f][_,_,t,t,t,t,t,t]}: a single run of set bits from bit {@code f} to bit {@code t}, both inclusive.</li>
+ *     <li>1-7 bytes {@code [0,_,o,o,o,o,o,o]}: ascending offsets of the, at most 7, set bits.</li>
+ *     <li>8 bytes: the bit set as is.</li>
+ * </ul>
+ * </li>
+ * </ul>
+ */
+public class AdaptiveTokenScanLayout extends Layout.Adapter<TokenScanKey,TokenScanValue>
+{
+    public AdaptiveTokenScanLayout()
+    {
+        super( false, Layout.namedIdentifier( IDENTIFIER_NAME, TokenScanValue.RANGE_SIZE ), 0, 1 );
+    }
+
+    /**
+     * Name part of the {@link #identifier()} value.
+     */
+    private static final String IDENTIFIER_NAME = "ALSL";
+
+    /**
+     * Largest possible size of a {@link TokenScanKey}, i.e. a 5 byte {@code tokenId} and a 10 byte {@code entityIdRange}.
+     */
+    private static final int MAX_KEY_SIZE = 15;
+
+    private static final int MAX_OFFSETS = TokenScanValue.RANGE_SIZE_BYTES - 1;
+    private static final byte ALL_BITS = (byte) 0xFF;
+    private static final int RUN_MARKER = 0x80;
+    private static final int OFFSET_MASK = 0x3F;
+
+    private static final long VARINT_MORE = 0x80;
+    private static final long VARINT_MASK = 0x7F;
+    private static final int VARINT_SHIFT = 7;
+
+    /**
+     * Compares {@link TokenScanKey}, giving ascending order of {@code tokenId} then {@code entityIdRange}.
+     */
+    @Override
+    public int compare( TokenScanKey o1, TokenScanKey o2 )
+    {
+        int tokenComparison = Integer.compare( o1.tokenId, o2.tokenId );
+        return tokenComparison != 0 ? tokenComparison : Long.compare( o1.idRange, o2.idRange );
+    }
+
+    @Override
+    public TokenScanKey newKey()
+    {
+        return new TokenScanKey();
+    }
+
+    @Override
+    public TokenScanKey copyKey( TokenScanKey key, TokenScanKey into )
+    {
+        into.tokenId = key.tokenId;
+        into.idRange = key.idRange;
+        return into;
+    }
+
+    @Override
+    public TokenScanValue newValue()
+    {
+        return new TokenScanValue();
+    }
+
+    @Override
+    public int keySize( TokenScanKey key )
+    {
+        return varLongSize( key.tokenId & 0xFFFFFFFFL ) + varLongSize( key.idRange );
+    }
+
+    @Override
+    public int valueSize( TokenScanValue value )
+    {
+        long bits = value.bits;
+        int count = Long.bitCount( bits );
+        if ( count <= 1 || count == TokenScanValue.RANGE_SIZE )
+        {
+            return count == 0 ? 0 : 1;
+        }
+        if ( isSingleRun( bits ) )
+        {
+            return 2;
+        }
+        return count <= MAX_OFFSETS ? count : TokenScanValue.RANGE_SIZE_BYTES;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, TokenScanKey key )
+    {
+        putVarLong( cursor, key.tokenId & 0xFFFFFFFFL );
+        putVarLong( cursor, key.idRange );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, TokenScanValue value )
+    {
+        long bits = value.bits;
+        int count = Long.bitCount( bits );
+        if ( count == TokenScanValue.RANGE_SIZE )
+        {
+            cursor.putByte( ALL_BITS );
+        }
+        else if ( count > 2 && isSingleRun( bits ) )
+        {
+            int from = Long.numberOfTrailingZeros( bits );
+            cursor.putByte( (byte) (RUN_MARKER | from) );
+            cursor.putByte( (byte) (from + count - 1) );
+        }
+        else if ( count <= MAX_OFFSETS )
+        {
+            while ( bits != 0 )
+            {
+                cursor.putByte( (byte) Long.numberOfTrailingZeros( bits ) );
+                bits &= bits - 1;
+            }
+        }
+        else
+        {
+            cursor.putLong( bits );
+        }
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, TokenScanKey into, int keySize )
+    {
+        if ( keySize > MAX_KEY_SIZE )
+        {
+            cursor.setCursorException( format( "Unexpected size of token scan key %d, max is %d", keySize, MAX_KEY_SIZE ) );
+            return;
+        }
+        into.tokenId = (int) getVarLong( cursor );
+        into.idRange = getVarLong( cursor );
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, TokenScanValue into, int valueSize )
+    {
+        switch ( valueSize )
+        {
+        case 0:
+            into.bits = 0;
+            break;
+        case 1:
+            byte single = cursor.getByte();
+            into.bits = single == ALL_BITS ? -1L : 1L << (single & OFFSET_MASK);
+            break;
+        case 2:
+            int first = cursor.getByte() & 0xFF;
+            int second = cursor.getByte() & OFFSET_MASK;
+            if ( (first & RUN_MARKER) != 0 )
+            {
+                int from = first & OFFSET_MASK;
+                into.bits = second >= from ? (-1L >>> (Long.SIZE - 1 - second + from)) << from : 0;
+            }
+            else
+            {
+                into.bits = (1L << (first & OFFSET_MASK)) | (1L << second);
+            }
+            break;
+        case TokenScanValue.RANGE_SIZE_BYTES:
+            into.bits = cursor.getLong();
+            break;
+        default:
+            if ( valueSize < 0 || valueSize > TokenScanValue.RANGE_SIZE_BYTES )
+            {
+                cursor.setCursorException( format( "Unexpected size of token scan value %d, max is %d", valueSize, TokenScanValue.RANGE_SIZE_BYTES ) );
+                return;
+            }
+            long bits = 0;
+            for ( int i = 0; i < valueSize; i++ )
+            {
+                bits |= 1L << (cursor.getByte() & OFFSET_MASK);
+            }
+            into.bits = bits;
+        }
+    }
+
+    @Override
+    public void initializeAsLowest( TokenScanKey key )
+    {
+        key.set( Integer.MIN_VALUE, Long.MIN_VALUE );
+    }
+
+    @Override
+    public void initializeAsHighest( TokenScanKey key )
+    {
+        key.set( Integer.MAX_VALUE, Long.MAX_VALUE );
+    }
+
+    private static boolean isSingleRun( long bits )
+    {
+        long shifted = bits >>> Long.numberOfTrailingZeros( bits );
+        return (shifted & (shifted + 1)) == 0;
+    }
+
+    private static int varLongSize( long value )
+    {
+        int size = 1;
+        while ( (value & ~VARINT_MASK) != 0 )
+        {
+            value >>>= VARINT_SHIFT;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarLong( PageCursor cursor, long value )
+    {
+        while ( (value & ~VARINT_MASK) != 0 )
+        {
+            cursor.putByte( (byte) ((value & VARINT_MASK) | VARINT_MORE) );
+            value >>>= VARINT_SHIFT;
+        }
+        cursor.putByte( (byte) value );
+    }
+
+    private static long getVarLong( PageCursor cursor )
+    {
+        long value = 0;
+        for ( int shift = 0; shift < Long.SIZE; shift += VARINT_SHIFT )
+        {
+            byte b = cursor.getByte();
+            value |= (b & VARINT_MASK) << shift;
+            if ( (b & VARINT_MORE) == 0 )
+            {
+                break;
+            }
+        }
+        return value;
+    }
+}
@@ -27,6 +27,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -106,7 +109,11 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
     private final List<ThreadLocalBlockStorage> allScanUpdates = new CopyOnWriteArrayList<>();
     private final ThreadLocal<ThreadLocalBlockStorage> scanUpdates;
     private final ByteBufferFactory bufferFactory;
+    // guarded by synchronized methods, makes sure that scan updates files created after resuming a population don't clash with resumed ones
+    private int nextScanUpdatesId;
     private IndexUpdateStorage<KEY> externalUpdates;
+    // whether or not there's a checkpoint of this population to resume from, see #checkpoint
+    private volatile boolean checkpointed;
     // written in a synchronized method when creating new thread-local instances, read when processing external updates
     private volatile boolean scanCompleted;
     private final CloseCancellation cancellation = new CloseCancellation();
@@ -145,7 +152,7 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
         Preconditions.checkState( !scanCompleted, "Scan has already been completed" );
         try
         {
-            int id = allScanUpdates.size();
+            int id = nextScanUpdatesId++;
             ThreadLocalBlockStorage blockStorage = new ThreadLocalBlockStorage( id );
             allScanUpdates.add( blockStorage );
             return blockStorage;
@@ -164,11 +171,127 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
             indexFiles.archiveIndex();
         }
         super.create();
+        validator = instantiateValueValidator();
+        externalUpdates = newExternalUpdatesStorage();
+    }
+
+    private IndexUpdateStorage<KEY> newExternalUpdatesStorage()
+    {
         Path storeFile = indexFiles.getStoreFile();
         Path externalUpdatesFile = storeFile.resolveSibling( storeFile.getFileName() + ".ext" );
+        return new IndexUpdateStorage<>( fileSystem, externalUpdatesFile, bufferFactory.globalAllocator(), smallerBufferSize(), layout, memoryTracker );
+    }
+
+    /**
+     * Flushes and forces all scan updates and external updates added so far and records their file positions, together with the scanned entity id,
+     * in a checkpoint file. On {@link #resume()} the files are truncated back to those positions, which discards anything added after this checkpoint.
+     */
+    @Override
+    public synchronized boolean checkpoint( long scannedEntityId, long lastClosedTransactionId ) throws IOException
+    {
+        if ( scanCompleted || cancellation.cancelled() )
+        {
+            return false;
+        }
+
+        Map<Integer,BlockStorage.Checkpoint> scanUpdatesCheckpoints = new TreeMap<>();
+        for ( ThreadLocalBlockStorage part : allScanUpdates )
+        {
+            scanUpdatesCheckpoints.put( part.id, part.blockStorage.checkpoint() );
+        }
+        long externalUpdatesPosition = externalUpdates.checkpoint();
+        new PopulationCheckpoint( scannedEntityId, lastClosedTransactionId, externalUpdatesPosition, externalUpdates.count(), scanUpdatesCheckpoints )
+                .write( fileSystem, checkpointFile() );
+        checkpointed = true;
+        return true;
+    }
+
+    @Override
+    public long checkpointedEntityId( long lastClosedTransactionId )
+    {
+        try
+        {
+            PopulationCheckpoint checkpoint = PopulationCheckpoint.read( fileSystem, checkpointFile() );
+            if ( checkpoint == null || checkpoint.lastClosedTransactionId != lastClosedTransactionId || !checkpointedFilesIntact( checkpoint ) )
+            {
+                return NO_CHECKPOINT;
+            }
+            return checkpoint.scannedEntityId;
+        }
+        catch ( IOException e )
+        {
+            // A checkpoint that can't be read just means that this index will be populated from scratch
+            return NO_CHECKPOINT;
+        }
+    }
+
+    private boolean checkpointedFilesIntact( PopulationCheckpoint checkpoint )
+    {
+        for ( Map.Entry<Integer,BlockStorage.Checkpoint> scanUpdates : checkpoint.scanUpdates.entrySet() )
+        {
+            if ( !fileHasAtLeast( scanUpdatesFile( scanUpdates.getKey() ), scanUpdates.getValue().position ) )
+            {
+                return false;
+            }
+        }
+        Path storeFile = indexFiles.getStoreFile();
+        return checkpoint.externalUpdatesPosition == 0 ||
+               fileHasAtLeast( storeFile.resolveSibling( storeFile.getFileName() + ".ext" ), checkpoint.externalUpdatesPosition );
+    }
+
+    private boolean fileHasAtLeast( Path file, long size )
+    {
+        try
+        {
+            return fileSystem.fileExists( file ) && fileSystem.getFileSize( file ) >= size;
+        }
+        catch ( IOException e )
+        {
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void resume() throws IOException
+    {
+        PopulationCheckpoint checkpoint = PopulationCheckpoint.read( fileSystem, checkpointFile() );
+        Preconditions.checkState( checkpoint != null, "There's no checkpoint to resume population of %s from", descriptor );
+
+        // Scan updates files written after the checkpoint are of no use
+        Set<Path> checkpointedScanUpdatesFiles = checkpoint.scanUpdates.keySet().stream().map( this::scanUpdatesFile ).collect( Collectors.toSet() );
+        Path storeFile = indexFiles.getStoreFile();
+        String scanUpdatesFilePrefix = storeFile.getFileName() + ".scan-";
+        for ( Path file : fileSystem.listFiles( storeFile.getParent(), file -> file.getFileName().toString().startsWith( scanUpdatesFilePrefix ) ) )
+        {
+            if ( !checkpointedScanUpdatesFiles.contains( file ) )
+            {
+                fileSystem.deleteFile( file );
+            }
+        }
+
+        createTree();
         validator = instantiateValueValidator();
-        externalUpdates = new IndexUpdateStorage<>( fileSystem, externalUpdatesFile, bufferFactory.globalAllocator(),
-                                                    smallerBufferSize(), layout, memoryTracker );
+        externalUpdates = newExternalUpdatesStorage();
+        externalUpdates.resume( checkpoint.externalUpdatesPosition, checkpoint.externalUpdatesCount );
+        for ( Map.Entry<Integer,BlockStorage.Checkpoint> scanUpdates : checkpoint.scanUpdates.entrySet() )
+        {
+            int id = scanUpdates.getKey();
+            allScanUpdates.add( new ThreadLocalBlockStorage( id, scanUpdates.getValue() ) );
+            nextScanUpdatesId = Math.max( nextScanUpdatesId, id + 1 );
+        }
+        checkpointed = true;
+    }
+
+    private Path checkpointFile()
+    {
+        Path storeFile = indexFiles.getStoreFile();
+        return storeFile.resolveSibling( storeFile.getFileName() + ".checkpoint" );
+    }
+
+    private Path scanUpdatesFile( int id )
+    {
+        Path storeFile = indexFiles.getStoreFile();
+        return storeFile.resolveSibling( storeFile.getFileName() + ".scan-" + id );
     }
 
     protected abstract IndexValueValidator instantiateValueValidator();
@@ -521,7 +644,7 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
     public synchronized void drop()
     {
         runAll( "Failed while trying to drop index",
-                this::closeBlockStorage /* Close internal resources */,
+                () -> closeBlockStorage( false ) /* Close internal resources */,
                 super::drop /* Super drop will close inherited resources */
         );
     }
@@ -529,14 +652,33 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
     @Override
     public synchronized void close( boolean populationCompletedSuccessfully, CursorContext cursorContext )
     {
+        // A population which is stopped before its scan completed, rather than completed or failed, keeps its files so that it can be resumed
+        boolean keepCheckpoint = checkpointed && !scanCompleted && !populationCompletedSuccessfully && !markedAsFailed();
         runAll( "Failed while trying to close index",
-                this::closeBlockStorage /* Close internal resources */,
-                () -> super.close( populationCompletedSuccessfully, cursorContext ) /* Super close will close inherited resources */
+                () -> closeBlockStorage( keepCheckpoint ) /* Close internal resources */,
+                () -> super.close( populationCompletedSuccessfully, cursorContext ) /* Super close will close inherited resources */,
+                () -> deleteCheckpointUnless( keepCheckpoint )
         );
     }
 
+    private void deleteCheckpointUnless( boolean keepCheckpoint )
+    {
+        Path checkpointFile = checkpointFile();
+        if ( !keepCheckpoint && fileSystem.fileExists( checkpointFile ) )
+        {
+            try
+            {
+                fileSystem.deleteFile( checkpointFile );
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        }
+    }
+
     // Always called from synchronized method
-    private void closeBlockStorage()
+    private void closeBlockStorage( boolean keepFiles )
     {
         // This method may be called while scanCompleted is running. This could be a drop or shutdown(?) which happens when this population
         // is in its final stages. scanCompleted merges things in multiple threads. Those threads will abort when they see that setCancel
@@ -559,6 +701,11 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
             }
         }
 
+        if ( keepFiles )
+        {
+            allScanUpdates.forEach( local -> local.blockStorage.setDeleteOnClose( false ) );
+            externalUpdates.setDeleteOnClose( false );
+        }
         List<Closeable> toClose = allScanUpdates.stream().map( local -> local.blockStorage ).collect( Collectors.toCollection( ArrayList::new ) );
         toClose.add( externalUpdates );
         IOUtils.closeAllUnchecked( toClose );
@@ -664,6 +811,7 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
      */
     private class ThreadLocalBlockStorage extends BlockStorage.Monitor.Delegate
     {
+        private final int id;
         private final BlockStorage<KEY,NullValue> blockStorage;
         private volatile long count;
         private volatile boolean mergeStarted;
@@ -673,9 +821,15 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
         ThreadLocalBlockStorage( int id ) throws IOException
         {
             super( blockStorageMonitor );
-            Path storeFile = indexFiles.getStoreFile();
-            Path blockFile = storeFile.resolveSibling( storeFile.getFileName() + ".scan-" + id );
-            this.blockStorage = new BlockStorage<>( layout, bufferFactory, fileSystem, blockFile, this, memoryTracker );
+            this.id = id;
+            this.blockStorage = new BlockStorage<>( layout, bufferFactory, fileSystem, scanUpdatesFile( id ), this, memoryTracker );
+        }
+
+        ThreadLocalBlockStorage( int id, BlockStorage.Checkpoint checkpoint ) throws IOException
+        {
+            super( blockStorageMonitor );
+            this.id = id;
+            this.blockStorage = new BlockStorage<>( layout, bufferFactory, fileSystem, scanUpdatesFile( id ), checkpoint, this, memoryTracker );
         }
 
         @Override
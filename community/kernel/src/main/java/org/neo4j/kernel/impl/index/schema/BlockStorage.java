@@ -72,6 +72,7 @@ class BlockStorage<KEY, VALUE> implements Closeable
     private int currentBufferSize;
     private boolean doneAdding;
     private long entryCount;
+    private boolean deleteOnClose = true;
 
     BlockStorage( Layout<KEY,VALUE> layout, ByteBufferFactory bufferFactory, FileSystemAbstraction fs, Path blockFile, Monitor monitor,
             MemoryTracker memoryTracker ) throws IOException
@@ -89,6 +90,24 @@ class BlockStorage<KEY, VALUE> implements Closeable
         resetBufferedEntries();
     }
 
+    /**
+     * Continues adding to a block file written by a previous instance, discarding everything written to it after the given checkpoint.
+     */
+    BlockStorage( Layout<KEY,VALUE> layout, ByteBufferFactory bufferFactory, FileSystemAbstraction fs, Path blockFile, Checkpoint checkpoint,
+            Monitor monitor, MemoryTracker memoryTracker ) throws IOException
+    {
+        this( layout, bufferFactory, fs, blockFile, monitor, memoryTracker );
+        if ( storeChannel.size() < checkpoint.position )
+        {
+            storeChannel.close();
+            throw new IOException( "Block file " + blockFile + " is shorter than its checkpoint" );
+        }
+        storeChannel.truncate( checkpoint.position );
+        storeChannel.position( checkpoint.position );
+        this.numberOfBlocksInCurrentFile = checkpoint.numberOfBlocks;
+        this.entryCount = checkpoint.entryCount;
+    }
+
     public void add( KEY key, VALUE value ) throws IOException
     {
         Preconditions.checkState( !doneAdding, "Cannot add more after done adding" );
@@ -118,6 +137,30 @@ class BlockStorage<KEY, VALUE> implements Closeable
         storeChannel.close();
     }
 
+    /**
+     * Flushes the buffered entries as a block and forces the file, so that everything added so far survives a restart.
+     * @return the {@link Checkpoint} to resume this storage from.
+     */
+    Checkpoint checkpoint() throws IOException
+    {
+        Preconditions.checkState( !doneAdding, "Cannot checkpoint after done adding" );
+        if ( !bufferedEntries.isEmpty() )
+        {
+            flushAndResetBuffer();
+            numberOfBlocksInCurrentFile++;
+        }
+        storeChannel.force( false );
+        return new Checkpoint( storeChannel.position(), numberOfBlocksInCurrentFile, entryCount );
+    }
+
+    /**
+     * @param deleteOnClose whether or not the block file should be deleted on {@link #close()}, which is the default.
+     */
+    void setDeleteOnClose( boolean deleteOnClose )
+    {
+        this.deleteOnClose = deleteOnClose;
+    }
+
     private void resetBufferedEntries()
     {
         bufferedEntries.clear();
@@ -364,7 +407,7 @@ class BlockStorage<KEY, VALUE> implements Closeable
     public void close() throws IOException
     {
         IOUtils.closeAll( storeChannel );
-        if ( fs.fileExists( blockFile ) )
+        if ( deleteOnClose && fs.fileExists( blockFile ) )
         {
             fs.deleteFile( blockFile );
         }
@@ -493,6 +536,23 @@ class BlockStorage<KEY, VALUE> implements Closeable
         boolean cancelled();
     }
 
+    /**
+     * State of a {@link BlockStorage} at the time of {@link #checkpoint()}, enough to continue adding to its block file after a restart.
+     */
+    static class Checkpoint
+    {
+        final long position;
+        final long numberOfBlocks;
+        final long entryCount;
+
+        Checkpoint( long position, long numberOfBlocks, long entryCount )
+        {
+            this.position = position;
+            this.numberOfBlocks = numberOfBlocks;
+            this.entryCount = entryCount;
+        }
+    }
+
     private static class CompositeScopedBuffer implements AutoCloseable
     {
         private final ScopedBuffer[] scopedBuffers;
@@ -26,30 +26,72 @@ import org.neo4j.values.storable.Value;
 class FilteringNativeHitIndexProgressor<KEY extends NativeIndexKey<KEY>> extends NativeHitIndexProgressor<KEY>
 {
     private final PropertyIndexQuery[] filter;
+    private final FilterMonitor filterMonitor;
+    private long candidates;
+    private long falsePositives;
+    private boolean reported;
 
     FilteringNativeHitIndexProgressor( Seeker<KEY,NullValue> seeker, EntityValueClient client, PropertyIndexQuery[] filter )
     {
-        super( seeker, client );
+        this( seeker, client, filter, FilterMonitor.NO_MONITOR );
+    }
+
+    FilteringNativeHitIndexProgressor( Seeker<KEY,NullValue> seeker, EntityValueClient client, PropertyIndexQuery[] filter, FilterMonitor filterMonitor )
+    {
+        this( seeker, client, filter, filterMonitor, 0, Long.MAX_VALUE );
+    }
+
+    FilteringNativeHitIndexProgressor( Seeker<KEY,NullValue> seeker, EntityValueClient client, PropertyIndexQuery[] filter, FilterMonitor filterMonitor,
+            long skip, long limit )
+    {
+        super( seeker, client, skip, limit );
         this.filter = filter;
+        this.filterMonitor = filterMonitor;
     }
 
     @Override
     protected boolean acceptValue( Value[] values )
     {
-        for ( int i = 0; i < values.length; i++ )
+        candidates++;
+        // Values of included properties may follow those of the filtered ones
+        for ( int i = 0; i < filter.length; i++ )
         {
             if ( !filter[i].acceptsValue( values[i] ) )
             {
+                falsePositives++;
                 return false;
             }
         }
         return true;
     }
 
+    @Override
+    public void close()
+    {
+        if ( !reported )
+        {
+            reported = true;
+            filterMonitor.filtered( candidates, falsePositives );
+        }
+        super.close();
+    }
+
     // We need to make sure to always deserialize, even if the client doesn't need the value, to be able to filter
     @Override
     Value[] extractValues( KEY key )
     {
         return key.asValues();
     }
+
+    /**
+     * Told how many of the entries seen by a progressor were filtered out, when the progressor is closed.
+     */
+    interface FilterMonitor
+    {
+        FilterMonitor NO_MONITOR = ( candidates, falsePositives ) ->
+        {
+        };
+
+        void filtered( long candidates, long falsePositives );
+    }
 }
@@ -21,28 +21,72 @@ package org.neo4j.kernel.impl.index.schema;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
 
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexType;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexHistogram;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
+import org.neo4j.values.storable.Value;
 
 /**
  * {@link NonUniqueIndexSampler} which performs a full scans of a {@link GBPTree} in {@link #sample(CursorContext)}.
+ * Since the scan visits values in sorted order it can also build an {@link IndexHistogram} of single-property indexes on the way.
  *
  * @param <KEY> type of keys in tree.
  */
 class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>>
         extends NonUniqueIndexSampler.Adapter
 {
+    static final int HISTOGRAM_BUCKETS = 128;
+
     private final GBPTree<KEY,NullValue> gbpTree;
     private final IndexLayout<KEY> layout;
+    private final int histogramBuckets;
+    private final int includedSlots;
 
     FullScanNonUniqueIndexSampler( GBPTree<KEY,NullValue> gbpTree, IndexLayout<KEY> layout )
+    {
+        this( gbpTree, layout, 0 );
+    }
+
+    /**
+     * @param histogramBuckets maximum number of buckets of the histogram to build, or {@code 0} to not build one.
+     */
+    FullScanNonUniqueIndexSampler( GBPTree<KEY,NullValue> gbpTree, IndexLayout<KEY> layout, int histogramBuckets )
+    {
+        this( gbpTree, layout, histogramBuckets, 0 );
+    }
+
+    /**
+     * @param histogramBuckets maximum number of buckets of the histogram to build, or {@code 0} to not build one.
+     * @param includedSlots number of trailing key slots holding values of included properties, which don't make entries distinct.
+     */
+    FullScanNonUniqueIndexSampler( GBPTree<KEY,NullValue> gbpTree, IndexLayout<KEY> layout, int histogramBuckets, int includedSlots )
     {
         this.gbpTree = gbpTree;
         this.layout = layout;
+        this.histogramBuckets = histogramBuckets;
+        this.includedSlots = includedSlots;
+    }
+
+    static <KEY extends NativeIndexKey<KEY>> FullScanNonUniqueIndexSampler<KEY> forIndex( GBPTree<KEY,NullValue> gbpTree, IndexLayout<KEY> layout,
+            IndexDescriptor descriptor )
+    {
+        return new FullScanNonUniqueIndexSampler<>( gbpTree, layout, histogramBucketsFor( descriptor ), descriptor.getIncludedPropertyIds().length );
+    }
+
+    /**
+     * Histograms are only built for single-property indexes with orderable values, which is what range and prefix predicates are planned on.
+     */
+    static int histogramBucketsFor( IndexDescriptor descriptor )
+    {
+        boolean singleProperty = descriptor.schema().getPropertyIds().length == 1;
+        return singleProperty && descriptor.getIndexType() != IndexType.POINT ? HISTOGRAM_BUCKETS : 0;
     }
 
     @Override
@@ -59,6 +103,8 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>>
         {
             long sampledValues = 0;
             long uniqueValues = 0;
+            IndexHistogram.Builder histogram = histogramBuckets > 0 ? IndexHistogram.builder( histogramBuckets ) : null;
+            long prevCount = 0;
 
             // Get the first one so that prev gets initialized
             if ( seek.next() )
@@ -66,20 +112,25 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>>
                 prev = layout.copyKey( seek.key(), prev );
                 sampledValues++;
                 uniqueValues++;
+                prevCount++;
 
                 // Then do the rest
                 while ( seek.next() )
                 {
-                    if ( layout.compareValue( prev, seek.key() ) != 0 )
+                    if ( !sameIndexedValues( prev, seek.key() ) )
                     {
                         uniqueValues++;
+                        includeInHistogram( histogram, prev, prevCount );
                         layout.copyKey( seek.key(), prev );
+                        prevCount = 0;
                     }
                     // else this is a duplicate of the previous one
                     sampledValues++;
+                    prevCount++;
                 }
+                includeInHistogram( histogram, prev, prevCount );
             }
-            return new IndexSample( sampledValues, uniqueValues, sampledValues );
+            return new IndexSample( sampledValues, uniqueValues, sampledValues, 0, histogram != null ? histogram.build() : null );
         }
         catch ( IOException e )
         {
@@ -87,6 +138,26 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>>
         }
     }
 
+    private boolean sameIndexedValues( KEY left, KEY right )
+    {
+        if ( includedSlots == 0 )
+        {
+            return layout.compareValue( left, right ) == 0;
+        }
+        Value[] leftValues = left.asValues();
+        Value[] rightValues = right.asValues();
+        int indexedSlots = leftValues.length - includedSlots;
+        return Arrays.equals( leftValues, 0, indexedSlots, rightValues, 0, indexedSlots );
+    }
+
+    private static <KEY extends NativeIndexKey<KEY>> void includeInHistogram( IndexHistogram.Builder histogram, KEY key, long count )
+    {
+        if ( histogram != null )
+        {
+            histogram.include( key.asValues()[0], count );
+        }
+    }
+
     @Override
     public IndexSample sample( int numDocs, CursorContext cursorContext )
     {
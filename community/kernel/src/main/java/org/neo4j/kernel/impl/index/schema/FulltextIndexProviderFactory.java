@@ -31,6 +31,7 @@ import org.neo4j.io.layout.DatabaseLayout;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.impl.fulltext.FulltextIndexProvider;
+import org.neo4j.kernel.api.impl.fulltext.FulltextIndexRefresher;
 import org.neo4j.kernel.api.impl.index.storage.DirectoryFactory;
 import org.neo4j.kernel.api.index.IndexDirectoryStructure;
 import org.neo4j.logging.Log;
@@ -69,7 +70,8 @@ public class FulltextIndexProviderFactory extends AbstractIndexProviderFactory<F
         DirectoryFactory directoryFactory = directoryFactory( ephemeral );
         IndexDirectoryStructure.Factory directoryStructureFactory = subProviderDirectoryStructure( databaseLayout.databaseDirectory() );
         return new FulltextIndexProvider( DESCRIPTOR, directoryStructureFactory, fs, config, tokenHolders,
-                                          directoryFactory, readOnlyDatabaseChecker, scheduler, log );
+                                          directoryFactory, readOnlyDatabaseChecker, scheduler, log,
+                                          monitors.newMonitor( FulltextIndexRefresher.Monitor.class, monitorTag ) );
     }
 
     private static IndexDirectoryStructure.Factory subProviderDirectoryStructure( Path storeDir )
@@ -450,6 +450,17 @@ public abstract class GenericKey<KEY extends GenericKey<KEY>> extends NativeInde
         }
     }
 
+    @Override
+    public void writeNull()
+    {
+        // Only range keys know a type for NO_VALUE, where it marks a missing included property
+        Type noValueType = getTypesByGroup()[ValueGroup.NO_VALUE.ordinal()];
+        if ( noValueType != null )
+        {
+            setType( noValueType );
+        }
+    }
+
     @Override
     public void writeBoolean( boolean value )
     {
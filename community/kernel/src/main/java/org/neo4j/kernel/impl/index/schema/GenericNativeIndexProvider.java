@@ -272,6 +272,7 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<BtreeKey,Gen
         {
             return queryType != IndexQueryType.FULLTEXT_SEARCH
                    && queryType != IndexQueryType.TOKEN_LOOKUP
+                   && queryType != IndexQueryType.NEAREST_NEIGHBOURS
                    && areValueCategoriesAccepted( valueCategory );
         }
 
@@ -79,13 +79,14 @@ class GenericNativeIndexReader extends NativeIndexReader<BtreeKey>
             {
                 // If there's a GeometryRangeQuery among the predicates then this query changes from a straight-forward: build from/to and seek...
                 // into a query that is split into multiple sub-queries. Predicates both before and after will have to be accompanied each sub-query.
-                BridgingIndexProgressor multiProgressor = new BridgingIndexProgressor( client, descriptor.schema().getPropertyIds() );
+                BridgingIndexProgressor multiProgressor = bridgingProgressor( client, constraints );
                 client.initialize( descriptor, multiProgressor, accessMode, false, constraints, query );
                 double[] from = geometryRangePredicate.from() == null ? null : geometryRangePredicate.from().coordinate();
                 double[] to = geometryRangePredicate.to() == null ? null : geometryRangePredicate.to().coordinate();
                 CoordinateReferenceSystem crs = geometryRangePredicate.crs();
                 SpaceFillingCurve curve = spaceFillingCurveSettings.forCrs( crs );
                 List<SpaceFillingCurve.LongRange> ranges = curve.getTilesIntersectingEnvelope( from, to, configuration );
+                FilteringNativeHitIndexProgressor.FilterMonitor filterMonitor = geometryRangeFilterMonitor( context, configuration );
                 for ( SpaceFillingCurve.LongRange range : ranges )
                 {
                     // Here's a sub-query that we'll have to do for this geometry range. Build this query from all predicates
@@ -95,7 +96,7 @@ class GenericNativeIndexReader extends NativeIndexReader<BtreeKey>
                     initializeFromToKeys( treeKeyFrom, treeKeyTo );
                     boolean needFiltering = initializeRangeForGeometrySubQuery( treeKeyFrom, treeKeyTo, query, crs, range );
                     startSeekForInitializedRange( multiProgressor, treeKeyFrom, treeKeyTo, context.cursorContext(), accessMode,
-                                                  needFiltering, constraints, query );
+                                                  needFiltering, filterMonitor, subRangeConstraints( constraints ), query );
                 }
             }
             catch ( IllegalArgumentException e )
@@ -110,6 +111,16 @@ class GenericNativeIndexReader extends NativeIndexReader<BtreeKey>
         }
     }
 
+    /**
+     * Points are stored in space filling curve order, so ordered results are sorted again by the cursor and neither skip nor limit can be
+     * applied to the entries read from the tree.
+     */
+    @Override
+    boolean appliesSkipAndLimit( IndexQueryConstraints constraints )
+    {
+        return !constraints.isOrdered();
+    }
+
     /**
      * Initializes {@code treeKeyFrom} and {@code treeKeyTo} from the {@link PropertyIndexQuery query}.
      * Geometry range queries makes an otherwise straight-forward key construction complex in that a geometry range internally is performed
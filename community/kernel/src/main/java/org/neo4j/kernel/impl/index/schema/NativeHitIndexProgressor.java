@@ -28,9 +28,23 @@ import org.neo4j.values.storable.Value;
 
 public class NativeHitIndexProgressor<KEY extends NativeIndexKey<KEY>> extends NativeIndexProgressor<KEY>
 {
+    private long remainingSkip;
+    private long remainingHits;
+
     NativeHitIndexProgressor( Seeker<KEY,NullValue> seeker, IndexProgressor.EntityValueClient client )
+    {
+        this( seeker, client, 0, Long.MAX_VALUE );
+    }
+
+    /**
+     * @param skip the number of entities accepted by the client to skip before returning any.
+     * @param limit the number of entities to return after the skipped ones, after which to stop reading from the seeker.
+     */
+    NativeHitIndexProgressor( Seeker<KEY,NullValue> seeker, IndexProgressor.EntityValueClient client, long skip, long limit )
     {
         super( seeker, client );
+        this.remainingSkip = skip;
+        this.remainingHits = limit;
     }
 
     @Override
@@ -38,12 +52,18 @@ public class NativeHitIndexProgressor<KEY extends NativeIndexKey<KEY>> extends N
     {
         try
         {
-            while ( seeker.next() )
+            while ( remainingHits > 0 && seeker.next() )
             {
                 KEY key = seeker.key();
                 Value[] values = extractValues( key );
                 if ( acceptValue( values ) && client.acceptEntity( key.getEntityId(), Float.NaN, values ) )
                 {
+                    if ( remainingSkip > 0 )
+                    {
+                        remainingSkip--;
+                        continue;
+                    }
+                    remainingHits--;
                     return true;
                 }
             }
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.neo4j.graphdb.ResourceIterator;
@@ -153,6 +154,7 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
         KEY highest = layout.newKey();
         highest.initialize( Long.MAX_VALUE );
         highest.initValuesAsHighest();
+        int numberOfIndexedValues = descriptor.schema().getPropertyIds().length;
         try
         {
             Collection<Seeker.WithContext<KEY,NullValue>> seekersWithContext = tree.partitionedSeek( lowest, highest, partitions, cursorContext );
@@ -184,7 +186,9 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
                     @Override
                     public Value[] values()
                     {
-                        return seeker.key().asValues();
+                        // Only expose the indexed values, not those of any included properties
+                        Value[] values = seeker.key().asValues();
+                        return values.length == numberOfIndexedValues ? values : Arrays.copyOf( values, numberOfIndexedValues );
                     }
 
                     @Override
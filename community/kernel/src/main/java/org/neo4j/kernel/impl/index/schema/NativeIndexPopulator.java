@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.index.schema;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Collection;
 
 import org.neo4j.index.internal.gbptree.GBPTree;
@@ -94,6 +95,23 @@ public abstract class NativeIndexPopulator<KEY extends NativeIndexKey<KEY>>
         assertNotClosed();
 
         indexFiles.clear();
+        createTree();
+    }
+
+    /**
+     * Instantiates an empty tree in populating state, replacing any existing tree file but leaving other files
+     * in the index directory in place.
+     */
+    synchronized void createTree() throws IOException
+    {
+        assertNotDropped();
+        assertNotClosed();
+
+        Path storeFile = indexFiles.getStoreFile();
+        if ( fileSystem.fileExists( storeFile ) )
+        {
+            fileSystem.deleteFile( storeFile );
+        }
         NativeIndexHeaderWriter headerWriter = new NativeIndexHeaderWriter( BYTE_POPULATING );
         instantiateTree( RecoveryCleanupWorkCollector.immediate(), headerWriter );
 
@@ -192,6 +210,11 @@ public abstract class NativeIndexPopulator<KEY extends NativeIndexKey<KEY>>
         failureBytes = failure.getBytes( StandardCharsets.UTF_8 );
     }
 
+    boolean markedAsFailed()
+    {
+        return failureBytes != null;
+    }
+
     @Override
     public void includeSample( IndexEntryUpdate<?> update )
     {
@@ -219,7 +242,7 @@ public abstract class NativeIndexPopulator<KEY extends NativeIndexKey<KEY>>
 
     IndexSample buildNonUniqueIndexSample( CursorContext cursorContext )
     {
-        return new FullScanNonUniqueIndexSampler<>( tree, layout ).sample( cursorContext );
+        return FullScanNonUniqueIndexSampler.forIndex( tree, layout, descriptor ).sample( cursorContext );
     }
 
     private void markTreeAsFailed( CursorContext cursorContext )
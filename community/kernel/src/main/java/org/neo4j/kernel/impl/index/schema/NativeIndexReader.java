@@ -24,8 +24,10 @@ import java.io.UncheckedIOException;
 import java.util.Iterator;
 import java.util.Optional;
 
+import org.neo4j.gis.spatial.index.curves.SpaceFillingCurveConfiguration;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.internal.kernel.api.IndexMonitor;
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
 import org.neo4j.internal.kernel.api.QueryContext;
@@ -35,11 +37,14 @@ import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexOrder;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
+import org.neo4j.kernel.api.index.BridgingIndexProgressor;
 import org.neo4j.kernel.api.index.IndexProgressor;
 import org.neo4j.kernel.api.index.IndexSampler;
 import org.neo4j.kernel.api.index.ValueIndexReader;
+import org.neo4j.kernel.impl.index.schema.FilteringNativeHitIndexProgressor.FilterMonitor;
 import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
 
 import static org.apache.commons.lang3.exception.ExceptionUtils.getRootCause;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
@@ -72,7 +77,7 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         // non-unique sampler which scans the index and counts (potentially duplicates, of which there will
         // be none in a unique index).
 
-        FullScanNonUniqueIndexSampler<KEY> sampler = new FullScanNonUniqueIndexSampler<>( tree, layout );
+        FullScanNonUniqueIndexSampler<KEY> sampler = FullScanNonUniqueIndexSampler.forIndex( tree, layout, descriptor );
         return tracer ->
         {
             try
@@ -104,6 +109,11 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
             treeKeyFrom.initFromValue( i, propertyValues[i], NEUTRAL );
             treeKeyTo.initFromValue( i, propertyValues[i], NEUTRAL );
         }
+        for ( int i = propertyValues.length; i < treeKeyFrom.numberOfStateSlots(); i++ )
+        {
+            treeKeyFrom.initValueAsLowest( i, ValueGroup.UNKNOWN );
+            treeKeyTo.initValueAsHighest( i, ValueGroup.UNKNOWN );
+        }
         try ( Seeker<KEY,NullValue> seeker = tree.seek( treeKeyFrom, treeKeyTo, cursorContext ) )
         {
             long count = 0;
@@ -153,6 +163,13 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
 
     void startSeekForInitializedRange( IndexProgressor.EntityValueClient client, KEY treeKeyFrom, KEY treeKeyTo, CursorContext cursorContext,
                                        AccessMode accessMode, boolean needFilter, IndexQueryConstraints constraints, PropertyIndexQuery... query )
+    {
+        startSeekForInitializedRange( client, treeKeyFrom, treeKeyTo, cursorContext, accessMode, needFilter, FilterMonitor.NO_MONITOR, constraints,
+                query );
+    }
+
+    void startSeekForInitializedRange( IndexProgressor.EntityValueClient client, KEY treeKeyFrom, KEY treeKeyTo, CursorContext cursorContext,
+            AccessMode accessMode, boolean needFilter, FilterMonitor filterMonitor, IndexQueryConstraints constraints, PropertyIndexQuery... query )
     {
         if ( isEmptyRange( treeKeyFrom, treeKeyTo ) )
         {
@@ -161,8 +178,16 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         }
         try
         {
-            Seeker<KEY,NullValue> seeker = makeIndexSeeker( treeKeyFrom, treeKeyTo, constraints.order(), cursorContext );
-            IndexProgressor hitProgressor = getIndexProgressor( seeker, client, needFilter, query );
+            long skip = 0;
+            long limit = Long.MAX_VALUE;
+            if ( appliesSkipAndLimit( constraints ) )
+            {
+                skip = constraints.skip().orElse( 0 );
+                limit = constraints.limit().orElse( Long.MAX_VALUE );
+            }
+            long maxHits = needFilter || limit == Long.MAX_VALUE ? Long.MAX_VALUE : skip + limit;
+            Seeker<KEY,NullValue> seeker = makeIndexSeeker( treeKeyFrom, treeKeyTo, constraints.order(), maxHits, cursorContext );
+            IndexProgressor hitProgressor = getIndexProgressor( seeker, client, needFilter, filterMonitor, skip, limit, query );
             client.initialize( descriptor, hitProgressor, accessMode, false, constraints, query );
         }
         catch ( IOException e )
@@ -171,7 +196,11 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         }
     }
 
-    Seeker<KEY,NullValue> makeIndexSeeker( KEY treeKeyFrom, KEY treeKeyTo, IndexOrder indexOrder, CursorContext cursorContext ) throws IOException
+    /**
+     * @param maxHits the maximum number of entries that will be read from the returned seeker, used to not read ahead more entries than needed.
+     */
+    Seeker<KEY,NullValue> makeIndexSeeker( KEY treeKeyFrom, KEY treeKeyTo, IndexOrder indexOrder, long maxHits, CursorContext cursorContext )
+            throws IOException
     {
         if ( indexOrder == IndexOrder.DESCENDING )
         {
@@ -179,14 +208,63 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
             treeKeyFrom = treeKeyTo;
             treeKeyTo = tmpKey;
         }
-        return tree.seek( treeKeyFrom, treeKeyTo, cursorContext );
+        return tree.seek( treeKeyFrom, treeKeyTo, cursorContext, maxHits );
+    }
+
+    /**
+     * Like the fulltext index, the progressor skips the first {@link IndexQueryConstraints#skip() skip} entities accepted by the client
+     * and then returns at most {@link IndexQueryConstraints#limit() limit} entities, so that a query can stop reading from the index early.
+     *
+     * @return true if the skip and limit of the {@code constraints} can be applied to the entries in the order they are read from the tree.
+     */
+    boolean appliesSkipAndLimit( IndexQueryConstraints constraints )
+    {
+        return true;
+    }
+
+    /**
+     * @return a progressor combining the entries of several ranges of the tree, which applies the skip and limit of the {@code constraints}
+     * to all of them together. The ranges are to be seeked with the {@link #subRangeConstraints(IndexQueryConstraints) sub-range constraints}.
+     */
+    BridgingIndexProgressor bridgingProgressor( IndexProgressor.EntityValueClient client, IndexQueryConstraints constraints )
+    {
+        int[] keys = descriptor.schema().getPropertyIds();
+        if ( !appliesSkipAndLimit( constraints ) )
+        {
+            return new BridgingIndexProgressor( client, keys );
+        }
+        return new BridgingIndexProgressor( client, keys, constraints.skip().orElse( 0 ), constraints.limit().orElse( Long.MAX_VALUE ) );
+    }
+
+    /**
+     * Entries skipped by a {@link #bridgingProgressor(IndexProgressor.EntityValueClient, IndexQueryConstraints) bridging progressor} are not
+     * accepted, so each of its ranges must skip nothing itself, but need not return more than the limit.
+     */
+    static IndexQueryConstraints subRangeConstraints( IndexQueryConstraints constraints )
+    {
+        IndexQueryConstraints subRangeConstraints = IndexQueryConstraints.constrained( constraints.order(), constraints.needsValues() );
+        return constraints.limit().isPresent() ? subRangeConstraints.limit( constraints.limit().getAsLong() ) : subRangeConstraints;
     }
 
     private IndexProgressor getIndexProgressor( Seeker<KEY,NullValue> seeker, IndexProgressor.EntityValueClient client, boolean needFilter,
-                                                PropertyIndexQuery[] query )
+                                                FilterMonitor filterMonitor, long skip, long limit, PropertyIndexQuery[] query )
+    {
+        return needFilter ? new FilteringNativeHitIndexProgressor<>( seeker, client, query, filterMonitor, skip, limit )
+                          : new NativeHitIndexProgressor<>( seeker, client, skip, limit );
+    }
+
+    /**
+     * @return a {@link FilterMonitor} that feeds the filter results of the sub-queries of a geometry range query back to the space filling curve
+     * {@code configuration} that decomposed it, and reports them to the index monitor.
+     */
+    FilterMonitor geometryRangeFilterMonitor( QueryContext context, SpaceFillingCurveConfiguration configuration )
     {
-        return needFilter ? new FilteringNativeHitIndexProgressor<>( seeker, client, query )
-                          : new NativeHitIndexProgressor<>( seeker, client );
+        IndexMonitor monitor = context.monitor();
+        return ( candidates, falsePositives ) ->
+        {
+            configuration.rangesFiltered( candidates, falsePositives );
+            monitor.geometryRangeFiltered( descriptor, candidates, falsePositives );
+        };
     }
 
     private boolean isEmptyRange( KEY treeKeyFrom, KEY treeKeyTo )
@@ -247,7 +325,7 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
             }
             try
             {
-                return getIndexProgressor( partition.get().with( cursorContext ), client, filter, query );
+                return getIndexProgressor( partition.get().with( cursorContext ), client, filter, FilterMonitor.NO_MONITOR, Long.MAX_VALUE, query );
             }
             catch ( IOException e )
             {
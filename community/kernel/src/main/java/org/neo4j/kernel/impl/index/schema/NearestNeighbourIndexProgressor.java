@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import org.neo4j.gis.spatial.index.curves.SpaceFillingCurve;
+import org.neo4j.gis.spatial.index.curves.SpaceFillingCurveConfiguration;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.internal.helpers.collection.Pair;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery.NearestNeighbourPredicate;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexProgressor;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.values.storable.CoordinateReferenceSystem;
+import org.neo4j.values.storable.PointValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.HIGH;
+import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.LOW;
+import static org.neo4j.memory.HeapEstimator.OBJECT_REFERENCE_BYTES;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfObjectArray;
+
+/**
+ * Returns the points in a {@link PointIndexReader point index} in order of increasing distance from an origin.
+ * <p>
+ * The search is done in rounds of growing search distance. Each round seeks the space filling curve ranges covering the bounding box of the
+ * current search distance, skipping the ranges already seeked in earlier rounds, and adds the found points to a queue ordered by distance.
+ * Points in the queue that are within the current search distance are known to be closer than any point not yet found, and can be returned.
+ * The search distance is doubled until the bounding box covers the whole curve, so a query that only needs the first few points, e.g. because of
+ * a limit, only reads the part of the index that is close to the origin.
+ * <p>
+ * The found points are kept on the heap until returned, so their memory is tracked by the {@link MemoryTracker} of the query.
+ */
+class NearestNeighbourIndexProgressor implements IndexProgressor
+{
+    /**
+     * Level of the space filling curve whose tile width is used as the initial search distance.
+     */
+    private static final int INITIAL_SEARCH_LEVEL = 10;
+    private static final long CANDIDATE_SHALLOW_SIZE = shallowSizeOfInstance( Candidate.class ) + OBJECT_REFERENCE_BYTES;
+
+    private final GBPTree<PointKey,NullValue> tree;
+    private final IndexLayout<PointKey> layout;
+    private final SpaceFillingCurve curve;
+    private final SpaceFillingCurveConfiguration configuration;
+    private final NearestNeighbourPredicate predicate;
+    private final EntityValueClient client;
+    private final CursorContext cursorContext;
+    private final MemoryTracker memoryTracker;
+    private final PriorityQueue<Candidate> candidates = new PriorityQueue<>( Comparator.comparingDouble( candidate -> candidate.distance ) );
+    /**
+     * Curve ranges seeked so far, keyed by their inclusive start with their inclusive end as value. Adjacent and overlapping ranges are merged.
+     */
+    private final TreeMap<Long,Long> seekedRanges = new TreeMap<>();
+    private double searchDistance;
+    private boolean exhausted;
+
+    NearestNeighbourIndexProgressor( GBPTree<PointKey,NullValue> tree, IndexLayout<PointKey> layout, SpaceFillingCurve curve,
+            SpaceFillingCurveConfiguration configuration, NearestNeighbourPredicate predicate, EntityValueClient client, CursorContext cursorContext,
+            MemoryTracker memoryTracker )
+    {
+        this.tree = tree;
+        this.layout = layout;
+        this.curve = curve;
+        this.configuration = configuration;
+        this.predicate = predicate;
+        this.client = client;
+        this.cursorContext = cursorContext;
+        this.memoryTracker = memoryTracker;
+        this.searchDistance = initialSearchDistance();
+    }
+
+    @Override
+    public boolean next()
+    {
+        while ( true )
+        {
+            Candidate candidate = candidates.peek();
+            if ( candidate != null && (exhausted || candidate.distance <= searchDistance) )
+            {
+                candidates.poll();
+                memoryTracker.releaseHeap( candidate.heapUsage );
+                if ( client.acceptEntity( candidate.entityId, Float.NaN, candidate.values ) )
+                {
+                    return true;
+                }
+            }
+            else if ( exhausted )
+            {
+                return false;
+            }
+            else
+            {
+                expandSearch();
+            }
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        for ( Candidate candidate : candidates )
+        {
+            memoryTracker.releaseHeap( candidate.heapUsage );
+        }
+        candidates.clear();
+        exhausted = true;
+    }
+
+    private void expandSearch()
+    {
+        if ( !seekedRanges.isEmpty() )
+        {
+            searchDistance *= 2;
+        }
+        CoordinateReferenceSystem crs = predicate.crs();
+        for ( Pair<PointValue,PointValue> box : crs.getCalculator().boundingBox( predicate.origin(), searchDistance ) )
+        {
+            List<SpaceFillingCurve.LongRange> ranges = curve.getTilesIntersectingEnvelope( box.first().coordinate(), box.other().coordinate(), configuration );
+            for ( SpaceFillingCurve.LongRange range : ranges )
+            {
+                seekUnseeked( range.min, range.max );
+            }
+        }
+        Map.Entry<Long,Long> first = seekedRanges.firstEntry();
+        if ( (first.getKey() == 0 && first.getValue() >= curve.getValueWidth() - 1) || Double.isInfinite( searchDistance ) )
+        {
+            exhausted = true;
+        }
+    }
+
+    /**
+     * Seek the parts of the given range that have not been seeked before, and record the whole range as seeked.
+     */
+    private void seekUnseeked( long min, long max )
+    {
+        long from = min;
+        Map.Entry<Long,Long> overlapping = seekedRanges.floorEntry( from );
+        if ( overlapping == null || overlapping.getValue() < from - 1 )
+        {
+            overlapping = seekedRanges.higherEntry( from );
+        }
+        long mergedMin = min;
+        long mergedMax = max;
+        while ( overlapping != null && overlapping.getKey() <= max + 1 )
+        {
+            if ( from < overlapping.getKey() )
+            {
+                seek( from, overlapping.getKey() - 1 );
+            }
+            from = Math.max( from, overlapping.getValue() + 1 );
+            mergedMin = Math.min( mergedMin, overlapping.getKey() );
+            mergedMax = Math.max( mergedMax, overlapping.getValue() );
+            seekedRanges.remove( overlapping.getKey() );
+            overlapping = seekedRanges.higherEntry( overlapping.getKey() );
+        }
+        if ( from <= max )
+        {
+            seek( from, max );
+        }
+        seekedRanges.put( mergedMin, mergedMax );
+    }
+
+    private void seek( long min, long max )
+    {
+        PointKey from = layout.newKey();
+        PointKey to = layout.newKey();
+        from.initialize( Long.MIN_VALUE );
+        to.initialize( Long.MAX_VALUE );
+        from.writePointDerived( predicate.crs(), min, LOW );
+        to.writePointDerived( predicate.crs(), max + 1, HIGH );
+        try ( Seeker<PointKey,NullValue> seeker = tree.seek( from, to, cursorContext ) )
+        {
+            while ( seeker.next() )
+            {
+                PointKey key = seeker.key();
+                Value[] values = key.asValues();
+                PointValue point = (PointValue) values[0];
+                if ( predicate.acceptsValue( point ) )
+                {
+                    Candidate candidate = new Candidate( key.getEntityId(), predicate.distanceTo( point ), client.needsValues() ? values : null );
+                    memoryTracker.allocateHeap( candidate.heapUsage );
+                    candidates.add( candidate );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private double initialSearchDistance()
+    {
+        PointValue origin = predicate.origin();
+        double[] coordinate = origin.coordinate();
+        double distance = 0;
+        for ( int dim = 0; dim < coordinate.length; dim++ )
+        {
+            double[] shifted = coordinate.clone();
+            shifted[dim] += curve.getTileWidth( dim, Math.min( INITIAL_SEARCH_LEVEL, curve.getMaxLevel() ) );
+            distance = Math.max( distance, predicate.distanceTo( Values.pointValue( predicate.crs(), shifted ) ) );
+        }
+        return distance > 0 ? distance : Double.MIN_NORMAL;
+    }
+
+    private static class Candidate
+    {
+        private final long entityId;
+        private final double distance;
+        private final Value[] values;
+        private final long heapUsage;
+
+        Candidate( long entityId, double distance, Value[] values )
+        {
+            this.entityId = entityId;
+            this.distance = distance;
+            this.values = values;
+            this.heapUsage = CANDIDATE_SHALLOW_SIZE + heapUsage( values );
+        }
+
+        private static long heapUsage( Value[] values )
+        {
+            if ( values == null )
+            {
+                return 0;
+            }
+            long heapUsage = shallowSizeOfObjectArray( values.length );
+            for ( Value value : values )
+            {
+                heapUsage += value.estimatedHeapUsage();
+            }
+            return heapUsage;
+        }
+    }
+}
@@ -217,6 +217,7 @@ public class PointIndexProvider extends NativeIndexProvider<PointKey,PointLayout
             {
             case EXACT:
             case RANGE:
+            case NEAREST_NEIGHBOURS:
                 return true;
             default:
                 return false;
@@ -77,15 +77,16 @@ class PointIndexReader extends NativeIndexReader<PointKey>
 
     private void validateSupportedPredicates( PropertyIndexQuery predicate )
     {
-        if ( EnumSet.of( IndexQueryType.ALL_ENTRIES, IndexQueryType.EXACT ).contains( predicate.type() )
+        if ( EnumSet.of( IndexQueryType.ALL_ENTRIES, IndexQueryType.EXACT, IndexQueryType.NEAREST_NEIGHBOURS ).contains( predicate.type() )
              || (predicate.type() == IndexQueryType.RANGE && predicate.valueGroup() == ValueGroup.GEOMETRY) )
         {
             return;
         }
 
         throw new IllegalArgumentException( format(
-                "Tried to query index with illegal query. Only %s, %s, and %s %s queries are supported by a point index. Query was: %s",
-                IndexQueryType.ALL_ENTRIES, IndexQueryType.EXACT, ValueGroup.GEOMETRY, IndexQueryType.RANGE, predicate ) );
+                "Tried to query index with illegal query. Only %s, %s, %s, and %s %s queries are supported by a point index. Query was: %s",
+                IndexQueryType.ALL_ENTRIES, IndexQueryType.EXACT, IndexQueryType.NEAREST_NEIGHBOURS, ValueGroup.GEOMETRY, IndexQueryType.RANGE,
+                predicate ) );
     }
 
     @Override
@@ -108,13 +109,14 @@ class PointIndexReader extends NativeIndexReader<PointKey>
             {
                 // With GeometryRangeQuery predicate this query changes from a straight-forward: build from/to and seek...
                 // into a query that is split into multiple sub-queries.
-                BridgingIndexProgressor multiProgressor = new BridgingIndexProgressor( client, descriptor.schema().getPropertyIds() );
+                BridgingIndexProgressor multiProgressor = bridgingProgressor( client, constraints );
                 client.initialize( descriptor, multiProgressor, accessMode, false, constraints, geometryRangePredicate );
                 double[] from = geometryRangePredicate.from() == null ? null : geometryRangePredicate.from().coordinate();
                 double[] to = geometryRangePredicate.to() == null ? null : geometryRangePredicate.to().coordinate();
                 CoordinateReferenceSystem crs = geometryRangePredicate.crs();
                 SpaceFillingCurve curve = spaceFillingCurveSettings.forCrs( crs );
                 List<SpaceFillingCurve.LongRange> ranges = curve.getTilesIntersectingEnvelope( from, to, configuration );
+                FilteringNativeHitIndexProgressor.FilterMonitor filterMonitor = geometryRangeFilterMonitor( context, configuration );
                 for ( SpaceFillingCurve.LongRange range : ranges )
                 {
                     // Here's a sub-query that we'll have to do for this geometry range.
@@ -126,7 +128,7 @@ class PointIndexReader extends NativeIndexReader<PointKey>
                     treeKeyFrom.writePointDerived( crs, range.min, LOW );
                     treeKeyTo.writePointDerived( crs, range.max + 1, HIGH );
                     startSeekForInitializedRange( multiProgressor, treeKeyFrom, treeKeyTo, context.cursorContext(), accessMode,
-                            true, constraints, geometryRangePredicate );
+                            true, filterMonitor, subRangeConstraints( constraints ), geometryRangePredicate );
                 }
             }
             catch ( IllegalArgumentException e )
@@ -135,6 +137,16 @@ class PointIndexReader extends NativeIndexReader<PointKey>
                 client.initialize( descriptor, IndexProgressor.EMPTY, accessMode, false, constraints, geometryRangePredicate );
             }
         }
+        else if ( predicate.type() == IndexQueryType.NEAREST_NEIGHBOURS )
+        {
+            context.monitor().queried( descriptor );
+            validateQuery( constraints, predicates );
+            PropertyIndexQuery.NearestNeighbourPredicate nearestNeighbourPredicate = (PropertyIndexQuery.NearestNeighbourPredicate) predicate;
+            SpaceFillingCurve curve = spaceFillingCurveSettings.forCrs( nearestNeighbourPredicate.crs() );
+            IndexProgressor progressor = new NearestNeighbourIndexProgressor( tree, layout, curve, configuration, nearestNeighbourPredicate, client,
+                    context.cursorContext(), context.memoryTracker() );
+            client.initialize( descriptor, progressor, accessMode, false, constraints, nearestNeighbourPredicate );
+        }
         else
         {
             super.query( client, context, accessMode, constraints, predicates );
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Progress of a {@link BlockBasedIndexPopulator}, written to a file next to the index when the population is checkpointed
+ * and read back when the population is resumed after a restart. Consists of the highest scanned entity id, the transaction
+ * the checkpoint is consistent with, a {@link BlockStorage.Checkpoint} per scan updates file and the position and entry count
+ * of the external updates file.
+ */
+class PopulationCheckpoint
+{
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES * 4 + Integer.BYTES;
+    private static final int SCAN_UPDATES_ENTRY_SIZE = Integer.BYTES + Long.BYTES * 3;
+
+    final long scannedEntityId;
+    final long lastClosedTransactionId;
+    final long externalUpdatesPosition;
+    final long externalUpdatesCount;
+    // keyed by the id of the scan updates file
+    final Map<Integer,BlockStorage.Checkpoint> scanUpdates;
+
+    PopulationCheckpoint( long scannedEntityId, long lastClosedTransactionId, long externalUpdatesPosition, long externalUpdatesCount,
+            Map<Integer,BlockStorage.Checkpoint> scanUpdates )
+    {
+        this.scannedEntityId = scannedEntityId;
+        this.lastClosedTransactionId = lastClosedTransactionId;
+        this.externalUpdatesPosition = externalUpdatesPosition;
+        this.externalUpdatesCount = externalUpdatesCount;
+        this.scanUpdates = scanUpdates;
+    }
+
+    /**
+     * Writes this checkpoint to a temporary file which then replaces the given file, so that a crash during write leaves the previous checkpoint intact.
+     */
+    void write( FileSystemAbstraction fs, Path file ) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate( HEADER_SIZE + scanUpdates.size() * SCAN_UPDATES_ENTRY_SIZE );
+        buffer.putInt( FORMAT_VERSION );
+        buffer.putLong( scannedEntityId );
+        buffer.putLong( lastClosedTransactionId );
+        buffer.putLong( externalUpdatesPosition );
+        buffer.putLong( externalUpdatesCount );
+        buffer.putInt( scanUpdates.size() );
+        scanUpdates.forEach( ( id, checkpoint ) ->
+        {
+            buffer.putInt( id );
+            buffer.putLong( checkpoint.position );
+            buffer.putLong( checkpoint.numberOfBlocks );
+            buffer.putLong( checkpoint.entryCount );
+        } );
+        buffer.flip();
+
+        Path tempFile = file.resolveSibling( file.getFileName() + ".tmp" );
+        try ( StoreChannel channel = fs.write( tempFile ) )
+        {
+            channel.truncate( 0 );
+            channel.writeAll( buffer );
+            channel.force( false );
+        }
+        fs.renameFile( tempFile, file, REPLACE_EXISTING );
+    }
+
+    /**
+     * @return the checkpoint stored in the given file, or {@code null} if there's no such file.
+     * @throws IOException if the file couldn't be read or isn't a valid checkpoint.
+     */
+    static PopulationCheckpoint read( FileSystemAbstraction fs, Path file ) throws IOException
+    {
+        if ( !fs.fileExists( file ) )
+        {
+            return null;
+        }
+        long fileSize = fs.getFileSize( file );
+        if ( fileSize < HEADER_SIZE )
+        {
+            throw new IOException( "Population checkpoint " + file + " is truncated" );
+        }
+        ByteBuffer buffer = ByteBuffer.allocate( (int) fileSize );
+        try ( StoreChannel channel = fs.read( file ) )
+        {
+            channel.readAll( buffer );
+        }
+        buffer.flip();
+
+        int formatVersion = buffer.getInt();
+        if ( formatVersion != FORMAT_VERSION )
+        {
+            throw new IOException( "Population checkpoint " + file + " has unknown format version " + formatVersion );
+        }
+        long scannedEntityId = buffer.getLong();
+        long lastClosedTransactionId = buffer.getLong();
+        long externalUpdatesPosition = buffer.getLong();
+        long externalUpdatesCount = buffer.getLong();
+        int numberOfScanUpdates = buffer.getInt();
+        if ( buffer.remaining() != (long) numberOfScanUpdates * SCAN_UPDATES_ENTRY_SIZE )
+        {
+            throw new IOException( "Population checkpoint " + file + " is truncated" );
+        }
+        Map<Integer,BlockStorage.Checkpoint> scanUpdates = new TreeMap<>();
+        for ( int i = 0; i < numberOfScanUpdates; i++ )
+        {
+            int id = buffer.getInt();
+            scanUpdates.put( id, new BlockStorage.Checkpoint( buffer.getLong(), buffer.getLong(), buffer.getLong() ) );
+        }
+        return new PopulationCheckpoint( scannedEntityId, lastClosedTransactionId, externalUpdatesPosition, externalUpdatesCount, scanUpdates );
+    }
+}
@@ -19,6 +19,8 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import org.apache.commons.lang3.ArrayUtils;
+
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.EnumSet;
@@ -36,6 +38,7 @@ import org.neo4j.internal.schema.IndexPrototype;
 import org.neo4j.internal.schema.IndexProviderDescriptor;
 import org.neo4j.internal.schema.IndexQuery;
 import org.neo4j.internal.schema.IndexQuery.IndexQueryType;
+import org.neo4j.internal.schema.IndexRef;
 import org.neo4j.internal.schema.IndexType;
 import org.neo4j.internal.schema.IndexValueCapability;
 import org.neo4j.io.memory.ByteBufferFactory;
@@ -44,6 +47,7 @@ import org.neo4j.kernel.api.index.IndexDirectoryStructure;
 import org.neo4j.kernel.api.index.IndexPopulator;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.util.Preconditions;
+import org.neo4j.values.storable.IntArray;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueCategory;
 import org.neo4j.values.storable.ValueGroup;
@@ -134,7 +138,8 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey,RangeLayout
     @Override
     RangeLayout layout( IndexDescriptor descriptor, Path storeFile )
     {
-        int numberOfSlots = descriptor.schema().getPropertyIds().length;
+        // Values of included properties are stored in trailing key slots, after the values of the indexed properties
+        int numberOfSlots = descriptor.schema().getPropertyIds().length + descriptor.getIncludedPropertyIds().length;
         return new RangeLayout( numberOfSlots );
     }
 
@@ -168,6 +173,40 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey,RangeLayout
                     "The " + prototype.schema() + " index schema is not a range index schema, which it is required to be for the '" +
                     getProviderDescriptor().name() + "' index provider to be able to create an index." );
         }
+
+        validateIncludedProperties( prototype );
+    }
+
+    private void validateIncludedProperties( IndexPrototype prototype )
+    {
+        Value includedProperties = prototype.getIndexConfig().get( IndexRef.INCLUDED_PROPERTIES_SETTING );
+        if ( includedProperties == null )
+        {
+            return;
+        }
+        if ( !(includedProperties instanceof IntArray) )
+        {
+            throw new IllegalArgumentException( "The '" + IndexRef.INCLUDED_PROPERTIES_SETTING + "' setting of the '" + getProviderDescriptor().name() +
+                    "' index provider must be an array of property key ids, but was " + includedProperties + ": " + prototype );
+        }
+        if ( prototype.isUnique() )
+        {
+            throw new IllegalArgumentException( "The '" + getProviderDescriptor().name() +
+                    "' index provider does not support included properties for unique indexes: " + prototype );
+        }
+        int[] propertyIds = prototype.schema().getPropertyIds();
+        int[] includedPropertyIds = prototype.getIncludedPropertyIds();
+        for ( int i = 0; i < includedPropertyIds.length; i++ )
+        {
+            int includedPropertyId = includedPropertyIds[i];
+            if ( includedPropertyId < 0 || ArrayUtils.contains( propertyIds, includedPropertyId ) ||
+                 ArrayUtils.indexOf( includedPropertyIds, includedPropertyId, i + 1 ) != ArrayUtils.INDEX_NOT_FOUND )
+            {
+                throw new IllegalArgumentException( "The '" + IndexRef.INCLUDED_PROPERTIES_SETTING + "' setting of the '" + getProviderDescriptor().name() +
+                        "' index provider must only contain property key ids that are not already indexed, and only once, but contained " +
+                        includedPropertyId + ": " + prototype );
+            }
+        }
     }
 
     @Override
@@ -19,13 +19,21 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 
 import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.QueryContext;
+import org.neo4j.internal.kernel.api.security.AccessMode;
 import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexOrder;
 import org.neo4j.internal.schema.IndexQuery.IndexQueryType;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexProgressor;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.Values;
@@ -51,6 +59,47 @@ public class RangeIndexReader extends NativeIndexReader<RangeKey>
         QueryValidator.validateCompositeQuery( predicates );
     }
 
+    @Override
+    public void query( IndexProgressor.EntityValueClient client, QueryContext context, AccessMode accessMode,
+            IndexQueryConstraints constraints, PropertyIndexQuery... predicates )
+    {
+        if ( isSkipScanQuery( predicates ) )
+        {
+            context.monitor().queried( descriptor );
+            validateSkipScanQuery( constraints, predicates );
+            client.initialize( descriptor, new SkipScanProgressor( client, context.cursorContext(), predicates ), accessMode, false, constraints,
+                    predicates );
+        }
+        else
+        {
+            super.query( client, context, accessMode, constraints, predicates );
+        }
+    }
+
+    /**
+     * A skip scan is a composite query where the leading property is only required to exist, followed by a more precise predicate on the
+     * next property, e.g. {@code exists(tenant), range(ts)}. Such a query can not be answered by a single seek, but by one seek per distinct
+     * value of the leading property.
+     * <p>
+     * The Cypher planner does not plan range indexes, so it never issues this query shape. Skip scans are only run for kernel API callers
+     * that query a composite range index this way.
+     */
+    private static boolean isSkipScanQuery( PropertyIndexQuery[] predicates )
+    {
+        return predicates.length > 1 && predicates[0].type() == IndexQueryType.EXISTS && predicates[1].type() != IndexQueryType.EXISTS;
+    }
+
+    private static void validateSkipScanQuery( IndexQueryConstraints constraints, PropertyIndexQuery[] predicates )
+    {
+        validateNoUnsupportedPredicates( predicates );
+        if ( constraints.order() != IndexOrder.NONE )
+        {
+            throw new IllegalArgumentException( format( "Tried to query index with unsupported order %s. Order is not supported for skip scans. " +
+                                                        "Query was: %s ", constraints.order(), Arrays.toString( predicates ) ) );
+        }
+        QueryValidator.validateCompositeQuery( Arrays.copyOfRange( predicates, 1, predicates.length ) );
+    }
+
     @Override
     boolean initializeRangeForQuery( RangeKey treeKeyFrom, RangeKey treeKeyTo, PropertyIndexQuery[] predicates )
     {
@@ -90,6 +139,12 @@ public class RangeIndexReader extends NativeIndexReader<RangeKey>
                 throw new IllegalArgumentException( "IndexQuery of type " + predicate.type() + " is not supported." );
             }
         }
+        // Slots of included properties are never searched
+        for ( int i = predicates.length; i < treeKeyFrom.numberOfStateSlots(); i++ )
+        {
+            treeKeyFrom.initValueAsLowest( i, ValueGroup.UNKNOWN );
+            treeKeyTo.initValueAsHighest( i, ValueGroup.UNKNOWN );
+        }
         return false;
     }
 
@@ -147,6 +202,98 @@ public class RangeIndexReader extends NativeIndexReader<RangeKey>
         return rangePredicate.toInclusive() ? HIGH : LOW;
     }
 
+    /**
+     * Runs a skip scan by alternating between jumping to the next distinct value of the leading property, and seeking the entries with that
+     * leading value that match the rest of the query. Each jump is a seek from just after the previous leading value, so the cost is one
+     * tree descent per distinct leading value plus the matching entries, instead of a scan of the whole index.
+     */
+    private class SkipScanProgressor implements IndexProgressor
+    {
+        private final EntityValueClient client;
+        private final CursorContext cursorContext;
+        private final PropertyIndexQuery[] predicates;
+        private Value leadingValue;
+        private IndexProgressor current;
+        private boolean exhausted;
+
+        SkipScanProgressor( EntityValueClient client, CursorContext cursorContext, PropertyIndexQuery[] predicates )
+        {
+            this.client = client;
+            this.cursorContext = cursorContext;
+            this.predicates = predicates;
+        }
+
+        @Override
+        public boolean next()
+        {
+            try
+            {
+                while ( !exhausted )
+                {
+                    if ( current != null && current.next() )
+                    {
+                        return true;
+                    }
+                    leadingValue = nextLeadingValue();
+                    if ( leadingValue == null )
+                    {
+                        close();
+                        return false;
+                    }
+                    current = seekLeadingValue( leadingValue );
+                }
+                return false;
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        }
+
+        private Value nextLeadingValue() throws IOException
+        {
+            RangeKey treeKeyFrom = layout.newKey();
+            RangeKey treeKeyTo = layout.newKey();
+            initializeFromToKeys( treeKeyFrom, treeKeyTo );
+            initializeAllSlotsForFullRange( treeKeyFrom, treeKeyTo );
+            if ( leadingValue != null )
+            {
+                // Sorts after all entries with the previous leading value
+                treeKeyFrom.initFromValue( 0, leadingValue, HIGH );
+            }
+            try ( Seeker<RangeKey,NullValue> seeker = tree.seek( treeKeyFrom, treeKeyTo, cursorContext ) )
+            {
+                return seeker.next() ? seeker.key().asValues()[0] : null;
+            }
+        }
+
+        private IndexProgressor seekLeadingValue( Value value ) throws IOException
+        {
+            PropertyIndexQuery[] subQuery = predicates.clone();
+            subQuery[0] = PropertyIndexQuery.exact( predicates[0].propertyKeyId(), value );
+            RangeKey treeKeyFrom = layout.newKey();
+            RangeKey treeKeyTo = layout.newKey();
+            initializeFromToKeys( treeKeyFrom, treeKeyTo );
+            initializeRangeForQuery( treeKeyFrom, treeKeyTo, subQuery );
+            if ( layout.compare( treeKeyFrom, treeKeyTo ) > 0 )
+            {
+                return IndexProgressor.EMPTY;
+            }
+            return new NativeHitIndexProgressor<>( tree.seek( treeKeyFrom, treeKeyTo, cursorContext ), client );
+        }
+
+        @Override
+        public void close()
+        {
+            exhausted = true;
+            if ( current != null )
+            {
+                current.close();
+                current = null;
+            }
+        }
+    }
+
     private static void validateNoUnsupportedPredicates( PropertyIndexQuery[] predicates )
     {
         for ( PropertyIndexQuery predicate : predicates )
@@ -46,6 +46,7 @@ public class SchemaLayouts implements LayoutBootstrapper
                 genericLayout(),
                 idRangeLayout(),
                 ( indexFile, pageCache, meta ) -> new TokenScanLayout(),
+                ( indexFile, pageCache, meta ) -> new AdaptiveTokenScanLayout(),
                 ( indexFile, pageCache, meta ) -> new IndexStatisticsLayout() ) );
     }
 
@@ -55,6 +56,7 @@ public class SchemaLayouts implements LayoutBootstrapper
                 "Generic layout",
                 "Id range layout",
                 "Label scan layout",
+                "Adaptive label scan layout",
                 "Index statistics layout"
         };
     }
@@ -69,6 +69,7 @@ public abstract class SimpleEntryStorage<ENTRY, CURSOR> implements Closeable
     private ByteBuffer buffer;
     private ByteArrayPageCursor pageCursor;
     private StoreChannel storeChannel;
+    private boolean deleteOnClose = true;
 
     private final AtomicLong count = new AtomicLong();
 
@@ -121,10 +122,65 @@ public abstract class SimpleEntryStorage<ENTRY, CURSOR> implements Closeable
         flush();
     }
 
+    /**
+     * Writes out the buffered entries and forces the file, so that everything added so far survives a restart.
+     * @return position in the file up to which the added entries have been written, to later {@link #resume(long, long)} from.
+     */
+    long checkpoint() throws IOException
+    {
+        if ( !allocated )
+        {
+            return 0;
+        }
+        flush();
+        storeChannel.force( false );
+        return storeChannel.position();
+    }
+
+    /**
+     * Continues adding entries to the file written by a previous instance, discarding everything written to it after the given position.
+     * @param position position returned from {@link #checkpoint()} of the previous instance.
+     * @param count number of entries added up until that checkpoint.
+     */
+    void resume( long position, long count ) throws IOException
+    {
+        if ( position == 0 )
+        {
+            if ( fs.fileExists( file ) )
+            {
+                fs.deleteFile( file );
+            }
+            return;
+        }
+        allocateResources();
+        if ( storeChannel.size() < position )
+        {
+            throw new IOException( "File " + file + " is shorter than its checkpoint" );
+        }
+        storeChannel.truncate( position );
+        storeChannel.position( position );
+        this.count.set( count );
+    }
+
+    /**
+     * @param deleteOnClose whether or not the file should be deleted on {@link #close()}, which is the default.
+     */
+    void setDeleteOnClose( boolean deleteOnClose )
+    {
+        this.deleteOnClose = deleteOnClose;
+    }
+
     @Override
     public void close() throws IOException
     {
-        if ( allocated )
+        if ( !deleteOnClose )
+        {
+            if ( allocated )
+            {
+                closeAllUnchecked( pageCursor, storeChannel, scopedBuffer );
+            }
+        }
+        else if ( allocated )
         {
             runAll( "Failed while trying to close " + getClass().getSimpleName(),
                     () -> closeAllUnchecked( pageCursor, storeChannel, scopedBuffer ),
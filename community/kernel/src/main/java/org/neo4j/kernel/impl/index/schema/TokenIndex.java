@@ -34,6 +34,7 @@ import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.GBPTreeConsistencyCheckVisitor;
+import org.neo4j.index.internal.gbptree.Layout;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.io.IOUtils;
@@ -46,6 +47,8 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.index.IndexProvider;
 import org.neo4j.monitoring.Monitors;
 import org.neo4j.util.Preconditions;
+import org.neo4j.values.storable.BooleanValue;
+import org.neo4j.values.storable.Value;
 
 import static org.eclipse.collections.impl.factory.Sets.immutable;
 import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_READER;
@@ -148,6 +151,11 @@ public class TokenIndex implements ConsistencyCheckable
      */
     private final IndexDescriptor monitoringDescriptor;
 
+    /**
+     * Layout of the backing tree, either the fixed size {@link TokenScanLayout} or the compact {@link AdaptiveTokenScanLayout}.
+     */
+    private final Layout<TokenScanKey,TokenScanValue> layout;
+
     public TokenIndex( DatabaseIndexContext databaseIndexContext, IndexFiles indexFiles, IndexDescriptor descriptor )
     {
         this.readOnlyChecker = databaseIndexContext.readOnlyChecker;
@@ -160,12 +168,19 @@ public class TokenIndex implements ConsistencyCheckable
         this.indexFiles = indexFiles;
         this.tokenStoreName = descriptor.getName();
         this.monitoringDescriptor = descriptor;
+        this.layout = layout( descriptor );
+    }
+
+    static Layout<TokenScanKey,TokenScanValue> layout( IndexDescriptor descriptor )
+    {
+        Value adaptiveEncoding = descriptor.getIndexConfig().get( TokenIndexProvider.ADAPTIVE_ENCODING_SETTING );
+        return BooleanValue.TRUE.equals( adaptiveEncoding ) ? new AdaptiveTokenScanLayout() : new TokenScanLayout();
     }
 
     void instantiateTree( RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, Consumer<PageCursor> headerWriter )
     {
         GBPTree.Monitor monitor = treeMonitor();
-        index = new GBPTree<>( pageCache, indexFiles.getStoreFile(), new TokenScanLayout(), monitor, NO_HEADER_READER,
+        index = new GBPTree<>( pageCache, indexFiles.getStoreFile(), layout, monitor, NO_HEADER_READER,
                 headerWriter, recoveryCleanupWorkCollector, readOnlyChecker, cacheTracer, immutable.empty(), databaseName, tokenStoreName );
     }
 
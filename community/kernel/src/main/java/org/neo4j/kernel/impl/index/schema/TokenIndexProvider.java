@@ -55,6 +55,8 @@ import org.neo4j.storageengine.api.StorageEngineFactory;
 import org.neo4j.storageengine.migration.StoreMigrationParticipant;
 import org.neo4j.storageengine.migration.TokenIndexMigrator;
 import org.neo4j.util.Preconditions;
+import org.neo4j.values.storable.BooleanValue;
+import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueCategory;
 
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
@@ -63,6 +65,11 @@ public class TokenIndexProvider extends IndexProvider
 {
     public static final IndexProviderDescriptor DESCRIPTOR = new IndexProviderDescriptor( "token-lookup", "1.0" );
     public static final IndexCapability CAPABILITY = new TokenIndexCapability();
+    /**
+     * Index config setting which, when {@code true}, stores the index with the compact {@link AdaptiveTokenScanLayout}.
+     * Only read when the index is created, an existing index keeps the layout it was created with.
+     */
+    public static final String ADAPTIVE_ENCODING_SETTING = "token.adaptive_encoding";
 
     private final DatabaseIndexContext databaseIndexContext;
     private final RecoveryCleanupWorkCollector recoveryCleanupWorkCollector;
@@ -176,6 +183,12 @@ public class TokenIndexProvider extends IndexProvider
             throw new IllegalArgumentException(
                     "The '" + getProviderDescriptor().name() + "' index provider does not support uniqueness indexes: " + prototype );
         }
+        Value adaptiveEncoding = prototype.getIndexConfig().get( ADAPTIVE_ENCODING_SETTING );
+        if ( adaptiveEncoding != null && !(adaptiveEncoding instanceof BooleanValue) )
+        {
+            throw new IllegalArgumentException( "The '" + ADAPTIVE_ENCODING_SETTING + "' setting of the '" + getProviderDescriptor().name() +
+                    "' index provider must be a boolean, but was " + adaptiveEncoding + ": " + prototype );
+        }
     }
 
     @Override
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import org.neo4j.annotations.documented.ReporterFactory;
+import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.GBPTreeConsistencyCheckVisitor;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.api.index.IndexProvider;
+import org.neo4j.monitoring.Monitors;
+import org.neo4j.values.storable.ValueCategory;
+
+import static org.eclipse.collections.api.factory.Sets.immutable;
+import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_READER;
+
+/**
+ * Base class for the populator and accessor of a trigram index, a text index on top of {@link GBPTree} where each indexed string is stored
+ * as its {@link Trigrams positional trigrams}, see {@link TrigramLayout}.
+ */
+abstract class TrigramIndex implements ConsistencyCheckable
+{
+    /**
+     * Only string values are indexed, everything else is ignored.
+     */
+    static final IndexUpdateIgnoreStrategy IGNORE_STRATEGY = values -> values[0].valueGroup().category() != ValueCategory.TEXT;
+
+    final PageCache pageCache;
+    final IndexFiles indexFiles;
+    final TrigramLayout layout;
+    final IndexDescriptor descriptor;
+    private final Monitors monitors;
+    private final String monitorTag;
+    private final DatabaseReadOnlyChecker readOnlyChecker;
+    private final PageCacheTracer pageCacheTracer;
+    private final String databaseName;
+
+    protected GBPTree<TrigramKey,NullValue> tree;
+
+    TrigramIndex( DatabaseIndexContext databaseIndexContext, IndexFiles indexFiles, IndexDescriptor descriptor )
+    {
+        this.pageCache = databaseIndexContext.pageCache;
+        this.monitors = databaseIndexContext.monitors;
+        this.monitorTag = databaseIndexContext.monitorTag;
+        this.readOnlyChecker = databaseIndexContext.readOnlyChecker;
+        this.pageCacheTracer = databaseIndexContext.pageCacheTracer;
+        this.databaseName = databaseIndexContext.databaseName;
+        this.indexFiles = indexFiles;
+        this.layout = new TrigramLayout();
+        this.descriptor = descriptor;
+    }
+
+    void instantiateTree( RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, Consumer<PageCursor> headerWriter )
+    {
+        indexFiles.ensureDirectoryExist();
+        GBPTree.Monitor treeMonitor = monitors.newMonitor( GBPTree.Monitor.class, monitorTag );
+        IndexProvider.Monitor indexMonitor = monitors.newMonitor( IndexProvider.Monitor.class, monitorTag );
+        GBPTree.Monitor monitor = new IndexMonitorAdaptor( treeMonitor, indexMonitor, indexFiles, descriptor );
+        Path storeFile = indexFiles.getStoreFile();
+        tree = new GBPTree<>( pageCache, storeFile, layout, monitor, NO_HEADER_READER, headerWriter, recoveryCleanupWorkCollector, readOnlyChecker,
+                pageCacheTracer, immutable.empty(), databaseName, descriptor.getName() );
+    }
+
+    void closeTree()
+    {
+        IOUtils.closeAllUnchecked( tree );
+        tree = null;
+    }
+
+    void assertOpen()
+    {
+        if ( tree == null )
+        {
+            throw new IllegalStateException( "Index has been closed" );
+        }
+    }
+
+    @Override
+    public boolean consistencyCheck( ReporterFactory reporterFactory, CursorContext cursorContext )
+    {
+        try
+        {
+            GBPTreeConsistencyCheckVisitor<TrigramKey> visitor = reporterFactory.getClass( GBPTreeConsistencyCheckVisitor.class );
+            return tree.consistencyCheck( visitor, cursorContext );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+}
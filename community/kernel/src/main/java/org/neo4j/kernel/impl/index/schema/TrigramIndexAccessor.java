@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.internal.helpers.collection.BoundedIterable;
+import org.neo4j.internal.helpers.collection.PrefetchingIterator;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexAccessor;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.index.ValueIndexReader;
+import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.storageengine.api.NodePropertyAccessor;
+
+import static org.neo4j.internal.helpers.collection.Iterators.asResourceIterator;
+import static org.neo4j.internal.helpers.collection.Iterators.iterator;
+import static org.neo4j.kernel.impl.index.schema.NativeIndexPopulator.BYTE_ONLINE;
+
+/**
+ * {@link IndexAccessor} of a trigram index. Updates are written straight to the tree, so they are as transactional and recoverable as
+ * those of any other {@link org.neo4j.index.internal.gbptree.GBPTree} based index.
+ */
+class TrigramIndexAccessor extends TrigramIndex implements IndexAccessor
+{
+    TrigramIndexAccessor( DatabaseIndexContext databaseIndexContext, IndexFiles indexFiles, IndexDescriptor descriptor,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector )
+    {
+        super( databaseIndexContext, indexFiles, descriptor );
+        instantiateTree( recoveryCleanupWorkCollector, new NativeIndexHeaderWriter( BYTE_ONLINE ) );
+    }
+
+    @Override
+    public void drop()
+    {
+        tree.setDeleteOnClose( true );
+        closeTree();
+        indexFiles.clear();
+    }
+
+    @Override
+    public IndexUpdater newUpdater( IndexUpdateMode mode, CursorContext cursorContext )
+    {
+        assertOpen();
+        try
+        {
+            return new TrigramIndexUpdater().initialize( tree.writer( cursorContext ) );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public void force( CursorContext cursorContext )
+    {
+        tree.checkpoint( cursorContext );
+    }
+
+    @Override
+    public void refresh()
+    {
+        // not required in this implementation
+    }
+
+    @Override
+    public void close()
+    {
+        closeTree();
+    }
+
+    @Override
+    public ValueIndexReader newValueReader()
+    {
+        assertOpen();
+        return new TrigramIndexReader( tree, layout, descriptor );
+    }
+
+    @Override
+    public BoundedIterable<Long> newAllEntriesValueReader( long fromIdInclusive, long toIdExclusive, CursorContext cursorContext )
+    {
+        // Every indexed value has exactly one trigram starting with the start marker
+        TrigramKey from = layout.newKey().set( Trigrams.trigram( Trigrams.START, Trigrams.END, Trigrams.END ), Long.MIN_VALUE, Integer.MIN_VALUE );
+        TrigramKey to = layout.newKey().set( Trigrams.trigram( Trigrams.START, Trigrams.MAX_SYMBOL, Trigrams.MAX_SYMBOL ), Long.MAX_VALUE, Integer.MAX_VALUE );
+        return new BoundedIterable<>()
+        {
+            private Seeker<TrigramKey,NullValue> seeker;
+
+            @Override
+            public Iterator<Long> iterator()
+            {
+                try
+                {
+                    IOUtils.closeAll( seeker );
+                    seeker = tree.seek( from, to, cursorContext );
+                }
+                catch ( IOException e )
+                {
+                    throw new UncheckedIOException( e );
+                }
+                return new PrefetchingIterator<>()
+                {
+                    @Override
+                    protected Long fetchNextOrNull()
+                    {
+                        try
+                        {
+                            while ( seeker.next() )
+                            {
+                                long id = seeker.key().entityId;
+                                if ( id >= fromIdInclusive && id < toIdExclusive )
+                                {
+                                    return id;
+                                }
+                            }
+                            return null;
+                        }
+                        catch ( IOException e )
+                        {
+                            throw new UncheckedIOException( e );
+                        }
+                    }
+                };
+            }
+
+            @Override
+            public long maxCount()
+            {
+                return UNKNOWN_MAX_COUNT;
+            }
+
+            @Override
+            public void close() throws Exception
+            {
+                IOUtils.closeAll( seeker );
+            }
+        };
+    }
+
+    @Override
+    public ResourceIterator<Path> snapshotFiles()
+    {
+        return asResourceIterator( iterator( indexFiles.getStoreFile() ) );
+    }
+
+    @Override
+    public void verifyDeferredConstraints( NodePropertyAccessor nodePropertyAccessor )
+    {   // Not needed since text indexes are never unique.
+    }
+
+    @Override
+    public long estimateNumberOfEntries( CursorContext cursorContext )
+    {
+        // The tree holds one entry per trigram, not per indexed value, so its size doesn't say much about the number of entries
+        return UNKNOWN_NUMBER_OF_ENTRIES;
+    }
+}
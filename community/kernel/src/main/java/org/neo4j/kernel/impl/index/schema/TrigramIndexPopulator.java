@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.NodePropertyAccessor;
+import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
+import org.neo4j.util.Preconditions;
+
+import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_WRITER;
+import static org.neo4j.kernel.impl.index.schema.NativeIndexPopulator.BYTE_ONLINE;
+import static org.neo4j.kernel.impl.index.schema.NativeIndexPopulator.BYTE_POPULATING;
+
+/**
+ * {@link IndexPopulator} of a trigram index. Not thread-safe in terms of {@link #add(Collection, CursorContext)},
+ * {@link TrigramIndexProvider} wraps it in a {@link WorkSyncedIndexPopulator}.
+ */
+class TrigramIndexPopulator extends TrigramIndex implements IndexPopulator
+{
+    private final TrigramKey treeKey;
+
+    private byte[] failureBytes;
+    private boolean dropped;
+    private boolean closed;
+
+    TrigramIndexPopulator( DatabaseIndexContext databaseIndexContext, IndexFiles indexFiles, IndexDescriptor descriptor )
+    {
+        super( databaseIndexContext, indexFiles, descriptor );
+        this.treeKey = layout.newKey();
+    }
+
+    @Override
+    public synchronized void create()
+    {
+        assertNotDropped();
+        assertNotClosed();
+
+        indexFiles.clear();
+        instantiateTree( RecoveryCleanupWorkCollector.immediate(), new NativeIndexHeaderWriter( BYTE_POPULATING ) );
+    }
+
+    @Override
+    public synchronized void drop()
+    {
+        try
+        {
+            if ( tree != null )
+            {
+                tree.setDeleteOnClose( true );
+            }
+            closeTree();
+            indexFiles.clear();
+        }
+        finally
+        {
+            dropped = true;
+            closed = true;
+        }
+    }
+
+    @Override
+    public void add( Collection<? extends IndexEntryUpdate<?>> updates, CursorContext cursorContext )
+    {
+        processUpdates( updates, cursorContext );
+    }
+
+    @Override
+    public void verifyDeferredConstraints( NodePropertyAccessor nodePropertyAccessor )
+    {
+        // No-op, text indexes are never unique
+    }
+
+    @Override
+    public IndexUpdater newPopulatingUpdater( NodePropertyAccessor accessor, CursorContext cursorContext )
+    {
+        return new CollectingIndexUpdater( updates -> processUpdates( updates, cursorContext ) );
+    }
+
+    @Override
+    public synchronized void close( boolean populationCompletedSuccessfully, CursorContext cursorContext )
+    {
+        if ( populationCompletedSuccessfully && failureBytes != null )
+        {
+            throw new IllegalStateException( "Can't mark index as online after it has been marked as failure" );
+        }
+
+        try
+        {
+            assertNotDropped();
+            if ( populationCompletedSuccessfully )
+            {
+                // Successful and completed population
+                assertPopulatorOpen();
+                tree.checkpoint( new NativeIndexHeaderWriter( BYTE_ONLINE ), cursorContext );
+            }
+            else if ( failureBytes != null )
+            {
+                // Failed population
+                if ( tree == null )
+                {
+                    instantiateTree( RecoveryCleanupWorkCollector.ignore(), NO_HEADER_WRITER );
+                }
+                tree.checkpoint( new FailureHeaderWriter( failureBytes ), cursorContext );
+            }
+            // else cancelled population. Here we simply close the tree w/o checkpointing it and it will look like POPULATING state on next open
+        }
+        finally
+        {
+            closeTree();
+            closed = true;
+        }
+    }
+
+    @Override
+    public void markAsFailed( String failure )
+    {
+        failureBytes = failure.getBytes( StandardCharsets.UTF_8 );
+    }
+
+    @Override
+    public void includeSample( IndexEntryUpdate<?> update )
+    {
+        // We'll do a scan in the end instead
+    }
+
+    @Override
+    public IndexSample sample( CursorContext cursorContext )
+    {
+        return new TrigramIndexSampler( tree, layout ).sample( cursorContext );
+    }
+
+    private void processUpdates( Iterable<? extends IndexEntryUpdate<?>> indexEntryUpdates, CursorContext cursorContext )
+    {
+        try ( Writer<TrigramKey,NullValue> writer = tree.writer( cursorContext ) )
+        {
+            for ( IndexEntryUpdate<?> indexEntryUpdate : indexEntryUpdates )
+            {
+                TrigramIndexUpdater.processUpdate( treeKey, (ValueIndexEntryUpdate<?>) indexEntryUpdate, writer );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private void assertNotDropped()
+    {
+        if ( dropped )
+        {
+            throw new IllegalStateException( "Populator has already been dropped." );
+        }
+    }
+
+    private void assertNotClosed()
+    {
+        if ( closed )
+        {
+            throw new IllegalStateException( "Populator has already been closed." );
+        }
+    }
+
+    private void assertPopulatorOpen()
+    {
+        Preconditions.checkState( tree != null, "Populator has already been closed." );
+    }
+}
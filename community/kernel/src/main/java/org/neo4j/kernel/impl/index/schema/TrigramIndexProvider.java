@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.MetadataMismatchException;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.kernel.api.InternalIndexState;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexProviderDescriptor;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.memory.ByteBufferFactory;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.impl.schema.TextIndexProvider;
+import org.neo4j.kernel.api.index.IndexAccessor;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.api.index.IndexProvider;
+import org.neo4j.kernel.api.index.MinimalIndexAccessor;
+import org.neo4j.kernel.impl.api.index.IndexSamplingConfig;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.StorageEngineFactory;
+import org.neo4j.storageengine.migration.SchemaIndexMigrator;
+import org.neo4j.storageengine.migration.StoreMigrationParticipant;
+
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+import static org.neo4j.internal.schema.IndexCapability.NO_CAPABILITY;
+
+/**
+ * Native provider of {@link IndexType#TEXT text indexes}, an alternative to the Lucene based {@link TextIndexProvider}.
+ * <p>
+ * Every string value is stored as its {@link Trigrams positional trigrams} in a single {@link GBPTree}, see {@link TrigramLayout}.
+ * Substring, suffix, prefix and exact queries intersect the posting lists of the trigrams of their pattern, see {@link TrigramIndexReader},
+ * and since the tree lives in the page cache and is updated through the regular {@link org.neo4j.kernel.api.index.IndexUpdater}
+ * there are no segment files, merges or searcher refreshes to manage.
+ * <p>
+ * It has the same capabilities as {@link TextIndexProvider} and is used for new text indexes if selected by
+ * {@link org.neo4j.configuration.GraphDatabaseInternalSettings#default_text_provider}, or if asked for explicitly when creating the index.
+ */
+public class TrigramIndexProvider extends IndexProvider
+{
+    public static final IndexProviderDescriptor DESCRIPTOR = new IndexProviderDescriptor( "trigram", "1.0" );
+
+    private final DatabaseIndexContext databaseIndexContext;
+    private final RecoveryCleanupWorkCollector recoveryCleanupWorkCollector;
+    private final Monitor monitor;
+
+    public TrigramIndexProvider( DatabaseIndexContext databaseIndexContext, IndexDirectoryStructure.Factory directoryStructureFactory,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector )
+    {
+        super( DESCRIPTOR, directoryStructureFactory );
+        this.databaseIndexContext = databaseIndexContext;
+        this.recoveryCleanupWorkCollector = recoveryCleanupWorkCollector;
+        this.monitor = databaseIndexContext.monitors.newMonitor( IndexProvider.Monitor.class, databaseIndexContext.monitorTag );
+    }
+
+    @Override
+    public IndexDescriptor completeConfiguration( IndexDescriptor index )
+    {
+        return index.getCapability().equals( NO_CAPABILITY ) ? index.withIndexCapability( TextIndexProvider.CAPABILITY ) : index;
+    }
+
+    @Override
+    public MinimalIndexAccessor getMinimalIndexAccessor( IndexDescriptor descriptor )
+    {
+        return new NativeMinimalIndexAccessor( descriptor, indexFiles( descriptor ), databaseIndexContext.readOnlyChecker );
+    }
+
+    @Override
+    public IndexPopulator getPopulator( IndexDescriptor descriptor, IndexSamplingConfig samplingConfig, ByteBufferFactory bufferFactory,
+            MemoryTracker memoryTracker, TokenNameLookup tokenNameLookup )
+    {
+        if ( databaseIndexContext.readOnlyChecker.isReadOnly() )
+        {
+            throw new UnsupportedOperationException( "Can't create populator for read only index" );
+        }
+        return new WorkSyncedIndexPopulator( new TrigramIndexPopulator( databaseIndexContext, indexFiles( descriptor ), descriptor ) );
+    }
+
+    @Override
+    public IndexAccessor getOnlineAccessor( IndexDescriptor descriptor, IndexSamplingConfig samplingConfig, TokenNameLookup tokenNameLookup )
+    {
+        return new TrigramIndexAccessor( databaseIndexContext, indexFiles( descriptor ), descriptor, recoveryCleanupWorkCollector );
+    }
+
+    @Override
+    public String getPopulationFailure( IndexDescriptor descriptor, CursorContext cursorContext )
+    {
+        try
+        {
+            String failureMessage =
+                    NativeIndexes.readFailureMessage( databaseIndexContext.pageCache, storeFile( descriptor ), databaseIndexContext.databaseName,
+                            cursorContext );
+            return defaultIfEmpty( failureMessage, StringUtils.EMPTY );
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+
+    @Override
+    public InternalIndexState getInitialState( IndexDescriptor descriptor, CursorContext cursorContext )
+    {
+        try
+        {
+            return NativeIndexes.readState( databaseIndexContext.pageCache, storeFile( descriptor ), databaseIndexContext.databaseName, cursorContext );
+        }
+        catch ( MetadataMismatchException | IOException e )
+        {
+            monitor.failedToOpenIndex( descriptor, "Requesting re-population.", e );
+            return InternalIndexState.POPULATING;
+        }
+    }
+
+    @Override
+    public void validatePrototype( IndexPrototype prototype )
+    {
+        IndexType indexType = prototype.getIndexType();
+        if ( indexType != IndexType.TEXT )
+        {
+            String providerName = getProviderDescriptor().name();
+            throw new IllegalArgumentException( "The '" + providerName + "' index provider does not support " + indexType + " indexes: " + prototype );
+        }
+    }
+
+    @Override
+    public IndexType getIndexType()
+    {
+        return IndexType.TEXT;
+    }
+
+    @Override
+    public StoreMigrationParticipant storeMigrationParticipant( FileSystemAbstraction fs, PageCache pageCache, StorageEngineFactory storageEngineFactory )
+    {
+        return new SchemaIndexMigrator( getProviderDescriptor().name() + " indexes", fs, pageCache, directoryStructure(), storageEngineFactory, false );
+    }
+
+    private Path storeFile( IndexDescriptor descriptor )
+    {
+        return indexFiles( descriptor ).getStoreFile();
+    }
+
+    private IndexFiles indexFiles( IndexDescriptor descriptor )
+    {
+        return new IndexFiles.Directory( databaseIndexContext.fileSystem, directoryStructure(), descriptor.getId() );
+    }
+}
@@ -0,0 +1,629 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.internal.kernel.api.IndexQueryConstraints;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.QueryContext;
+import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
+import org.neo4j.internal.kernel.api.security.AccessMode;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexQuery.IndexQueryType;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
+import org.neo4j.kernel.api.impl.schema.TextIndexProvider;
+import org.neo4j.kernel.api.index.AbstractValueIndexReader;
+import org.neo4j.kernel.api.index.IndexProgressor;
+import org.neo4j.kernel.api.index.IndexSampler;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.exception.ExceptionUtils.getRootCause;
+import static org.neo4j.kernel.impl.index.schema.Trigrams.END;
+import static org.neo4j.kernel.impl.index.schema.Trigrams.MAX_SYMBOL;
+import static org.neo4j.kernel.impl.index.schema.Trigrams.START;
+
+/**
+ * Reader of a trigram index. Every string query is answered from the postings of the {@link Trigrams positional trigrams} of its pattern:
+ * <ul>
+ *     <li>Patterns of at least three symbols are matched by intersecting the posting lists of trigrams covering the whole pattern. The postings
+ *     of each trigram are ordered by entity, so the lists are merged in a single pass and an entity matches if its trigrams occur at
+ *     positions with the same distances between them as in the pattern. This gives exact results, without need for filtering.</li>
+ *     <li>Shorter patterns are matched by a range seek over all trigrams starting with the pattern.</li>
+ *     <li>Ranges are resolved on the trigrams at position 0, which compare like their values. Entities with the same first trigram as
+ *     a bound are then compared symbol by symbol against it by following their trigrams at increasing positions.</li>
+ * </ul>
+ */
+class TrigramIndexReader extends AbstractValueIndexReader
+{
+    private final GBPTree<TrigramKey,NullValue> tree;
+    private final TrigramLayout layout;
+
+    TrigramIndexReader( GBPTree<TrigramKey,NullValue> tree, TrigramLayout layout, IndexDescriptor descriptor )
+    {
+        super( descriptor );
+        this.tree = tree;
+        this.layout = layout;
+    }
+
+    @Override
+    public void close()
+    {
+    }
+
+    @Override
+    public IndexSampler createSampler()
+    {
+        TrigramIndexSampler sampler = new TrigramIndexSampler( tree, layout );
+        return cursorContext ->
+        {
+            try
+            {
+                return sampler.sample( cursorContext );
+            }
+            catch ( UncheckedIOException e )
+            {
+                if ( getRootCause( e ) instanceof FileIsNotMappedException )
+                {
+                    IndexNotFoundKernelException exception = new IndexNotFoundKernelException( "Index dropped while sampling." );
+                    exception.addSuppressed( e );
+                    throw exception;
+                }
+                throw e;
+            }
+        };
+    }
+
+    @Override
+    public long countIndexedEntities( long entityId, CursorContext cursorContext, int[] propertyKeyIds, Value... propertyValues )
+    {
+        if ( TrigramIndex.IGNORE_STRATEGY.ignore( propertyValues ) )
+        {
+            return 0;
+        }
+        int[] symbols = Trigrams.symbols( ((TextValue) propertyValues[0]).stringValue() );
+        TrigramKey from = layout.newKey();
+        TrigramKey to = layout.newKey();
+        try
+        {
+            for ( int position = 0; position < Trigrams.numberOfTrigrams( symbols ); position++ )
+            {
+                long trigram = Trigrams.trigram( symbols, position );
+                try ( Seeker<TrigramKey,NullValue> seeker = tree.seek( from.set( trigram, entityId, position ), to.set( trigram, entityId, position + 1 ),
+                        cursorContext ) )
+                {
+                    if ( !seeker.next() )
+                    {
+                        return 0;
+                    }
+                }
+            }
+            return 1;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public void query( IndexProgressor.EntityValueClient client, QueryContext context, AccessMode accessMode,
+                       IndexQueryConstraints constraints, PropertyIndexQuery... predicates )
+    {
+        validateQuery( constraints, predicates );
+        context.monitor().queried( descriptor );
+
+        PropertyIndexQuery predicate = predicates[0];
+        try
+        {
+            IndexProgressor progressor = progressor( predicate, client, context.cursorContext() );
+            client.initialize( descriptor, progressor, accessMode, false, constraints, predicate );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public PartitionedValueSeek valueSeek( int desiredNumberOfPartitions, QueryContext queryContext, PropertyIndexQuery... query )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    private void validateQuery( IndexQueryConstraints constraints, PropertyIndexQuery[] predicates )
+    {
+        if ( predicates.length > 1 )
+        {
+            throw new IllegalArgumentException( format(
+                    "Tried to query a trigram index with a composite query. Composite queries are not supported by a trigram index. Query was: %s ",
+                    Arrays.toString( predicates ) ) );
+        }
+        PropertyIndexQuery predicate = predicates[0];
+        if ( !(predicate.valueGroup() == ValueGroup.TEXT || predicate.type() == IndexQueryType.ALL_ENTRIES) )
+        {
+            throw new IllegalArgumentException( format( "Index query not supported for trigram index. Query: %s", predicate ) );
+        }
+        QueryValidator.validateOrder( TextIndexProvider.CAPABILITY, constraints.order(), predicates );
+    }
+
+    private IndexProgressor progressor( PropertyIndexQuery predicate, IndexProgressor.EntityValueClient client, CursorContext cursorContext )
+            throws IOException
+    {
+        switch ( predicate.type() )
+        {
+        case ALL_ENTRIES:
+            return allEntries( client, cursorContext );
+        case EXACT:
+            String value = ((TextValue) ((PropertyIndexQuery.ExactPredicate) predicate).value()).stringValue();
+            int[] symbols = Trigrams.symbols( value );
+            // Everything up to and including the first end marker
+            return matching( Arrays.copyOf( symbols, symbols.length - 1 ), client, cursorContext );
+        case STRING_PREFIX:
+            String prefix = ((PropertyIndexQuery.StringPrefixPredicate) predicate).prefix().stringValue();
+            return prefix.isEmpty() ? allEntries( client, cursorContext ) : matching( withStart( Trigrams.pattern( prefix ) ), client, cursorContext );
+        case STRING_SUFFIX:
+            String suffix = ((PropertyIndexQuery.StringSuffixPredicate) predicate).suffix().stringValue();
+            return suffix.isEmpty() ? allEntries( client, cursorContext ) : matching( withEnd( Trigrams.pattern( suffix ) ), client, cursorContext );
+        case STRING_CONTAINS:
+            String contains = ((PropertyIndexQuery.StringContainsPredicate) predicate).contains().stringValue();
+            return contains.isEmpty() ? allEntries( client, cursorContext ) : matching( Trigrams.pattern( contains ), client, cursorContext );
+        case RANGE:
+            PropertyIndexQuery.TextRangePredicate range = (PropertyIndexQuery.TextRangePredicate) predicate;
+            return range( range.from(), range.fromInclusive(), range.to(), range.toInclusive(), client, cursorContext );
+        default:
+            throw new IllegalArgumentException( format( "Index query not supported for trigram index. Query: %s", predicate ) );
+        }
+    }
+
+    private IndexProgressor allEntries( IndexProgressor.EntityValueClient client, CursorContext cursorContext ) throws IOException
+    {
+        // Every indexed value has exactly one trigram starting with the start marker
+        Seeker<TrigramKey,NullValue> seeker = seek( Trigrams.trigram( START, END, END ), Trigrams.trigram( START, MAX_SYMBOL, MAX_SYMBOL ), cursorContext );
+        return new EntityProgressor( client, seeker )
+        {
+            @Override
+            long nextEntity() throws IOException
+            {
+                return seeker.next() ? seeker.key().entityId : -1;
+            }
+        };
+    }
+
+    private IndexProgressor matching( int[] pattern, IndexProgressor.EntityValueClient client, CursorContext cursorContext ) throws IOException
+    {
+        if ( pattern.length < 3 )
+        {
+            long from = Trigrams.trigram( pattern[0], pattern.length > 1 ? pattern[1] : END, END );
+            long to = Trigrams.trigram( pattern[0], pattern.length > 1 ? pattern[1] : MAX_SYMBOL, MAX_SYMBOL );
+            MutableLongSet entities = new LongHashSet();
+            try ( Seeker<TrigramKey,NullValue> seeker = seek( from, to, cursorContext ) )
+            {
+                while ( seeker.next() )
+                {
+                    entities.add( seeker.key().entityId );
+                }
+            }
+            return new EntityArrayProgressor( client, entities.toSortedArray() );
+        }
+
+        // Trigrams at every third offset, and the last one, cover the whole pattern
+        IntArrayList offsets = new IntArrayList();
+        for ( int offset = 0; offset < pattern.length - 3; offset += 3 )
+        {
+            offsets.add( offset );
+        }
+        offsets.add( pattern.length - 3 );
+        Postings[] postings = new Postings[offsets.size()];
+        try
+        {
+            for ( int i = 0; i < postings.length; i++ )
+            {
+                long trigram = Trigrams.trigram( pattern, offsets.get( i ) );
+                postings[i] = new Postings( seek( trigram, trigram, cursorContext ), offsets.get( i ) );
+            }
+            return new IntersectionProgressor( client, postings );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            IOUtils.closeAllSilently( postings );
+            throw e;
+        }
+    }
+
+    private IndexProgressor range( String from, boolean fromInclusive, String to, boolean toInclusive, IndexProgressor.EntityValueClient client,
+            CursorContext cursorContext ) throws IOException
+    {
+        int[] lower = from == null ? null : Trigrams.symbols( from );
+        int[] upper = to == null ? null : Trigrams.symbols( to );
+        long lowestTrigram = lower == null ? Trigrams.trigram( START, END, END ) : Trigrams.trigram( lower, 0 );
+        long highestTrigram = upper == null ? Trigrams.trigram( START, MAX_SYMBOL, MAX_SYMBOL ) : Trigrams.trigram( upper, 0 );
+        if ( lowestTrigram > highestTrigram )
+        {
+            return IndexProgressor.EMPTY;
+        }
+        Seeker<TrigramKey,NullValue> seeker = seek( lowestTrigram, highestTrigram, cursorContext );
+        return new EntityProgressor( client, seeker )
+        {
+            private final MutableLongSet lowerCandidates = new LongHashSet();
+            private final MutableLongSet upperCandidates = new LongHashSet();
+            private long[] boundaryMatches;
+            private int boundaryIndex;
+
+            @Override
+            long nextEntity() throws IOException
+            {
+                while ( boundaryMatches == null && seeker.next() )
+                {
+                    TrigramKey key = seeker.key();
+                    boolean onLowerBound = lower != null && key.trigram == lowestTrigram;
+                    boolean onUpperBound = upper != null && key.trigram == highestTrigram;
+                    if ( !onLowerBound && !onUpperBound )
+                    {
+                        // Strictly between the first trigrams of the bounds, so strictly between the bounds
+                        return key.entityId;
+                    }
+                    if ( onLowerBound )
+                    {
+                        lowerCandidates.add( key.entityId );
+                    }
+                    if ( onUpperBound )
+                    {
+                        upperCandidates.add( key.entityId );
+                    }
+                }
+                if ( boundaryMatches == null )
+                {
+                    boundaryMatches = boundaryMatches().toSortedArray();
+                }
+                return boundaryIndex < boundaryMatches.length ? boundaryMatches[boundaryIndex++] : -1;
+            }
+
+            private LongSet boundaryMatches() throws IOException
+            {
+                if ( lower != null && upper != null && lowestTrigram == highestTrigram )
+                {
+                    MutableLongSet matches = compareToBound( lower, lowerCandidates, true, fromInclusive, cursorContext );
+                    matches.retainAll( compareToBound( upper, upperCandidates, false, toInclusive, cursorContext ) );
+                    return matches;
+                }
+                MutableLongSet matches = new LongHashSet();
+                if ( lower != null )
+                {
+                    matches.addAll( compareToBound( lower, lowerCandidates, true, fromInclusive, cursorContext ) );
+                }
+                if ( upper != null )
+                {
+                    matches.addAll( compareToBound( upper, upperCandidates, false, toInclusive, cursorContext ) );
+                }
+                return matches;
+            }
+        };
+    }
+
+    /**
+     * Compares the values of {@code candidates}, which all share the first trigram with {@code bound}, against the bound symbol by symbol.
+     * For every position {@code i} the candidates still equal to the bound so far have a trigram at position {@code i} which starts with the
+     * same two symbols as the bound, and its third symbol decides whether the value is less than, greater than or still equal to the bound.
+     *
+     * @param bound symbols of the bound.
+     * @param candidates entities whose values have the same first trigram as the bound.
+     * @param greater {@code true} to return the candidates greater than the bound, {@code false} to return those less than it.
+     * @param inclusive whether or not to also return the candidates equal to the bound.
+     * @param cursorContext underlying page cursor context.
+     * @return the matching candidates.
+     */
+    private MutableLongSet compareToBound( int[] bound, LongSet candidates, boolean greater, boolean inclusive, CursorContext cursorContext )
+            throws IOException
+    {
+        MutableLongSet matches = new LongHashSet();
+        MutableLongSet equal = LongHashSet.newSet( candidates );
+        for ( int position = 1; !equal.isEmpty(); position++ )
+        {
+            if ( bound[position + 1] == END )
+            {
+                // The bound ends here and so do the values still equal to it
+                if ( inclusive )
+                {
+                    matches.addAll( equal );
+                }
+                break;
+            }
+            int boundSymbol = bound[position + 2];
+            MutableLongSet stillEqual = new LongHashSet();
+            long from = Trigrams.trigram( bound[position], bound[position + 1], END );
+            long to = Trigrams.trigram( bound[position], bound[position + 1], MAX_SYMBOL );
+            try ( Seeker<TrigramKey,NullValue> seeker = seek( from, to, cursorContext ) )
+            {
+                while ( seeker.next() )
+                {
+                    TrigramKey key = seeker.key();
+                    if ( key.position != position || !equal.contains( key.entityId ) )
+                    {
+                        continue;
+                    }
+                    int symbol = Trigrams.third( key.trigram );
+                    if ( symbol == boundSymbol )
+                    {
+                        stillEqual.add( key.entityId );
+                    }
+                    else if ( (symbol > boundSymbol) == greater )
+                    {
+                        matches.add( key.entityId );
+                    }
+                }
+            }
+            equal = stillEqual;
+        }
+        return matches;
+    }
+
+    /**
+     * Seeks all postings of trigrams between {@code fromTrigram} and {@code toTrigram}, both inclusive.
+     */
+    private Seeker<TrigramKey,NullValue> seek( long fromTrigram, long toTrigram, CursorContext cursorContext ) throws IOException
+    {
+        TrigramKey from = layout.newKey().set( fromTrigram, Long.MIN_VALUE, Integer.MIN_VALUE );
+        TrigramKey to = layout.newKey().set( toTrigram, Long.MAX_VALUE, Integer.MAX_VALUE );
+        return tree.seek( from, to, cursorContext );
+    }
+
+    private static int[] withStart( int[] pattern )
+    {
+        int[] result = new int[pattern.length + 1];
+        result[0] = START;
+        System.arraycopy( pattern, 0, result, 1, pattern.length );
+        return result;
+    }
+
+    private static int[] withEnd( int[] pattern )
+    {
+        int[] result = Arrays.copyOf( pattern, pattern.length + 1 );
+        result[pattern.length] = END;
+        return result;
+    }
+
+    /**
+     * Progresses over entity ids as they are produced by {@link #nextEntity()}, without values since they are not stored in this index.
+     */
+    private abstract static class EntityProgressor implements IndexProgressor
+    {
+        private final EntityValueClient client;
+        private final AutoCloseable[] resources;
+        private boolean closed;
+
+        EntityProgressor( EntityValueClient client, AutoCloseable... resources )
+        {
+            this.client = client;
+            this.resources = resources;
+        }
+
+        /**
+         * @return next entity id, or {@code -1} if there are no more.
+         */
+        abstract long nextEntity() throws IOException;
+
+        @Override
+        public boolean next()
+        {
+            try
+            {
+                long entityId;
+                while ( (entityId = nextEntity()) != -1 )
+                {
+                    if ( client.acceptEntity( entityId, Float.NaN, (Value[]) null ) )
+                    {
+                        return true;
+                    }
+                }
+                close();
+                return false;
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            if ( !closed )
+            {
+                closed = true;
+                IOUtils.closeAllUnchecked( resources );
+            }
+        }
+    }
+
+    private static class EntityArrayProgressor extends EntityProgressor
+    {
+        private final long[] entityIds;
+        private int index;
+
+        EntityArrayProgressor( EntityValueClient client, long[] entityIds )
+        {
+            super( client );
+            this.entityIds = entityIds;
+        }
+
+        @Override
+        long nextEntity()
+        {
+            return index < entityIds.length ? entityIds[index++] : -1;
+        }
+    }
+
+    /**
+     * Merges the posting lists of the trigrams of a pattern. An entity matches if it occurs in all of them and there is a position {@code p}
+     * such that every posting list has the entity at position {@code p + offset}, where offset is where that trigram is found in the pattern.
+     */
+    private static class IntersectionProgressor extends EntityProgressor
+    {
+        private final Postings[] postings;
+        private final IntArrayList[] positions;
+
+        IntersectionProgressor( EntityValueClient client, Postings[] postings ) throws IOException
+        {
+            super( client, postings );
+            this.postings = postings;
+            this.positions = new IntArrayList[postings.length];
+            for ( int i = 0; i < postings.length; i++ )
+            {
+                positions[i] = new IntArrayList();
+                postings[i].next();
+            }
+        }
+
+        @Override
+        long nextEntity() throws IOException
+        {
+            while ( !postings[0].exhausted )
+            {
+                long candidate = postings[0].entityId;
+                boolean allOnCandidate;
+                do
+                {
+                    allOnCandidate = true;
+                    for ( Postings posting : postings )
+                    {
+                        if ( !posting.skipTo( candidate ) )
+                        {
+                            return -1;
+                        }
+                        if ( posting.entityId != candidate )
+                        {
+                            candidate = posting.entityId;
+                            allOnCandidate = false;
+                            break;
+                        }
+                    }
+                }
+                while ( !allOnCandidate );
+
+                for ( int i = 0; i < postings.length; i++ )
+                {
+                    postings[i].positionsOfCurrentEntity( positions[i] );
+                }
+                if ( alignedPositions() )
+                {
+                    return candidate;
+                }
+            }
+            return -1;
+        }
+
+        private boolean alignedPositions()
+        {
+            IntArrayList firstPositions = positions[0];
+            for ( int i = 0; i < firstPositions.size(); i++ )
+            {
+                int start = firstPositions.get( i ) - postings[0].offset;
+                boolean aligned = true;
+                for ( int j = 1; j < postings.length && aligned; j++ )
+                {
+                    aligned = positions[j].binarySearch( start + postings[j].offset ) >= 0;
+                }
+                if ( aligned )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Cursor over the postings of a single trigram, i.e. entity ids and positions in ascending order.
+     */
+    private static class Postings implements AutoCloseable
+    {
+        private final Seeker<TrigramKey,NullValue> seeker;
+        private final int offset;
+        private boolean exhausted;
+        private long entityId;
+        private int position;
+
+        Postings( Seeker<TrigramKey,NullValue> seeker, int offset )
+        {
+            this.seeker = seeker;
+            this.offset = offset;
+        }
+
+        boolean next() throws IOException
+        {
+            if ( !exhausted && seeker.next() )
+            {
+                entityId = seeker.key().entityId;
+                position = seeker.key().position;
+                return true;
+            }
+            exhausted = true;
+            return false;
+        }
+
+        /**
+         * Moves forward to the first posting of an entity with id equal to or greater than {@code entityId}.
+         * @return {@code false} if there were no such postings.
+         */
+        boolean skipTo( long entityId ) throws IOException
+        {
+            while ( !exhausted && this.entityId < entityId )
+            {
+                next();
+            }
+            return !exhausted;
+        }
+
+        /**
+         * Collects all positions of the current entity, leaving this cursor at the next entity.
+         */
+        void positionsOfCurrentEntity( IntArrayList into ) throws IOException
+        {
+            into.clear();
+            long current = entityId;
+            while ( !exhausted && entityId == current )
+            {
+                into.add( position );
+                next();
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            seeker.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.eclipse.collections.api.map.primitive.MutableLongLongMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongLongHashMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
+
+/**
+ * {@link NonUniqueIndexSampler} which performs a full scan of the {@link GBPTree} of a trigram index in {@link #sample(CursorContext)}.
+ * <p>
+ * Values are not stored as such in a trigram index, they are spread out over the postings of their trigrams. Instead each sampled entity gets
+ * a fingerprint of its value, an order independent hash of all its positional trigrams, and the number of distinct fingerprints is used as the
+ * number of unique values. To bound memory only entities whose id hashes into the current sampling mask are fingerprinted; the mask is
+ * narrowed, and entities outside of it dropped, whenever more than {@link #MAX_SAMPLED_ENTITIES} entities are kept.
+ */
+class TrigramIndexSampler extends NonUniqueIndexSampler.Adapter
+{
+    static final int MAX_SAMPLED_ENTITIES = 1 << 16;
+
+    private final GBPTree<TrigramKey,NullValue> tree;
+    private final TrigramLayout layout;
+    private final int maxSampledEntities;
+
+    TrigramIndexSampler( GBPTree<TrigramKey,NullValue> tree, TrigramLayout layout )
+    {
+        this( tree, layout, MAX_SAMPLED_ENTITIES );
+    }
+
+    TrigramIndexSampler( GBPTree<TrigramKey,NullValue> tree, TrigramLayout layout, int maxSampledEntities )
+    {
+        this.tree = tree;
+        this.layout = layout;
+        this.maxSampledEntities = maxSampledEntities;
+    }
+
+    @Override
+    public IndexSample sample( CursorContext cursorContext )
+    {
+        TrigramKey lowest = layout.newKey();
+        layout.initializeAsLowest( lowest );
+        TrigramKey highest = layout.newKey();
+        layout.initializeAsHighest( highest );
+        try ( Seeker<TrigramKey,NullValue> seek = tree.seek( lowest, highest, cursorContext ) )
+        {
+            long indexedValues = 0;
+            long samplingMask = 0;
+            MutableLongLongMap fingerprints = new LongLongHashMap();
+            while ( seek.next() )
+            {
+                TrigramKey key = seek.key();
+                if ( key.position == 0 )
+                {
+                    // Every indexed value has exactly one trigram at position 0
+                    indexedValues++;
+                }
+                if ( (mix( key.entityId ) & samplingMask) != 0 )
+                {
+                    continue;
+                }
+                long trigramHash = mix( key.trigram * 31 + key.position );
+                fingerprints.updateValue( key.entityId, 0, fingerprint -> fingerprint + trigramHash );
+                if ( fingerprints.size() > maxSampledEntities )
+                {
+                    long mask = (samplingMask << 1) | 1;
+                    fingerprints = fingerprints.reject( ( entityId, fingerprint ) -> (mix( entityId ) & mask) != 0 );
+                    samplingMask = mask;
+                }
+            }
+            long sampledValues = fingerprints.size();
+            long uniqueValues = fingerprints.values().toSet().size();
+            return new IndexSample( indexedValues, uniqueValues, sampledValues );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public IndexSample sample( int numDocs, CursorContext cursorContext )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    private static long mix( long value )
+    {
+        // Finalizer of SplitMix64
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
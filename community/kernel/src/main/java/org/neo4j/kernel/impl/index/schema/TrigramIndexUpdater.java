@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.IOUtils;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Value;
+
+import static org.neo4j.kernel.impl.index.schema.TrigramIndex.IGNORE_STRATEGY;
+
+/**
+ * Writes the {@link Trigrams positional trigrams} of updated string values to the tree of a trigram index.
+ */
+class TrigramIndexUpdater implements IndexUpdater
+{
+    private final TrigramKey treeKey = new TrigramKey();
+    private Writer<TrigramKey,NullValue> writer;
+
+    private boolean closed = true;
+
+    TrigramIndexUpdater initialize( Writer<TrigramKey,NullValue> writer )
+    {
+        if ( !closed )
+        {
+            throw new IllegalStateException( "Updater still open" );
+        }
+
+        this.writer = writer;
+        closed = false;
+        return this;
+    }
+
+    @Override
+    public void process( IndexEntryUpdate<?> update )
+    {
+        assertOpen();
+        processUpdate( treeKey, asValueUpdate( update ), writer );
+    }
+
+    @Override
+    public void close()
+    {
+        closed = true;
+        IOUtils.closeAllUnchecked( writer );
+    }
+
+    private void assertOpen()
+    {
+        if ( closed )
+        {
+            throw new IllegalStateException( "Updater has been closed" );
+        }
+    }
+
+    static void processUpdate( TrigramKey treeKey, ValueIndexEntryUpdate<?> update, Writer<TrigramKey,NullValue> writer )
+    {
+        long entityId = update.getEntityId();
+        switch ( update.updateMode() )
+        {
+        case ADDED:
+            processChange( treeKey, entityId, null, update.values(), writer );
+            break;
+        case CHANGED:
+            processChange( treeKey, entityId, update.beforeValues(), update.values(), writer );
+            break;
+        case REMOVED:
+            processChange( treeKey, entityId, update.values(), null, writer );
+            break;
+        default:
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Removes the trigrams of {@code before} and adds the trigrams of {@code after}. Trigrams found at the same position in both values,
+     * e.g. a common prefix, are left as they are.
+     */
+    private static void processChange( TrigramKey treeKey, long entityId, Value[] before, Value[] after, Writer<TrigramKey,NullValue> writer )
+    {
+        int[] removed = symbolsOf( before );
+        int[] added = symbolsOf( after );
+        int removedTrigrams = removed == null ? 0 : Trigrams.numberOfTrigrams( removed );
+        int addedTrigrams = added == null ? 0 : Trigrams.numberOfTrigrams( added );
+        for ( int position = 0; position < Math.max( removedTrigrams, addedTrigrams ); position++ )
+        {
+            long removedTrigram = position < removedTrigrams ? Trigrams.trigram( removed, position ) : -1;
+            long addedTrigram = position < addedTrigrams ? Trigrams.trigram( added, position ) : -1;
+            if ( removedTrigram == addedTrigram )
+            {
+                continue;
+            }
+            if ( removedTrigram != -1 )
+            {
+                writer.remove( treeKey.set( removedTrigram, entityId, position ) );
+            }
+            if ( addedTrigram != -1 )
+            {
+                writer.put( treeKey.set( addedTrigram, entityId, position ), NullValue.INSTANCE );
+            }
+        }
+    }
+
+    private static int[] symbolsOf( Value[] values )
+    {
+        if ( values == null || IGNORE_STRATEGY.ignore( values ) )
+        {
+            return null;
+        }
+        return Trigrams.symbols( ((TextValue) values[0]).stringValue() );
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+/**
+ * Keys in {@link TrigramLayout}, each key consists of a {@link Trigrams trigram}, the {@code entityId} whose value contains it
+ * and the {@code position} in that value where the trigram starts.
+ */
+class TrigramKey
+{
+    long trigram;
+    long entityId;
+    int position;
+
+    TrigramKey()
+    {
+        clear();
+    }
+
+    /**
+     * Sets this key.
+     *
+     * @param trigram the trigram for this key.
+     * @param entityId entity id for this key.
+     * @param position position of the trigram in the indexed value.
+     * @return this key instance, for convenience.
+     */
+    final TrigramKey set( long trigram, long entityId, int position )
+    {
+        this.trigram = trigram;
+        this.entityId = entityId;
+        this.position = position;
+        return this;
+    }
+
+    final void clear()
+    {
+        set( -1, -1, -1 );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[trigram:" + Trigrams.first( trigram ) + "," + Trigrams.second( trigram ) + "," + Trigrams.third( trigram ) +
+               ",entityId:" + entityId + ",position:" + position + "]";
+    }
+}
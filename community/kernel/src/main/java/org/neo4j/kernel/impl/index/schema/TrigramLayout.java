@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * {@link Layout} for {@link GBPTree} used by trigram index.
+ *
+ * <ul>
+ * <li>
+ * Each key is a combination of {@code trigram}, {@code entityId} and {@code position}, i.e. one posting per trigram occurrence.
+ * Postings of the same trigram are ordered by entity and then position, which lets several posting lists be intersected in a single pass.
+ * </li>
+ * <li>
+ * Values are not used.
+ * </li>
+ * </ul>
+ */
+class TrigramLayout extends Layout.Adapter<TrigramKey,NullValue>
+{
+    /**
+     * Name part of the {@link #identifier()} value.
+     */
+    private static final String IDENTIFIER_NAME = "TGI";
+
+    /**
+     * Size of each {@link TrigramKey}.
+     */
+    private static final int KEY_SIZE = Long.BYTES/*trigram*/ + Long.BYTES/*entityId*/ + Integer.BYTES/*position*/;
+
+    TrigramLayout()
+    {
+        super( true, Layout.namedIdentifier( IDENTIFIER_NAME, KEY_SIZE ), 0, 1 );
+    }
+
+    /**
+     * Compares {@link TrigramKey}, giving ascending order of {@code trigram}, then {@code entityId} and then {@code position}.
+     */
+    @Override
+    public int compare( TrigramKey o1, TrigramKey o2 )
+    {
+        int comparison = Long.compare( o1.trigram, o2.trigram );
+        if ( comparison == 0 )
+        {
+            comparison = Long.compare( o1.entityId, o2.entityId );
+        }
+        return comparison != 0 ? comparison : Integer.compare( o1.position, o2.position );
+    }
+
+    @Override
+    public TrigramKey newKey()
+    {
+        return new TrigramKey();
+    }
+
+    @Override
+    public TrigramKey copyKey( TrigramKey key, TrigramKey into )
+    {
+        return into.set( key.trigram, key.entityId, key.position );
+    }
+
+    @Override
+    public NullValue newValue()
+    {
+        return NullValue.INSTANCE;
+    }
+
+    @Override
+    public int keySize( TrigramKey key )
+    {
+        return KEY_SIZE;
+    }
+
+    @Override
+    public int valueSize( NullValue value )
+    {
+        return NullValue.SIZE;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, TrigramKey key )
+    {
+        cursor.putLong( key.trigram );
+        cursor.putLong( key.entityId );
+        cursor.putInt( key.position );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, NullValue value )
+    {
+        // nothing to write
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, TrigramKey into, int keySize )
+    {
+        into.trigram = cursor.getLong();
+        into.entityId = cursor.getLong();
+        into.position = cursor.getInt();
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, NullValue into, int valueSize )
+    {
+        // nothing to read
+    }
+
+    @Override
+    public void initializeAsLowest( TrigramKey key )
+    {
+        key.set( Long.MIN_VALUE, Long.MIN_VALUE, Integer.MIN_VALUE );
+    }
+
+    @Override
+    public void initializeAsHighest( TrigramKey key )
+    {
+        key.set( Long.MAX_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE );
+    }
+}
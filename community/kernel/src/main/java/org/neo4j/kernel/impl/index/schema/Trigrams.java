@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+/**
+ * Encoding of strings into positional trigrams, as stored by {@link TrigramIndexProvider trigram indexes}.
+ * <p>
+ * A string is turned into a sequence of symbols, one per code point, surrounded by markers: {@code ^ s0 s1 .. sn-1 $ $}.
+ * Every three consecutive symbols starting at position {@code 0..n} form a trigram, so a string of {@code n} code points has {@code n+1} trigrams.
+ * The {@link #START start marker} only ever occurs at position 0 and the {@link #END end marker} sorts before every code point, which means that:
+ * <ul>
+ *     <li>a string prefix is the pattern {@code ^ p0 .. pk-1},</li>
+ *     <li>a string suffix is the pattern {@code s0 .. sk-1 $},</li>
+ *     <li>an exact string is the pattern {@code ^ s0 .. sn-1 $},</li>
+ *     <li>and the trigrams of a string compare in the same order as the strings themselves, symbol by symbol.</li>
+ * </ul>
+ * Each symbol takes 21 bits, which fits all unicode code points, and a trigram is packed into a single {@code long}.
+ */
+final class Trigrams
+{
+    static final int END = 0;
+    static final int START = (1 << 21) - 1;
+    static final int MAX_SYMBOL = START;
+
+    private static final int SYMBOL_BITS = 21;
+    private static final long SYMBOL_MASK = (1L << SYMBOL_BITS) - 1;
+
+    private Trigrams()
+    {
+    }
+
+    /**
+     * @param value string to encode.
+     * @return the symbols of {@code value} surrounded by the start marker and two end markers.
+     */
+    static int[] symbols( String value )
+    {
+        int[] symbols = new int[value.codePointCount( 0, value.length() ) + 3];
+        symbols[0] = START;
+        int i = 1;
+        for ( int offset = 0; offset < value.length(); )
+        {
+            int codePoint = value.codePointAt( offset );
+            symbols[i++] = symbol( codePoint );
+            offset += Character.charCount( codePoint );
+        }
+        symbols[i++] = END;
+        symbols[i] = END;
+        return symbols;
+    }
+
+    /**
+     * @param value string to encode.
+     * @return the symbols of {@code value}, without any markers.
+     */
+    static int[] pattern( String value )
+    {
+        return value.codePoints().map( Trigrams::symbol ).toArray();
+    }
+
+    /**
+     * @param symbols symbols as returned by {@link #symbols(String)}.
+     * @return number of trigrams in the encoded string.
+     */
+    static int numberOfTrigrams( int[] symbols )
+    {
+        return symbols.length - 2;
+    }
+
+    static long trigram( int[] symbols, int position )
+    {
+        return trigram( symbols[position], symbols[position + 1], symbols[position + 2] );
+    }
+
+    static long trigram( int first, int second, int third )
+    {
+        return ((long) first << (2 * SYMBOL_BITS)) | ((long) second << SYMBOL_BITS) | third;
+    }
+
+    static int first( long trigram )
+    {
+        return (int) (trigram >>> (2 * SYMBOL_BITS));
+    }
+
+    static int second( long trigram )
+    {
+        return (int) ((trigram >>> SYMBOL_BITS) & SYMBOL_MASK);
+    }
+
+    static int third( long trigram )
+    {
+        return (int) (trigram & SYMBOL_MASK);
+    }
+
+    private static int symbol( int codePoint )
+    {
+        // Shifted by one to make room for the end marker, which sorts before every code point
+        return codePoint + 1;
+    }
+}
@@ -64,6 +64,8 @@ class Types
     static final TextArrayType TEXT_ARRAY = new TextArrayType( (byte) 17 );
     static final BooleanArrayType BOOLEAN_ARRAY = new BooleanArrayType( (byte) 18 );
     static final NumberArrayType NUMBER_ARRAY = new NumberArrayType( (byte) 19 );
+    // Only known by range indexes, where it marks a missing included property
+    static final NoValueType NO_VALUE = new NoValueType( (byte) 20 );
 
     /* Geometry constants are located in PointKeyUtil */
     public static final int SIZE_ZONED_DATE_TIME = Long.BYTES +    /* epochSecond */
@@ -126,7 +128,7 @@ class Types
         }
     }
 
-    private static Type[] instantiateTypes( Type geometryType, Type geometryArrayType )
+    private static Type[] instantiateTypes( Type geometryType, Type geometryArrayType, Type... additionalTypes )
     {
         List<Type> types = new ArrayList<>();
 
@@ -151,6 +153,7 @@ class Types
         types.add( TEXT_ARRAY );
         types.add( BOOLEAN_ARRAY );
         types.add( NUMBER_ARRAY );
+        types.addAll( Arrays.asList( additionalTypes ) );
 
         // Assert order of typeId
         byte expectedTypeId = 0;
@@ -213,7 +216,7 @@ class Types
         /**
          * Holds typeId --> {@link Type} mapping.
          */
-        static final Type[] BY_ID = instantiateTypes( GEOMETRY_2, GEOMETRY_ARRAY_2);
+        static final Type[] BY_ID = instantiateTypes( GEOMETRY_2, GEOMETRY_ARRAY_2, NO_VALUE );
 
         /**
          * Holds {@link ValueGroup#ordinal()} --> {@link Type} mapping.
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.index.schema.config;
 
 import org.neo4j.configuration.Config;
+import org.neo4j.gis.spatial.index.curves.AdaptiveConfiguration;
 import org.neo4j.gis.spatial.index.curves.PartialOverlapConfiguration;
 import org.neo4j.gis.spatial.index.curves.SpaceFillingCurveConfiguration;
 import org.neo4j.gis.spatial.index.curves.StandardConfiguration;
@@ -59,8 +60,13 @@ public final class SpaceFillingCurveSettingsFactory
         int extraLevels = config.get( SpatialIndexSettings.space_filling_curve_extra_levels );
         double topThreshold = config.get( SpatialIndexSettings.space_filling_curve_top_threshold );
         double bottomThreshold = config.get( SpatialIndexSettings.space_filling_curve_bottom_threshold );
+        double targetFalsePositiveRatio = config.get( SpatialIndexSettings.space_filling_curve_target_false_positive_ratio );
 
-        if ( topThreshold == 0.0 || bottomThreshold == 0.0 )
+        if ( targetFalsePositiveRatio > 0.0 )
+        {
+            return new AdaptiveConfiguration( extraLevels, targetFalsePositiveRatio );
+        }
+        else if ( topThreshold == 0.0 || bottomThreshold == 0.0 )
         {
             return new StandardConfiguration( extraLevels );
         }
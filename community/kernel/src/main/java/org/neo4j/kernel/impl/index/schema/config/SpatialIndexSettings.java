@@ -73,4 +73,14 @@ public class SpatialIndexSettings implements SettingsDeclaration
     @Internal
     public static final Setting<Double> space_filling_curve_bottom_threshold =
             newBuilder( "unsupported.dbms.index.spatial.curve.bottom_threshold", DOUBLE, 0.0 ).build();
+
+    @Description( "When searching the spatial index we need to convert a 2D range in the quad tree into a set of 1D ranges on the " +
+            "underlying 1D space filling curve index. Instead of always processing the quad tree to the depth given by `extra_levels`, " +
+            "the depth can be adapted to the indexed data, based on the fraction of false positives that searches actually find. " +
+            "When the observed fraction is above this target, later searches go one level deeper, and when it is below half of the target, " +
+            "they go one level shallower, starting from `extra_levels`. Enabling this feature disables the `top_threshold` and " +
+            "`bottom_threshold` settings. Setting this value to zero turns off this feature." )
+    @Internal
+    public static final Setting<Double> space_filling_curve_target_false_positive_ratio =
+            newBuilder( "unsupported.dbms.index.spatial.curve.target_false_positive_ratio", DOUBLE, 0.0 ).build();
 }
@@ -95,7 +95,7 @@ public class FusionIndexCapability implements IndexCapability
     @Override
     public boolean isQuerySupported( IndexQueryType queryType, ValueCategory valueCategory )
     {
-        return queryType != IndexQueryType.FULLTEXT_SEARCH && queryType != IndexQueryType.TOKEN_LOOKUP;
+        return queryType != IndexQueryType.FULLTEXT_SEARCH && queryType != IndexQueryType.TOKEN_LOOKUP && queryType != IndexQueryType.NEAREST_NEIGHBOURS;
     }
 
     @Override
@@ -54,6 +54,7 @@ import org.neo4j.kernel.api.txstate.TransactionState;
 import org.neo4j.kernel.impl.newapi.TxStateIndexChanges.AddedAndRemoved;
 import org.neo4j.kernel.impl.newapi.TxStateIndexChanges.AddedWithValuesAndRemoved;
 import org.neo4j.memory.MemoryTracker;
+import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.ValueTuple;
@@ -65,11 +66,13 @@ import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRa
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeek;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSkipScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSuffixOrContains;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSeek;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSkipScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSuffixOrContains;
 
 abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexProgressor,CURSOR> implements
@@ -98,6 +101,11 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
     private final SortedMergeJoin sortedMergeJoin = new SortedMergeJoin();
     private AccessMode accessMode;
     private boolean shortcutSecurity;
+    private int numberOfIndexedProperties;
+    private boolean includedValuesAllowed;
+    private Value[] includedValues;
+    private long includedValuesEntity = NO_ID;
+    private PropertyIndexQuery.NearestNeighbourPredicate nearestNeighbourPredicate;
 
     DefaultEntityValueIndexCursor( CursorPool<CURSOR> pool, MemoryTracker memoryTracker )
     {
@@ -117,6 +125,7 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         this.indexOrder = constraints.order();
         this.needsValues = constraints.needsValues();
         this.indexType = descriptor.getIndexType();
+        this.nearestNeighbourPredicate = null;
         sortedMergeJoin.initialize( indexOrder );
 
         this.query = query;
@@ -128,6 +137,9 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
 
         this.accessMode = accessMode;
         shortcutSecurity = setupSecurity( descriptor );
+        int[] includedPropertyIds = descriptor.getIncludedPropertyIds();
+        numberOfIndexedProperties = descriptor.schema().getPropertyIds().length;
+        includedValuesAllowed = includedPropertyIds.length > 0 && ( allowsAll() || canReadAllIncludedProperties( includedPropertyIds, accessMode ) );
 
         if ( !indexIncludesTransactionState && read.hasTxStateWithChanges() && query.length > 0 )
         {
@@ -158,7 +170,12 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
                     // This also covers the rewritten suffix/contains for composite index
                     // If composite index all following will be exists as well so no need to consider those
                     setNeedsValuesIfRequiresOrder();
-                    if ( exactQueryValues.isEmpty() )
+                    if ( exactQueryValues.isEmpty() && isSkipScan( query ) )
+                    {
+                        // First query is exists followed by a more precise query, a skip scan of a composite index
+                        skipScanQuery( descriptor, query );
+                    }
+                    else if ( exactQueryValues.isEmpty() )
                     {
                         // First query is allEntries or exists, use scan
                         scanQuery( descriptor );
@@ -192,6 +209,12 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
                     suffixOrContainsQuery( descriptor, nextQuery );
                     break;
 
+                case NEAREST_NEIGHBOURS:
+                    // The index returns points in order of distance, the transaction state additions are merged into that order
+                    assert query.length == 1;
+                    nearestNeighbourQuery( descriptor, (PropertyIndexQuery.NearestNeighbourPredicate) nextQuery );
+                    break;
+
                 default:
                     throw new UnsupportedOperationException( "Query not supported: " + Arrays.toString( query ) );
                 }
@@ -227,7 +250,18 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         {
             this.entity = reference;
             this.score = score;
-            this.values = values;
+            if ( values != null && values.length > numberOfIndexedProperties )
+            {
+                // The index stores values of included properties after those of the indexed ones
+                this.values = Arrays.copyOf( values, numberOfIndexedProperties );
+                this.includedValues = Arrays.copyOfRange( values, numberOfIndexedProperties, values.length );
+                this.includedValuesEntity = reference;
+            }
+            else
+            {
+                this.values = values;
+                this.includedValues = null;
+            }
             return true;
         }
     }
@@ -246,7 +280,7 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
     @Override
     public final boolean next()
     {
-        if ( indexOrder == IndexOrder.NONE )
+        if ( indexOrder == IndexOrder.NONE && nearestNeighbourPredicate == null )
         {
             return nextWithoutOrder();
         }
@@ -465,6 +499,20 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         return values != null;
     }
 
+    @Override
+    public final boolean hasIncludedValues()
+    {
+        // Values of included properties are only known for entities coming from the index, and only valid if not changed in this transaction
+        return includedValues != null && includedValuesAllowed && entity == includedValuesEntity &&
+               !( read.hasTxStateWithChanges() && hasPropertyChanges( read.txState(), entity ) );
+    }
+
+    @Override
+    public final Value includedPropertyValue( int offset )
+    {
+        return includedValues[offset];
+    }
+
     @Override
     public final float score()
     {
@@ -487,11 +535,14 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
             this.score = Float.NaN;
             this.query = null;
             this.values = null;
+            this.includedValues = null;
+            this.includedValuesEntity = NO_ID;
             this.read = null;
             this.accessMode = null;
             this.added = ImmutableEmptyLongIterator.INSTANCE;
             this.addedWithValues = Collections.emptyIterator();
             this.removed = LongSets.immutable.empty();
+            this.nearestNeighbourPredicate = null;
 
             if ( eagerPointIterator  != null )
             {
@@ -579,6 +630,36 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         }
     }
 
+    private static boolean isSkipScan( PropertyIndexQuery[] query )
+    {
+        for ( int i = 1; i < query.length; i++ )
+        {
+            if ( query[i].type() != IndexQueryType.EXISTS )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skipScanQuery( IndexDescriptor descriptor, PropertyIndexQuery[] query )
+    {
+        TransactionState txState = read.txState();
+
+        if ( needsValues )
+        {
+            AddedWithValuesAndRemoved changes = indexUpdatesWithValuesForSkipScan( txState, descriptor, query, indexOrder );
+            addedWithValues = changes.getAdded().iterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+        else
+        {
+            AddedAndRemoved changes = indexUpdatesForSkipScan( txState, descriptor, query, indexOrder );
+            added = changes.getAdded().longIterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+    }
+
     private void suffixOrContainsQuery( IndexDescriptor descriptor, PropertyIndexQuery query )
     {
         TransactionState txState = read.txState();
@@ -597,6 +678,24 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
         }
     }
 
+    private void nearestNeighbourQuery( IndexDescriptor descriptor, PropertyIndexQuery.NearestNeighbourPredicate predicate )
+    {
+        TransactionState txState = read.txState();
+
+        // Distances are computed from the values, so they are needed both from the index and the transaction state
+        this.needsValues = true;
+        this.nearestNeighbourPredicate = predicate;
+        Comparator<Value[]> byDistance = Comparator.comparingDouble( pointValues -> predicate.distanceTo( (PointValue) pointValues[0] ) );
+        sortedMergeJoin.initialize( byDistance );
+
+        AddedWithValuesAndRemoved changes = indexUpdatesWithValuesForSuffixOrContains( txState, descriptor, predicate, IndexOrder.NONE );
+        List<EntityWithPropertyValues> addedByDistance = new ArrayList<>();
+        changes.getAdded().forEach( addedByDistance::add );
+        addedByDistance.sort( Comparator.comparing( EntityWithPropertyValues::getValues, byDistance ) );
+        addedWithValues = addedByDistance.iterator();
+        removed = removed( txState, changes.getRemoved() );
+    }
+
     private void seekQuery( IndexDescriptor descriptor, Value[] values )
     {
         TransactionState txState = read.txState();
@@ -642,6 +741,17 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
      */
     abstract boolean canAccessAllDescribedEntities( IndexDescriptor descriptor, AccessMode accessMode );
 
+    /**
+     * Check that the user is allowed to read the given properties of all entities in the index, which is required for reading
+     * their values directly from the index.
+     */
+    abstract boolean canReadAllIncludedProperties( int[] includedPropertyIds, AccessMode accessMode );
+
+    /**
+     * Checks if any property of the given entity has been changed in the current transaction.
+     */
+    abstract boolean hasPropertyChanges( TransactionState txState, long entity );
+
     /**
      * Gets entities removed in the current transaction that are relevant for the index.
      */
@@ -97,6 +97,25 @@ class DefaultNodeValueIndexCursor extends DefaultEntityValueIndexCursor<DefaultN
         return true;
     }
 
+    @Override
+    boolean canReadAllIncludedProperties( int[] includedPropertyIds, AccessMode accessMode )
+    {
+        for ( int propId : includedPropertyIds )
+        {
+            if ( accessMode.disallowsReadPropertyForSomeLabel( propId ) || !accessMode.allowsReadPropertyAllLabels( propId ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    boolean hasPropertyChanges( TransactionState txState, long entity )
+    {
+        return txState.getNodeState( entity ).hasPropertyChanges();
+    }
+
     @Override
     void traceOnEntity( KernelReadTracer tracer, long entity )
     {
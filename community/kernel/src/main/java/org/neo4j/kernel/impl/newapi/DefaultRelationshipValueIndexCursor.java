@@ -154,6 +154,25 @@ class DefaultRelationshipValueIndexCursor extends DefaultEntityValueIndexCursor<
         return true;
     }
 
+    @Override
+    boolean canReadAllIncludedProperties( int[] includedPropertyIds, AccessMode accessMode )
+    {
+        for ( int propId : includedPropertyIds )
+        {
+            if ( !accessMode.allowsReadPropertyAllRelTypes( propId ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    boolean hasPropertyChanges( TransactionState txState, long entity )
+    {
+        return txState.getRelationshipState( entity ).hasPropertyChanges();
+    }
+
     @Override
     void traceOnEntity( KernelReadTracer tracer, long entity )
     {
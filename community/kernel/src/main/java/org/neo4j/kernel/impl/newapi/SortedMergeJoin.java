@@ -19,6 +19,8 @@
  */
 package org.neo4j.kernel.impl.newapi;
 
+import java.util.Comparator;
+
 import org.neo4j.internal.schema.IndexOrder;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
@@ -37,16 +39,27 @@ final class SortedMergeJoin
     private Value[] valuesFromA;
     private Value[] valuesFromB;
     private int indexOrder;
+    private Comparator<Value[]> comparator;
 
     void initialize( IndexOrder indexOrder )
     {
         this.indexOrder = indexOrder == IndexOrder.DESCENDING ? 1 : NO_ENTITY;
+        this.comparator = null;
         this.nextFromA = NO_ENTITY;
         this.nextFromB = NO_ENTITY;
         this.valuesFromA = null;
         this.valuesFromB = null;
     }
 
+    /**
+     * Initialize to sort entities in ascending order of the given comparator, instead of the order of their values.
+     */
+    void initialize( Comparator<Value[]> comparator )
+    {
+        initialize( IndexOrder.ASCENDING );
+        this.comparator = comparator;
+    }
+
     boolean needsA()
     {
         return nextFromA == NO_ENTITY;
@@ -81,9 +94,16 @@ final class SortedMergeJoin
                            "Expected index and txState values to have same dimensions, but got %d values from index and %d from txState",
                            valuesFromB.length, valuesFromA.length );
 
-            for ( int i = 0; c == 0 && i < valuesFromA.length; i++ )
+            if ( comparator != null )
+            {
+                c = comparator.compare( valuesFromA, valuesFromB );
+            }
+            else
             {
-                c = Values.COMPARATOR.compare( valuesFromA[i], valuesFromB[i] );
+                for ( int i = 0; c == 0 && i < valuesFromA.length; i++ )
+                {
+                    c = Values.COMPARATOR.compare( valuesFromA[i], valuesFromB[i] );
+                }
             }
         }
 
@@ -24,13 +24,15 @@ import org.neo4j.configuration.Config;
 import org.neo4j.io.pagecache.IOController;
 import org.neo4j.time.SystemNanoClock;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_enabled;
+
 @ServiceProvider
 public class CommunityIOControllerService implements IOControllerService
 {
     @Override
     public IOController createIOController( Config config, SystemNanoClock clock )
     {
-        return IOController.DISABLED;
+        return config.get( io_controller_enabled ) ? new TokenBucketIOController( config, clock ) : IOController.DISABLED;
     }
 
     @Override
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import java.io.Flushable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
+import org.neo4j.time.SystemNanoClock;
+
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_burst_when_idle;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_bytes_per_second_limit;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_consider_external_io;
+import static org.neo4j.configuration.GraphDatabaseSettings.check_point_iops_limit;
+
+/**
+ * An {@link IOController} that limits flushing to a configured rate of IOs per second, using a token bucket.
+ * <p>
+ * Every IO completed by a flush takes a token from the bucket, and the bucket is refilled at the configured rate. When the bucket runs empty,
+ * the flushing thread sleeps until the tokens it has taken have been paid back. An IO is one {@link PageCache#PAGE_SIZE page} flushed, also when
+ * several pages are merged into a single write, so a limit in bytes per second is turned into a limit in IOs per second; when both limits are
+ * set, the lower one applies.
+ * <p>
+ * Normally the bucket holds at most a tenth of a second worth of tokens, which is enough to count the time spent doing the IO itself towards
+ * the rate, so a flush starting after an idle period still starts at the configured rate. With burst when idle enabled, the bucket saves up
+ * tokens while nothing is being flushed, up to one second worth, and a flush starting after an idle period spends those at full speed before
+ * falling back to the configured rate.
+ * <p>
+ * All limits are read from {@link Config} and follow dynamic updates to it. The time flushes spend sleeping is reported to the
+ * {@link MajorFlushEvent#throttle(long) flush event}, and so shows up in the page cache IO limit counters.
+ */
+public class TokenBucketIOController implements IOController
+{
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos( 1 );
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos( 1 );
+
+    private final SystemNanoClock clock;
+    private final AtomicInteger disabledCounter = new AtomicInteger();
+    private volatile int iopsLimit;
+    private volatile long bytesPerSecondLimit;
+    private volatile boolean burstWhenIdle;
+    private volatile boolean considerExternalIO;
+
+    // Guarded by this
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucketIOController( Config config, SystemNanoClock clock )
+    {
+        this.clock = clock;
+        this.iopsLimit = config.get( check_point_iops_limit );
+        this.bytesPerSecondLimit = config.get( io_controller_bytes_per_second_limit );
+        this.burstWhenIdle = config.get( io_controller_burst_when_idle );
+        this.considerExternalIO = config.get( io_controller_consider_external_io );
+        this.lastRefillNanos = clock.nanos();
+        config.addListener( check_point_iops_limit, ( oldValue, newValue ) -> iopsLimit = newValue );
+        config.addListener( io_controller_bytes_per_second_limit, ( oldValue, newValue ) -> bytesPerSecondLimit = newValue );
+        config.addListener( io_controller_burst_when_idle, ( oldValue, newValue ) -> burstWhenIdle = newValue );
+        config.addListener( io_controller_consider_external_io, ( oldValue, newValue ) -> considerExternalIO = newValue );
+    }
+
+    @Override
+    public void maybeLimitIO( int recentlyCompletedIOs, Flushable flushable, MajorFlushEvent flushEvent )
+    {
+        long iopsRate = iopsRate();
+        if ( iopsRate <= 0 || disabledCounter.get() > 0 )
+        {
+            return;
+        }
+
+        long sleepNanos;
+        synchronized ( this )
+        {
+            take( recentlyCompletedIOs, iopsRate );
+            if ( tokens >= 0 )
+            {
+                return;
+            }
+            sleepNanos = (long) (-tokens * NANOS_PER_SECOND / iopsRate);
+        }
+
+        // Sleeps shorter than a millisecond are not precise enough to be worth it, the debt is then paid by a later call instead.
+        long sleepMillis = sleepNanos / NANOS_PER_MILLI;
+        if ( sleepMillis > 0 )
+        {
+            try
+            {
+                sleep( sleepMillis );
+                flushEvent.throttle( sleepMillis );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void reportIO( int completedIOs )
+    {
+        if ( considerExternalIO )
+        {
+            long iopsRate = iopsRate();
+            if ( iopsRate > 0 && disabledCounter.get() == 0 )
+            {
+                synchronized ( this )
+                {
+                    take( completedIOs, iopsRate );
+                    // Do not let a burst of external IO stall the next flush for more than a second.
+                    tokens = Math.max( tokens, -iopsRate );
+                }
+            }
+        }
+    }
+
+    @Override
+    public void disable()
+    {
+        disabledCounter.getAndIncrement();
+    }
+
+    @Override
+    public void enable()
+    {
+        disabledCounter.getAndDecrement();
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return iopsRate() > 0 && disabledCounter.get() == 0;
+    }
+
+    /**
+     * @return the effective limit in IOs per second, or {@code 0} if flushing is not limited.
+     */
+    long iopsRate()
+    {
+        long rate = iopsLimit > 0 ? iopsLimit : Long.MAX_VALUE;
+        long bytesLimit = bytesPerSecondLimit;
+        if ( bytesLimit > 0 )
+        {
+            rate = Math.min( rate, Math.max( 1, bytesLimit / PageCache.PAGE_SIZE ) );
+        }
+        return rate == Long.MAX_VALUE ? 0 : rate;
+    }
+
+    /**
+     * Sleep for the given number of milliseconds. Overridden by tests that control time.
+     */
+    void sleep( long millis ) throws InterruptedException
+    {
+        Thread.sleep( millis );
+    }
+
+    private void take( int ios, long iopsRate )
+    {
+        long now = clock.nanos();
+        double capacity = burstWhenIdle ? iopsRate : iopsRate / 10.0;
+        tokens = Math.min( capacity, tokens + (double) (now - lastRefillNanos) * iopsRate / NANOS_PER_SECOND );
+        lastRefillNanos = now;
+        tokens -= ios;
+    }
+}
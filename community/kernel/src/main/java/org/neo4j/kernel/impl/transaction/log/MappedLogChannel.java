@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.zip.Checksum;
+
+import org.neo4j.internal.nativeimpl.NativeAccess;
+import org.neo4j.io.fs.ChecksumMismatchException;
+import org.neo4j.io.fs.ChecksumWriter;
+import org.neo4j.io.fs.PositionableChannel;
+import org.neo4j.io.fs.ReadPastEndException;
+import org.neo4j.kernel.impl.transaction.log.files.LogFile;
+import org.neo4j.memory.MemoryTracker;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static org.neo4j.internal.unsafe.UnsafeUtil.getDirectByteBufferAddress;
+import static org.neo4j.internal.unsafe.UnsafeUtil.invokeCleaner;
+import static org.neo4j.io.fs.ChecksumWriter.CHECKSUM_FACTORY;
+import static org.neo4j.util.FeatureToggles.flag;
+
+/**
+ * A {@link ReadableLogChannel} reading log files that are no longer written to straight from a read-only memory mapping of them,
+ * instead of copying their content through a read-ahead buffer like {@link ReadAheadLogChannel} does. Every mapping is advised
+ * for sequential access, so that the OS reads ahead and drops pages behind the reader.
+ * <p>
+ * Like {@link ReadAheadLogChannel} the channel moves over to the next log version through a {@link LogVersionBridge} when the
+ * current one is exhausted. Once it reaches a log file that is still written to, or one that can't be mapped, it continues
+ * to read through a {@link ReadAheadLogChannel} instead. Log entries never span log files, so values are never read across
+ * files either: a value that is cut short by the end of a file ends the channel.
+ */
+public class MappedLogChannel implements ReadableLogChannel, PositionableChannel
+{
+    // Same toggle as the one used by the regular log channels
+    private static final boolean DISABLE_WAL_CHECKSUM = flag( ChecksumWriter.class, "disableChecksum", false );
+
+    private final LogVersionBridge bridge;
+    private final LogFile logFile;
+    private final NativeAccess nativeAccess;
+    private final MemoryTracker memoryTracker;
+    private final boolean raw;
+    private final Checksum checksum = CHECKSUM_FACTORY.get();
+    private LogVersionedStoreChannel channel;
+    private ByteBuffer buffer;
+    private int checksumStart;
+    private ReadAheadLogChannel delegate;
+
+    private MappedLogChannel( LogVersionedStoreChannel channel, ByteBuffer buffer, LogVersionBridge bridge, LogFile logFile,
+            NativeAccess nativeAccess, MemoryTracker memoryTracker, boolean raw )
+    {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.bridge = bridge;
+        this.logFile = logFile;
+        this.nativeAccess = nativeAccess;
+        this.memoryTracker = memoryTracker;
+        this.raw = raw;
+        this.checksumStart = buffer.position();
+    }
+
+    /**
+     * Open a channel reading from the current position of the given channel onwards, which is memory mapped if it is a log file that
+     * is no longer written to and can be mapped, or read through a {@link ReadAheadLogChannel} otherwise.
+     *
+     * @param startingChannel channel of the log file to start reading from, positioned where to start reading.
+     * @param bridge bridge to the log files after the starting one.
+     * @param logFile the log file the channels belong to.
+     * @param nativeAccess used to advise the OS of how the mappings are read.
+     * @param memoryTracker tracker of the buffer of a {@link ReadAheadLogChannel}, if one is needed.
+     * @param raw whether log files are opened raw when moving over to the next log version.
+     * @return channel reading from the current position of the given channel.
+     * @throws IOException on failure to map the log file.
+     */
+    public static ReadableLogChannel open( LogVersionedStoreChannel startingChannel, LogVersionBridge bridge, LogFile logFile,
+            NativeAccess nativeAccess, MemoryTracker memoryTracker, boolean raw ) throws IOException
+    {
+        ByteBuffer buffer = tryMap( startingChannel, logFile, nativeAccess );
+        if ( buffer == null )
+        {
+            return new ReadAheadLogChannel( startingChannel, bridge, memoryTracker, raw );
+        }
+        return new MappedLogChannel( startingChannel, buffer, bridge, logFile, nativeAccess, memoryTracker, raw );
+    }
+
+    private static ByteBuffer tryMap( LogVersionedStoreChannel channel, LogFile logFile, NativeAccess nativeAccess ) throws IOException
+    {
+        long size = channel.size();
+        if ( channel.getVersion() >= logFile.getCurrentLogVersion() || size > Integer.MAX_VALUE )
+        {
+            return null;
+        }
+        // Map the whole file, rather than from the current position, to keep the start of the mapping page aligned
+        ByteBuffer buffer = channel.mapReadOnly( 0, size );
+        if ( buffer == null )
+        {
+            return null;
+        }
+        if ( size > 0 )
+        {
+            nativeAccess.tryAdviseSequentialMemoryAccess( getDirectByteBufferAddress( buffer ), size );
+        }
+        buffer.position( toIntExact( min( channel.position(), size ) ) );
+        return buffer;
+    }
+
+    @Override
+    public byte get() throws IOException
+    {
+        return ensureMapped( Byte.BYTES ) ? buffer.get() : delegate.get();
+    }
+
+    @Override
+    public short getShort() throws IOException
+    {
+        return ensureMapped( Short.BYTES ) ? buffer.getShort() : delegate.getShort();
+    }
+
+    @Override
+    public int getInt() throws IOException
+    {
+        return ensureMapped( Integer.BYTES ) ? buffer.getInt() : delegate.getInt();
+    }
+
+    @Override
+    public long getLong() throws IOException
+    {
+        return ensureMapped( Long.BYTES ) ? buffer.getLong() : delegate.getLong();
+    }
+
+    @Override
+    public float getFloat() throws IOException
+    {
+        return ensureMapped( Float.BYTES ) ? buffer.getFloat() : delegate.getFloat();
+    }
+
+    @Override
+    public double getDouble() throws IOException
+    {
+        return ensureMapped( Double.BYTES ) ? buffer.getDouble() : delegate.getDouble();
+    }
+
+    @Override
+    public void get( byte[] bytes, int length ) throws IOException
+    {
+        assert length <= bytes.length;
+        if ( ensureMapped( length ) )
+        {
+            buffer.get( bytes, 0, length );
+        }
+        else
+        {
+            delegate.get( bytes, length );
+        }
+    }
+
+    @Override
+    public void beginChecksum()
+    {
+        if ( delegate != null )
+        {
+            delegate.beginChecksum();
+            return;
+        }
+        if ( DISABLE_WAL_CHECKSUM || buffer == null )
+        {
+            return;
+        }
+        checksum.reset();
+        checksumStart = buffer.position();
+    }
+
+    @Override
+    public int endChecksumAndValidate() throws IOException
+    {
+        if ( !ensureMapped( Integer.BYTES ) )
+        {
+            return delegate.endChecksumAndValidate();
+        }
+
+        if ( DISABLE_WAL_CHECKSUM )
+        {
+            buffer.getInt();
+            return 0xDEAD5EED;
+        }
+
+        updateChecksum();
+        int calculatedChecksum = (int) checksum.getValue();
+        int checksum = buffer.getInt();
+        if ( calculatedChecksum != checksum )
+        {
+            throw new ChecksumMismatchException( checksum, calculatedChecksum );
+        }
+        beginChecksum();
+        return calculatedChecksum;
+    }
+
+    @Override
+    public LogPositionMarker getCurrentPosition( LogPositionMarker positionMarker ) throws IOException
+    {
+        if ( delegate != null )
+        {
+            return delegate.getCurrentPosition( positionMarker );
+        }
+        positionMarker.mark( getVersion(), buffer.position() );
+        return positionMarker;
+    }
+
+    @Override
+    public LogPosition getCurrentPosition() throws IOException
+    {
+        if ( delegate != null )
+        {
+            return delegate.getCurrentPosition();
+        }
+        return new LogPosition( getVersion(), buffer.position() );
+    }
+
+    @Override
+    public void setCurrentPosition( long byteOffset ) throws IOException
+    {
+        if ( delegate != null )
+        {
+            delegate.setCurrentPosition( byteOffset );
+            return;
+        }
+        buffer.position( toIntExact( min( byteOffset, buffer.limit() ) ) );
+        beginChecksum();
+    }
+
+    @Override
+    public long getVersion()
+    {
+        return delegate != null ? delegate.getVersion() : channel.getVersion();
+    }
+
+    @Override
+    public byte getLogFormatVersion()
+    {
+        return delegate != null ? delegate.getLogFormatVersion() : channel.getLogFormatVersion();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        unmap();
+        if ( delegate != null )
+        {
+            delegate.close();
+            delegate = null;
+        }
+        if ( channel != null )
+        {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Make sure that the requested number of bytes can be read from the current mapping, moving over to the next log version if
+     * the current one is exhausted.
+     *
+     * @return {@code true} if the bytes can be read from the mapping, or {@code false} if they are to be read from {@link #delegate}.
+     */
+    private boolean ensureMapped( int requestedNumberOfBytes ) throws IOException
+    {
+        while ( delegate == null )
+        {
+            if ( buffer == null )
+            {
+                throw new ClosedChannelException();
+            }
+            if ( buffer.remaining() >= requestedNumberOfBytes )
+            {
+                return true;
+            }
+            if ( buffer.hasRemaining() || !nextChannel() )
+            {
+                throw ReadPastEndException.INSTANCE;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Move over to the log version after the current one.
+     *
+     * @return {@code true} if there was a next log version to move over to, otherwise {@code false}.
+     */
+    private boolean nextChannel() throws IOException
+    {
+        LogVersionedStoreChannel nextChannel = bridge.next( channel, raw );
+        if ( nextChannel == channel )
+        {
+            return false;
+        }
+        updateChecksum();
+        unmap();
+        channel = nextChannel;
+        ByteBuffer nextBuffer = tryMap( nextChannel, logFile, nativeAccess );
+        if ( nextBuffer == null )
+        {
+            // The delegate owns the channel from now on
+            delegate = new ReadAheadLogChannel( nextChannel, bridge, memoryTracker, raw );
+            channel = null;
+        }
+        else
+        {
+            buffer = nextBuffer;
+            checksumStart = buffer.position();
+        }
+        return true;
+    }
+
+    private void updateChecksum()
+    {
+        if ( DISABLE_WAL_CHECKSUM )
+        {
+            return;
+        }
+        ByteBuffer checksumView = buffer.duplicate();
+        checksumView.position( checksumStart ).limit( buffer.position() );
+        checksum.update( checksumView );
+        checksumStart = buffer.position();
+    }
+
+    private void unmap()
+    {
+        if ( buffer != null && buffer.isDirect() )
+        {
+            invokeCleaner( buffer );
+        }
+        buffer = null;
+    }
+}
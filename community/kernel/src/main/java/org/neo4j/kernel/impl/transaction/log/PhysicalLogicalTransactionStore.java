@@ -92,11 +92,21 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
             // ask logFiles about the version it may be in
             LogVersionLocator headerVisitor = new LogVersionLocator( transactionIdToStartFrom );
             logFile.accept( headerVisitor );
+            LogPosition logStartPosition = headerVisitor.getLogPosition();
 
-            // ask LogFile
-            TransactionPositionLocator transactionPositionLocator = new TransactionPositionLocator( transactionIdToStartFrom, logEntryReader );
-            logFile.accept( transactionPositionLocator, headerVisitor.getLogPosition() );
-            LogPosition position = transactionPositionLocator.getLogPosition();
+            // ask LogFile, starting from the closest indexed transaction if that file has a position index
+            LogPosition position = null;
+            LogPosition indexedPosition = logFile.getTransactionPositionIndex().lookup( logStartPosition.getLogVersion(), transactionIdToStartFrom );
+            if ( indexedPosition != null && indexedPosition.getByteOffset() >= logStartPosition.getByteOffset() )
+            {
+                position = findTransactionPosition( transactionIdToStartFrom, indexedPosition );
+            }
+            if ( position == null )
+            {
+                TransactionPositionLocator transactionPositionLocator = new TransactionPositionLocator( transactionIdToStartFrom, logEntryReader );
+                logFile.accept( transactionPositionLocator, logStartPosition );
+                position = transactionPositionLocator.getLogPosition();
+            }
             transactionMetadataCache.cacheTransactionMetadata( transactionIdToStartFrom, position );
             return new PhysicalTransactionCursor( logFile.getReader( position ), logEntryReader );
         }
@@ -110,6 +120,24 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
         }
     }
 
+    /**
+     * Look for the transaction from a position found in the transaction position index. Index files are only a hint, so failing to find the
+     * transaction from there, for whatever reason, just means that the caller should look for it from the start of the log file.
+     */
+    private LogPosition findTransactionPosition( long transactionId, LogPosition indexedPosition )
+    {
+        TransactionPositionLocator transactionPositionLocator = new TransactionPositionLocator( transactionId, logEntryReader );
+        try
+        {
+            logFile.accept( transactionPositionLocator, indexedPosition );
+            return transactionPositionLocator.transactionStartEntry != null ? transactionPositionLocator.getLogPosition() : null;
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            return null;
+        }
+    }
+
     public static class TransactionPositionLocator implements LogFile.LogFileVisitor
     {
         private final long startTransactionId;
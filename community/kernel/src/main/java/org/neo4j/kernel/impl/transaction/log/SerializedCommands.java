@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.neo4j.io.fs.WritableChecksumChannel;
+import org.neo4j.kernel.impl.api.TransactionToApply;
+
+/**
+ * Command entries of a batch of transactions, serialized on the committing thread so that the log writer only has to copy them into the
+ * transaction log. The start and commit entries depend on the transaction id and on the checksum of the previous transaction in the log,
+ * so they are still written by the log writer. Instances are reused, see {@link #clear()}.
+ */
+class SerializedCommands implements WritableChecksumChannel
+{
+    private ByteBuffer buffer;
+    private byte[] compressionScratch;
+    private int[] transactionEnds = new int[1];
+    private int transactions;
+
+    SerializedCommands( int initialCapacity )
+    {
+        this.buffer = ByteBuffer.allocate( initialCapacity );
+    }
+
+    /**
+     * Serialize the commands of every transaction in the given batch, in the order they will be appended.
+     */
+    void serialize( TransactionToApply batch, TransactionLogWriter transactionLogWriter ) throws IOException
+    {
+        for ( TransactionToApply tx = batch; tx != null; tx = tx.next() )
+        {
+            int start = buffer.position();
+            transactionLogWriter.serializeCommands( tx.transactionRepresentation(), this );
+            transactionLogWriter.compressCommands( tx.transactionRepresentation(), this, start );
+            if ( transactions == transactionEnds.length )
+            {
+                transactionEnds = Arrays.copyOf( transactionEnds, transactions * 2 );
+            }
+            transactionEnds[transactions++] = buffer.position();
+        }
+    }
+
+    byte[] bytes()
+    {
+        return buffer.array();
+    }
+
+    /**
+     * @return offset of the commands of the transaction with the given index in the batch.
+     */
+    int offset( int transaction )
+    {
+        return transaction == 0 ? 0 : transactionEnds[transaction - 1];
+    }
+
+    /**
+     * @return length of the commands of the transaction with the given index in the batch.
+     */
+    int length( int transaction )
+    {
+        return transactionEnds[transaction] - offset( transaction );
+    }
+
+    int size()
+    {
+        return buffer.position();
+    }
+
+    int capacity()
+    {
+        return Math.max( buffer.capacity(), compressionScratch == null ? 0 : compressionScratch.length );
+    }
+
+    /**
+     * @return an array of at least the given length to compress the commands of a transaction into, before they are written back to this buffer.
+     */
+    byte[] compressionScratch( int length )
+    {
+        if ( compressionScratch == null || compressionScratch.length < length )
+        {
+            compressionScratch = new byte[length];
+        }
+        return compressionScratch;
+    }
+
+    /**
+     * Discard the serialized bytes from the given position, to write them again in another form.
+     */
+    void truncate( int position )
+    {
+        buffer.position( position );
+    }
+
+    void clear()
+    {
+        buffer.clear();
+        transactions = 0;
+    }
+
+    @Override
+    public SerializedCommands put( byte value )
+    {
+        ensureCapacity( Byte.BYTES ).put( value );
+        return this;
+    }
+
+    @Override
+    public SerializedCommands putShort( short value )
+    {
+        ensureCapacity( Short.BYTES ).putShort( value );
+        return this;
+    }
+
+    @Override
+    public SerializedCommands putInt( int value )
+    {
+        ensureCapacity( Integer.BYTES ).putInt( value );
+        return this;
+    }
+
+    @Override
+    public SerializedCommands putLong( long value )
+    {
+        ensureCapacity( Long.BYTES ).putLong( value );
+        return this;
+    }
+
+    @Override
+    public SerializedCommands putFloat( float value )
+    {
+        ensureCapacity( Float.BYTES ).putFloat( value );
+        return this;
+    }
+
+    @Override
+    public SerializedCommands putDouble( double value )
+    {
+        ensureCapacity( Double.BYTES ).putDouble( value );
+        return this;
+    }
+
+    @Override
+    public SerializedCommands put( byte[] value, int offset, int length )
+    {
+        ensureCapacity( length ).put( value, offset, length );
+        return this;
+    }
+
+    @Override
+    public void beginChecksum()
+    {
+        throw new UnsupportedOperationException( "Checksums are calculated when the commands are appended to the log" );
+    }
+
+    @Override
+    public int putChecksum()
+    {
+        throw new UnsupportedOperationException( "Checksums are calculated when the commands are appended to the log" );
+    }
+
+    @Override
+    public void close()
+    {
+    }
+
+    private ByteBuffer ensureCapacity( int length )
+    {
+        if ( buffer.remaining() < length )
+        {
+            ByteBuffer grown = ByteBuffer.allocate( Math.max( buffer.capacity() * 2, buffer.position() + length ) );
+            buffer = grown.put( buffer.flip() );
+        }
+        return buffer;
+    }
+}
@@ -23,6 +23,7 @@ import org.neo4j.configuration.Config;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.monitoring.Health;
+import org.neo4j.monitoring.Monitors;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.TransactionIdStore;
 
@@ -32,12 +33,12 @@ public class TransactionAppenderFactory
 {
     public static TransactionAppender createTransactionAppender( LogFiles logFiles, TransactionIdStore transactionIdStore,
             TransactionMetadataCache transactionMetadataCache, Config config, Health databaseHealth, JobScheduler scheduler,
-            LogProvider logProvider )
+            LogProvider logProvider, Monitors monitors )
     {
         if ( config.get( dedicated_transaction_appender ) )
         {
             var queue = new TransactionLogQueue( logFiles, transactionIdStore, databaseHealth, transactionMetadataCache, config, scheduler,
-                    logProvider );
+                    logProvider, monitors.newMonitor( TransactionLogQueue.Monitor.class ) );
             return new QueueTransactionAppender( queue );
         }
 
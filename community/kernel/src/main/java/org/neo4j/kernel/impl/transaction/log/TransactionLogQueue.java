@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.transaction.log;
 
 import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpmcArrayQueue;
 import org.jctools.queues.MpscChunkedArrayQueue;
 
 import java.io.IOException;
@@ -28,9 +29,12 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.graphdb.DatabaseShutdownException;
+import org.neo4j.io.ByteUnit;
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.files.LogFile;
@@ -52,24 +56,45 @@ import static org.neo4j.configuration.GraphDatabaseSettings.max_concurrent_trans
 import static org.neo4j.internal.helpers.Exceptions.throwIfUnchecked;
 import static org.neo4j.kernel.impl.api.TransactionToApply.TRANSACTION_ID_NOT_SPECIFIED;
 
+/**
+ * Commit pipeline in front of the transaction log. Committing threads serialize the commands of their transactions into pooled buffers
+ * and put them on a queue. A single log writer thread takes batches of transactions from the queue, appends them to the log, and forces
+ * the log once per batch. As soon as a batch is durable the committing threads are released to apply their transactions to the store,
+ * while the writer continues with appending and forcing the next batch.
+ * <p>
+ * The queue is bounded by {@link GraphDatabaseSettings#max_concurrent_transactions}, committing threads wait for room in the queue when
+ * the writer falls behind.
+ */
 public class TransactionLogQueue extends LifecycleAdapter
 {
     private static final int CONSUMER_MAX_BATCH = 1024;
     private static final int INITIAL_CAPACITY = 128;
+    private static final int SERIALIZED_COMMANDS_POOL_SIZE = 64;
+    private static final int SERIALIZED_COMMANDS_INITIAL_CAPACITY = (int) ByteUnit.kibiBytes( 4 );
+    private static final int SERIALIZED_COMMANDS_MAX_POOLED_CAPACITY = (int) ByteUnit.mebiBytes( 1 );
     private final LogFiles logFiles;
     private final LogRotation logRotation;
     private final TransactionIdStore transactionIdStore;
     private final Health databaseHealth;
     private final TransactionMetadataCache transactionMetadataCache;
     private final MpscChunkedArrayQueue<TxQueueElement> txAppendQueue;
+    private final MpmcArrayQueue<SerializedCommands> serializedCommandsPool = new MpmcArrayQueue<>( SERIALIZED_COMMANDS_POOL_SIZE );
     private final JobScheduler jobScheduler;
+    private final Monitor monitor;
     private final Log log;
     private JobHandle<?> jobHandle;
     private TransactionWriter transactionWriter;
+    private TransactionLogWriter transactionLogWriter;
     private volatile boolean stopped;
 
     public TransactionLogQueue( LogFiles logFiles, TransactionIdStore transactionIdStore, Health databaseHealth,
             TransactionMetadataCache transactionMetadataCache, Config config, JobScheduler jobScheduler, LogProvider logProvider )
+    {
+        this( logFiles, transactionIdStore, databaseHealth, transactionMetadataCache, config, jobScheduler, logProvider, Monitor.EMPTY );
+    }
+
+    public TransactionLogQueue( LogFiles logFiles, TransactionIdStore transactionIdStore, Health databaseHealth,
+            TransactionMetadataCache transactionMetadataCache, Config config, JobScheduler jobScheduler, LogProvider logProvider, Monitor monitor )
     {
         this.logFiles = logFiles;
         this.logRotation = logFiles.getLogFile().getLogRotation();
@@ -78,6 +103,7 @@ public class TransactionLogQueue extends LifecycleAdapter
         this.transactionMetadataCache = transactionMetadataCache;
         this.txAppendQueue = new MpscChunkedArrayQueue<>( INITIAL_CAPACITY, config.get( max_concurrent_transactions ) );
         this.jobScheduler = jobScheduler;
+        this.monitor = monitor;
         this.stopped = true;
         this.log = logProvider.getLog( getClass() );
     }
@@ -88,23 +114,63 @@ public class TransactionLogQueue extends LifecycleAdapter
         {
             return CompletableFuture.failedFuture( new DatabaseShutdownException() );
         }
-        TxQueueElement txQueueElement = new TxQueueElement( batch, logAppendEvent );
-        while ( !txAppendQueue.offer( txQueueElement ) )
+        long serializationStartNanos = System.nanoTime();
+        SerializedCommands commands = serializeCommands( batch );
+        long submitStartNanos = System.nanoTime();
+        monitor.serialized( commands.size(), submitStartNanos - serializationStartNanos );
+
+        TxQueueElement txQueueElement = new TxQueueElement( batch, logAppendEvent, commands, submitStartNanos );
+        if ( !txAppendQueue.offer( txQueueElement ) )
         {
-            if ( stopped )
+            do
             {
-                return CompletableFuture.failedFuture( new DatabaseShutdownException() );
+                if ( stopped )
+                {
+                    releaseSerializedCommands( commands );
+                    return CompletableFuture.failedFuture( new DatabaseShutdownException() );
+                }
+                parkNanos( MILLISECONDS.toNanos( 10 ) );
             }
-            parkNanos( MILLISECONDS.toNanos( 10 ) );
+            while ( !txAppendQueue.offer( txQueueElement ) );
+            monitor.backpressure( System.nanoTime() - submitStartNanos );
         }
         return txQueueElement.resultFuture;
     }
 
+    private SerializedCommands serializeCommands( TransactionToApply batch ) throws IOException
+    {
+        SerializedCommands commands = serializedCommandsPool.poll();
+        if ( commands == null )
+        {
+            commands = new SerializedCommands( SERIALIZED_COMMANDS_INITIAL_CAPACITY );
+        }
+        try
+        {
+            commands.serialize( batch, transactionLogWriter );
+            return commands;
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            releaseSerializedCommands( commands );
+            throw e;
+        }
+    }
+
+    private void releaseSerializedCommands( SerializedCommands commands )
+    {
+        if ( commands.capacity() <= SERIALIZED_COMMANDS_MAX_POOLED_CAPACITY )
+        {
+            commands.clear();
+            serializedCommandsPool.offer( commands );
+        }
+    }
+
     @Override
     public synchronized void start()
     {
-        transactionWriter =
-                new TransactionWriter( txAppendQueue, logFiles.getLogFile(), transactionIdStore, databaseHealth, transactionMetadataCache, logRotation, log );
+        transactionLogWriter = logFiles.getLogFile().getTransactionLogWriter();
+        transactionWriter = new TransactionWriter( txAppendQueue, logFiles.getLogFile(), transactionIdStore, databaseHealth, transactionMetadataCache,
+                logRotation, this::releaseSerializedCommands, monitor, log );
         jobHandle = jobScheduler.schedule( Group.LOG_WRITER, transactionWriter );
         stopped = false;
     }
@@ -133,16 +199,79 @@ public class TransactionLogQueue extends LifecycleAdapter
         }
     }
 
+    /**
+     * Monitors the stages of the commit pipeline.
+     */
+    public interface Monitor
+    {
+        Monitor EMPTY = new Monitor()
+        {
+        };
+
+        /**
+         * The commands of a submitted batch of transactions have been serialized by the committing thread.
+         *
+         * @param bytes size of the serialized commands.
+         * @param nanos time it took to serialize them.
+         */
+        default void serialized( long bytes, long nanos )
+        {
+        }
+
+        /**
+         * A committing thread had to wait for room in the queue before its transactions could be submitted.
+         *
+         * @param nanos time spent waiting.
+         */
+        default void backpressure( long nanos )
+        {
+        }
+
+        /**
+         * The log writer took a batch of submitted transactions from the queue.
+         *
+         * @param batchSize number of submissions in the batch.
+         * @param queuedNanos time that the oldest submission in the batch spent in the queue.
+         */
+        default void dequeued( int batchSize, long queuedNanos )
+        {
+        }
+
+        /**
+         * The log writer appended a batch of submitted transactions to the log.
+         *
+         * @param batchSize number of submissions in the batch.
+         * @param nanos time it took to append them.
+         */
+        default void appended( int batchSize, long nanos )
+        {
+        }
+
+        /**
+         * The log writer made a batch of submitted transactions durable, by either forcing or rotating the log.
+         *
+         * @param batchSize number of submissions in the batch.
+         * @param nanos time it took to force the log.
+         */
+        default void forced( int batchSize, long nanos )
+        {
+        }
+    }
+
     private static class TxQueueElement
     {
         final TransactionToApply batch;
         final LogAppendEvent logAppendEvent;
+        final SerializedCommands commands;
+        final long submittedNanos;
         final CompletableFuture<Long> resultFuture;
 
-        TxQueueElement( TransactionToApply batch, LogAppendEvent logAppendEvent )
+        TxQueueElement( TransactionToApply batch, LogAppendEvent logAppendEvent, SerializedCommands commands, long submittedNanos )
         {
             this.batch = batch;
             this.logAppendEvent = logAppendEvent;
+            this.commands = commands;
+            this.submittedNanos = submittedNanos;
             this.resultFuture = new CompletableFuture<>();
         }
     }
@@ -156,13 +285,16 @@ public class TransactionLogQueue extends LifecycleAdapter
         private final Health databaseHealth;
         private final TransactionMetadataCache transactionMetadataCache;
         private final LogRotation logRotation;
+        private final Consumer<SerializedCommands> commandsReleaser;
+        private final Monitor monitor;
         private final Log log;
         private final int checksum;
         private volatile boolean stopped;
         private final MessagePassingQueue.WaitStrategy waitStrategy;
 
         TransactionWriter( MpscChunkedArrayQueue<TxQueueElement> txQueue, LogFile logFile, TransactionIdStore transactionIdStore, Health databaseHealth,
-                TransactionMetadataCache transactionMetadataCache, LogRotation logRotation, Log log )
+                TransactionMetadataCache transactionMetadataCache, LogRotation logRotation, Consumer<SerializedCommands> commandsReleaser, Monitor monitor,
+                Log log )
         {
             this.txQueue = txQueue;
             this.transactionLogWriter = logFile.getTransactionLogWriter();
@@ -172,6 +304,8 @@ public class TransactionLogQueue extends LifecycleAdapter
             this.databaseHealth = databaseHealth;
             this.transactionMetadataCache = transactionMetadataCache;
             this.logRotation = logRotation;
+            this.commandsReleaser = commandsReleaser;
+            this.monitor = monitor;
             this.log = log;
             this.waitStrategy = new SleepingWaitingStrategy();
         }
@@ -179,7 +313,8 @@ public class TransactionLogQueue extends LifecycleAdapter
         @Override
         public void run()
         {
-            TxConsumer txConsumer = new TxConsumer( databaseHealth, transactionIdStore, transactionLogWriter, checksum, transactionMetadataCache );
+            TxConsumer txConsumer = new TxConsumer( databaseHealth, transactionIdStore, transactionLogWriter, checksum, transactionMetadataCache,
+                    commandsReleaser );
 
             int idleCounter = 0;
             while ( !stopped )
@@ -190,8 +325,12 @@ public class TransactionLogQueue extends LifecycleAdapter
                     if ( drainedElements > 0 )
                     {
                         idleCounter = 0;
+                        long appendStartNanos = System.nanoTime();
+                        monitor.dequeued( drainedElements, appendStartNanos - txConsumer.txElements[0].submittedNanos );
                         txConsumer.processBatch();
 
+                        long forceStartNanos = System.nanoTime();
+                        monitor.appended( drainedElements, forceStartNanos - appendStartNanos );
                         LogAppendEvent logAppendEvent = txConsumer.txElements[drainedElements - 1].logAppendEvent;
                         boolean logRotated = logRotation.locklessRotateLogIfNeeded( logAppendEvent );
                         logAppendEvent.setLogRotated( logRotated );
@@ -199,6 +338,7 @@ public class TransactionLogQueue extends LifecycleAdapter
                         {
                             logFile.locklessForce( logAppendEvent );
                         }
+                        monitor.forced( drainedElements, System.nanoTime() - forceStartNanos );
 
                         txConsumer.complete();
                     }
@@ -219,6 +359,7 @@ public class TransactionLogQueue extends LifecycleAdapter
             TxQueueElement element;
             while ( (element = txQueue.poll()) != null )
             {
+                commandsReleaser.accept( element.commands );
                 element.resultFuture.completeExceptionally( databaseShutdownException );
             }
         }
@@ -229,6 +370,7 @@ public class TransactionLogQueue extends LifecycleAdapter
             private final TransactionIdStore transactionIdStore;
             private final TransactionLogWriter transactionLogWriter;
             private final TransactionMetadataCache transactionMetadataCache;
+            private final Consumer<SerializedCommands> commandsReleaser;
 
             private int checksum;
             private final TxQueueElement[] txElements = new TransactionLogQueue.TxQueueElement[CONSUMER_MAX_BATCH];
@@ -236,9 +378,10 @@ public class TransactionLogQueue extends LifecycleAdapter
             private int index;
 
             TxConsumer( Health databaseHealth, TransactionIdStore transactionIdStore, TransactionLogWriter transactionLogWriter, int checksum,
-                    TransactionMetadataCache transactionMetadataCache )
+                    TransactionMetadataCache transactionMetadataCache, Consumer<SerializedCommands> commandsReleaser )
             {
                 this.transactionMetadataCache = transactionMetadataCache;
+                this.commandsReleaser = commandsReleaser;
                 this.databaseHealth = databaseHealth;
                 this.transactionIdStore = transactionIdStore;
                 this.transactionLogWriter = transactionLogWriter;
@@ -263,6 +406,8 @@ public class TransactionLogQueue extends LifecycleAdapter
                     try ( var appendEvent = logAppendEvent.beginAppendTransaction( drainedElements ) )
                     {
                         TransactionToApply tx = txQueueElement.batch;
+                        SerializedCommands commands = txQueueElement.commands;
+                        int commandsIndex = 0;
                         while ( tx != null )
                         {
                             long transactionId = transactionIdStore.nextCommittingTransactionId();
@@ -273,7 +418,8 @@ public class TransactionLogQueue extends LifecycleAdapter
                             // really recover from and would point to a bug somewhere.
                             matchAgainstExpectedTransactionIdIfAny( transactionId, tx );
 
-                            TransactionCommitment commitment = appendToLog( tx.transactionRepresentation(), transactionId, logAppendEvent, checksum );
+                            TransactionCommitment commitment =
+                                    appendToLog( tx.transactionRepresentation(), transactionId, logAppendEvent, checksum, commands, commandsIndex++ );
                             checksum = commitment.getTransactionChecksum();
                             tx.commitment( commitment, transactionId );
                             tx.logPosition( commitment.logPosition() );
@@ -307,10 +453,11 @@ public class TransactionLogQueue extends LifecycleAdapter
             }
 
             private TransactionCommitment appendToLog( TransactionRepresentation transaction, long transactionId, LogAppendEvent logAppendEvent,
-                    int previousChecksum ) throws IOException
+                    int previousChecksum, SerializedCommands commands, int commandsIndex ) throws IOException
             {
                 var logPositionBeforeCommit = transactionLogWriter.getCurrentPosition();
-                int checksum = transactionLogWriter.append( transaction, transactionId, previousChecksum );
+                int checksum = transactionLogWriter.append( transaction, transactionId, previousChecksum, commands.bytes(), commands.offset( commandsIndex ),
+                        commands.length( commandsIndex ) );
                 var logPositionAfterCommit = transactionLogWriter.getCurrentPosition();
                 logAppendEvent.appendToLogFile( logPositionBeforeCommit, logPositionAfterCommit );
 
@@ -323,6 +470,7 @@ public class TransactionLogQueue extends LifecycleAdapter
             {
                 for ( int i = 0; i < index; i++ )
                 {
+                    commandsReleaser.accept( txElements[i].commands );
                     txElements[i].resultFuture.complete( txIds[i] );
                 }
                 Arrays.fill( txElements, 0, index, null );
@@ -333,6 +481,7 @@ public class TransactionLogQueue extends LifecycleAdapter
             {
                 for ( int i = 0; i < index; i++ )
                 {
+                    commandsReleaser.accept( txElements[i].commands );
                     txElements[i].resultFuture.completeExceptionally( e );
                 }
                 Arrays.fill( txElements, 0, index, null );
@@ -22,20 +22,56 @@ package org.neo4j.kernel.impl.transaction.log;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.compress.BlockCompression;
+import org.neo4j.io.fs.WritableChecksumChannel;
+import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.database.LogEntryWriterFactory;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogPositionIndex;
 import org.neo4j.util.VisibleForTesting;
 
 public class TransactionLogWriter
 {
+    // Scratch buffers larger than this are not kept around after compressing a transaction
+    private static final int MAX_RETAINED_SCRATCH_SIZE = (int) ByteUnit.mebiBytes( 1 );
+    private static final int INITIAL_SCRATCH_SIZE = (int) ByteUnit.kibiBytes( 4 );
+
     private final FlushablePositionAwareChecksumChannel channel;
     private final LogEntryWriterFactory logEntryWriterFactory;
+    private final BlockCompression compression;
+    private final long compressionMinSize;
+    private final TransactionLogPositionIndex positionIndex;
+    private SerializedCommands uncompressedScratch;
+    private byte[] compressedScratch;
 
     public TransactionLogWriter( FlushablePositionAwareChecksumChannel channel, LogEntryWriterFactory logEntryWriterFactory )
+    {
+        this( channel, logEntryWriterFactory, null, 0 );
+    }
+
+    /**
+     * @param compression compression of the command entries of transactions, or {@code null} to write them uncompressed.
+     * @param compressionMinSize smallest size of the serialized command entries of a transaction for them to be compressed.
+     */
+    public TransactionLogWriter( FlushablePositionAwareChecksumChannel channel, LogEntryWriterFactory logEntryWriterFactory,
+            BlockCompression compression, long compressionMinSize )
+    {
+        this( channel, logEntryWriterFactory, compression, compressionMinSize, null );
+    }
+
+    /**
+     * @param positionIndex index to report the start positions of appended transactions to, or {@code null} to not report them.
+     */
+    public TransactionLogWriter( FlushablePositionAwareChecksumChannel channel, LogEntryWriterFactory logEntryWriterFactory,
+            BlockCompression compression, long compressionMinSize, TransactionLogPositionIndex positionIndex )
     {
         this.channel = channel;
         this.logEntryWriterFactory = logEntryWriterFactory;
+        this.compression = compression;
+        this.compressionMinSize = Math.max( 1, compressionMinSize );
+        this.positionIndex = positionIndex;
     }
 
     /**
@@ -44,16 +80,126 @@ public class TransactionLogWriter
      */
     public int append( TransactionRepresentation transaction, long transactionId, int previousChecksum ) throws IOException
     {
+        indexPosition( transactionId );
         var writer = logEntryWriterFactory.createEntryWriter( channel, transaction.version() );
         writer.writeStartEntry( transaction.getTimeStarted(), transaction.getLatestCommittedTxWhenStarted(), previousChecksum, transaction.additionalHeader() );
 
         // Write all the commands to the log channel
-        writer.serialize( transaction );
+        if ( compression != null && transaction.version().isAtLeast( KernelVersion.V4_4 ) )
+        {
+            SerializedCommands commands = uncompressedScratch();
+            serializeCommands( transaction, commands );
+            writeCommands( writer, transaction.version(), commands.bytes(), commands.size() );
+            releaseScratch();
+        }
+        else
+        {
+            writer.serialize( transaction );
+        }
+
+        // Write commit record
+        return writer.writeCommitEntry( transactionId, transaction.getTimeCommitted() );
+    }
+
+    /**
+     * Append a transaction, whose commands have already been {@link #serializeCommands(TransactionRepresentation, WritableChecksumChannel) serialized}
+     * and {@link #compressCommands(TransactionRepresentation, SerializedCommands, int) compressed}, to the transaction log file
+     * @return checksum of the transaction
+     */
+    public int append( TransactionRepresentation transaction, long transactionId, int previousChecksum, byte[] commands, int offset, int length )
+            throws IOException
+    {
+        indexPosition( transactionId );
+        var writer = logEntryWriterFactory.createEntryWriter( channel, transaction.version() );
+        writer.writeStartEntry( transaction.getTimeStarted(), transaction.getLatestCommittedTxWhenStarted(), previousChecksum, transaction.additionalHeader() );
+
+        // Copy the already serialized, and possibly compressed, commands to the log channel
+        channel.put( commands, offset, length );
 
         // Write commit record
         return writer.writeCommitEntry( transactionId, transaction.getTimeCommitted() );
     }
 
+    /**
+     * Serialize the command entries of a transaction, exactly as {@link #append(TransactionRepresentation, long, int)} would write them
+     */
+    public void serializeCommands( TransactionRepresentation transaction, WritableChecksumChannel target ) throws IOException
+    {
+        logEntryWriterFactory.createEntryWriter( target, transaction.version() ).serialize( transaction );
+    }
+
+    /**
+     * Compress the command entries of a transaction, serialized into {@code commands} from {@code start}, into a compressed commands entry
+     * in their place, if {@link #append(TransactionRepresentation, long, int)} would compress them. This lets the committing threads compress
+     * their own commands, instead of the single thread appending to the log, so unlike appending it can be called from any thread.
+     */
+    void compressCommands( TransactionRepresentation transaction, SerializedCommands commands, int start ) throws IOException
+    {
+        int length = commands.size() - start;
+        if ( !shouldCompress( transaction.version(), length ) )
+        {
+            return;
+        }
+        byte[] compressed = commands.compressionScratch( compression.maxCompressedLength( length ) );
+        int compressedLength = compression.compress( commands.bytes(), start, length, compressed, 0 );
+        commands.truncate( start );
+        logEntryWriterFactory.createEntryWriter( commands, transaction.version() )
+                .writeCompressedCommandsEntry( compression, length, compressed, compressedLength );
+    }
+
+    private boolean shouldCompress( KernelVersion version, int length )
+    {
+        return compression != null && version.isAtLeast( KernelVersion.V4_4 ) && length >= compressionMinSize &&
+               length <= BlockCompression.MAX_BLOCK_LENGTH;
+    }
+
+    private void indexPosition( long transactionId ) throws IOException
+    {
+        if ( positionIndex != null && positionIndex.shouldIndex( transactionId ) )
+        {
+            positionIndex.transactionAppended( transactionId, channel.getCurrentPosition() );
+        }
+    }
+
+    private void writeCommands( LogEntryWriter<FlushablePositionAwareChecksumChannel> writer, KernelVersion version, byte[] commands, int length )
+            throws IOException
+    {
+        if ( !shouldCompress( version, length ) )
+        {
+            channel.put( commands, 0, length );
+            return;
+        }
+        int maxCompressedLength = compression.maxCompressedLength( length );
+        if ( compressedScratch == null || compressedScratch.length < maxCompressedLength )
+        {
+            compressedScratch = new byte[Math.max( maxCompressedLength, INITIAL_SCRATCH_SIZE )];
+        }
+        int compressedLength = compression.compress( commands, 0, length, compressedScratch, 0 );
+        writer.writeCompressedCommandsEntry( compression, length, compressedScratch, compressedLength );
+    }
+
+    private SerializedCommands uncompressedScratch()
+    {
+        if ( uncompressedScratch == null )
+        {
+            uncompressedScratch = new SerializedCommands( INITIAL_SCRATCH_SIZE );
+        }
+        uncompressedScratch.clear();
+        return uncompressedScratch;
+    }
+
+    private void releaseScratch()
+    {
+        if ( uncompressedScratch != null && uncompressedScratch.capacity() > MAX_RETAINED_SCRATCH_SIZE )
+        {
+            uncompressedScratch = null;
+        }
+        if ( compressedScratch != null && compressedScratch.length > MAX_RETAINED_SCRATCH_SIZE )
+        {
+            compressedScratch = null;
+        }
+    }
+
     @VisibleForTesting
     public void legacyCheckPoint( LogPosition logPosition ) throws IOException
     {
@@ -23,24 +23,41 @@ import java.util.Objects;
 
 import org.neo4j.internal.helpers.collection.LruCache;
 
+/**
+ * Cache of the log positions of recently appended or looked up transactions.
+ * <p>
+ * The cache is striped over a number of independently locked LRU caches by transaction id, so that the committing thread caching positions of new
+ * transactions and readers looking up positions of older ones rarely contend on the same lock. Transaction ids are consecutive, so every stripe
+ * sees an even share of them and evicts roughly the same least recently used transactions that a single cache would.
+ */
 public class TransactionMetadataCache
 {
     private static final int DEFAULT_TRANSACTION_CACHE_SIZE = 10_000;
-    private final LruCache<Long,TransactionMetadata> txIdMetadataCache;
+    private static final int STRIPES = 16;
+    private static final int STRIPE_MASK = STRIPES - 1;
+    private final LruCache<Long,TransactionMetadata>[] txIdMetadataCaches;
 
+    @SuppressWarnings( "unchecked" )
     public TransactionMetadataCache()
     {
-        this.txIdMetadataCache = new LruCache<>( "Tx start position cache", DEFAULT_TRANSACTION_CACHE_SIZE );
+        this.txIdMetadataCaches = new LruCache[STRIPES];
+        for ( int i = 0; i < STRIPES; i++ )
+        {
+            txIdMetadataCaches[i] = new LruCache<>( "Tx start position cache", DEFAULT_TRANSACTION_CACHE_SIZE / STRIPES );
+        }
     }
 
     public void clear()
     {
-        txIdMetadataCache.clear();
+        for ( LruCache<Long,TransactionMetadata> cache : txIdMetadataCaches )
+        {
+            cache.clear();
+        }
     }
 
     public TransactionMetadata getTransactionMetadata( long txId )
     {
-        return txIdMetadataCache.get( txId );
+        return stripe( txId ).get( txId );
     }
 
     public void cacheTransactionMetadata( long txId, LogPosition position )
@@ -51,7 +68,12 @@ public class TransactionMetadataCache
         }
 
         TransactionMetadata result = new TransactionMetadata( position );
-        txIdMetadataCache.put( txId, result );
+        stripe( txId ).put( txId, result );
+    }
+
+    private LruCache<Long,TransactionMetadata> stripe( long txId )
+    {
+        return txIdMetadataCaches[(int) (txId & STRIPE_MASK)];
     }
 
     public static class TransactionMetadata
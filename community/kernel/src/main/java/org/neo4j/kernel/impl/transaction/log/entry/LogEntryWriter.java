@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.util.Collection;
 
 import org.neo4j.internal.helpers.collection.Visitor;
+import org.neo4j.io.compress.BlockCompression;
 import org.neo4j.io.fs.WritableChannel;
 import org.neo4j.io.fs.WritableChecksumChannel;
 import org.neo4j.kernel.KernelVersion;
@@ -32,6 +33,7 @@ import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.storageengine.api.StorageCommand;
 
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.COMMAND;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.COMPRESSED_COMMANDS;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.LEGACY_CHECK_POINT;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.TX_COMMIT;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.TX_START;
@@ -110,6 +112,21 @@ public class LogEntryWriter<T extends WritableChecksumChannel>
         serializer.visit( command );
     }
 
+    /**
+     * Write the command entries of a transaction, compressed into a single block, in place of the command entries themselves.
+     *
+     * @param commandsLength length of the serialized command entries before compression.
+     */
+    public void writeCompressedCommandsEntry( BlockCompression compression, int commandsLength, byte[] compressed, int compressedLength )
+            throws IOException
+    {
+        writeLogEntryHeader( COMPRESSED_COMMANDS, channel );
+        channel.put( compression.id() )
+                .putInt( commandsLength )
+                .putInt( compressedLength )
+                .put( compressed, compressedLength );
+    }
+
     public void writeLegacyCheckPointEntry( LogPosition logPosition ) throws IOException
     {
         channel.beginChecksum();
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+/**
+ * Decides how long the thread forcing the transaction log waits for more committing transactions to join its batch.
+ * <p>
+ * Waiting only pays off when transactions arrive faster than the log can be forced. The policy keeps moving averages of the force latency
+ * and of the time between arriving transactions, and targets a batch of as many transactions as are expected to arrive during one force,
+ * bounded by the configured maximum batch size. The forcing thread waits until that many transactions are pending, but never longer than
+ * the configured maximum wait or the average force latency, whichever is smaller. Under light load the target is a single transaction,
+ * which means that the log is forced without waiting at all.
+ * <p>
+ * Not thread safe, all calls are expected to be made while holding the force lock of the log file.
+ */
+class GroupCommitPolicy
+{
+    /**
+     * Weight of the most recent observation in the moving averages.
+     */
+    private static final double WEIGHT = 0.2;
+
+    private final long maxWaitNanos;
+    private final int maxBatchSize;
+    private double forceNanos;
+    private double interArrivalNanos;
+    private long lastForceArrivals;
+    private long lastForceStartNanos;
+
+    /**
+     * @param maxWaitNanos upper bound on the time to wait for a batch, or {@code 0} to never wait.
+     * @param maxBatchSize upper bound on the number of transactions to wait for.
+     */
+    GroupCommitPolicy( long maxWaitNanos, int maxBatchSize )
+    {
+        this.maxWaitNanos = maxWaitNanos;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    boolean enabled()
+    {
+        return maxWaitNanos > 0;
+    }
+
+    /**
+     * @return the longest time to wait for the {@link #targetBatchSize() target batch} to be pending before forcing.
+     */
+    long maxWaitNanos()
+    {
+        return Math.min( maxWaitNanos, (long) forceNanos );
+    }
+
+    /**
+     * @return the number of pending transactions, including the one of the forcing thread, worth waiting for before forcing.
+     */
+    int targetBatchSize()
+    {
+        if ( interArrivalNanos <= 0 )
+        {
+            return 1;
+        }
+        return (int) Math.max( 1, Math.min( maxBatchSize, Math.round( forceNanos / interArrivalNanos ) ) );
+    }
+
+    /**
+     * Called after every force of the log.
+     *
+     * @param arrivals total number of transactions that had been appended when the force started.
+     * @param forceStartNanos time at which the force started.
+     * @param forceEndNanos time at which the force completed.
+     */
+    void forced( long arrivals, long forceStartNanos, long forceEndNanos )
+    {
+        if ( !enabled() )
+        {
+            return;
+        }
+        forceNanos = average( forceNanos, forceEndNanos - forceStartNanos );
+        long newArrivals = arrivals - lastForceArrivals;
+        if ( lastForceStartNanos != 0 && newArrivals > 0 )
+        {
+            interArrivalNanos = average( interArrivalNanos, (double) (forceStartNanos - lastForceStartNanos) / newArrivals );
+        }
+        lastForceArrivals = arrivals;
+        lastForceStartNanos = forceStartNanos;
+    }
+
+    private static double average( double average, double observation )
+    {
+        return average == 0 ? observation : average + WEIGHT * (observation - average);
+    }
+}
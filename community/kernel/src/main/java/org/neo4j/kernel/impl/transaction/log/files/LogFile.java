@@ -55,6 +55,16 @@ public interface LogFile extends RotatableFile
      */
     TransactionLogWriter getTransactionLogWriter();
 
+    /**
+     * @return sparse index of the positions of transactions in sealed log files
+     */
+    TransactionLogPositionIndex getTransactionPositionIndex();
+
+    /**
+     * @return pool of pruned log files to reuse as new log files
+     */
+    TransactionLogFileRecycler getLogFileRecycler();
+
     /**
      * @return transaction log rotation
      */
@@ -326,7 +326,7 @@ public class LogFilesBuilder
         return new TransactionLogFilesContext( rotationThreshold, tryPreallocateTransactionLogs, logEntryReader, lastCommittedIdSupplier,
                 committingTransactionIdSupplier, lastClosedTransactionPositionSupplier, logVersionRepositorySupplier,
                 fileSystem, logProvider, databaseTracers, storeIdSupplier, nativeAccess, memoryTracker, monitors, config.get( fail_on_corrupted_log_files ),
-                health, kernelVersionRepository, clock, databaseLayout.getDatabaseName(), config );
+                health, kernelVersionRepository, clock, databaseLayout.getDatabaseName(), config, readOnly );
     }
 
     private StorageEngineFactory storageEngineFactory()
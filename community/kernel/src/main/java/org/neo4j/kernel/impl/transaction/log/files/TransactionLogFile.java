@@ -43,6 +43,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.LongSupplier;
 
 import org.neo4j.io.IOUtils;
+import org.neo4j.io.compress.BlockCompression;
 import org.neo4j.io.fs.DelegatingStoreChannel;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.StoreChannel;
@@ -55,6 +56,7 @@ import org.neo4j.kernel.impl.transaction.log.LogHeaderCache;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.kernel.impl.transaction.log.LogVersionBridge;
 import org.neo4j.kernel.impl.transaction.log.LogVersionedStoreChannel;
+import org.neo4j.kernel.impl.transaction.log.MappedLogChannel;
 import org.neo4j.kernel.impl.transaction.log.PhysicalLogVersionedStoreChannel;
 import org.neo4j.kernel.impl.transaction.log.PositionAwarePhysicalFlushableChecksumChannel;
 import org.neo4j.kernel.impl.transaction.log.ReadAheadLogChannel;
@@ -76,6 +78,13 @@ import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.util.VisibleForTesting;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_compression;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_compression_min_size;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_group_commit_max_batch_size;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_group_commit_max_wait_micros;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_mapped_reads;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_position_index_interval;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_recycle_pool_size;
 import static org.neo4j.configuration.GraphDatabaseSettings.transaction_log_buffer_size;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
 import static org.neo4j.kernel.impl.transaction.log.rotation.FileLogRotation.transactionLogRotation;
@@ -87,8 +96,13 @@ import static org.neo4j.util.Preconditions.checkArgument;
 public class TransactionLogFile extends LifecycleAdapter implements LogFile
 {
     private static final String TRANSACTION_LOG_FILE_ROTATION_TAG = "transactionLogFileRotation";
+    private static final long GROUP_COMMIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos( 20 );
     private final AtomicReference<ThreadLink> threadLinkHead = new AtomicReference<>( ThreadLink.END );
     private final Lock forceLock = new ReentrantLock();
+    private final AtomicLong appendedTransactions = new AtomicLong();
+    private final GroupCommitPolicy groupCommitPolicy;
+    // Guarded by forceLock
+    private long forcedTransactions;
     private final AtomicLong rotateAtSize;
     private final TransactionLogFilesHelper fileHelper;
     private final TransactionLogFilesContext context;
@@ -100,6 +114,9 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     private final DatabaseHealth databaseHealth;
     private final String baseName;
     private final LogRotation logRotation;
+    private final boolean mappedReads;
+    private final TransactionLogPositionIndex positionIndex;
+    private final TransactionLogFileRecycler recycler;
 
     private volatile PhysicalLogVersionedStoreChannel channel;
     private PositionAwarePhysicalFlushableChecksumChannel writer;
@@ -119,18 +136,30 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         this.fileHelper = new TransactionLogFilesHelper( fileSystem, logFiles.logFilesDirectory(), baseName );
         this.logHeaderCache = new LogHeaderCache( 1000 );
         this.logFileInformation = new TransactionLogFileInformation( logFiles, logHeaderCache, context );
+        // Read only log files are never pruned, so they leave the pool of the log files directory alone
+        this.recycler = new TransactionLogFileRecycler( fileSystem, logFiles.logFilesDirectory(), baseName,
+                context.isReadOnly() ? 0 : context.getConfig().get( tx_log_recycle_pool_size ), context.getNativeAccess() );
         this.channelAllocator = new TransactionLogChannelAllocator( context, fileHelper, logHeaderCache,
-                new LogFileChannelNativeAccessor( fileSystem, context ) );
+                new LogFileChannelNativeAccessor( fileSystem, context ), recycler.isEnabled() ? recycler : null );
         this.readerLogVersionBridge = new ReaderLogVersionBridge( this );
         this.pageCacheTracer = context.getDatabaseTracers().getPageCacheTracer();
         this.logRotation = transactionLogRotation( this, context.getClock(), databaseHealth, context.getMonitors().newMonitor( LogRotationMonitor.class ) );
         this.memoryTracker = context.getMemoryTracker();
+        this.groupCommitPolicy = new GroupCommitPolicy( TimeUnit.MICROSECONDS.toNanos( context.getConfig().get( tx_log_group_commit_max_wait_micros ) ),
+                context.getConfig().get( tx_log_group_commit_max_batch_size ) );
+        this.mappedReads = context.getConfig().get( tx_log_mapped_reads );
+        this.positionIndex = new TransactionLogPositionIndex( fileSystem, logFiles.logFilesDirectory(), baseName,
+                context.getConfig().get( tx_log_position_index_interval ) );
     }
 
     @Override
     public void init() throws IOException
     {
         logVersionRepository = context.getLogVersionRepository();
+        if ( recycler.isEnabled() )
+        {
+            recycler.start();
+        }
     }
 
     @Override
@@ -145,7 +174,9 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
 
         writer = new PositionAwarePhysicalFlushableChecksumChannel( channel,
                 new NativeScopedBuffer( context.getConfig().get( transaction_log_buffer_size ), memoryTracker ) );
-        transactionLogWriter = new TransactionLogWriter( writer, new DbmsLogEntryWriterFactory( context.getKernelVersionProvider() ) );
+        BlockCompression compression = context.getConfig().get( tx_log_compression ) ? BlockCompression.ZSTD : null;
+        transactionLogWriter = new TransactionLogWriter( writer, new DbmsLogEntryWriterFactory( context.getKernelVersionProvider() ),
+                compression, context.getConfig().get( tx_log_compression_min_size ), positionIndex.isEnabled() ? positionIndex : null );
     }
 
     // In order to be able to write into a logfile after life.stop during shutdown sequence
@@ -230,8 +261,12 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
             for ( long i = currentVersion; i > targetVersion; i-- )
             {
                 fileSystem.deleteFile( fileHelper.getLogFileForVersion( i ) );
+                positionIndex.delete( i );
             }
         }
+        // the target file is appended to again, so an index written when it was sealed no longer describes it
+        positionIndex.delete( targetVersion );
+        positionIndex.truncate( targetPosition );
 
         //truncate current file
         channel.truncate( targetPosition.getByteOffset() );
@@ -281,6 +316,18 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         return transactionLogWriter;
     }
 
+    @Override
+    public TransactionLogPositionIndex getTransactionPositionIndex()
+    {
+        return positionIndex;
+    }
+
+    @Override
+    public TransactionLogFileRecycler getLogFileRecycler()
+    {
+        return recycler;
+    }
+
     @Override
     public void flush() throws IOException
     {
@@ -309,6 +356,10 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     {
         PhysicalLogVersionedStoreChannel logChannel = openForVersion( position.getLogVersion(), raw );
         logChannel.position( position.getByteOffset() );
+        if ( mappedReads )
+        {
+            return MappedLogChannel.open( logChannel, logVersionBridge, this, context.getNativeAccess(), memoryTracker, raw );
+        }
         return new ReadAheadLogChannel( logChannel, logVersionBridge, memoryTracker, raw );
     }
 
@@ -491,6 +542,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     {
         // There's a benign race here, where we add our link before we update our next pointer.
         // This is okay, however, because unparkAll() spins when it sees a null next pointer.
+        appendedTransactions.incrementAndGet();
         ThreadLink threadLink = new ThreadLink( Thread.currentThread() );
         threadLink.next = threadLinkHead.getAndSet( threadLink );
         boolean attemptedForce = false;
@@ -663,6 +715,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
          */
         writer.prepareForFlush().flush();
         currentLog.truncate( currentLog.position() );
+        sealPositionIndex( currentLog.getVersion() );
 
         /*
          * The log version is now in the store, flushed and persistent. If we crash
@@ -678,6 +731,19 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         return newLog;
     }
 
+    private void sealPositionIndex( long version )
+    {
+        try
+        {
+            positionIndex.logFileSealed( version );
+        }
+        catch ( IOException e )
+        {
+            // The index is only a shortcut for finding transactions in the sealed file, which can still be read from its start.
+            context.getLogProvider().getLog( getClass() ).warn( "Failed to write transaction position index for log version " + version, e );
+        }
+    }
+
     private static boolean isCoveredByCommittedTransaction( LogPosition targetPosition, long targetVersion, LogPosition lastClosed )
     {
         return lastClosed.getLogVersion() > targetVersion ||
@@ -767,10 +833,16 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
 
     private void forceLog( LogForceEvents logForceEvents ) throws IOException
     {
+        long waitNanos = awaitGroupCommitBatch();
+        long arrivals = appendedTransactions.get();
         ThreadLink links = threadLinkHead.getAndSet( ThreadLink.END );
         try ( LogForceEvent logForceEvent = logForceEvents.beginLogForce() )
         {
+            long forceStartNanos = System.nanoTime();
             force();
+            groupCommitPolicy.forced( arrivals, forceStartNanos, System.nanoTime() );
+            logForceEvent.batchForced( arrivals - forcedTransactions, waitNanos );
+            forcedTransactions = arrivals;
         }
         catch ( final Throwable panic )
         {
@@ -783,6 +855,29 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         }
     }
 
+    /**
+     * Lets more committing transactions join the batch of the coming force, as advised by the {@link GroupCommitPolicy}.
+     *
+     * @return the time spent waiting, in nanoseconds.
+     */
+    private long awaitGroupCommitBatch()
+    {
+        if ( !groupCommitPolicy.enabled() )
+        {
+            return 0;
+        }
+        long maxWaitNanos = groupCommitPolicy.maxWaitNanos();
+        int targetBatchSize = groupCommitPolicy.targetBatchSize();
+        long startNanos = System.nanoTime();
+        long waitedNanos = 0;
+        while ( waitedNanos < maxWaitNanos && appendedTransactions.get() - forcedTransactions < targetBatchSize )
+        {
+            LockSupport.parkNanos( this, Math.min( maxWaitNanos - waitedNanos, GROUP_COMMIT_PARK_NANOS ) );
+            waitedNanos = System.nanoTime() - startNanos;
+        }
+        return waitedNanos;
+    }
+
     private static void unparkAll( ThreadLink links )
     {
         do
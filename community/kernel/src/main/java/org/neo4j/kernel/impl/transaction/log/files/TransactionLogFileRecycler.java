@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Pattern;
+
+import org.neo4j.internal.nativeimpl.NativeAccess;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+
+import static java.util.regex.Pattern.quote;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogFilesHelper.DEFAULT_NAME;
+
+/**
+ * A pool of preallocated files, as large as pruned transaction log files, kept to back future log versions.
+ * <p>
+ * A log file created on rotation is allocated by the file system as it is written to, unless it could be preallocated. A file taken from this
+ * pool is instead renamed to the new log version and already has all its extents allocated, so rotation does not change any file system metadata
+ * other than a name, and the first writes to the new log file do not have to extend it.
+ * <p>
+ * When a log file is pruned, a file of the same size is preallocated in its place in the pool and the pruned file is deleted. Preallocation only
+ * reserves the extents and reads as zeros, so a recycled log file looks just like a preallocated one once its header is written, without any of
+ * its contents being written on pruning. The pruned file itself is never reused, since readers of the log, like transaction cursors or memory
+ * mappings of it, can still have it open, and its stale entries would otherwise be read past the end of the new log file. Pooling is only
+ * enabled where files can be preallocated natively. Pooled files are named {@code <baseName>_recycled.<n>}, which is not matched by the log
+ * file name filter.
+ */
+public class TransactionLogFileRecycler
+{
+    static final String RECYCLED_FILE_SUFFIX = "_recycled";
+    static final String RECYCLING_FILE_SUFFIX = "_recycling";
+    private static final Pattern DEFAULT_POOL_FILE_NAME =
+            Pattern.compile( quote( DEFAULT_NAME ) + "(" + RECYCLED_FILE_SUFFIX + "|" + RECYCLING_FILE_SUFFIX + ")\\.\\d+" );
+
+    private final FileSystemAbstraction fileSystem;
+    private final Path logDirectory;
+    private final String baseName;
+    private final int poolSize;
+    private final NativeAccess nativeAccess;
+
+    // Guarded by this
+    private final Deque<Path> pool = new ArrayDeque<>();
+    private int filesBeingRecycled;
+    private long nextFileId;
+
+    /**
+     * @param poolSize largest number of pruned log files to keep for reuse, or {@code 0} to delete pruned log files.
+     * @param nativeAccess native access used to preallocate pooled files, pooling is disabled if it is not available.
+     */
+    TransactionLogFileRecycler( FileSystemAbstraction fileSystem, Path logDirectory, String baseName, int poolSize, NativeAccess nativeAccess )
+    {
+        this.fileSystem = fileSystem;
+        this.logDirectory = logDirectory;
+        this.baseName = baseName;
+        this.poolSize = poolSize;
+        this.nativeAccess = nativeAccess;
+    }
+
+    public boolean isEnabled()
+    {
+        return poolSize > 0 && nativeAccess.isAvailable();
+    }
+
+    /**
+     * Picks up the files that were pooled before a restart, up to the pool size, and deletes the rest of them together with any file that was
+     * only partially written when the database stopped.
+     */
+    synchronized void start() throws IOException
+    {
+        pool.clear();
+        if ( !fileSystem.fileExists( logDirectory ) )
+        {
+            return;
+        }
+        for ( Path file : fileSystem.listFiles( logDirectory, filter( RECYCLING_FILE_SUFFIX ) ) )
+        {
+            nextFileId = Math.max( nextFileId, TransactionLogFilesHelper.getLogVersion( file ) + 1 );
+            fileSystem.deleteFile( file );
+        }
+        for ( Path file : fileSystem.listFiles( logDirectory, filter( RECYCLED_FILE_SUFFIX ) ) )
+        {
+            nextFileId = Math.max( nextFileId, TransactionLogFilesHelper.getLogVersion( file ) + 1 );
+            if ( pool.size() < poolSize )
+            {
+                pool.addLast( file );
+            }
+            else
+            {
+                fileSystem.deleteFile( file );
+            }
+        }
+    }
+
+    /**
+     * Preallocates a file of the same size as the given pruned log file in the pool and deletes the pruned file, unless the pool is full.
+     *
+     * @param logFile log file that is no longer needed.
+     * @return {@code true} if the file was deleted and replaced in the pool, {@code false} if it was left in place for the caller to delete.
+     * @throws IOException if the file could not be deleted or its replacement could not be created.
+     */
+    public boolean recycle( Path logFile ) throws IOException
+    {
+        if ( !isEnabled() )
+        {
+            return false;
+        }
+        long size = fileSystem.getFileSize( logFile );
+        if ( size == 0 )
+        {
+            return false;
+        }
+        long fileId;
+        synchronized ( this )
+        {
+            if ( pool.size() + filesBeingRecycled >= poolSize )
+            {
+                return false;
+            }
+            filesBeingRecycled++;
+            fileId = nextFileId++;
+        }
+
+        Path recycledFile = null;
+        try
+        {
+            // The replacement is allocated under a name that is dropped on startup, until it is complete
+            Path recyclingFile = file( RECYCLING_FILE_SUFFIX, fileId );
+            if ( !preallocate( recyclingFile, size ) )
+            {
+                return false;
+            }
+            // Readers that still have the pruned file open keep its contents
+            fileSystem.deleteFile( logFile );
+            recycledFile = file( RECYCLED_FILE_SUFFIX, fileId );
+            fileSystem.renameFile( recyclingFile, recycledFile );
+        }
+        finally
+        {
+            synchronized ( this )
+            {
+                filesBeingRecycled--;
+                if ( recycledFile != null )
+                {
+                    pool.addLast( recycledFile );
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves a file from the pool to the given log file, which must not exist.
+     *
+     * @param logFile log file to back by a pooled file.
+     * @return {@code true} if a pooled file was moved to the given log file, {@code false} if the pool was empty.
+     * @throws IOException if the pooled file could not be moved.
+     */
+    public boolean reuse( Path logFile ) throws IOException
+    {
+        Path recycledFile;
+        synchronized ( this )
+        {
+            recycledFile = pool.pollFirst();
+        }
+        if ( recycledFile == null )
+        {
+            return false;
+        }
+        fileSystem.renameFile( recycledFile, logFile );
+        return true;
+    }
+
+    synchronized int pooledFiles()
+    {
+        return pool.size();
+    }
+
+    /**
+     * @return whether the given file is a pooled file of transaction log files with the default name, or one being written to the pool.
+     */
+    public static boolean isDefaultPoolFile( Path path )
+    {
+        return DEFAULT_POOL_FILE_NAME.matcher( path.getFileName().toString() ).matches();
+    }
+
+    private boolean preallocate( Path file, long size ) throws IOException
+    {
+        try ( StoreChannel channel = fileSystem.write( file ) )
+        {
+            if ( !nativeAccess.tryPreallocateSpace( fileSystem.getFileDescriptor( channel ), size ).isError() )
+            {
+                return true;
+            }
+        }
+        fileSystem.deleteFile( file );
+        return false;
+    }
+
+    private Path file( String suffix, long fileId )
+    {
+        return logDirectory.resolve( baseName + suffix + "." + fileId );
+    }
+
+    private DirectoryStream.Filter<Path> filter( String suffix )
+    {
+        String prefix = baseName + suffix + ".";
+        return entry ->
+        {
+            String name = entry.getFileName().toString();
+            return name.startsWith( prefix ) && name.length() > prefix.length() && name.substring( prefix.length() ).chars().allMatch( Character::isDigit );
+        };
+    }
+}
@@ -97,6 +97,17 @@ public class TransactionLogFiles extends LifecycleAdapter implements LogFiles
         }
     }
 
+    /**
+     * Files kept in the transaction logs directory that are not part of the transaction log, and that the database can do without,
+     * e.g. {@link TransactionLogPositionIndex} files and {@link TransactionLogFileRecycler} pool files of log files with the default name.
+     *
+     * @return whether the given file is such a file.
+     */
+    public static boolean isAuxiliaryLogFile( Path path )
+    {
+        return TransactionLogPositionIndex.isDefaultIndexFile( path ) || TransactionLogFileRecycler.isDefaultPoolFile( path );
+    }
+
     @Override
     public LogTailInformation getTailInformation()
     {
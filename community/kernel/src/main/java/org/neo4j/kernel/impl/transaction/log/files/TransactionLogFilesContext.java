@@ -61,13 +61,14 @@ public class TransactionLogFilesContext
     private final Clock clock;
     private final String databaseName;
     private final Config config;
+    private final boolean readOnly;
 
     public TransactionLogFilesContext( AtomicLong rotationThreshold, AtomicBoolean tryPreallocateTransactionLogs, LogEntryReader logEntryReader,
             LongSupplier lastCommittedTransactionIdSupplier, LongSupplier committingTransactionIdSupplier, Supplier<LogPosition> lastClosedPositionSupplier,
             Supplier<LogVersionRepository> logVersionRepositorySupplier,FileSystemAbstraction fileSystem, LogProvider logProvider,
             DatabaseTracers databaseTracers, Supplier<StoreId> storeId, NativeAccess nativeAccess,
             MemoryTracker memoryTracker, Monitors monitors, boolean failOnCorruptedLogFiles, DatabaseHealth databaseHealth,
-            KernelVersionRepository kernelVersionRepository, Clock clock, String databaseName, Config config )
+            KernelVersionRepository kernelVersionRepository, Clock clock, String databaseName, Config config, boolean readOnly )
     {
         this.rotationThreshold = rotationThreshold;
         this.tryPreallocateTransactionLogs = tryPreallocateTransactionLogs;
@@ -89,6 +90,7 @@ public class TransactionLogFilesContext
         this.clock = clock;
         this.databaseName = databaseName;
         this.config = config;
+        this.readOnly = readOnly;
     }
 
     AtomicLong getRotationThreshold()
@@ -190,4 +192,12 @@ public class TransactionLogFilesContext
     {
         return config;
     }
+
+    /**
+     * @return whether the log files are only opened to read the store and log of a database that does not run on them.
+     */
+    public boolean isReadOnly()
+    {
+        return readOnly;
+    }
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+
+import static java.util.regex.Pattern.quote;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogFilesHelper.DEFAULT_NAME;
+
+/**
+ * A sparse index from transaction id to the position of the transaction in the transaction log, kept in a small file next to each sealed log file.
+ * <p>
+ * While a log file is being appended to, the position of the first transaction in it and of every transaction at least {@code interval}
+ * transactions after the previously indexed one are kept in memory. When the log file is rotated away from, those positions are written to an
+ * index file for that log version. Finding a transaction in a sealed log file can then start from the closest indexed transaction before it,
+ * instead of from the start of the file.
+ * <p>
+ * The index files are only a hint. A missing or unreadable index file just means that the log file is read from its start, and callers must be
+ * prepared for an indexed position not to lead to the transaction they look for.
+ */
+public class TransactionLogPositionIndex
+{
+    static final String INDEX_FILE_SUFFIX = "_index";
+    private static final Pattern DEFAULT_INDEX_FILE_NAME = Pattern.compile( quote( DEFAULT_NAME + INDEX_FILE_SUFFIX ) + "\\.\\d+" );
+    private static final int HEADER_SIZE = Integer.BYTES;
+    private static final int ENTRY_SIZE = Long.BYTES * 2;
+
+    private final FileSystemAbstraction fileSystem;
+    private final Path logBaseName;
+    private final int interval;
+
+    // Guarded by this
+    private long currentVersion = -1;
+    private final MutableLongList transactionIds = new LongArrayList();
+    private final MutableLongList offsets = new LongArrayList();
+
+    /**
+     * @param interval smallest number of transactions between two indexed transactions, or {@code 0} to not write any index files.
+     */
+    TransactionLogPositionIndex( FileSystemAbstraction fileSystem, Path logDirectory, String baseName, int interval )
+    {
+        this.fileSystem = fileSystem;
+        this.logBaseName = logDirectory.resolve( baseName + INDEX_FILE_SUFFIX );
+        this.interval = interval;
+    }
+
+    public boolean isEnabled()
+    {
+        return interval > 0;
+    }
+
+    /**
+     * @return whether the position of the transaction with the given id should be reported to {@link #transactionAppended(long, LogPosition)}.
+     */
+    public synchronized boolean shouldIndex( long transactionId )
+    {
+        return interval > 0 && (transactionIds.isEmpty() || transactionId - transactionIds.getLast() >= interval);
+    }
+
+    /**
+     * Remember the start position of a transaction appended to the current log file.
+     */
+    public synchronized void transactionAppended( long transactionId, LogPosition startPosition )
+    {
+        if ( startPosition.getLogVersion() != currentVersion )
+        {
+            reset( startPosition.getLogVersion() );
+        }
+        transactionIds.add( transactionId );
+        offsets.add( startPosition.getByteOffset() );
+    }
+
+    /**
+     * Forget the positions of transactions at or after the given position, which the log is truncated to.
+     */
+    public synchronized void truncate( LogPosition position )
+    {
+        if ( position.getLogVersion() != currentVersion )
+        {
+            reset( position.getLogVersion() );
+            return;
+        }
+        while ( !offsets.isEmpty() && offsets.getLast() >= position.getByteOffset() )
+        {
+            offsets.removeAtIndex( offsets.size() - 1 );
+            transactionIds.removeAtIndex( transactionIds.size() - 1 );
+        }
+    }
+
+    /**
+     * Write the index file for the given log version, which will not be appended to anymore.
+     */
+    public synchronized void logFileSealed( long version ) throws IOException
+    {
+        if ( version == currentVersion && !transactionIds.isEmpty() )
+        {
+            int count = transactionIds.size();
+            ByteBuffer buffer = ByteBuffer.allocate( HEADER_SIZE + count * ENTRY_SIZE );
+            buffer.putInt( count );
+            for ( int i = 0; i < count; i++ )
+            {
+                buffer.putLong( transactionIds.get( i ) );
+                buffer.putLong( offsets.get( i ) );
+            }
+            buffer.flip();
+            try ( StoreChannel channel = fileSystem.write( indexFileForVersion( version ) ) )
+            {
+                channel.writeAll( buffer );
+                channel.truncate( buffer.limit() );
+                channel.force( false );
+            }
+        }
+        reset( version + 1 );
+    }
+
+    /**
+     * Find the position of the closest indexed transaction at or before the given transaction, in the sealed log file of the given version.
+     *
+     * @return position to start looking for the transaction from, or {@code null} if the index has no such position.
+     */
+    public LogPosition lookup( long version, long transactionId )
+    {
+        Path indexFile = indexFileForVersion( version );
+        try
+        {
+            if ( !fileSystem.fileExists( indexFile ) )
+            {
+                return null;
+            }
+            long size = fileSystem.getFileSize( indexFile );
+            if ( size < HEADER_SIZE || size > Integer.MAX_VALUE )
+            {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate( (int) size );
+            try ( StoreChannel channel = fileSystem.read( indexFile ) )
+            {
+                channel.readAll( buffer );
+            }
+            buffer.flip();
+            int count = buffer.getInt();
+            if ( count <= 0 || size != HEADER_SIZE + (long) count * ENTRY_SIZE )
+            {
+                return null;
+            }
+            return floor( buffer, count, version, transactionId );
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Delete the index file of the given log version, if there is one.
+     */
+    public void delete( long version ) throws IOException
+    {
+        Path indexFile = indexFileForVersion( version );
+        if ( fileSystem.fileExists( indexFile ) )
+        {
+            fileSystem.deleteFile( indexFile );
+        }
+    }
+
+    /**
+     * @return whether the given file is an index file of transaction log files with the default name.
+     */
+    public static boolean isDefaultIndexFile( Path path )
+    {
+        return DEFAULT_INDEX_FILE_NAME.matcher( path.getFileName().toString() ).matches();
+    }
+
+    Path indexFileForVersion( long version )
+    {
+        return Path.of( logBaseName.toAbsolutePath() + "." + version );
+    }
+
+    private static LogPosition floor( ByteBuffer buffer, int count, long version, long transactionId )
+    {
+        int low = 0;
+        int high = count - 1;
+        int found = -1;
+        while ( low <= high )
+        {
+            int mid = (low + high) >>> 1;
+            long midTransactionId = buffer.getLong( HEADER_SIZE + mid * ENTRY_SIZE );
+            if ( midTransactionId <= transactionId )
+            {
+                found = mid;
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid - 1;
+            }
+        }
+        return found == -1 ? null : new LogPosition( version, buffer.getLong( HEADER_SIZE + found * ENTRY_SIZE + Long.BYTES ) );
+    }
+
+    private void reset( long version )
+    {
+        currentVersion = version;
+        transactionIds.clear();
+        offsets.clear();
+    }
+}
@@ -161,7 +161,11 @@ public class LogPruningImpl implements LogPruning
             Path logFilePath = logFile.getLogFileForVersion( version );
             try
             {
-                fs.deleteFile( logFilePath );
+                if ( !logFile.getLogFileRecycler().recycle( logFilePath ) )
+                {
+                    fs.deleteFile( logFilePath );
+                }
+                logFile.getTransactionPositionIndex().delete( version );
             }
             catch ( IOException e )
             {
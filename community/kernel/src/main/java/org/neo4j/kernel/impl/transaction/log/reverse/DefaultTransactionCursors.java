@@ -22,9 +22,9 @@ package org.neo4j.kernel.impl.transaction.log.reverse;
 import java.io.IOException;
 import java.util.Optional;
 
+import org.neo4j.io.fs.PositionableChannel;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionCursor;
-import org.neo4j.kernel.impl.transaction.log.ReadAheadLogChannel;
 import org.neo4j.kernel.impl.transaction.log.ReadableLogChannel;
 import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
@@ -77,9 +77,9 @@ public class DefaultTransactionCursors implements TransactionCursors
 
     private TransactionCursor createCursor( ReadableLogChannel channel ) throws IOException
     {
-        if ( channel instanceof ReadAheadLogChannel )
+        if ( channel instanceof PositionableChannel )
         {
-            return new ReversedSingleFileTransactionCursor( (ReadAheadLogChannel) channel, reader, failOnCorruptedLogFiles, monitor );
+            return new ReversedSingleFileTransactionCursor( channel, reader, failOnCorruptedLogFiles, monitor );
         }
         return eagerlyReverse( new PhysicalTransactionCursor( channel, reader ) );
     }
@@ -26,9 +26,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 
+import org.neo4j.io.fs.PositionableChannel;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionCursor;
-import org.neo4j.kernel.impl.transaction.log.ReadAheadLogChannel;
 import org.neo4j.kernel.impl.transaction.log.ReadableLogChannel;
 import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
@@ -88,9 +88,9 @@ public class PrefetchedTransactionCursors implements TransactionCursors
             {
                 LogPosition position = currentVersion > beginning.getLogVersion() ? logFile.extractHeader( currentVersion ).getStartPosition() : beginning;
                 ReadableLogChannel channel = logFile.getReader( position, NO_MORE_CHANNELS );
-                if ( channel instanceof ReadAheadLogChannel )
+                if ( channel instanceof PositionableChannel )
                 {
-                    cursors.put( new ReversedSingleFileTransactionCursor( (ReadAheadLogChannel) channel, reader, failOnCorruptedLogFiles, monitor ) );
+                    cursors.put( new ReversedSingleFileTransactionCursor( channel, reader, failOnCorruptedLogFiles, monitor ) );
                 }
                 else
                 {
@@ -24,12 +24,15 @@ import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Deque;
 
+import org.neo4j.io.fs.PositionableChannel;
 import org.neo4j.io.fs.ReadAheadChannel;
 import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.LogPositionMarker;
 import org.neo4j.kernel.impl.transaction.log.LogVersionBridge;
 import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.ReadAheadLogChannel;
+import org.neo4j.kernel.impl.transaction.log.ReadableLogChannel;
 import org.neo4j.kernel.impl.transaction.log.SketchingTransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
@@ -43,7 +46,10 @@ import org.neo4j.kernel.impl.transaction.log.entry.UnsupportedLogVersionExceptio
  * per chunk "move". This is all internal, so from the outside it simply reverses a transaction log.
  * The memory overhead compared to reading a log in the natural order is almost negligible.
  *
- * This cursor currently only works for a single log file, such that the given {@link ReadAheadLogChannel} should not be
+ * The channel must also be a {@link PositionableChannel}, which both {@link ReadAheadLogChannel} and
+ * {@link org.neo4j.kernel.impl.transaction.log.MappedLogChannel} are.
+ *
+ * This cursor currently only works for a single log file, such that the given channel should not be
  * instantiated with a {@link LogVersionBridge} moving it over to other versions when exhausted. For reversing a whole
  * log stream consisting of multiple log files have a look at {@link ReversedMultiFileTransactionCursor}.
  *
@@ -66,7 +72,9 @@ public class ReversedSingleFileTransactionCursor implements TransactionCursor
     // Should this be passed in or extracted from the read-ahead channel instead?
     private static final int CHUNK_SIZE = ReadAheadChannel.DEFAULT_READ_AHEAD_SIZE;
 
-    private final ReadAheadLogChannel channel;
+    private final ReadableLogChannel channel;
+    private final PositionableChannel positionableChannel;
+    private final LogPositionMarker positionMarker = new LogPositionMarker();
     private final boolean failOnCorruptedLogFiles;
     private final ReversedTransactionCursorMonitor monitor;
     private final TransactionCursor transactionCursor;
@@ -80,10 +88,11 @@ public class ReversedSingleFileTransactionCursor implements TransactionCursor
     private int chunkStartOffsetIndex;
     private long totalSize;
 
-    ReversedSingleFileTransactionCursor( ReadAheadLogChannel channel, LogEntryReader logEntryReader, boolean failOnCorruptedLogFiles,
+    ReversedSingleFileTransactionCursor( ReadableLogChannel channel, LogEntryReader logEntryReader, boolean failOnCorruptedLogFiles,
             ReversedTransactionCursorMonitor monitor ) throws IOException
     {
         this.channel = channel;
+        this.positionableChannel = (PositionableChannel) channel;
         this.failOnCorruptedLogFiles = failOnCorruptedLogFiles;
         this.monitor = monitor;
         // There's an assumption here: that the underlying channel can move in between calls and that the
@@ -101,7 +110,7 @@ public class ReversedSingleFileTransactionCursor implements TransactionCursor
         int offsetCursor = 0;
 
         long logVersion = channel.getVersion();
-        long startOffset = channel.position();
+        long startOffset = channelOffset();
         try
         {
             while ( sketchingCursor.next() )
@@ -111,7 +120,7 @@ public class ReversedSingleFileTransactionCursor implements TransactionCursor
                     offsets = Arrays.copyOf( offsets, offsetCursor * 2 );
                 }
                 offsets[offsetCursor++] = startOffset;
-                startOffset = channel.position();
+                startOffset = channelOffset();
             }
         }
         catch ( IOException | UnsupportedLogVersionException e )
@@ -131,7 +140,7 @@ public class ReversedSingleFileTransactionCursor implements TransactionCursor
 
         offsetsLength = offsetCursor;
         chunkStartOffsetIndex = offsetCursor;
-        totalSize = channel.position();
+        totalSize = channelOffset();
 
         return offsets;
     }
@@ -172,7 +181,7 @@ public class ReversedSingleFileTransactionCursor implements TransactionCursor
         // chunk into actual transaction objects
         int chunkLength = chunkStartOffsetIndex - newLowOffsetIndex;
         chunkStartOffsetIndex = newLowOffsetIndex;
-        channel.setCurrentPosition( offsets[chunkStartOffsetIndex] );
+        positionableChannel.setCurrentPosition( offsets[chunkStartOffsetIndex] );
         assert chunkTransactions.isEmpty();
         for ( int i = 0; i < chunkLength; i++ )
         {
@@ -183,6 +192,11 @@ public class ReversedSingleFileTransactionCursor implements TransactionCursor
         }
     }
 
+    private long channelOffset() throws IOException
+    {
+        return channel.getCurrentPosition( positionMarker ).getByteOffset();
+    }
+
     private boolean currentChunkExhausted()
     {
         return chunkTransactions.isEmpty();
@@ -25,9 +25,11 @@ import java.util.function.Consumer;
 
 import org.neo4j.common.DependencyResolver;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexProviderDescriptor;
+import org.neo4j.internal.schema.IndexType;
 import org.neo4j.kernel.api.impl.fulltext.FulltextIndexProvider;
 import org.neo4j.kernel.api.impl.schema.TextIndexProvider;
 import org.neo4j.kernel.api.index.IndexProvider;
@@ -37,6 +39,7 @@ import org.neo4j.kernel.impl.index.schema.GenericNativeIndexProvider;
 import org.neo4j.kernel.impl.index.schema.PointIndexProvider;
 import org.neo4j.kernel.impl.index.schema.RangeIndexProvider;
 import org.neo4j.kernel.impl.index.schema.TokenIndexProvider;
+import org.neo4j.kernel.impl.index.schema.TrigramIndexProvider;
 import org.neo4j.kernel.impl.index.schema.fusion.FusionIndexProvider;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 
@@ -54,14 +57,17 @@ public class StaticIndexProviderMap extends LifecycleAdapter implements IndexPro
     private final IndexProvider fulltextIndexProvider;
     private final IndexProvider rangeIndexProvider;
     private final IndexProvider pointIndexProvider;
+    private final IndexProvider trigramIndexProvider;
     private final Config config;
     private final DependencyResolver dependencies;
     private volatile IndexProvider defaultIndexProvider;
+    private volatile IndexProvider defaultTextIndexProvider;
 
     public StaticIndexProviderMap( TokenIndexProvider tokenIndexProvider, GenericNativeIndexProvider btreeIndexProvider,
                                    FusionIndexProvider fusionIndexProvider, TextIndexProvider textIndexProvider,
                                    FulltextIndexProvider fulltextIndexProvider, RangeIndexProvider rangeIndexProvider,
-                                   PointIndexProvider pointIndexProvider, Config config, DependencyResolver dependencies )
+                                   PointIndexProvider pointIndexProvider, TrigramIndexProvider trigramIndexProvider, Config config,
+                                   DependencyResolver dependencies )
     {
         this.tokenIndexProvider = tokenIndexProvider;
         this.btreeIndexProvider = btreeIndexProvider;
@@ -70,6 +76,7 @@ public class StaticIndexProviderMap extends LifecycleAdapter implements IndexPro
         this.fulltextIndexProvider = fulltextIndexProvider;
         this.rangeIndexProvider = rangeIndexProvider;
         this.pointIndexProvider = pointIndexProvider;
+        this.trigramIndexProvider = trigramIndexProvider;
         this.config = config;
         this.dependencies = dependencies;
     }
@@ -84,8 +91,10 @@ public class StaticIndexProviderMap extends LifecycleAdapter implements IndexPro
         add( fulltextIndexProvider );
         add( rangeIndexProvider );
         add( pointIndexProvider );
+        add( trigramIndexProvider );
         dependencies.resolveTypeDependencies( IndexProvider.class ).forEach( this::add );
         this.defaultIndexProvider = selectDefaultProvider( config );
+        this.defaultTextIndexProvider = selectDefaultTextProvider( config );
     }
 
     @Override
@@ -109,7 +118,7 @@ public class StaticIndexProviderMap extends LifecycleAdapter implements IndexPro
     @Override
     public IndexProvider getTextIndexProvider()
     {
-        return textIndexProvider;
+        return defaultTextIndexProvider;
     }
 
     @Override
@@ -190,4 +199,22 @@ public class StaticIndexProviderMap extends LifecycleAdapter implements IndexPro
         }
         return btreeIndexProvider;
     }
+
+    private IndexProvider selectDefaultTextProvider( Config config )
+    {
+        if ( config.isExplicitlySet( GraphDatabaseInternalSettings.default_text_provider ) )
+        {
+            var providerName = config.get( GraphDatabaseInternalSettings.default_text_provider );
+            var configuredTextProvider = indexProvidersByName.get( providerName );
+            requireNonNull( configuredTextProvider,
+                            () -> format( "Configured default text provider: `%s` not found. Available index providers: %s.", providerName,
+                                          indexProvidersByName.keySet() ) );
+            if ( configuredTextProvider.getIndexType() != IndexType.TEXT )
+            {
+                throw new IllegalArgumentException( format( "Configured default text provider: `%s` does not provide text indexes.", providerName ) );
+            }
+            return configuredTextProvider;
+        }
+        return textIndexProvider;
+    }
 }
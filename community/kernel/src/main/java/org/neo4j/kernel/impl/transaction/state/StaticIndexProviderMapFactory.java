@@ -35,6 +35,7 @@ import org.neo4j.kernel.impl.index.schema.PointIndexProviderFactory;
 import org.neo4j.kernel.impl.index.schema.RangeIndexProviderFactory;
 import org.neo4j.kernel.impl.index.schema.TextIndexProviderFactory;
 import org.neo4j.kernel.impl.index.schema.TokenIndexProviderFactory;
+import org.neo4j.kernel.impl.index.schema.TrigramIndexProviderFactory;
 import org.neo4j.kernel.impl.index.schema.fusion.NativeLuceneFusionIndexProviderFactory30;
 import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.logging.internal.LogService;
@@ -90,7 +91,11 @@ public class StaticIndexProviderMapFactory
                 pageCache, fs, logService, monitors, databaseConfig, readOnlyChecker, dbmsInfo,
                 recoveryCleanupWorkCollector, pageCacheTracer, databaseLayout, tokenHolders, scheduler ) );
 
+        var trigramIndexProvider = life.add( new TrigramIndexProviderFactory().create(
+                pageCache, fs, logService, monitors, databaseConfig, readOnlyChecker, dbmsInfo,
+                recoveryCleanupWorkCollector, pageCacheTracer, databaseLayout, tokenHolders, scheduler ) );
+
         return new StaticIndexProviderMap( tokenIndexProvider, nativeIndexProvider, fusionIndexProvider, textIndexProvider, fulltextIndexProvider,
-                                           rangeIndexProvider, pointIndexProvider, databaseConfig, dependencies );
+                                           rangeIndexProvider, pointIndexProvider, trigramIndexProvider, databaseConfig, dependencies );
     }
 }
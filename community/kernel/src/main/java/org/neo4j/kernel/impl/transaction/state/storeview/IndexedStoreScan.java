@@ -74,4 +74,10 @@ public class IndexedStoreScan implements StoreScan
     {
         delegate.setPhaseTracker( phaseTracker );
     }
+
+    @Override
+    public void resumeAfter( long entityId )
+    {
+        delegate.resumeAfter( entityId );
+    }
 }
@@ -71,6 +71,8 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
     protected final TokenScanConsumer tokenScanConsumer;
     protected final PropertyScanConsumer propertyScanConsumer;
     private volatile StoreScanStage<CURSOR> stage;
+    // entities with ids up to and including this one are skipped, see #resumeAfter
+    private long resumeAfterEntityId = -1;
 
     protected PropertyAwareEntityStoreScan( Config config, StorageReader storageReader, Function<CursorContext,StoreCursors> storeCursorsFactory,
             long totalEntityCount, int[] entityTokenIdFilter, IntPredicate propertyKeyIdFilter, PropertyScanConsumer propertyScanConsumer,
@@ -100,9 +102,9 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
         try
         {
             continueScanning.set( true );
-            stage = new StoreScanStage<>( dbConfig, Configuration.DEFAULT, this::getEntityIdIterator, externalUpdatesCheck, continueScanning, storageReader,
-                    storeCursorsFactory, entityTokenIdFilter, propertyKeyIdFilter, propertyScanConsumer, tokenScanConsumer, cursorBehaviour, lockFunction,
-                    parallelWrite, scheduler, cacheTracer, memoryTracker );
+            stage = new StoreScanStage<>( dbConfig, Configuration.DEFAULT, this::resumableEntityIdIterator, externalUpdatesCheck, continueScanning,
+                    storageReader, storeCursorsFactory, entityTokenIdFilter, propertyKeyIdFilter, propertyScanConsumer, tokenScanConsumer, cursorBehaviour,
+                    lockFunction, parallelWrite, scheduler, cacheTracer, memoryTracker );
             superviseDynamicExecution( INVISIBLE, stage );
             stage.reportTo( phaseTracker );
         }
@@ -137,11 +139,60 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
         this.phaseTracker = phaseTracker;
     }
 
+    @Override
+    public void resumeAfter( long entityId )
+    {
+        this.resumeAfterEntityId = entityId;
+    }
+
     public EntityIdIterator getEntityIdIterator( CursorContext cursorContext, StoreCursors storeCursors )
     {
         return new CursorEntityIdIterator<>( cursorBehaviour.allocateEntityScanCursor( cursorContext, storeCursors ) );
     }
 
+    private EntityIdIterator resumableEntityIdIterator( CursorContext cursorContext, StoreCursors storeCursors )
+    {
+        EntityIdIterator entityIdIterator = getEntityIdIterator( cursorContext, storeCursors );
+        return resumeAfterEntityId < 0 ? entityIdIterator : new SkippingEntityIdIterator( entityIdIterator, resumeAfterEntityId );
+    }
+
+    /**
+     * Skips the ids of entities that were processed before the scan was resumed. Entity ids are iterated in ascending order so those are exactly
+     * the ids up to and including the id the scan is resumed after. Skipped entities are still iterated, but their properties are never read.
+     */
+    static class SkippingEntityIdIterator extends AbstractPrimitiveLongBaseResourceIterator implements EntityIdIterator
+    {
+        private final EntityIdIterator delegate;
+        private final long skipUpToEntityId;
+
+        SkippingEntityIdIterator( EntityIdIterator delegate, long skipUpToEntityId )
+        {
+            super( delegate::close );
+            this.delegate = delegate;
+            this.skipUpToEntityId = skipUpToEntityId;
+        }
+
+        @Override
+        public void invalidateCache()
+        {
+            delegate.invalidateCache();
+        }
+
+        @Override
+        protected boolean fetchNext()
+        {
+            while ( delegate.hasNext() )
+            {
+                long entityId = delegate.next();
+                if ( entityId > skipUpToEntityId )
+                {
+                    return next( entityId );
+                }
+            }
+            return false;
+        }
+    }
+
     static class CursorEntityIdIterator<CURSOR extends StorageEntityScanCursor<?>> extends AbstractPrimitiveLongBaseResourceIterator
             implements EntityIdIterator
     {
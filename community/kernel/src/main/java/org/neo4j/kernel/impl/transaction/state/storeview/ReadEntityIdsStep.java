@@ -71,7 +71,13 @@ public class ReadEntityIdsStep extends PullingProducerStep<ReadEntityIdsStep.Rea
     @Override
     protected Object nextBatchOrNull( long ticket, int batchSize, ReadEntityProcessContext processContext )
     {
-        if ( !continueScanning.get() || !processContext.entityIdIterator.hasNext() )
+        if ( !continueScanning.get() )
+        {
+            awaitIdle();
+            externalUpdatesCheck.scanStopped( lastEntityId );
+            return null;
+        }
+        if ( !processContext.entityIdIterator.hasNext() )
         {
             return null;
         }
@@ -93,17 +99,22 @@ public class ReadEntityIdsStep extends PullingProducerStep<ReadEntityIdsStep.Rea
     {
         if ( externalUpdatesCheck.needToApplyExternalUpdates() )
         {
-            // Block here until all batches that have been sent already have been fully processed by the downstream steps
-            // control.isIdle returns true when all steps in this processing stage have processed all batches they have received
-            for ( long i = 0; !control.isIdle(); i++ )
-            {
-                incrementalBackoff( i );
-            }
+            awaitIdle();
             externalUpdatesCheck.applyExternalUpdates( lastEntityId );
             entityIdIterator.invalidateCache();
         }
     }
 
+    private void awaitIdle()
+    {
+        // Block here until all batches that have been sent already have been fully processed by the downstream steps
+        // control.isIdle returns true when all steps in this processing stage have processed all batches they have received
+        for ( long i = 0; !control.isIdle(); i++ )
+        {
+            incrementalBackoff( i );
+        }
+    }
+
     private static void incrementalBackoff( long iteration ) throws AcquireLockTimeoutException
     {
         if ( iteration < 1000 )
@@ -56,4 +56,25 @@ public interface TransactionLogCounters
      * @return last append batch size
      */
     long lastTransactionLogAppendBatch();
+
+    /**
+     * Histogram of the number of transactions made durable by each force of the transaction log. Bucket {@code i} counts the forces of
+     * between {@code 2^i} and {@code 2^(i+1) - 1} transactions.
+     * @return batch size histogram
+     */
+    default long[] logForceBatchSizeHistogram()
+    {
+        return new long[0];
+    }
+
+    /**
+     * Histogram of the time, in microseconds, that each force of the transaction log waited for more transactions to join its batch.
+     * Bucket {@code i} counts the waits of between {@code 2^i} and {@code 2^(i+1) - 1} microseconds, bucket {@code 0} also counts the
+     * forces that did not wait.
+     * @return wait time histogram
+     */
+    default long[] logForceWaitMicrosHistogram()
+    {
+        return new long[0];
+    }
 }
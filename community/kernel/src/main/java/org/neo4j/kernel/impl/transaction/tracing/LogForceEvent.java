@@ -30,6 +30,16 @@ public interface LogForceEvent extends AutoCloseable
     {
     };
 
+    /**
+     * Called after a batch of committed transactions has been forced to the transaction log file.
+     *
+     * @param batchSize number of transactions made durable by the force.
+     * @param waitNanos time spent waiting for more transactions to join the batch before forcing.
+     */
+    default void batchForced( long batchSize, long waitNanos )
+    {
+    }
+
     /**
      * Marks the end of the force call on the transaction log file.
      */
@@ -30,6 +30,7 @@ import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.logging.Log;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
@@ -47,10 +48,27 @@ public class DefaultRecoveryService implements RecoveryService
     private final LogVersionRepository logVersionRepository;
     private final Log log;
     private final boolean doParallelRecovery;
+    private final int readAheadTransactions;
+    private final int applyBatchSize;
+    private final JobScheduler jobScheduler;
 
     DefaultRecoveryService( StorageEngine storageEngine, TransactionIdStore transactionIdStore,
             LogicalTransactionStore logicalTransactionStore, LogVersionRepository logVersionRepository, LogFiles logFiles,
             RecoveryStartInformationProvider.Monitor monitor, Log log, boolean doParallelRecovery )
+    {
+        this( storageEngine, transactionIdStore, logicalTransactionStore, logVersionRepository, logFiles, monitor, log, doParallelRecovery, 0, 1,
+                null );
+    }
+
+    /**
+     * @param readAheadTransactions number of transactions to read ahead of the one being recovered, on a separate thread, or 0 to not read ahead.
+     * @param applyBatchSize number of consecutive transactions to apply to the store together.
+     * @param jobScheduler scheduler of the thread that reads ahead, only used if {@code readAheadTransactions} is positive.
+     */
+    DefaultRecoveryService( StorageEngine storageEngine, TransactionIdStore transactionIdStore,
+            LogicalTransactionStore logicalTransactionStore, LogVersionRepository logVersionRepository, LogFiles logFiles,
+            RecoveryStartInformationProvider.Monitor monitor, Log log, boolean doParallelRecovery, int readAheadTransactions, int applyBatchSize,
+            JobScheduler jobScheduler )
     {
         this.storageEngine = storageEngine;
         this.transactionIdStore = transactionIdStore;
@@ -58,6 +76,9 @@ public class DefaultRecoveryService implements RecoveryService
         this.logVersionRepository = logVersionRepository;
         this.log = log;
         this.doParallelRecovery = doParallelRecovery;
+        this.readAheadTransactions = readAheadTransactions;
+        this.applyBatchSize = applyBatchSize;
+        this.jobScheduler = jobScheduler;
         this.recoveryStartInformationProvider = new RecoveryStartInformationProvider( logFiles, monitor );
     }
 
@@ -72,9 +93,10 @@ public class DefaultRecoveryService implements RecoveryService
     {
         if ( doParallelRecovery )
         {
-            return new ParallelRecoveryVisitor( storageEngine, mode, cacheTracer, tracerTag );
+            return new ParallelRecoveryVisitor( storageEngine, mode, cacheTracer, tracerTag, ParallelRecoveryVisitor.defaultNumberOfAppliers(),
+                    applyBatchSize );
         }
-        return new RecoveryVisitor( storageEngine, mode, cacheTracer, tracerTag );
+        return new RecoveryVisitor( storageEngine, mode, cacheTracer, tracerTag, applyBatchSize );
     }
 
     @Override
@@ -86,7 +108,12 @@ public class DefaultRecoveryService implements RecoveryService
     @Override
     public TransactionCursor getTransactions( LogPosition position ) throws IOException
     {
-        return logicalTransactionStore.getTransactions( position );
+        TransactionCursor transactions = logicalTransactionStore.getTransactions( position );
+        if ( readAheadTransactions > 0 )
+        {
+            return new ReadAheadTransactionCursor( transactions, readAheadTransactions, jobScheduler );
+        }
+        return transactions;
     }
 
     @Override
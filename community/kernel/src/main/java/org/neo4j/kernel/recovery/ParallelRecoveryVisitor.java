@@ -19,6 +19,10 @@
  */
 package org.neo4j.kernel.recovery;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -42,6 +46,12 @@ import static java.lang.Integer.max;
 import static org.neo4j.kernel.impl.transaction.log.Commitment.NO_COMMITMENT;
 import static org.neo4j.util.Preconditions.checkState;
 
+/**
+ * Applies recovered transactions on multiple threads. Transactions lock the entities they change in the order they were committed, so
+ * transactions that change the same entities are applied in that order while others are applied concurrently.
+ * <p>
+ * Consecutive transactions can be grouped into batches, which are locked and applied as one, to share the work done once per applied batch.
+ */
 final class ParallelRecoveryVisitor implements RecoveryApplier
 {
     private final AtomicLong prevLockedTxId = new AtomicLong( -1 );
@@ -52,14 +62,26 @@ final class ParallelRecoveryVisitor implements RecoveryApplier
     private final String tracerTag;
     private final ExecutorService appliers;
     private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    // Batches can complete out of order, so the ones after a gap are kept here, keyed by their first transaction's index, until the gap is filled
+    private final Map<Long,Integer> appliedBatches = new HashMap<>();
     private final int stride;
+    private final int batchSize;
+    private List<CommittedTransactionRepresentation> batch;
+    private long submittedTransactions;
+    private long appliedTransactions;
 
     ParallelRecoveryVisitor( StorageEngine storageEngine, TransactionApplicationMode mode, PageCacheTracer cacheTracer, String tracerTag )
     {
-        this( storageEngine, mode, cacheTracer, tracerTag, max( 1, Runtime.getRuntime().availableProcessors() - 1 ) );
+        this( storageEngine, mode, cacheTracer, tracerTag, defaultNumberOfAppliers() );
     }
 
     ParallelRecoveryVisitor( StorageEngine storageEngine, TransactionApplicationMode mode, PageCacheTracer cacheTracer, String tracerTag, int numAppliers )
+    {
+        this( storageEngine, mode, cacheTracer, tracerTag, numAppliers, 1 );
+    }
+
+    ParallelRecoveryVisitor( StorageEngine storageEngine, TransactionApplicationMode mode, PageCacheTracer cacheTracer, String tracerTag, int numAppliers,
+            int batchSize )
     {
         this.storageEngine = storageEngine;
         this.mode = mode;
@@ -68,6 +90,13 @@ final class ParallelRecoveryVisitor implements RecoveryApplier
         this.appliers = new ThreadPoolExecutor( numAppliers, numAppliers, 1, TimeUnit.HOURS, new ArrayBlockingQueue<>( numAppliers ),
                 new ThreadPoolExecutor.CallerRunsPolicy() );
         this.stride = mode == TransactionApplicationMode.REVERSE_RECOVERY ? -1 : 1;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>( batchSize );
+    }
+
+    static int defaultNumberOfAppliers()
+    {
+        return max( 1, Runtime.getRuntime().availableProcessors() - 1 );
     }
 
     @Override
@@ -78,29 +107,69 @@ final class ParallelRecoveryVisitor implements RecoveryApplier
         // We need to know the starting point for the "is it my turn yet?" check below that each thread needs to do before acquiring the locks
         prevLockedTxId.compareAndSet( -1, transaction.getCommitEntry().getTxId() - stride );
 
+        batch.add( transaction );
+        if ( batch.size() >= batchSize )
+        {
+            submitBatch();
+        }
+        return false;
+    }
+
+    private void submitBatch()
+    {
+        if ( batch.isEmpty() )
+        {
+            return;
+        }
+        List<CommittedTransactionRepresentation> transactions = batch;
+        batch = new ArrayList<>( batchSize );
+        long batchStart = submittedTransactions;
+        submittedTransactions += transactions.size();
+
         // TODO Also consider the memory usage of all active transaction instances and apply back-pressure if surpassing it
         appliers.submit( () ->
         {
-            long txId = transaction.getCommitEntry().getTxId();
-            while ( prevLockedTxId.get() != txId - stride )
+            long firstTxId = transactions.get( 0 ).getCommitEntry().getTxId();
+            long lastTxId = transactions.get( transactions.size() - 1 ).getCommitEntry().getTxId();
+            while ( prevLockedTxId.get() != firstTxId - stride )
             {
                 Thread.onSpinWait();
                 checkFailure();
             }
             try ( LockGroup locks = new LockGroup() )
             {
-                storageEngine.lockRecoveryCommands( transaction.getTransactionRepresentation(), lockService, locks, mode );
-                boolean myTurn = prevLockedTxId.compareAndSet( txId - stride, txId );
-                checkState( myTurn, "Something wrong with the algorithm, I thought it was my turn, but apparently it wasn't %d", txId );
-                apply( transaction );
+                for ( CommittedTransactionRepresentation transaction : transactions )
+                {
+                    storageEngine.lockRecoveryCommands( transaction.getTransactionRepresentation(), lockService, locks, mode );
+                }
+                boolean myTurn = prevLockedTxId.compareAndSet( firstTxId - stride, lastTxId );
+                checkState( myTurn, "Something wrong with the algorithm, I thought it was my turn, but apparently it wasn't %d", firstTxId );
+                apply( transactions );
             }
             catch ( Throwable e )
             {
                 failure.compareAndSet( null, e );
+                return null;
             }
+            batchApplied( batchStart, transactions.size() );
             return null;
         } );
-        return false;
+    }
+
+    private synchronized void batchApplied( long batchStart, int size )
+    {
+        appliedBatches.put( batchStart, size );
+        Integer nextBatchSize;
+        while ( (nextBatchSize = appliedBatches.remove( appliedTransactions )) != null )
+        {
+            appliedTransactions += nextBatchSize;
+        }
+    }
+
+    @Override
+    public synchronized long appliedTransactions()
+    {
+        return appliedTransactions;
     }
 
     private void checkFailure() throws Exception
@@ -113,23 +182,41 @@ final class ParallelRecoveryVisitor implements RecoveryApplier
         }
     }
 
-    private void apply( CommittedTransactionRepresentation transaction ) throws Exception
+    private void apply( List<CommittedTransactionRepresentation> transactions ) throws Exception
     {
         try ( CursorContext cursorContext = new CursorContext( cacheTracer.createPageCursorTracer( tracerTag ) );
               var storeCursors = storageEngine.createStorageCursors( cursorContext ) )
         {
-            TransactionRepresentation txRepresentation = transaction.getTransactionRepresentation();
-            long txId = transaction.getCommitEntry().getTxId();
-            TransactionToApply tx = new TransactionToApply( txRepresentation, txId, cursorContext, storeCursors );
-            tx.commitment( NO_COMMITMENT, txId );
-            tx.logPosition( transaction.getStartEntry().getStartPosition() );
-            storageEngine.apply( tx, mode );
+            TransactionToApply first = null;
+            TransactionToApply last = null;
+            for ( CommittedTransactionRepresentation transaction : transactions )
+            {
+                TransactionRepresentation txRepresentation = transaction.getTransactionRepresentation();
+                long txId = transaction.getCommitEntry().getTxId();
+                TransactionToApply tx = new TransactionToApply( txRepresentation, txId, cursorContext, storeCursors );
+                tx.commitment( NO_COMMITMENT, txId );
+                tx.logPosition( transaction.getStartEntry().getStartPosition() );
+                if ( first == null )
+                {
+                    first = tx;
+                }
+                else
+                {
+                    last.next( tx );
+                }
+                last = tx;
+            }
+            storageEngine.apply( first, mode );
         }
     }
 
     @Override
     public void close() throws Exception
     {
+        if ( failure.get() == null )
+        {
+            submitBatch();
+        }
         appliers.shutdown();
         try
         {
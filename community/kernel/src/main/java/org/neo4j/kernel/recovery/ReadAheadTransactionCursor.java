@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+
+/**
+ * Reads transactions from another {@link TransactionCursor} on a separate thread, up to a given number of transactions ahead of the ones returned
+ * from this cursor. Reading a transaction includes verifying its checksum and decoding its commands, which then happens while the transactions
+ * before it are being applied.
+ * <p>
+ * Transactions and failures come out of this cursor in the same order as they would have from the wrapped cursor. A failure to read a
+ * transaction is thrown from the {@link #next()} call that would have returned it.
+ */
+final class ReadAheadTransactionCursor implements TransactionCursor
+{
+    private final TransactionCursor source;
+    private final BlockingQueue<ReadTransaction> transactions;
+    private final JobHandle<?> reader;
+    private volatile boolean closed;
+    private boolean exhausted;
+    private CommittedTransactionRepresentation current;
+    private LogPosition position;
+
+    ReadAheadTransactionCursor( TransactionCursor source, int readAheadTransactions, JobScheduler jobScheduler )
+    {
+        this.source = source;
+        this.transactions = new ArrayBlockingQueue<>( readAheadTransactions );
+        this.position = source.position();
+        this.reader = jobScheduler.schedule( Group.RECOVERY, this::readTransactions );
+    }
+
+    private void readTransactions()
+    {
+        ReadTransaction last;
+        try
+        {
+            while ( source.next() )
+            {
+                if ( !put( new ReadTransaction( source.get(), source.position(), null ) ) )
+                {
+                    return;
+                }
+            }
+            // No transaction means no more transactions, but the position can still have moved past entries that are not transactions
+            last = new ReadTransaction( null, source.position(), null );
+        }
+        catch ( Throwable t )
+        {
+            last = new ReadTransaction( null, null, t );
+        }
+        put( last );
+    }
+
+    private boolean put( ReadTransaction transaction )
+    {
+        try
+        {
+            while ( !closed )
+            {
+                if ( transactions.offer( transaction, 10, TimeUnit.MILLISECONDS ) )
+                {
+                    return true;
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean next() throws IOException
+    {
+        if ( exhausted )
+        {
+            return false;
+        }
+        ReadTransaction transaction;
+        try
+        {
+            transaction = transactions.take();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException( "Interrupted while waiting for the next transaction to be read", e );
+        }
+        if ( transaction.failure != null )
+        {
+            exhausted = true;
+            Exceptions.throwIfInstanceOf( transaction.failure, IOException.class );
+            Exceptions.throwIfUnchecked( transaction.failure );
+            throw new IOException( transaction.failure );
+        }
+        current = transaction.transaction;
+        position = transaction.position;
+        if ( current == null )
+        {
+            exhausted = true;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public CommittedTransactionRepresentation get()
+    {
+        return current;
+    }
+
+    @Override
+    public LogPosition position()
+    {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        closed = true;
+        try
+        {
+            // The reader can be in the middle of reading a transaction, which it must be done with before the source can be closed
+            reader.waitTermination( 1, TimeUnit.HOURS );
+        }
+        catch ( TimeoutException e )
+        {
+            throw new IllegalStateException( "Couldn't gracefully await the transaction log reader", e );
+        }
+        catch ( ExecutionException e )
+        {
+            // The reader passes on its failures through the queue, so this is not expected
+            throw new IOException( e.getCause() );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            transactions.clear();
+            source.close();
+        }
+    }
+
+    private static final class ReadTransaction
+    {
+        private final CommittedTransactionRepresentation transaction;
+        private final LogPosition position;
+        private final Throwable failure;
+
+        ReadTransaction( CommittedTransactionRepresentation transaction, LogPosition position, Throwable failure )
+        {
+            this.transaction = transaction;
+            this.position = position;
+            this.failure = failure;
+        }
+    }
+}
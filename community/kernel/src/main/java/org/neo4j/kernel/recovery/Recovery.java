@@ -473,6 +473,9 @@ public final class Recovery
 
         DatabaseSchemaState schemaState = new DatabaseSchemaState( logProvider );
         JobScheduler scheduler = recoveryLife.add( JobSchedulerFactory.createInitialisedScheduler() );
+        int indexCleanupParallelism = config.get( GraphDatabaseInternalSettings.index_cleanup_parallelism );
+        scheduler.setParallelism( INDEX_CLEANUP, indexCleanupParallelism );
+        scheduler.setParallelism( INDEX_CLEANUP_WORK, Runtime.getRuntime().availableProcessors() );
         DatabaseAvailabilityGuard guard = new RecoveryAvailabilityGuard( namedDatabaseId, clock, recoveryLog );
         recoveryLife.add( guard );
 
@@ -484,7 +487,8 @@ public final class Recovery
                 new DelegatingTokenHolder( new ReadOnlyTokenCreator(), TYPE_RELATIONSHIP_TYPE ) );
 
         RecoveryCleanupWorkCollector recoveryCleanupCollector = recoveryLife.add(
-                new GroupingRecoveryCleanupWorkCollector( scheduler, INDEX_CLEANUP, INDEX_CLEANUP_WORK, databaseLayout.getDatabaseName() ) );
+                new GroupingRecoveryCleanupWorkCollector( scheduler, INDEX_CLEANUP, INDEX_CLEANUP_WORK, databaseLayout.getDatabaseName(),
+                        indexCleanupParallelism ) );
 
         DatabaseExtensions extensions = recoveryLife.add( instantiateRecoveryExtensions( databaseLayout, fs, config, logService, databasePageCache, scheduler,
                                                                        DbmsInfo.TOOL, monitors, tokenHolders, recoveryCleanupCollector, readOnlyChecker,
@@ -535,18 +539,21 @@ public final class Recovery
                                                                                                 failOnCorruptedLogFiles, config );
 
         var transactionAppender =
-                createTransactionAppender( logFiles, metadataProvider, metadataCache, config, databaseHealth, scheduler, logProvider );
+                createTransactionAppender( logFiles, metadataProvider, metadataCache, config, databaseHealth, scheduler, logProvider, monitors );
 
         LifeSupport schemaLife = new LifeSupport();
         schemaLife.add( storageEngine.schemaAndTokensLifecycle() );
         schemaLife.add( indexingService );
 
         var doParallelRecovery = config.get( GraphDatabaseInternalSettings.do_parallel_recovery );
+        var readAheadTransactions = config.get( GraphDatabaseInternalSettings.recovery_read_ahead_transactions );
+        var applyBatchSize = config.get( GraphDatabaseInternalSettings.recovery_apply_batch_size );
         TransactionLogsRecovery transactionLogsRecovery =
                 transactionLogRecovery( fs, metadataProvider, monitors.newMonitor( RecoveryMonitor.class ),
                                         monitors.newMonitor( RecoveryStartInformationProvider.Monitor.class ), logFiles, storageEngine,
                                         transactionStore, metadataProvider, schemaLife, databaseLayout, failOnCorruptedLogFiles, recoveryLog,
-                                        startupChecker, tracers.getPageCacheTracer(), memoryTracker, doParallelRecovery, recoveryPredicate );
+                                        startupChecker, tracers.getPageCacheTracer(), memoryTracker, doParallelRecovery, readAheadTransactions,
+                                        applyBatchSize, scheduler, recoveryPredicate );
 
         CheckPointerImpl.ForceOperation forceOperation = new DefaultForceOperation( indexingService, storageEngine );
         var checkpointAppender = logFiles.getCheckpointFile().getCheckpointAppender();
@@ -615,10 +622,12 @@ public final class Recovery
             RecoveryMonitor recoveryMonitor, RecoveryStartInformationProvider.Monitor positionMonitor, LogFiles logFiles,
             StorageEngine storageEngine, LogicalTransactionStore logicalTransactionStore, LogVersionRepository logVersionRepository,
             Lifecycle schemaLife, DatabaseLayout databaseLayout, boolean failOnCorruptedLogFiles, Log log, RecoveryStartupChecker startupChecker,
-            PageCacheTracer pageCacheTracer, MemoryTracker memoryTracker, boolean doParallelRecovery, RecoveryPredicate recoveryPredicate )
+            PageCacheTracer pageCacheTracer, MemoryTracker memoryTracker, boolean doParallelRecovery, int readAheadTransactions, int applyBatchSize,
+            JobScheduler scheduler, RecoveryPredicate recoveryPredicate )
     {
         RecoveryService recoveryService = new DefaultRecoveryService( storageEngine, transactionIdStore, logicalTransactionStore,
-                                                                      logVersionRepository, logFiles, positionMonitor, log, doParallelRecovery );
+                                                                      logVersionRepository, logFiles, positionMonitor, log, doParallelRecovery,
+                                                                      readAheadTransactions, applyBatchSize, scheduler );
         CorruptedLogsTruncator logsTruncator =
                 new CorruptedLogsTruncator( databaseLayout.databaseDirectory(), logFiles, fileSystemAbstraction, memoryTracker );
         ProgressReporter progressReporter = new LogProgressReporter( log );
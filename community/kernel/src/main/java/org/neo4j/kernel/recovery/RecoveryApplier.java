@@ -27,4 +27,10 @@ import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
  */
 public interface RecoveryApplier extends Visitor<CommittedTransactionRepresentation,Exception>, AutoCloseable
 {
+    /**
+     * Visited transactions can be applied later, e.g. in batches or on other threads.
+     *
+     * @return number of the visited transactions, counted from the first one, that have all been applied to the store.
+     */
+    long appliedTransactions();
 }
@@ -37,13 +37,24 @@ final class RecoveryVisitor implements RecoveryApplier
     private final TransactionApplicationMode mode;
     private final CursorContext cursorContext;
     private final StoreCursors storeCursors;
+    private final int batchSize;
+    private TransactionToApply firstInBatch;
+    private TransactionToApply lastInBatch;
+    private int transactionsInBatch;
+    private long appliedTransactions;
 
     RecoveryVisitor( StorageEngine storageEngine, TransactionApplicationMode mode, PageCacheTracer cacheTracer, String tracerTag )
+    {
+        this( storageEngine, mode, cacheTracer, tracerTag, 1 );
+    }
+
+    RecoveryVisitor( StorageEngine storageEngine, TransactionApplicationMode mode, PageCacheTracer cacheTracer, String tracerTag, int batchSize )
     {
         this.storageEngine = storageEngine;
         this.mode = mode;
         this.cursorContext = new CursorContext( cacheTracer.createPageCursorTracer( tracerTag ) );
         this.storeCursors = storageEngine.createStorageCursors( cursorContext );
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -54,13 +65,52 @@ final class RecoveryVisitor implements RecoveryApplier
         var tx = new TransactionToApply( txRepresentation, txId, cursorContext, storeCursors );
         tx.commitment( NO_COMMITMENT, txId );
         tx.logPosition( transaction.getStartEntry().getStartPosition() );
-        storageEngine.apply( tx, mode );
+        if ( firstInBatch == null )
+        {
+            firstInBatch = tx;
+        }
+        else
+        {
+            lastInBatch.next( tx );
+        }
+        lastInBatch = tx;
+        if ( ++transactionsInBatch >= batchSize )
+        {
+            applyBatch();
+        }
         return false;
     }
 
+    private void applyBatch() throws Exception
+    {
+        if ( firstInBatch != null )
+        {
+            TransactionToApply batch = firstInBatch;
+            int batchSize = transactionsInBatch;
+            firstInBatch = null;
+            lastInBatch = null;
+            transactionsInBatch = 0;
+            storageEngine.apply( batch, mode );
+            appliedTransactions += batchSize;
+        }
+    }
+
+    @Override
+    public long appliedTransactions()
+    {
+        return appliedTransactions;
+    }
+
     @Override
-    public void close()
+    public void close() throws Exception
     {
-        closeAllUnchecked( storeCursors, cursorContext );
+        try
+        {
+            applyBatch();
+        }
+        finally
+        {
+            closeAllUnchecked( storeCursors, cursorContext );
+        }
     }
 }
@@ -20,6 +20,8 @@
 package org.neo4j.kernel.recovery;
 
 import java.nio.channels.ClosedByInterruptException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import org.neo4j.common.ProgressReporter;
 import org.neo4j.dbms.database.DatabaseStartAbortedException;
@@ -127,17 +129,19 @@ public class TransactionLogsRecovery extends LifecycleAdapter
                 schemaLife.init();
 
                 boolean fullRecovery = true;
-                try ( var transactionsToRecover = recoveryService.getTransactions( recoveryStartPosition );
-                        var recoveryVisitor = recoveryService.getRecoveryApplier( RECOVERY, pageCacheTracer, RECOVERY_TAG ) )
+                LogPosition endOfLogPosition = null;
+                var recoveryVisitor = recoveryService.getRecoveryApplier( RECOVERY, pageCacheTracer, RECOVERY_TAG );
+                var recoveredTransactions = new RecoveredTransactions( recoveryVisitor );
+                try ( recoveryVisitor; var transactionsToRecover = recoveryService.getTransactions( recoveryStartPosition ) )
                 {
                     while ( fullRecovery && transactionsToRecover.next() )
                     {
                         var nextTransaction = transactionsToRecover.get();
                         if ( !recoveryPredicate.test( nextTransaction ) )
                         {
-                            monitor.partialRecovery( recoveryPredicate, lastTransaction );
+                            monitor.partialRecovery( recoveryPredicate, recoveredTransactions.lastVisited );
                             fullRecovery = false;
-                            if ( lastTransaction == null )
+                            if ( recoveredTransactions.lastVisited == null )
                             {
                                 // First transaction after checkpoint failed predicate test
                                 // we can't always load transaction before checkpoint to check what values we had there since those logs may be pruned,
@@ -192,19 +196,26 @@ public class TransactionLogsRecovery extends LifecycleAdapter
                         else
                         {
                             recoveryStartupChecker.checkIfCanceled();
-                            long txId = nextTransaction.getCommitEntry().getTxId();
-                            recoveryVisitor.visit( nextTransaction );
-
-                            lastTransaction = nextTransaction;
-                            monitor.transactionRecovered( txId );
-                            numberOfRecoveredTransactions++;
-                            lastTransactionPosition = transactionsToRecover.position();
-                            recoveryToPosition = lastTransactionPosition;
-                            reportProgress();
+                            recoveredTransactions.visit( nextTransaction, transactionsToRecover.position() );
                         }
                     }
-                    recoveryToPosition = fullRecovery ? transactionsToRecover.position() : lastTransactionPosition;
+                    if ( fullRecovery )
+                    {
+                        endOfLogPosition = transactionsToRecover.position();
+                    }
                 }
+                finally
+                {
+                    // The applier can hold on to visited transactions until it closes, so only the ones it has applied by now are recovered
+                    recoveredTransactions.recordApplied();
+                    if ( recoveredTransactions.lastApplied != null )
+                    {
+                        lastTransaction = recoveredTransactions.lastApplied;
+                        lastTransactionPosition = recoveredTransactions.lastAppliedPosition;
+                        recoveryToPosition = lastTransactionPosition;
+                    }
+                }
+                recoveryToPosition = endOfLogPosition != null ? endOfLogPosition : lastTransactionPosition;
             }
             catch ( Error | ClosedByInterruptException | DatabaseStartAbortedException | RecoveryPredicateException e )
             {
@@ -256,6 +267,49 @@ public class TransactionLogsRecovery extends LifecycleAdapter
         progressReporter.progress( 1 );
     }
 
+    /**
+     * Transactions visited by a {@link RecoveryApplier}, which are reported as recovered once the applier has applied them.
+     */
+    private class RecoveredTransactions
+    {
+        private final RecoveryApplier applier;
+        private final Deque<CommittedTransactionRepresentation> pendingTransactions = new ArrayDeque<>();
+        private final Deque<LogPosition> pendingPositions = new ArrayDeque<>();
+        private long recorded;
+        private CommittedTransactionRepresentation lastVisited;
+        private CommittedTransactionRepresentation lastApplied;
+        private LogPosition lastAppliedPosition;
+
+        RecoveredTransactions( RecoveryApplier applier )
+        {
+            this.applier = applier;
+        }
+
+        void visit( CommittedTransactionRepresentation transaction, LogPosition positionAfter ) throws Exception
+        {
+            // Queued before visiting, since the applier can apply it right away
+            pendingTransactions.add( transaction );
+            pendingPositions.add( positionAfter );
+            applier.visit( transaction );
+            lastVisited = transaction;
+            recordApplied();
+        }
+
+        void recordApplied()
+        {
+            long applied = applier.appliedTransactions();
+            while ( recorded < applied )
+            {
+                lastApplied = pendingTransactions.poll();
+                lastAppliedPosition = pendingPositions.poll();
+                recorded++;
+                monitor.transactionRecovered( lastApplied.getCommitEntry().getTxId() );
+                numberOfRecoveredTransactions++;
+                reportProgress();
+            }
+        }
+    }
+
     private static long getNumberOfTransactionToRecover( RecoveryStartInformation recoveryStartInformation,
             CommittedTransactionRepresentation lastReversedTransaction )
     {
@@ -1248,7 +1248,7 @@ class IndexingServiceTest
         IndexingService indexingService = new IndexingService(
                 indexProxyCreator, indexProviderMap, indexMapReference, storeViewFactory, schemaRules,
                 samplingController, nameLookup, scheduler, null, logProvider, logProvider, monitor, mock( IndexStatisticsStore.class ),
-                PageCacheTracer.NULL, INSTANCE, "", writable(), Config.defaults() );
+                PageCacheTracer.NULL, INSTANCE, "", writable(), Config.defaults(), null );
         // and where index population starts
         indexingService.init();
 
@@ -1556,7 +1556,7 @@ class IndexingServiceTest
                 mock( IndexSamplingController.class ), nameLookup,
                 mock( JobScheduler.class ), mock( SchemaState.class ),
                 internalLogProvider, userLogProvider, IndexMonitor.NO_MONITOR, mock( IndexStatisticsStore.class ), PageCacheTracer.NULL, INSTANCE, "",
-                writable(), Config.defaults() );
+                writable(), Config.defaults(), null );
     }
 
     private static DependencyResolver buildIndexDependencies( IndexProvider... providers )
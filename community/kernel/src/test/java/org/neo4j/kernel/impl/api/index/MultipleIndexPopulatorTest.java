@@ -22,15 +22,19 @@ package org.neo4j.kernel.impl.api.index;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 import java.util.function.IntPredicate;
 
 import org.neo4j.common.EntityType;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexPrototype;
@@ -64,6 +68,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
@@ -595,6 +600,172 @@ class MultipleIndexPopulatorTest
         verify( indexUpdater, never() ).process( any(IndexEntryUpdate.class) );
     }
 
+    @Test
+    void shouldPopulateThroughPipelineWhenPipelined() throws Exception
+    {
+        // given
+        multipleIndexPopulator = pipelinedPopulator();
+        IndexPopulator populator1 = createIndexPopulator();
+        IndexPopulator populator2 = createIndexPopulator();
+        FlippableIndexProxy flipper1 = addPopulator( populator1, 1 ).flipper;
+        FlippableIndexProxy flipper2 = addPopulator( populator2, 2 ).flipper;
+        multipleIndexPopulator.create( NULL );
+        PropertyScanConsumer scanConsumer = createStoreScanAndCaptureConsumer();
+
+        // when
+        for ( long entityId = 0; entityId < 10; entityId++ )
+        {
+            PropertyScanConsumer.Batch batch = scanConsumer.newBatch();
+            batch.addRecord( entityId, new long[]{1, 2}, Map.of( 1, intValue( (int) entityId ), 2, intValue( (int) entityId ) ) );
+            batch.process();
+        }
+        multipleIndexPopulator.flipAfterStoreScan( false, NULL );
+
+        // then
+        verify( populator1, times( 10 ) ).add( anyCollection(), any() );
+        verify( populator2, times( 10 ) ).add( anyCollection(), any() );
+        verify( populator1 ).scanCompleted( any(), any(), any() );
+        verify( populator2 ).scanCompleted( any(), any(), any() );
+        verify( flipper1 ).flip( any( Callable.class ), any( FailedIndexProxyFactory.class ) );
+        verify( flipper2 ).flip( any( Callable.class ), any( FailedIndexProxyFactory.class ) );
+    }
+
+    @Test
+    void shouldOnlyCancelFailingPopulationWhenPipelined() throws Exception
+    {
+        // given
+        multipleIndexPopulator = pipelinedPopulator();
+        IndexPopulator populator1 = createIndexPopulator();
+        IndexPopulator populator2 = createIndexPopulator();
+        doThrow( getPopulatorException() ).when( populator2 ).add( anyCollection(), any() );
+        FlippableIndexProxy flipper1 = addPopulator( populator1, 1 ).flipper;
+        FlippableIndexProxy flipper2 = addPopulator( populator2, 2 ).flipper;
+        multipleIndexPopulator.create( NULL );
+        PropertyScanConsumer scanConsumer = createStoreScanAndCaptureConsumer();
+
+        // when
+        PropertyScanConsumer.Batch batch = scanConsumer.newBatch();
+        batch.addRecord( 0, new long[]{1, 2}, Map.of( 1, intValue( 0 ), 2, intValue( 0 ) ) );
+        batch.process();
+        multipleIndexPopulator.flipAfterStoreScan( false, NULL );
+
+        // then
+        verify( flipper1 ).flip( any( Callable.class ), any( FailedIndexProxyFactory.class ) );
+        verify( populator2 ).markAsFailed( contains( "something went wrong" ) );
+        verify( populator2, never() ).scanCompleted( any(), any(), any() );
+        verify( flipper2, never() ).flip( any( Callable.class ), any( FailedIndexProxyFactory.class ) );
+    }
+
+    @Test
+    void shouldGiveEveryIndexAtLeastOneWorkerWhenPipelined()
+    {
+        assertThat( IndexPopulationPipeline.workersPerIndex( 1, 8 ) ).isEqualTo( 8 );
+        assertThat( IndexPopulationPipeline.workersPerIndex( 3, 8 ) ).isEqualTo( 2 );
+        assertThat( IndexPopulationPipeline.workersPerIndex( 20, 8 ) ).isEqualTo( 1 );
+    }
+
+    @Test
+    void shouldResumeFromCheckpointWhenAllPopulatorsCanResume() throws Exception
+    {
+        // given
+        multipleIndexPopulator = checkpointingPopulator( 42 );
+        IndexPopulator populator1 = createIndexPopulator();
+        IndexPopulator populator2 = createIndexPopulator();
+        when( populator1.checkpointedEntityId( 42 ) ).thenReturn( 17L );
+        when( populator2.checkpointedEntityId( 42 ) ).thenReturn( 17L );
+        addPopulator( populator1, 1 );
+        addPopulator( populator2, 2 );
+
+        // when
+        multipleIndexPopulator.create( NULL );
+        multipleIndexPopulator.createStoreScan( PageCacheTracer.NULL );
+
+        // then
+        verify( populator1 ).resume();
+        verify( populator2 ).resume();
+        verify( populator1, never() ).create();
+        verify( populator2, never() ).create();
+        verify( actualStoreScan ).resumeAfter( 17 );
+    }
+
+    @Test
+    void shouldPopulateFromScratchWhenNotAllPopulatorsCanResumeFromSameCheckpoint() throws Exception
+    {
+        // given
+        multipleIndexPopulator = checkpointingPopulator( 42 );
+        IndexPopulator populator1 = createIndexPopulator();
+        IndexPopulator populator2 = createIndexPopulator();
+        IndexPopulator populator3 = createIndexPopulator();
+        when( populator1.checkpointedEntityId( 42 ) ).thenReturn( 17L );
+        when( populator2.checkpointedEntityId( 42 ) ).thenReturn( 17L );
+        when( populator3.checkpointedEntityId( 42 ) ).thenReturn( IndexPopulator.NO_CHECKPOINT );
+        addPopulator( populator1, 1 );
+        addPopulator( populator2, 2 );
+        addPopulator( populator3, 3 );
+
+        // when
+        multipleIndexPopulator.create( NULL );
+        multipleIndexPopulator.createStoreScan( PageCacheTracer.NULL );
+
+        // then
+        verify( populator1 ).create();
+        verify( populator2 ).create();
+        verify( populator3 ).create();
+        verify( populator1, never() ).resume();
+        verify( actualStoreScan, never() ).resumeAfter( anyLong() );
+    }
+
+    @Test
+    void shouldCheckpointPopulatorsWhenApplyingExternalUpdates() throws Exception
+    {
+        // given
+        multipleIndexPopulator = checkpointingPopulator( 42 );
+        IndexPopulator populator = createIndexPopulator();
+        when( populator.checkpointedEntityId( 42 ) ).thenReturn( IndexPopulator.NO_CHECKPOINT );
+        addPopulator( populator, 1 );
+        multipleIndexPopulator.create( NULL );
+
+        // when
+        Thread.sleep( 2 );
+        assertTrue( multipleIndexPopulator.needToApplyExternalUpdates() );
+        multipleIndexPopulator.applyExternalUpdates( 17 );
+
+        // then
+        verify( populator ).checkpoint( 17, 42 );
+    }
+
+    @Test
+    void shouldCheckpointPopulatorsWhereStoppedScanEnded() throws Exception
+    {
+        // given
+        multipleIndexPopulator = checkpointingPopulator( 42 );
+        IndexPopulator populator = createIndexPopulator();
+        when( populator.checkpointedEntityId( 42 ) ).thenReturn( IndexPopulator.NO_CHECKPOINT );
+        addPopulator( populator, 1 );
+        multipleIndexPopulator.create( NULL );
+
+        // when
+        multipleIndexPopulator.scanStopped( 23 );
+
+        // then
+        verify( populator ).checkpoint( 23, 42 );
+    }
+
+    @Test
+    void shouldNotCheckpointPopulatorsWhenStoppedScanEndedWithoutCheckpointing() throws Exception
+    {
+        // given
+        IndexPopulator populator = createIndexPopulator();
+        addPopulator( populator, 1 );
+        multipleIndexPopulator.create( NULL );
+
+        // when
+        multipleIndexPopulator.scanStopped( 23 );
+
+        // then
+        verify( populator, never() ).checkpoint( anyLong(), anyLong() );
+    }
+
     @Test
     void shouldStopStoreScanWhenLastPopulatorGetsDropped() throws FlipFailedKernelException
     {
@@ -627,6 +798,28 @@ class MultipleIndexPopulatorTest
         verify( actualStoreScan ).stop();
     }
 
+    private MultipleIndexPopulator pipelinedPopulator()
+    {
+        Config config = Config.defaults( GraphDatabaseInternalSettings.index_population_pipelined, true );
+        return new MultipleIndexPopulator( indexStoreView, NullLogProvider.getInstance(), EntityType.NODE, schemaState,
+                jobScheduler, tokens, PageCacheTracer.NULL, INSTANCE, "", AUTH_DISABLED, config );
+    }
+
+    private MultipleIndexPopulator checkpointingPopulator( long lastClosedTransactionId )
+    {
+        Config config = Config.defaults( GraphDatabaseInternalSettings.index_population_checkpoint_interval, Duration.ofMillis( 1 ) );
+        return new MultipleIndexPopulator( indexStoreView, NullLogProvider.getInstance(), EntityType.NODE, schemaState,
+                jobScheduler, tokens, PageCacheTracer.NULL, INSTANCE, "", AUTH_DISABLED, config, () -> lastClosedTransactionId );
+    }
+
+    private PropertyScanConsumer createStoreScanAndCaptureConsumer()
+    {
+        ArgumentCaptor<PropertyScanConsumer> consumer = ArgumentCaptor.forClass( PropertyScanConsumer.class );
+        multipleIndexPopulator.createStoreScan( PageCacheTracer.NULL );
+        verify( indexStoreView ).visitNodes( any(), any(), consumer.capture(), any(), anyBoolean(), anyBoolean(), any(), any() );
+        return consumer.getValue();
+    }
+
     private static IndexEntryUpdate<?> createIndexEntryUpdate( SchemaDescriptorSupplier schemaDescriptor )
     {
         return add( 1, schemaDescriptor, "theValue" );
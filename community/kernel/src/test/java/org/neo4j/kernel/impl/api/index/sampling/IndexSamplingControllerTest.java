@@ -56,6 +56,7 @@ import static org.neo4j.internal.kernel.api.InternalIndexState.POPULATING;
 import static org.neo4j.internal.schema.IndexPrototype.forSchema;
 import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
 import static org.neo4j.kernel.impl.api.index.TestIndexProviderDescriptor.PROVIDER_DESCRIPTOR;
+import static org.neo4j.kernel.impl.api.index.IndexSamplingMode.backgroundRebuildAll;
 import static org.neo4j.kernel.impl.api.index.IndexSamplingMode.backgroundRebuildUpdated;
 import static org.neo4j.kernel.impl.api.index.IndexSamplingMode.foregroundRebuildUpdated;
 import static org.neo4j.logging.LogAssertions.assertThat;
@@ -111,6 +112,41 @@ class IndexSamplingControllerTest
         verifyNoMoreInteractions( jobFactory, tracker );
     }
 
+    @Test
+    void shouldStartIncrementalSamplingJobForUpdatedIndexesWhenEnabled()
+    {
+        // given
+        when( samplingConfig.incrementalSampling() ).thenReturn( true );
+        when( jobFactory.createIncremental( indexId, indexProxy ) ).thenReturn( job );
+        IndexSamplingController controller = newSamplingController( always( false ), logProvider );
+        when( indexProxy.getState() ).thenReturn( ONLINE );
+
+        // when
+        controller.sampleIndexes( backgroundRebuildUpdated() );
+
+        // then
+        verify( jobFactory ).createIncremental( indexId, indexProxy );
+        verify( tracker ).scheduleSamplingJob( job );
+        verifyNoMoreInteractions( jobFactory, tracker );
+    }
+
+    @Test
+    void shouldStartFullSamplingJobWhenRebuildingAllIndexesEvenIfIncrementalIsEnabled()
+    {
+        // given
+        when( samplingConfig.incrementalSampling() ).thenReturn( true );
+        IndexSamplingController controller = newSamplingController( always( false ), logProvider );
+        when( indexProxy.getState() ).thenReturn( ONLINE );
+
+        // when
+        controller.sampleIndexes( backgroundRebuildAll() );
+
+        // then
+        verify( jobFactory ).create( indexId, indexProxy );
+        verify( tracker ).scheduleSamplingJob( job );
+        verifyNoMoreInteractions( jobFactory, tracker );
+    }
+
     @Test
     void shouldNotStartAJobIfTheIndexIsNotOnline()
     {
@@ -277,6 +313,28 @@ class IndexSamplingControllerTest
         verifyNoMoreInteractions( jobFactory, job, tracker );
     }
 
+    @Test
+    void shouldResampleOnlineIndexWithoutHistogramInBackground()
+    {
+        // given
+        final RecoveryCondition missingHistogram = descriptor -> descriptor.equals( indexProxy.getDescriptor() );
+        IndexSamplingController controller = newSamplingController( always( false ), missingHistogram, logProvider, Config.defaults() );
+        when( indexProxy.getState() ).thenReturn( ONLINE );
+        when( anotherIndexProxy.getState() ).thenReturn( ONLINE );
+        indexMap.putIndexProxy( anotherIndexProxy );
+        final JobHandle jobHandle = mock( JobHandle.class );
+        when( tracker.scheduleSamplingJob( any( IndexSamplingJob.class ) ) ).thenReturn( jobHandle );
+
+        // when
+        controller.recoverIndexSamples();
+
+        // then
+        verify( jobFactory ).create( indexId, indexProxy );
+        verify( tracker ).scheduleSamplingJob( job );
+        verify( jobFactory, never() ).create( anotherIndexId, anotherIndexProxy );
+        verifyNoMoreInteractions( jobHandle );
+    }
+
     @Test
     void shouldSampleIndex()
     {
@@ -384,9 +442,15 @@ class IndexSamplingControllerTest
     }
 
     private IndexSamplingController newSamplingController( RecoveryCondition recoveryPredicate, LogProvider logProvider, Config config )
+    {
+        return newSamplingController( recoveryPredicate, always( false ), logProvider, config );
+    }
+
+    private IndexSamplingController newSamplingController( RecoveryCondition recoveryPredicate, RecoveryCondition histogramPredicate,
+            LogProvider logProvider, Config config )
     {
         return new IndexSamplingController( samplingConfig, jobFactory, samplingUpdatePredicate, tracker, snapshotProvider, scheduler, recoveryPredicate,
-                logProvider, config, "Test DB" );
+                histogramPredicate, logProvider, config, "Test DB" );
     }
 
     private static class Always implements RecoveryCondition
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.internal.schema.SchemaDescriptorSupplier;
+import org.neo4j.kernel.api.index.IndexSample;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Percentage.withPercentage;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.storageengine.api.IndexEntryUpdate.add;
+import static org.neo4j.storageengine.api.IndexEntryUpdate.change;
+import static org.neo4j.storageengine.api.IndexEntryUpdate.remove;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+class IndexUpdateSketchTest
+{
+    private static final SchemaDescriptorSupplier SCHEMA = () -> forLabel( 1, 2 );
+
+    @Test
+    void shouldCountUpdatesByMode()
+    {
+        // given
+        IndexUpdateSketch sketch = new IndexUpdateSketch();
+
+        // when
+        sketch.include( add( 1, SCHEMA, intValue( 1 ) ) );
+        sketch.include( add( 2, SCHEMA, intValue( 2 ) ) );
+        sketch.include( change( 1, SCHEMA, intValue( 1 ), intValue( 3 ) ) );
+        sketch.include( remove( 2, SCHEMA, intValue( 2 ) ) );
+
+        // then
+        assertThat( sketch.includedUpdates() ).isEqualTo( 5 );
+        assertThat( sketch.distinctAddedValues() ).isEqualTo( 3 );
+    }
+
+    @Test
+    void shouldEstimateDistinctValues()
+    {
+        // given
+        IndexUpdateSketch sketch = new IndexUpdateSketch();
+        int distinct = 100_000;
+
+        // when
+        for ( int i = 0; i < distinct * 3; i++ )
+        {
+            sketch.include( add( i, SCHEMA, stringValue( "value-" + (i % distinct) ) ) );
+        }
+
+        // then
+        assertThat( sketch.distinctAddedValues() ).isCloseTo( distinct, withPercentage( 5 ) );
+    }
+
+    @Test
+    void shouldSeeCompositeValuesAsOneValue()
+    {
+        // given
+        IndexUpdateSketch sketch = new IndexUpdateSketch();
+        SchemaDescriptorSupplier compositeSchema = () -> forLabel( 1, 2, 3 );
+
+        // when
+        sketch.include( add( 1, compositeSchema, intValue( 1 ), intValue( 2 ) ) );
+        sketch.include( add( 2, compositeSchema, intValue( 1 ), intValue( 2 ) ) );
+        sketch.include( add( 3, compositeSchema, intValue( 2 ), intValue( 1 ) ) );
+
+        // then
+        assertThat( sketch.distinctAddedValues() ).isEqualTo( 2 );
+    }
+
+    @Test
+    void shouldMergeMostlyNewValuesIntoUniqueSample()
+    {
+        // given
+        IndexUpdateSketch sketch = new IndexUpdateSketch();
+        for ( int i = 0; i < 1_000; i++ )
+        {
+            sketch.include( add( i, SCHEMA, intValue( i ) ) );
+        }
+
+        // when
+        IndexSample merged = sketch.mergeInto( new IndexSample( 10_000, 10_000, 10_000, 1_000 ) );
+
+        // then
+        assertThat( merged.indexSize() ).isEqualTo( 11_000 );
+        assertThat( merged.sampleSize() ).isEqualTo( 11_000 );
+        assertThat( merged.uniqueValues() ).isCloseTo( 11_000L, withPercentage( 1 ) );
+        assertThat( merged.updates() ).isZero();
+    }
+
+    @Test
+    void shouldMergeMostlyDuplicateValuesIntoLowCardinalitySample()
+    {
+        // given
+        IndexUpdateSketch sketch = new IndexUpdateSketch();
+        for ( int i = 0; i < 1_000; i++ )
+        {
+            sketch.include( add( i, SCHEMA, intValue( i % 3 ) ) );
+        }
+        for ( int i = 0; i < 500; i++ )
+        {
+            sketch.include( remove( i, SCHEMA, intValue( i % 3 ) ) );
+        }
+
+        // when
+        IndexSample merged = sketch.mergeInto( new IndexSample( 10_000, 3, 10_000, 1_500 ) );
+
+        // then
+        assertThat( merged.indexSize() ).isEqualTo( 10_500 );
+        assertThat( merged.sampleSize() ).isEqualTo( 10_500 );
+        assertThat( merged.uniqueValues() ).isEqualTo( 3 );
+    }
+
+    @Test
+    void shouldScaleUpdatesToSampledPartOfIndex()
+    {
+        // given
+        IndexUpdateSketch sketch = new IndexUpdateSketch();
+        for ( int i = 0; i < 1_000; i++ )
+        {
+            sketch.include( add( i, SCHEMA, intValue( i ) ) );
+        }
+
+        // when
+        IndexSample merged = sketch.mergeInto( new IndexSample( 100_000, 10_000, 10_000, 1_000 ) );
+
+        // then
+        assertThat( merged.indexSize() ).isEqualTo( 101_000 );
+        assertThat( merged.sampleSize() ).isEqualTo( 10_100 );
+        assertThat( merged.uniqueValues() ).isCloseTo( 10_100L, withPercentage( 1 ) );
+    }
+
+    @Test
+    void shouldRemoveUniqueValuesForRemovedEntries()
+    {
+        // given
+        IndexUpdateSketch sketch = new IndexUpdateSketch();
+        for ( int i = 0; i < 1_000; i++ )
+        {
+            sketch.include( remove( i, SCHEMA, intValue( i ) ) );
+        }
+
+        // when
+        IndexSample merged = sketch.mergeInto( new IndexSample( 10_000, 10_000, 10_000, 1_000 ) );
+
+        // then
+        assertThat( merged.indexSize() ).isEqualTo( 9_000 );
+        assertThat( merged.sampleSize() ).isEqualTo( 9_000 );
+        assertThat( merged.uniqueValues() ).isEqualTo( 9_000 );
+    }
+
+    @Test
+    void shouldNotBeAcquiredOnceRetired()
+    {
+        // given
+        IndexUpdateSketch sketch = new IndexUpdateSketch();
+        assertThat( sketch.tryAcquire() ).isTrue();
+
+        // when
+        IndexUpdateSketch successor = sketch.retire();
+        sketch.include( add( 1, SCHEMA, intValue( 1 ) ) );
+        sketch.release();
+        sketch.awaitReleased();
+
+        // then
+        assertThat( sketch.tryAcquire() ).isFalse();
+        assertThat( successor.tryAcquire() ).isTrue();
+        assertThat( successor.updatesSinceFullSample() ).isEqualTo( 1 );
+    }
+
+    @Test
+    void successorShouldRememberMergedUpdates()
+    {
+        // given
+        IndexUpdateSketch sketch = new IndexUpdateSketch();
+        sketch.include( add( 1, SCHEMA, intValue( 1 ) ) );
+        sketch.include( add( 2, SCHEMA, intValue( 2 ) ) );
+
+        // when
+        IndexUpdateSketch successor = sketch.retire();
+        sketch.awaitReleased();
+        successor.include( remove( 1, SCHEMA, intValue( 1 ) ) );
+
+        // then
+        assertThat( successor.includedUpdates() ).isEqualTo( 1 );
+        assertThat( successor.updatesSinceFullSample() ).isEqualTo( 3 );
+        assertThat( successor.distinctAddedValues() ).isZero();
+    }
+}
@@ -25,10 +25,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import org.neo4j.index.internal.gbptree.TreeFileNotFoundException;
+import org.neo4j.internal.schema.SchemaDescriptorSupplier;
 import org.neo4j.internal.helpers.Exceptions;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
@@ -38,16 +42,20 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.api.exceptions.WriteOnReadOnlyAccessDbException;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.impl.api.index.sampling.IndexUpdateSketch;
 import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.test.Race;
 import org.neo4j.test.RandomSupport;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
 import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
 import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Values;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.annotations.documented.ReporterFactories.noopReporterFactory;
@@ -55,6 +63,7 @@ import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAM
 import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.readOnly;
 import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
 import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
 import static org.neo4j.test.Race.throwing;
 
 @EphemeralPageCacheExtension
@@ -95,6 +104,78 @@ class IndexStatisticsStoreTest
         return lifeSupport.add( statisticsStore );
     }
 
+    @Test
+    void shouldMergeUpdateSketchIntoSample()
+    {
+        // given
+        long indexId = 4;
+        store.replaceStats( indexId, new IndexSample( 100, 100, 100 ) );
+        SchemaDescriptorSupplier schema = () -> forLabel( 1, 2 );
+        for ( int i = 0; i < 10; i++ )
+        {
+            store.updateSketch( indexId ).include( IndexEntryUpdate.add( i, schema, Values.intValue( i ) ) );
+        }
+        store.incrementIndexUpdates( indexId, 10 );
+
+        // when
+        IndexSample merged = store.mergeUpdateSketch( indexId );
+
+        // then
+        assertEquals( new IndexSample( 110, 110, 110, 0 ), merged );
+        assertEquals( merged, store.indexSample( indexId ) );
+        assertEquals( 0, store.updateSketch( indexId ).includedUpdates() );
+        assertEquals( 10, store.updateSketch( indexId ).updatesSinceFullSample() );
+    }
+
+    @Test
+    void shouldMergeUpdatesOfUpdaterHoldingSketchWhenMergeStarted() throws Exception
+    {
+        // given
+        long indexId = 4;
+        store.replaceStats( indexId, new IndexSample( 100, 100, 100 ) );
+        SchemaDescriptorSupplier schema = () -> forLabel( 1, 2 );
+        IndexUpdateSketch held = store.acquireUpdateSketch( indexId );
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            // when
+            Future<IndexSample> merge = executor.submit( () -> store.mergeUpdateSketch( indexId ) );
+            while ( store.updateSketch( indexId ) == held )
+            {
+                Thread.onSpinWait();
+            }
+            held.include( IndexEntryUpdate.add( 1, schema, Values.intValue( 1 ) ) );
+            held.release();
+
+            // then
+            assertEquals( new IndexSample( 101, 101, 101, 0 ), merge.get() );
+            IndexUpdateSketch successor = store.acquireUpdateSketch( indexId );
+            assertNotSame( held, successor );
+            successor.release();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldResetUpdateSketchOnReplacedSample()
+    {
+        // given
+        long indexId = 4;
+        store.replaceStats( indexId, new IndexSample( 100, 100, 100 ) );
+        store.updateSketch( indexId ).include( IndexEntryUpdate.add( 1, () -> forLabel( 1, 2 ), Values.intValue( 1 ) ) );
+        store.mergeUpdateSketch( indexId );
+
+        // when
+        store.replaceStats( indexId, new IndexSample( 101, 101, 101 ) );
+
+        // then
+        assertEquals( 0, store.updateSketch( indexId ).updatesSinceFullSample() );
+    }
+
     @Test
     void tracePageCacheAccessOnConsistencyCheck() throws IOException
     {
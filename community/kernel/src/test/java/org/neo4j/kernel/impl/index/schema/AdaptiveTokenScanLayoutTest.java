@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.GBPTreeBuilder;
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.CursorException;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.storageengine.api.TokenIndexEntryUpdate;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.PageCacheExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+import static org.neo4j.collection.PrimitiveLongCollections.asArray;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.kernel.impl.index.schema.TokenScanValue.RANGE_SIZE;
+import static org.neo4j.kernel.impl.index.schema.TokenScanValueIterator.NO_ID;
+
+@ExtendWith( RandomExtension.class )
+@PageCacheExtension
+class AdaptiveTokenScanLayoutTest
+{
+    private final AdaptiveTokenScanLayout layout = new AdaptiveTokenScanLayout();
+
+    @Inject
+    private RandomSupport random;
+    @Inject
+    private PageCache pageCache;
+    @Inject
+    private TestDirectory directory;
+
+    private GBPTree<TokenScanKey,TokenScanValue> tree;
+
+    @BeforeEach
+    void openTree()
+    {
+        tree = new GBPTreeBuilder<>( pageCache, directory.file( "file" ), layout ).build();
+    }
+
+    @AfterEach
+    void closeTree() throws IOException
+    {
+        tree.close();
+    }
+
+    @Test
+    void shouldWriteAndReadKeys() throws CursorException
+    {
+        assertKeyRoundTrip( new TokenScanKey( 0, 0 ), 2 );
+        assertKeyRoundTrip( new TokenScanKey( 127, 127 ), 2 );
+        assertKeyRoundTrip( new TokenScanKey( 128, 2_000_000_000L / RANGE_SIZE ), 6 );
+        assertKeyRoundTrip( new TokenScanKey( Integer.MAX_VALUE, 0xFFFF_FFFF_FFFFL ), 12 );
+        for ( int i = 0; i < 1_000; i++ )
+        {
+            TokenScanKey key = new TokenScanKey( random.nextInt( Integer.MAX_VALUE ), random.nextLong( 0xFFFF_FFFF_FFFFL ) );
+            assertKeyRoundTrip( key, layout.keySize( key ) );
+        }
+    }
+
+    @Test
+    void shouldEncodeValuesCompactly()
+    {
+        assertValueRoundTrip( 0, 0 );
+        assertValueRoundTrip( -1L, 1 );
+        assertValueRoundTrip( 1L << 63, 1 );
+        assertValueRoundTrip( 0b101L, 2 );
+        assertValueRoundTrip( 0b11L << 62, 2 );
+        assertValueRoundTrip( 0xFF_FFFFL << 10, 2 );
+        assertValueRoundTrip( -1L >>> 1, 2 );
+        assertValueRoundTrip( -1L << 1, 2 );
+        assertValueRoundTrip( 0b1010_1010_1010_1L, 7 );
+        assertValueRoundTrip( 0b1010_1010_1010_101L, RANGE_SIZE / Byte.SIZE );
+        assertValueRoundTrip( 0x8000_0000_0000_0001L | 0xFL << 20, 6 );
+    }
+
+    @Test
+    void shouldWriteAndReadRandomValues()
+    {
+        for ( int i = 0; i < 10_000; i++ )
+        {
+            long bits = randomBits();
+            TokenScanValue value = new TokenScanValue();
+            value.bits = bits;
+            assertValueRoundTrip( bits, layout.valueSize( value ) );
+        }
+    }
+
+    @Test
+    void shouldAddAndRemoveTokensThroughChangingEncodings() throws Exception
+    {
+        // given
+        int nodeCount = 5_000;
+        int tokenCount = 3;
+        boolean[][] expected = new boolean[tokenCount][nodeCount];
+
+        // when
+        for ( int round = 0; round < 10; round++ )
+        {
+            try ( TokenIndexUpdater writer = new TokenIndexUpdater( 100, TokenIndex.EMPTY ) )
+            {
+                writer.initialize( tree.writer( NULL ) );
+                for ( int i = 0; i < nodeCount; i++ )
+                {
+                    // Skew towards dense at some point and sparse at others, so that values move between encodings
+                    int token = random.nextInt( tokenCount );
+                    boolean add = random.nextInt( 10 ) < (round % 2 == 0 ? 9 : 2);
+                    long nodeId = random.nextInt( nodeCount );
+                    if ( expected[token][(int) nodeId] != add )
+                    {
+                        expected[token][(int) nodeId] = add;
+                        long[] tokens = {token};
+                        writer.process( add ? TokenIndexEntryUpdate.change( nodeId, null, EMPTY_LONG_ARRAY, tokens )
+                                            : TokenIndexEntryUpdate.change( nodeId, null, tokens, EMPTY_LONG_ARRAY ) );
+                    }
+                }
+            }
+
+            // then
+            for ( int token = 0; token < tokenCount; token++ )
+            {
+                long[] actual = asArray( new TokenScanValueIterator(
+                        tree.seek( new TokenScanKey( token, 0 ), new TokenScanKey( token, Long.MAX_VALUE ), NULL ), NO_ID ) );
+                assertThat( actual ).containsExactly( expectedNodes( expected[token] ) );
+            }
+        }
+    }
+
+    private long randomBits()
+    {
+        switch ( random.nextInt( 5 ) )
+        {
+        case 0:
+            return random.nextLong();
+        case 1:
+            int from = random.nextInt( RANGE_SIZE );
+            int length = random.nextInt( RANGE_SIZE - from ) + 1;
+            return (-1L >>> (RANGE_SIZE - length)) << from;
+        default:
+            long bits = 0;
+            int count = random.nextInt( 10 );
+            for ( int i = 0; i < count; i++ )
+            {
+                bits |= 1L << random.nextInt( RANGE_SIZE );
+            }
+            return bits;
+        }
+    }
+
+    private static long[] expectedNodes( boolean[] nodes )
+    {
+        return IntStream.range( 0, nodes.length ).filter( i -> nodes[i] ).asLongStream().toArray();
+    }
+
+    private void assertKeyRoundTrip( TokenScanKey key, int expectedSize ) throws CursorException
+    {
+        assertThat( layout.keySize( key ) ).isEqualTo( expectedSize );
+        PageCursor cursor = ByteArrayPageCursor.wrap( 100 );
+        layout.writeKey( cursor, key );
+        assertThat( cursor.getOffset() ).isEqualTo( expectedSize );
+
+        cursor.setOffset( 0 );
+        TokenScanKey read = layout.newKey();
+        layout.readKey( cursor, read, expectedSize );
+        cursor.checkAndClearCursorException();
+        assertThat( layout.compare( key, read ) ).isZero();
+    }
+
+    private void assertValueRoundTrip( long bits, int expectedSize )
+    {
+        TokenScanValue value = new TokenScanValue();
+        value.bits = bits;
+        assertThat( layout.valueSize( value ) ).as( Long.toBinaryString( bits ) ).isEqualTo( expectedSize );
+        PageCursor cursor = ByteArrayPageCursor.wrap( 100 );
+        layout.writeValue( cursor, value );
+        assertThat( cursor.getOffset() ).isEqualTo( expectedSize );
+
+        cursor.setOffset( 0 );
+        TokenScanValue read = layout.newValue();
+        read.bits = 0xDEAD;
+        layout.readValue( cursor, read, expectedSize );
+        assertThat( read.bits ).as( Long.toBinaryString( bits ) ).isEqualTo( bits );
+    }
+}
@@ -250,6 +250,41 @@ class BlockStorageTest
         }
     }
 
+    @Test
+    void shouldResumeFromCheckpointAndDiscardEntriesAddedAfterIt() throws IOException
+    {
+        // given
+        int blockSize = 1_000;
+        List<BlockEntry<MutableLong,MutableLong>> checkpointedEntries;
+        BlockStorage.Checkpoint checkpoint;
+        try ( BlockStorage<MutableLong,MutableLong> storage = new BlockStorage<>( layout, heapBufferFactory( blockSize ), fileSystem, file, NO_MONITOR,
+                INSTANCE ) )
+        {
+            checkpointedEntries = addEntries( storage, 4 );
+            checkpoint = storage.checkpoint();
+            addEntries( storage, 3 );
+            storage.doneAdding();
+            storage.setDeleteOnClose( false );
+        }
+        assertEquals( 1, checkpoint.numberOfBlocks );
+        assertEquals( 4, checkpoint.entryCount );
+        assertThat( fileSystem.getFileSize( file ) ).isGreaterThan( checkpoint.position );
+
+        // when
+        try ( BlockStorage<MutableLong,MutableLong> storage = new BlockStorage<>( layout, heapBufferFactory( blockSize ), fileSystem, file, checkpoint,
+                NO_MONITOR, INSTANCE ) )
+        {
+            List<BlockEntry<MutableLong,MutableLong>> resumedEntries = addEntries( storage, 3 );
+            storage.doneAdding();
+
+            // then
+            assertContents( layout, storage, List.of( checkpointedEntries, resumedEntries ) );
+            storage.merge( 2, NOT_CANCELLABLE );
+            assertContents( layout, storage, asOneBigBlock( List.of( checkpointedEntries, resumedEntries ) ) );
+        }
+        assertFalse( fileSystem.fileExists( file ) );
+    }
+
     @Test
     void shouldNotAcceptAddedEntriesAfterDoneAdding() throws IOException
     {
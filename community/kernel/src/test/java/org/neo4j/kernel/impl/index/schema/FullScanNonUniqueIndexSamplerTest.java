@@ -33,6 +33,7 @@ import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexHistogram;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettings;
 import org.neo4j.test.utils.TestDirectory;
@@ -40,6 +41,7 @@ import org.neo4j.values.storable.NumberValue;
 import org.neo4j.values.storable.RandomValues;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueType;
+import org.neo4j.values.storable.Values;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -90,6 +92,40 @@ public class FullScanNonUniqueIndexSamplerTest extends IndexTestUtil<BtreeKey,Nu
         assertEquals( values.length, sample.indexSize() );
     }
 
+    @Test
+    void shouldBuildHistogramOfAllValuesInTree() throws Exception
+    {
+        // GIVEN
+        Value[] values = generateNumberValues();
+        buildTree( values );
+
+        // WHEN
+        IndexSample sample;
+        try ( GBPTree<BtreeKey,NullValue> gbpTree = getTree() )
+        {
+            FullScanNonUniqueIndexSampler<BtreeKey> sampler = new FullScanNonUniqueIndexSampler<>( gbpTree, layout, 4 );
+            sample = sampler.sample( NULL );
+        }
+
+        // THEN
+        IndexHistogram histogram = sample.histogram();
+        assertThat( histogram ).isNotNull();
+        assertEquals( values.length, histogram.totalCount() );
+        assertThat( histogram.numberOfBuckets() ).isLessThanOrEqualTo( 8 );
+        assertEquals( 1.0, histogram.rangeFraction( Values.doubleValue( Double.NEGATIVE_INFINITY ), true, null, false ) );
+    }
+
+    @Test
+    void shouldNotBuildHistogramUnlessAsked() throws Exception
+    {
+        buildTree( generateNumberValues() );
+
+        try ( GBPTree<BtreeKey,NullValue> gbpTree = getTree() )
+        {
+            assertThat( new FullScanNonUniqueIndexSampler<>( gbpTree, layout ).sample( NULL ).histogram() ).isNull();
+        }
+    }
+
     @Test
     void tracePageCacheAccessOnSampling() throws IOException
     {
@@ -313,6 +313,29 @@ abstract class NativeIndexAccessorTests<KEY extends NativeIndexKey<KEY>>
         }
     }
 
+    @Test
+    void shouldSkipAndThenLimitEntries() throws Exception
+    {
+        // given
+        final var updates = someUpdatesSingleType();
+        processAll( updates );
+
+        // when
+        try ( var reader = accessor.newValueReader() )
+        {
+            final var client = new SimpleEntityValueClient();
+            reader.query( client, NULL_CONTEXT, AccessMode.Static.READ, unconstrained().skip( 1 ).limit( 2 ), PropertyIndexQuery.allEntries() );
+            int hits = 0;
+            while ( client.next() )
+            {
+                hits++;
+            }
+
+            // then
+            assertThat( hits ).isEqualTo( Math.max( 0, Math.min( 2, updates.length - 1 ) ) );
+        }
+    }
+
     @Test
     void shouldReturnMatchingEntriesForExactPredicate() throws Exception
     {
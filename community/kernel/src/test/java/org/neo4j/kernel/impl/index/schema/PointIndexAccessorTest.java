@@ -19,12 +19,15 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.neo4j.configuration.Config;
@@ -43,6 +46,7 @@ import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
 import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettings;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.ValueCategory;
 import org.neo4j.values.storable.ValueGroup;
@@ -122,8 +126,9 @@ class PointIndexAccessorTest extends NativeIndexAccessorTests<PointKey>
                                                     unorderedValues(), predicate ),
                                 "%s is an unsupported query", predicate )
                     .isInstanceOf( IllegalArgumentException.class )
-                    .hasMessageContaining( "Tried to query index with illegal query. Only %s, %s, and %s %s queries are supported by a point index",
-                                           IndexQueryType.ALL_ENTRIES, IndexQueryType.EXACT, ValueGroup.GEOMETRY, IndexQueryType.RANGE );
+                    .hasMessageContaining( "Tried to query index with illegal query. Only %s, %s, %s, and %s %s queries are supported by a point index",
+                                           IndexQueryType.ALL_ENTRIES, IndexQueryType.EXACT, IndexQueryType.NEAREST_NEIGHBOURS, ValueGroup.GEOMETRY,
+                                           IndexQueryType.RANGE );
         }
     }
 
@@ -142,6 +147,48 @@ class PointIndexAccessorTest extends NativeIndexAccessorTests<PointKey>
         }
     }
 
+    @Test
+    void nearestNeighboursShouldReturnPointsOfSameCrsInDistanceOrder() throws Exception
+    {
+        // given  an index with cartesian points spread over a few orders of magnitude, and some geographic points
+        final var points = new ArrayList<PointValue>();
+        final var ids = idGenerator();
+        try ( var updater = accessor.newUpdater( IndexUpdateMode.ONLINE, CursorContext.NULL ) )
+        {
+            for ( int i = 0; i < 500; i++ )
+            {
+                final double scale = Math.pow( 10, random.nextInt( 0, 6 ) );
+                final var point = Values.pointValue( CoordinateReferenceSystem.Cartesian,
+                                                     between( -scale, scale ), between( -scale, scale ) );
+                points.add( point );
+                updater.process( IndexEntryUpdate.add( ids.getAsLong(), INDEX_DESCRIPTOR, point ) );
+            }
+            for ( int i = 0; i < 50; i++ )
+            {
+                final var point = Values.pointValue( CoordinateReferenceSystem.WGS84, between( -180, 180 ), between( -90, 90 ) );
+                updater.process( IndexEntryUpdate.add( ids.getAsLong(), INDEX_DESCRIPTOR, point ) );
+            }
+        }
+
+        // when   querying for the nearest neighbours of a cartesian point
+        final var origin = Values.pointValue( CoordinateReferenceSystem.Cartesian, between( -10, 10 ), between( -10, 10 ) );
+        final var query = PropertyIndexQuery.nearestNeighbours( 0, origin );
+        final var distances = new ArrayList<Double>();
+        try ( var reader = accessor.newValueReader() )
+        {
+            final var client = new SimpleEntityValueClient();
+            reader.query( client, NULL_CONTEXT, AccessMode.Static.ACCESS, unorderedValues(), query );
+            while ( client.next() )
+            {
+                distances.add( query.distanceTo( (PointValue) client.values[0] ) );
+            }
+        }
+
+        // then   all cartesian points are returned, closest first
+        final var expected = points.stream().map( query::distanceTo ).sorted().collect( Collectors.toList() );
+        assertThat( distances ).containsExactlyElementsOf( expected );
+    }
+
     @ParameterizedTest
     @MethodSource( "unsupportedTypes" )
     void updaterShouldIgnoreUnsupportedTypes( ValueType unsupportedType ) throws Exception
@@ -227,6 +274,11 @@ class PointIndexAccessorTest extends NativeIndexAccessorTests<PointKey>
         }
     }
 
+    private double between( double min, double max )
+    {
+        return min + random.nextDouble() * (max - min);
+    }
+
     private static LongSupplier idGenerator()
     {
         return new AtomicLong( 0 )::incrementAndGet;
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.security.AccessMode;
+import org.neo4j.internal.schema.IndexConfig;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexRef;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexEntriesReader;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexSampler;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.index.ValueIndexReader;
+import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unorderedValues;
+import static org.neo4j.internal.kernel.api.QueryContext.NULL_CONTEXT;
+import static org.neo4j.internal.schema.IndexPrototype.forSchema;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
+import static org.neo4j.kernel.api.schema.SchemaTestUtil.SIMPLE_NAME_LOOKUP;
+
+class RangeIndexIncludedPropertiesTest extends IndexTestUtil<RangeKey,NullValue,RangeLayout>
+{
+    private static final IndexDescriptor INDEX_DESCRIPTOR = forSchema( forLabel( 42, 1 ) ).withIndexType( IndexType.RANGE )
+            .withIndexProvider( RangeIndexProvider.DESCRIPTOR )
+            .withIndexConfig( IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intArray( new int[]{2, 3} ) ) )
+            .withName( "index" )
+            .materialise( 0 );
+
+    @Override
+    IndexFiles createIndexFiles( FileSystemAbstraction fs, TestDirectory directory, IndexDescriptor indexDescriptor )
+    {
+        IndexDirectoryStructure indexDirectoryStructure =
+                directoriesByProvider( directory.directory( "root" ) ).forProvider( indexDescriptor.getIndexProvider() );
+        return new IndexFiles.Directory( fs, indexDirectoryStructure, indexDescriptor.getId() );
+    }
+
+    @Override
+    IndexDescriptor indexDescriptor()
+    {
+        return INDEX_DESCRIPTOR;
+    }
+
+    @Override
+    RangeLayout layout()
+    {
+        return new RangeLayout( 3 );
+    }
+
+    @Test
+    void shouldReturnIncludedValuesFromQueries() throws Exception
+    {
+        try ( RangeIndexAccessor accessor = createAccessor() )
+        {
+            Map<Long,Value[]> expected = new HashMap<>();
+            try ( IndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE, NULL ) )
+            {
+                for ( long id = 0; id < 200; id++ )
+                {
+                    Value[] values = {Values.intValue( (int) (id % 10) ), Values.stringValue( "name" + id ),
+                                      id % 3 == 0 ? Values.NO_VALUE : Values.longValue( id * 7 )};
+                    updater.process( IndexEntryUpdate.add( id, INDEX_DESCRIPTOR, values ) );
+                    expected.put( id, values );
+                }
+            }
+
+            try ( ValueIndexReader reader = accessor.newValueReader() )
+            {
+                assertQueryReturnsIncludedValues( reader, expected, PropertyIndexQuery.exact( 1, 4 ), 20 );
+                assertQueryReturnsIncludedValues( reader, expected, PropertyIndexQuery.range( 1, 2, true, 5, false ), 60 );
+                assertQueryReturnsIncludedValues( reader, expected, PropertyIndexQuery.exists( 1 ), 200 );
+                assertQueryReturnsIncludedValues( reader, expected, PropertyIndexQuery.allEntries(), 200 );
+                assertThat( reader.countIndexedEntities( 14, NULL, new int[]{1}, Values.intValue( 4 ) ) ).isEqualTo( 1 );
+                assertThat( reader.countIndexedEntities( 14, NULL, new int[]{1}, Values.intValue( 5 ) ) ).isZero();
+            }
+        }
+    }
+
+    @Test
+    void shouldApplyChangesToIncludedValues() throws Exception
+    {
+        try ( RangeIndexAccessor accessor = createAccessor() )
+        {
+            Value[] before = {Values.intValue( 1 ), Values.stringValue( "a" ), Values.NO_VALUE};
+            Value[] after = {Values.intValue( 1 ), Values.stringValue( "b" ), Values.longValue( 3 )};
+            try ( IndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE, NULL ) )
+            {
+                updater.process( IndexEntryUpdate.add( 1, INDEX_DESCRIPTOR, before ) );
+            }
+            try ( IndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE, NULL ) )
+            {
+                updater.process( IndexEntryUpdate.change( 1, INDEX_DESCRIPTOR, before, after ) );
+            }
+
+            try ( ValueIndexReader reader = accessor.newValueReader() )
+            {
+                assertQueryReturnsIncludedValues( reader, Map.of( 1L, after ), PropertyIndexQuery.exact( 1, 1 ), 1 );
+            }
+        }
+    }
+
+    @Test
+    void shouldOnlyExposeIndexedValuesToEntriesReadersAndSampling() throws Exception
+    {
+        try ( RangeIndexAccessor accessor = createAccessor() )
+        {
+            try ( IndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE, NULL ) )
+            {
+                for ( long id = 0; id < 100; id++ )
+                {
+                    updater.process( IndexEntryUpdate.add( id, INDEX_DESCRIPTOR, Values.intValue( (int) (id % 4) ), Values.longValue( id ), Values.NO_VALUE ) );
+                }
+            }
+
+            IndexEntriesReader[] readers = accessor.newAllEntriesValueReader( 1, NULL );
+            long entries = 0;
+            for ( IndexEntriesReader entriesReader : readers )
+            {
+                while ( entriesReader.hasNext() )
+                {
+                    long id = entriesReader.next();
+                    assertThat( entriesReader.values() ).containsExactly( Values.intValue( (int) (id % 4) ) );
+                    entries++;
+                }
+                entriesReader.close();
+            }
+            assertThat( entries ).isEqualTo( 100 );
+
+            try ( ValueIndexReader reader = accessor.newValueReader();
+                  IndexSampler sampler = reader.createSampler() )
+            {
+                IndexSample sample = sampler.sampleIndex( NULL );
+                assertThat( sample.indexSize() ).isEqualTo( 100 );
+                assertThat( sample.uniqueValues() ).isEqualTo( 4 );
+            }
+        }
+    }
+
+    private static void assertQueryReturnsIncludedValues( ValueIndexReader reader, Map<Long,Value[]> expected, PropertyIndexQuery query,
+            int expectedHits ) throws Exception
+    {
+        SimpleEntityValueClient client = new SimpleEntityValueClient();
+        reader.query( client, NULL_CONTEXT, AccessMode.Static.READ, unorderedValues(), query );
+        int hits = 0;
+        while ( client.next() )
+        {
+            assertThat( client.values ).containsExactly( expected.get( client.reference ) );
+            hits++;
+        }
+        assertThat( hits ).isEqualTo( expectedHits );
+    }
+
+    private RangeIndexAccessor createAccessor()
+    {
+        DatabaseIndexContext context = DatabaseIndexContext.builder( pageCache, fs, DEFAULT_DATABASE_NAME ).withReadOnlyChecker( writable() ).build();
+        return new RangeIndexAccessor( context, indexFiles, layout, RecoveryCleanupWorkCollector.immediate(), INDEX_DESCRIPTOR, SIMPLE_NAME_LOOKUP );
+    }
+}
@@ -27,8 +27,10 @@ import java.util.List;
 
 import org.neo4j.common.EntityType;
 import org.neo4j.configuration.Config;
+import org.neo4j.internal.schema.IndexConfig;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexRef;
 import org.neo4j.internal.schema.IndexType;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
@@ -118,7 +120,17 @@ class RangeIndexProviderTest extends IndexProviderTests
                 forSchema( forLabel( labelId, propId ) ).withIndexType( IndexType.BTREE ).withName( "unsupported" ),
                 forSchema( forLabel( labelId, propId ) ).withIndexType( IndexType.POINT ).withName( "unsupported" ),
                 forSchema( forLabel( labelId, propId ) ).withIndexType( IndexType.TEXT ).withName( "unsupported" ),
-                forSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ).withIndexType( IndexType.LOOKUP ).withName( "unsupported" ) );
+                forSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ).withIndexType( IndexType.LOOKUP ).withName( "unsupported" ),
+                withIncludedProperties( forSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ), Values.intValue( propId + 1 ) ),
+                withIncludedProperties( forSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ), Values.intArray( new int[]{propId} ) ),
+                withIncludedProperties( forSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ), Values.intArray( new int[]{propId + 1, propId + 1} ) ),
+                withIncludedProperties( uniqueForSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ), Values.intArray( new int[]{propId + 1} ) ) );
+    }
+
+    private static IndexPrototype withIncludedProperties( IndexPrototype prototype, Value includedProperties )
+    {
+        IndexConfig config = IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, includedProperties );
+        return prototype.withIndexType( IndexType.RANGE ).withName( "unsupported" ).withIndexConfig( config );
     }
 
     @Override
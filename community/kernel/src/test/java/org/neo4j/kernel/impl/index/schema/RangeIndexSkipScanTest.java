@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.security.AccessMode;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexOrder;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.index.ValueIndexReader;
+import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.constrained;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unorderedValues;
+import static org.neo4j.internal.kernel.api.QueryContext.NULL_CONTEXT;
+import static org.neo4j.internal.schema.IndexPrototype.forSchema;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
+import static org.neo4j.kernel.api.schema.SchemaTestUtil.SIMPLE_NAME_LOOKUP;
+
+class RangeIndexSkipScanTest extends IndexTestUtil<RangeKey,NullValue,RangeLayout>
+{
+    private static final int TENANT = 1;
+    private static final int TS = 2;
+    private static final IndexDescriptor INDEX_DESCRIPTOR = forSchema( forLabel( 42, TENANT, TS ) ).withIndexType( IndexType.RANGE )
+            .withIndexProvider( RangeIndexProvider.DESCRIPTOR )
+            .withName( "index" )
+            .materialise( 0 );
+
+    @Override
+    IndexFiles createIndexFiles( FileSystemAbstraction fs, TestDirectory directory, IndexDescriptor indexDescriptor )
+    {
+        IndexDirectoryStructure indexDirectoryStructure =
+                directoriesByProvider( directory.directory( "root" ) ).forProvider( indexDescriptor.getIndexProvider() );
+        return new IndexFiles.Directory( fs, indexDirectoryStructure, indexDescriptor.getId() );
+    }
+
+    @Override
+    IndexDescriptor indexDescriptor()
+    {
+        return INDEX_DESCRIPTOR;
+    }
+
+    @Override
+    RangeLayout layout()
+    {
+        return new RangeLayout( 2 );
+    }
+
+    @Test
+    void shouldFindEntriesMatchingTrailingPredicateUnderEveryLeadingValue() throws Exception
+    {
+        try ( RangeIndexAccessor accessor = createAccessor() )
+        {
+            try ( IndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE, NULL ) )
+            {
+                for ( long id = 0; id < 1000; id++ )
+                {
+                    updater.process( IndexEntryUpdate.add( id, INDEX_DESCRIPTOR, Values.stringValue( "tenant" + id % 7 ), Values.longValue( id ) ) );
+                }
+            }
+
+            try ( ValueIndexReader reader = accessor.newValueReader() )
+            {
+                MutableLongSet expected = new LongHashSet();
+                for ( long id = 100; id < 200; id++ )
+                {
+                    expected.add( id );
+                }
+                assertThat( query( reader, PropertyIndexQuery.exists( TENANT ), PropertyIndexQuery.range( TS, 100, true, 200, false ) ) )
+                        .isEqualTo( expected );
+                assertThat( query( reader, PropertyIndexQuery.exists( TENANT ), PropertyIndexQuery.exact( TS, 500 ) ) )
+                        .isEqualTo( LongHashSet.newSetWith( 500 ) );
+                assertThat( query( reader, PropertyIndexQuery.exists( TENANT ), PropertyIndexQuery.range( TS, 2000, true, 3000, true ) ) )
+                        .isEqualTo( new LongHashSet() );
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnNothingFromEmptyIndex() throws Exception
+    {
+        try ( RangeIndexAccessor accessor = createAccessor();
+              ValueIndexReader reader = accessor.newValueReader() )
+        {
+            assertThat( query( reader, PropertyIndexQuery.exists( TENANT ), PropertyIndexQuery.exact( TS, 1 ) ) ).isEqualTo( new LongHashSet() );
+        }
+    }
+
+    @Test
+    void shouldNotSupportOrderedSkipScan() throws Exception
+    {
+        try ( RangeIndexAccessor accessor = createAccessor();
+              ValueIndexReader reader = accessor.newValueReader() )
+        {
+            assertThatThrownBy( () -> reader.query( new SimpleEntityValueClient(), NULL_CONTEXT, AccessMode.Static.READ,
+                    constrained( IndexOrder.ASCENDING, false ), PropertyIndexQuery.exists( TENANT ), PropertyIndexQuery.exact( TS, 1 ) ) )
+                    .isInstanceOf( IllegalArgumentException.class )
+                    .hasMessageContaining( "Order is not supported for skip scans" );
+        }
+    }
+
+    private static MutableLongSet query( ValueIndexReader reader, PropertyIndexQuery... query ) throws Exception
+    {
+        SimpleEntityValueClient client = new SimpleEntityValueClient();
+        reader.query( client, NULL_CONTEXT, AccessMode.Static.READ, unorderedValues(), query );
+        MutableLongSet found = new LongHashSet();
+        while ( client.next() )
+        {
+            assertThat( found.add( client.reference ) ).isTrue();
+            assertThat( query[1].acceptsValue( client.values[1] ) ).isTrue();
+        }
+        return found;
+    }
+
+    private RangeIndexAccessor createAccessor()
+    {
+        DatabaseIndexContext context = DatabaseIndexContext.builder( pageCache, fs, DEFAULT_DATABASE_NAME ).withReadOnlyChecker( writable() ).build();
+        return new RangeIndexAccessor( context, indexFiles, layout, RecoveryCleanupWorkCollector.immediate(), INDEX_DESCRIPTOR, SIMPLE_NAME_LOOKUP );
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.security.AccessMode;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.index.ValueIndexReader;
+import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unconstrained;
+import static org.neo4j.internal.kernel.api.QueryContext.NULL_CONTEXT;
+import static org.neo4j.internal.schema.IndexPrototype.forSchema;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
+
+class TrigramIndexAccessorTest extends IndexTestUtil<TrigramKey,NullValue,TrigramLayout>
+{
+    private static final IndexDescriptor INDEX_DESCRIPTOR = forSchema( forLabel( 42, 666 ) ).withIndexType( IndexType.TEXT )
+                                                                                            .withIndexProvider( TrigramIndexProvider.DESCRIPTOR )
+                                                                                            .withName( "index" )
+                                                                                            .materialise( 0 );
+
+    private final Map<Long,String> expected = new HashMap<>();
+
+    @Override
+    IndexFiles createIndexFiles( FileSystemAbstraction fs, TestDirectory directory, IndexDescriptor indexDescriptor )
+    {
+        IndexDirectoryStructure indexDirectoryStructure =
+                directoriesByProvider( directory.directory( "root" ) ).forProvider( indexDescriptor.getIndexProvider() );
+        return new IndexFiles.Directory( fs, indexDirectoryStructure, indexDescriptor.getId() );
+    }
+
+    @Override
+    IndexDescriptor indexDescriptor()
+    {
+        return INDEX_DESCRIPTOR;
+    }
+
+    @Override
+    TrigramLayout layout()
+    {
+        return new TrigramLayout();
+    }
+
+    @Test
+    void shouldAnswerStringQueriesLikeAScan() throws Exception
+    {
+        try ( TrigramIndexAccessor accessor = createAccessor() )
+        {
+            try ( IndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE, NULL ) )
+            {
+                for ( long id = 0; id < 500; id++ )
+                {
+                    add( updater, id, randomString() );
+                }
+            }
+
+            assertQueriesMatchModel( accessor );
+        }
+    }
+
+    @Test
+    void shouldApplyChangesAndRemovals() throws Exception
+    {
+        try ( TrigramIndexAccessor accessor = createAccessor() )
+        {
+            try ( IndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE, NULL ) )
+            {
+                for ( long id = 0; id < 300; id++ )
+                {
+                    add( updater, id, randomString() );
+                }
+            }
+            try ( IndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE, NULL ) )
+            {
+                for ( long id = 0; id < 300; id += 3 )
+                {
+                    String after = randomString();
+                    updater.process( IndexEntryUpdate.change( id, INDEX_DESCRIPTOR, Values.stringValue( expected.get( id ) ), Values.stringValue( after ) ) );
+                    expected.put( id, after );
+                }
+                for ( long id = 1; id < 300; id += 3 )
+                {
+                    updater.process( IndexEntryUpdate.remove( id, INDEX_DESCRIPTOR, Values.stringValue( expected.remove( id ) ) ) );
+                }
+            }
+
+            assertQueriesMatchModel( accessor );
+        }
+    }
+
+    @Test
+    void shouldFindSubstringsOfLongValues() throws Exception
+    {
+        try ( TrigramIndexAccessor accessor = createAccessor() )
+        {
+            try ( IndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE, NULL ) )
+            {
+                add( updater, 1, "the quick brown fox jumps over the lazy dog" );
+                add( updater, 2, "a quick brown dog" );
+                add( updater, 3, "fox" );
+                add( updater, 4, "" );
+            }
+
+            try ( ValueIndexReader reader = accessor.newValueReader() )
+            {
+                assertThat( query( reader, PropertyIndexQuery.stringContains( 0, Values.stringValue( "quick brown" ) ) ) )
+                        .isEqualTo( LongHashSet.newSetWith( 1L, 2L ) );
+                assertThat( query( reader, PropertyIndexQuery.stringContains( 0, Values.stringValue( "fox" ) ) ) )
+                        .isEqualTo( LongHashSet.newSetWith( 1L, 3L ) );
+                assertThat( query( reader, PropertyIndexQuery.stringSuffix( 0, Values.stringValue( "dog" ) ) ) ).isEqualTo( LongHashSet.newSetWith( 1L, 2L ) );
+                assertThat( query( reader, PropertyIndexQuery.exact( 0, "" ) ) ).isEqualTo( LongHashSet.newSetWith( 4L ) );
+                assertThat( query( reader, PropertyIndexQuery.allEntries() ) ).isEqualTo( LongHashSet.newSetWith( 1L, 2L, 3L, 4L ) );
+            }
+        }
+    }
+
+    @Test
+    void shouldPopulateAndSampleIndex() throws Exception
+    {
+        TrigramIndexPopulator populator = new TrigramIndexPopulator( context(), indexFiles, INDEX_DESCRIPTOR );
+        populator.create();
+        List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+        for ( long id = 0; id < 200; id++ )
+        {
+            String value = "value" + (id % 50);
+            expected.put( id, value );
+            updates.add( IndexEntryUpdate.add( id, INDEX_DESCRIPTOR, Values.stringValue( value ) ) );
+        }
+        populator.add( updates, NULL );
+        IndexSample sample = populator.sample( NULL );
+        populator.close( true, NULL );
+
+        assertThat( sample.indexSize() ).isEqualTo( 200 );
+        assertThat( sample.sampleSize() ).isEqualTo( 200 );
+        assertThat( sample.uniqueValues() ).isEqualTo( 50 );
+        try ( TrigramIndexAccessor accessor = createAccessor() )
+        {
+            assertQueriesMatchModel( accessor );
+        }
+    }
+
+    private void assertQueriesMatchModel( TrigramIndexAccessor accessor ) throws Exception
+    {
+        try ( ValueIndexReader reader = accessor.newValueReader() )
+        {
+            assertThat( query( reader, PropertyIndexQuery.allEntries() ) ).isEqualTo( matching( v -> true ) );
+            for ( int i = 0; i < 100; i++ )
+            {
+                String a = randomString();
+                String b = randomString();
+                assertThat( query( reader, PropertyIndexQuery.exact( 0, a ) ) ).as( "exact %s", a ).isEqualTo( matching( a::equals ) );
+                assertThat( query( reader, PropertyIndexQuery.stringPrefix( 0, Values.stringValue( a ) ) ) )
+                        .as( "prefix %s", a ).isEqualTo( matching( v -> v.startsWith( a ) ) );
+                assertThat( query( reader, PropertyIndexQuery.stringSuffix( 0, Values.stringValue( a ) ) ) )
+                        .as( "suffix %s", a ).isEqualTo( matching( v -> v.endsWith( a ) ) );
+                assertThat( query( reader, PropertyIndexQuery.stringContains( 0, Values.stringValue( a ) ) ) )
+                        .as( "contains %s", a ).isEqualTo( matching( v -> v.contains( a ) ) );
+
+                String from = random.nextBoolean() ? a : null;
+                String to = random.nextBoolean() ? b : null;
+                boolean fromInclusive = random.nextBoolean();
+                boolean toInclusive = random.nextBoolean();
+                assertThat( query( reader, PropertyIndexQuery.range( 0, from, fromInclusive, to, toInclusive ) ) )
+                        .as( "range %s %s %s %s", from, fromInclusive, to, toInclusive )
+                        .isEqualTo( matching( v -> inRange( v, from, fromInclusive, to, toInclusive ) ) );
+            }
+        }
+    }
+
+    private static boolean inRange( String value, String from, boolean fromInclusive, String to, boolean toInclusive )
+    {
+        if ( from != null )
+        {
+            int c = value.compareTo( from );
+            if ( c < 0 || (c == 0 && !fromInclusive) )
+            {
+                return false;
+            }
+        }
+        if ( to != null )
+        {
+            int c = value.compareTo( to );
+            return c < 0 || (c == 0 && toInclusive);
+        }
+        return true;
+    }
+
+    private MutableLongSet matching( Predicate<String> predicate )
+    {
+        MutableLongSet result = new LongHashSet();
+        expected.forEach( ( id, value ) ->
+        {
+            if ( predicate.test( value ) )
+            {
+                result.add( id );
+            }
+        } );
+        return result;
+    }
+
+    private static MutableLongSet query( ValueIndexReader reader, PropertyIndexQuery query ) throws Exception
+    {
+        SimpleEntityValueClient client = new SimpleEntityValueClient();
+        reader.query( client, NULL_CONTEXT, AccessMode.Static.READ, unconstrained(), query );
+        MutableLongSet result = new LongHashSet();
+        while ( client.next() )
+        {
+            assertThat( result.add( client.reference ) ).isTrue();
+        }
+        return result;
+    }
+
+    private void add( IndexUpdater updater, long id, String value ) throws Exception
+    {
+        updater.process( IndexEntryUpdate.add( id, INDEX_DESCRIPTOR, Values.stringValue( value ) ) );
+        expected.put( id, value );
+    }
+
+    private String randomString()
+    {
+        // Small alphabet and short values so that queries frequently hit shared trigrams
+        int length = random.nextInt( 8 );
+        StringBuilder builder = new StringBuilder( length );
+        for ( int i = 0; i < length; i++ )
+        {
+            builder.append( (char) ('a' + random.nextInt( 3 )) );
+        }
+        return builder.toString();
+    }
+
+    private TrigramIndexAccessor createAccessor()
+    {
+        return new TrigramIndexAccessor( context(), indexFiles, INDEX_DESCRIPTOR, RecoveryCleanupWorkCollector.immediate() );
+    }
+
+    private DatabaseIndexContext context()
+    {
+        return DatabaseIndexContext.builder( pageCache, fs, DEFAULT_DATABASE_NAME ).withReadOnlyChecker( writable() ).build();
+    }
+}
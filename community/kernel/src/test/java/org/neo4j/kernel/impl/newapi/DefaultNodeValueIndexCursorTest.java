@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.security.AccessMode;
+import org.neo4j.internal.schema.IndexConfig;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexRef;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.kernel.api.index.IndexProgressor;
+import org.neo4j.kernel.api.txstate.TransactionState;
+import org.neo4j.storageengine.api.txstate.NodeState;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unorderedValues;
+import static org.neo4j.internal.schema.IndexPrototype.forSchema;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+class DefaultNodeValueIndexCursorTest
+{
+    private static final IndexDescriptor INDEX = forSchema( forLabel( 1, 2 ) ).withIndexType( IndexType.RANGE ).withName( "index" )
+            .withIndexConfig( IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intArray( new int[]{3, 4} ) ) ).materialise( 1 );
+
+    private final Read read = mock( Read.class );
+
+    @Test
+    void shouldSplitIndexedAndIncludedValues()
+    {
+        DefaultNodeValueIndexCursor cursor = cursor( INDEX, new long[]{7}, Values.intValue( 1 ), Values.stringValue( "a" ), Values.NO_VALUE );
+
+        assertThat( cursor.next() ).isTrue();
+        assertThat( cursor.nodeReference() ).isEqualTo( 7 );
+        assertThat( cursor.numberOfProperties() ).isEqualTo( 1 );
+        assertThat( cursor.propertyValue( 0 ) ).isEqualTo( Values.intValue( 1 ) );
+        assertThat( cursor.hasIncludedValues() ).isTrue();
+        assertThat( cursor.includedPropertyValue( 0 ) ).isEqualTo( Values.stringValue( "a" ) );
+        assertThat( cursor.includedPropertyValue( 1 ) ).isEqualTo( Values.NO_VALUE );
+        assertThat( cursor.next() ).isFalse();
+    }
+
+    @Test
+    void shouldNotHaveIncludedValuesForIndexWithoutIncludedProperties()
+    {
+        IndexDescriptor index = forSchema( forLabel( 1, 2 ) ).withIndexType( IndexType.RANGE ).withName( "plain" ).materialise( 2 );
+        DefaultNodeValueIndexCursor cursor = cursor( index, new long[]{7}, Values.intValue( 1 ) );
+
+        assertThat( cursor.next() ).isTrue();
+        assertThat( cursor.propertyValue( 0 ) ).isEqualTo( Values.intValue( 1 ) );
+        assertThat( cursor.hasIncludedValues() ).isFalse();
+    }
+
+    @Test
+    void shouldNotTrustIncludedValuesOfNodesWithChangedPropertiesInTransaction()
+    {
+        DefaultNodeValueIndexCursor cursor = cursor( INDEX, new long[]{7, 8}, Values.intValue( 1 ), Values.stringValue( "a" ), Values.NO_VALUE );
+        TransactionState txState = mock( TransactionState.class );
+        NodeState changedNode = mock( NodeState.class );
+        when( changedNode.hasPropertyChanges() ).thenReturn( true );
+        when( txState.getNodeState( 7 ) ).thenReturn( changedNode );
+        when( txState.getNodeState( 8 ) ).thenReturn( mock( NodeState.class ) );
+        when( read.txState() ).thenReturn( txState );
+        when( read.hasTxStateWithChanges() ).thenReturn( true );
+
+        assertThat( cursor.next() ).isTrue();
+        assertThat( cursor.hasIncludedValues() ).isFalse();
+        assertThat( cursor.next() ).isTrue();
+        assertThat( cursor.hasIncludedValues() ).isTrue();
+    }
+
+    private DefaultNodeValueIndexCursor cursor( IndexDescriptor index, long[] entities, Value... values )
+    {
+        FullAccessNodeValueIndexCursor cursor = new FullAccessNodeValueIndexCursor( c -> {}, INSTANCE );
+        cursor.setRead( read );
+        cursor.initialize( index, new StubProgressor( cursor, entities, values ), AccessMode.Static.FULL, false, unorderedValues(),
+                PropertyIndexQuery.exists( 2 ) );
+        return cursor;
+    }
+
+    private static class StubProgressor implements IndexProgressor
+    {
+        private final EntityValueClient client;
+        private final long[] entities;
+        private final Value[] values;
+        private int position;
+
+        StubProgressor( EntityValueClient client, long[] entities, Value[] values )
+        {
+            this.client = client;
+            this.entities = entities;
+            this.values = values;
+        }
+
+        @Override
+        public boolean next()
+        {
+            while ( position < entities.length )
+            {
+                if ( client.acceptEntity( entities[position++], Float.NaN, values.clone() ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.impl.newapi;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
@@ -31,6 +32,7 @@ import java.util.List;
 import java.util.stream.Stream;
 
 import org.neo4j.internal.schema.IndexOrder;
+import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueTuple;
 import org.neo4j.values.storable.Values;
@@ -103,6 +105,21 @@ class SortedMergeJoinTest
                                    node( 6L, "c", "e" ) ), indexOrder );
     }
 
+    @Test
+    void shouldMergeByComparator()
+    {
+        // Ordered by string length rather than by value
+        Comparator<Value[]> byLength = Comparator.comparingInt( values -> ((TextValue) values[0]).length() );
+        List<EntityWithPropertyValues> listA = Arrays.asList( node( 1L, "c" ), node( 3L, "bbb" ) );
+        List<EntityWithPropertyValues> listB = Arrays.asList( node( 2L, "aa" ), node( 4L, "aaaa" ) );
+        SortedMergeJoin sortedMergeJoin = new SortedMergeJoin();
+        sortedMergeJoin.initialize( byLength );
+
+        List<EntityWithPropertyValues> result = process( sortedMergeJoin, listA.iterator(), listB.iterator() );
+
+        assertThat( result ).extracting( EntityWithPropertyValues::getEntityId ).containsExactly( 1L, 2L, 3L, 4L );
+    }
+
     private static void assertThatItWorks( List<EntityWithPropertyValues> listA, List<EntityWithPropertyValues> listB, IndexOrder indexOrder )
     {
         assertThatItWorksOneWay( listA, listB, indexOrder );
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Flushable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
+import org.neo4j.time.FakeClock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_burst_when_idle;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_bytes_per_second_limit;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_consider_external_io;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.io_controller_enabled;
+import static org.neo4j.configuration.GraphDatabaseSettings.check_point_iops_limit;
+
+class TokenBucketIOControllerTest
+{
+    private static final Flushable FLUSHABLE = () ->
+    {
+    };
+
+    private final FakeClock clock = new FakeClock();
+    private final List<Long> sleeps = new ArrayList<>();
+    private DefaultPageCacheTracer tracer;
+    private MajorFlushEvent flushEvent;
+
+    @BeforeEach
+    void setUp()
+    {
+        tracer = new DefaultPageCacheTracer();
+        flushEvent = tracer.beginCacheFlush();
+    }
+
+    @Test
+    void shouldNotLimitWhenNoLimitIsConfigured()
+    {
+        TokenBucketIOController controller = controller( Config.defaults( check_point_iops_limit, -1 ) );
+
+        controller.maybeLimitIO( 1_000_000, FLUSHABLE, flushEvent );
+
+        assertThat( controller.isEnabled() ).isFalse();
+        assertThat( sleeps ).isEmpty();
+    }
+
+    @Test
+    void shouldSleepToKeepFlushingAtConfiguredRate()
+    {
+        TokenBucketIOController controller = controller( Config.defaults( check_point_iops_limit, 100 ) );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            controller.maybeLimitIO( 10, FLUSHABLE, flushEvent );
+        }
+
+        // 100 IOs at 100 IOPS take one second.
+        assertThat( sleeps ).hasSize( 10 ).containsOnly( 100L );
+        assertThat( tracer.ioLimitedTimes() ).isEqualTo( 10 );
+        assertThat( tracer.ioLimitedMillis() ).isEqualTo( 1000 );
+    }
+
+    @Test
+    void shouldCountTimeSpentFlushingTowardsTheRate()
+    {
+        TokenBucketIOController controller = controller( Config.defaults( check_point_iops_limit, 100 ) );
+
+        controller.maybeLimitIO( 10, FLUSHABLE, flushEvent );
+        clock.forward( 60, MILLISECONDS );
+        controller.maybeLimitIO( 10, FLUSHABLE, flushEvent );
+
+        assertThat( sleeps ).containsExactly( 100L, 40L );
+    }
+
+    @Test
+    void shouldUseLowestOfIopsAndBytesLimit()
+    {
+        TokenBucketIOController controller = controller( Config.defaults( Map.of(
+                check_point_iops_limit, 1000,
+                io_controller_bytes_per_second_limit, 10L * PageCache.PAGE_SIZE ) ) );
+
+        assertThat( controller.iopsRate() ).isEqualTo( 10 );
+        controller.maybeLimitIO( 5, FLUSHABLE, flushEvent );
+        assertThat( sleeps ).containsExactly( 500L );
+    }
+
+    @Test
+    void shouldFollowDynamicLimitChanges()
+    {
+        Config config = Config.defaults( check_point_iops_limit, 100 );
+        TokenBucketIOController controller = controller( config );
+
+        config.setDynamic( check_point_iops_limit, 1000, getClass().getSimpleName() );
+        controller.maybeLimitIO( 10, FLUSHABLE, flushEvent );
+        config.setDynamic( check_point_iops_limit, -1, getClass().getSimpleName() );
+        controller.maybeLimitIO( 10, FLUSHABLE, flushEvent );
+
+        assertThat( sleeps ).containsExactly( 10L );
+        assertThat( controller.isEnabled() ).isFalse();
+    }
+
+    @Test
+    void shouldNotLimitWhileDisabled()
+    {
+        TokenBucketIOController controller = controller( Config.defaults( check_point_iops_limit, 100 ) );
+
+        controller.disable();
+        controller.disable();
+        controller.enable();
+        controller.maybeLimitIO( 100, FLUSHABLE, flushEvent );
+        assertThat( controller.isEnabled() ).isFalse();
+        assertThat( sleeps ).isEmpty();
+
+        controller.enable();
+        controller.maybeLimitIO( 100, FLUSHABLE, flushEvent );
+        assertThat( controller.isEnabled() ).isTrue();
+        assertThat( sleeps ).containsExactly( 1000L );
+    }
+
+    @Test
+    void shouldOnlySaveUpTokensWhileIdleWhenBurstIsEnabled()
+    {
+        Config config = Config.defaults( check_point_iops_limit, 100 );
+        TokenBucketIOController controller = controller( config );
+
+        // Without burst the bucket holds at most a tenth of a second worth of IOs, no matter how long it was idle.
+        clock.forward( 10, SECONDS );
+        controller.maybeLimitIO( 50, FLUSHABLE, flushEvent );
+        assertThat( sleeps ).containsExactly( 400L );
+
+        sleeps.clear();
+        config.setDynamic( io_controller_burst_when_idle, true, getClass().getSimpleName() );
+        clock.forward( 10, SECONDS );
+        // The bucket holds at most one second worth of IOs, so the first 100 IOs go through without sleeping.
+        controller.maybeLimitIO( 50, FLUSHABLE, flushEvent );
+        controller.maybeLimitIO( 50, FLUSHABLE, flushEvent );
+        assertThat( sleeps ).isEmpty();
+        controller.maybeLimitIO( 50, FLUSHABLE, flushEvent );
+        assertThat( sleeps ).containsExactly( 500L );
+    }
+
+    @Test
+    void shouldTakeExternalIOIntoAccountOnlyWhenConfigured()
+    {
+        Config config = Config.defaults( Map.of( check_point_iops_limit, 100, io_controller_burst_when_idle, true ) );
+        TokenBucketIOController controller = controller( config );
+        clock.forward( 1, SECONDS );
+
+        controller.reportIO( 100 );
+        controller.maybeLimitIO( 10, FLUSHABLE, flushEvent );
+        assertThat( sleeps ).isEmpty();
+
+        config.setDynamic( io_controller_consider_external_io, true, getClass().getSimpleName() );
+        controller.reportIO( 100 );
+        controller.maybeLimitIO( 10, FLUSHABLE, flushEvent );
+        assertThat( sleeps ).containsExactly( 200L );
+    }
+
+    @Test
+    void shouldOnlyCreateTokenBucketControllerWhenEnabled()
+    {
+        CommunityIOControllerService service = new CommunityIOControllerService();
+
+        assertThat( service.createIOController( Config.defaults(), clock ) ).isNotInstanceOf( TokenBucketIOController.class );
+        assertThat( service.createIOController( Config.defaults( io_controller_enabled, true ), clock ) ).isInstanceOf( TokenBucketIOController.class );
+    }
+
+    private TokenBucketIOController controller( Config config )
+    {
+        return new TokenBucketIOController( config, clock )
+        {
+            @Override
+            void sleep( long millis )
+            {
+                sleeps.add( millis );
+                clock.forward( millis, MILLISECONDS );
+            }
+        };
+    }
+}
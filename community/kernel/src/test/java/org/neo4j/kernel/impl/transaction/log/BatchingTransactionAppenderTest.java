@@ -26,9 +26,11 @@ import org.mockito.Mockito;
 
 import java.io.Flushable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.neo4j.io.compress.BlockCompression;
 import org.neo4j.io.memory.HeapScopedBuffer;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.database.DbmsLogEntryWriterFactory;
@@ -152,6 +154,39 @@ class BatchingTransactionAppenderTest
         assertNull( tx.next() );
     }
 
+    @Test
+    void shouldAppendTransactionsWithCompressedCommands() throws Exception
+    {
+        // GIVEN
+        when( logFile.getTransactionLogWriter() ).thenReturn(
+                new TransactionLogWriter( channel, new DbmsLogEntryWriterFactory( () -> LATEST ), BlockCompression.ZSTD, 1024 ) );
+        TransactionAppender appender = life.add( createTransactionAppender() );
+        when( transactionIdStore.nextCommittingTransactionId() ).thenReturn( 2L, 3L );
+        List<StorageCommand> manyCommands = new ArrayList<>();
+        for ( int i = 0; i < 100; i++ )
+        {
+            manyCommands.add( new TestCommand( new byte[100] ) );
+        }
+        TransactionToApply batch = batchOf(
+                transaction( manyCommands, new byte[0], 0, 1, 0 ),
+                transaction( singleTestCommand(), new byte[0], 0, 1, 0 ) );
+
+        // WHEN
+        appender.append( batch, logAppendEvent );
+
+        // THEN
+        assertThat( channel.writer().getCurrentPosition().getByteOffset() ).isLessThan( 100 * 100 );
+        try ( PhysicalTransactionCursor reader = new PhysicalTransactionCursor( channel, logEntryReader() ) )
+        {
+            reader.next();
+            assertThat( reader.get().getTransactionRepresentation() ).containsExactlyElementsOf( manyCommands );
+            assertEquals( 2, reader.get().getCommitEntry().getTxId() );
+            reader.next();
+            assertThat( reader.get().getTransactionRepresentation() ).containsExactlyElementsOf( singleTestCommand() );
+            assertEquals( 3, reader.get().getCommitEntry().getTxId() );
+        }
+    }
+
     @Test
     void shouldAppendCommittedTransactions() throws Exception
     {
@@ -40,11 +40,13 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.impl.api.TestCommand;
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
 import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.files.LogFile;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.kernel.impl.transaction.log.files.LogFilesBuilder;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogPositionIndex;
 import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
 import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
@@ -73,11 +75,14 @@ import org.neo4j.test.utils.TestDirectory;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_position_index_interval;
 import static org.neo4j.internal.kernel.api.security.AuthSubject.ANONYMOUS;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL;
 import static org.neo4j.kernel.impl.transaction.log.TestLogEntryReader.logEntryReader;
@@ -298,6 +303,69 @@ class PhysicalLogicalTransactionStoreTest
         }
     }
 
+    @Test
+    void shouldFindTransactionsInSealedLogFileThroughPositionIndex() throws Exception
+    {
+        // GIVEN
+        TransactionIdStore transactionIdStore = new SimpleTransactionIdStore();
+        TransactionMetadataCache positionCache = new TransactionMetadataCache();
+        Config config = Config.defaults( tx_log_position_index_interval, 10 );
+        LogFiles logFiles = LogFilesBuilder.builder( databaseLayout, fileSystem )
+                .withRotationThreshold( ByteUnit.mebiBytes( 1 ) )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( new SimpleLogVersionRepository() )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withConfig( config )
+                .build();
+        LifeSupport life = new LifeSupport();
+        life.add( logFiles );
+        TransactionAppender appender = life.add( createTransactionAppender( transactionIdStore, positionCache, logFiles, config, jobScheduler ) );
+        LogicalTransactionStore store = new PhysicalLogicalTransactionStore( logFiles, positionCache, logEntryReader(), monitors, true, config );
+        life.start();
+        try
+        {
+            // a sealed log file with transactions 2..51, followed by one with transactions 52..55
+            appendTransactions( appender, 50 );
+            LogFile logFile = logFiles.getLogFile();
+            logFile.rotate();
+            appendTransactions( appender, 4 );
+
+            // WHEN
+            positionCache.clear();
+
+            // THEN
+            TransactionLogPositionIndex positionIndex = logFile.getTransactionPositionIndex();
+            assertNull( positionIndex.lookup( 1, 53 ) );
+            LogPosition indexedPosition = positionIndex.lookup( 0, 25 );
+            assertNotNull( indexedPosition );
+            assertEquals( 0, indexedPosition.getLogVersion() );
+            assertTrue( indexedPosition.getByteOffset() > CURRENT_FORMAT_LOG_HEADER_SIZE );
+            for ( long txId = TransactionIdStore.BASE_TX_ID + 1; txId <= 55; txId++ )
+            {
+                try ( TransactionCursor cursor = store.getTransactions( txId ) )
+                {
+                    assertTrue( cursor.next() );
+                    assertEquals( txId, cursor.get().getCommitEntry().getTxId() );
+                }
+            }
+        }
+        finally
+        {
+            life.shutdown();
+        }
+    }
+
+    private static void appendTransactions( TransactionAppender appender, int count ) throws Exception
+    {
+        for ( int i = 0; i < count; i++ )
+        {
+            PhysicalTransactionRepresentation transaction = new PhysicalTransactionRepresentation( singleTestCommand() );
+            transaction.setHeader( new byte[0], 0, 0, 0, -1, ANONYMOUS );
+            appender.append( new TransactionToApply( transaction, NULL, StoreCursors.NULL ), LogAppendEvent.NULL );
+        }
+    }
+
     private LogFiles buildLogFiles( TransactionIdStore transactionIdStore ) throws IOException
     {
         return LogFilesBuilder.builder( databaseLayout, fileSystem )
@@ -349,7 +417,7 @@ class PhysicalLogicalTransactionStoreTest
             LogFiles logFiles, Config config, JobScheduler jobScheduler )
     {
         return TransactionAppenderFactory.createTransactionAppender( logFiles, transactionIdStore, positionCache, config, DATABASE_HEALTH,
-                jobScheduler, NullLogProvider.getInstance() );
+                jobScheduler, NullLogProvider.getInstance(), new Monitors() );
     }
 
     private static class FakeRecoveryVisitor implements RecoveryApplier
@@ -385,6 +453,12 @@ class PhysicalLogicalTransactionStoreTest
             return visitedTransactions;
         }
 
+        @Override
+        public long appliedTransactions()
+        {
+            return visitedTransactions;
+        }
+
         @Override
         public void close()
         {
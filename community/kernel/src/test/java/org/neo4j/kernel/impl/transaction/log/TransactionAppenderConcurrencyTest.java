@@ -70,6 +70,7 @@ import org.neo4j.kernel.monitoring.DatabasePanicEventGenerator;
 import org.neo4j.logging.NullLog;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.monitoring.DatabaseHealth;
+import org.neo4j.monitoring.Monitors;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.StoreId;
 import org.neo4j.storageengine.api.TransactionIdStore;
@@ -275,7 +276,7 @@ public class TransactionAppenderConcurrencyTest
     {
         return TransactionAppenderFactory.createTransactionAppender( logFiles, transactionIdStore, transactionMetadataCache,
                 Config.defaults( dedicated_transaction_appender, false ),
-                databaseHealth, scheduler, NullLogProvider.getInstance() );
+                databaseHealth, scheduler, NullLogProvider.getInstance(), new Monitors() );
     }
 
     private static class OutOfMemoryAwareFileSystem extends EphemeralFileSystemAbstraction
@@ -130,7 +130,7 @@ class TransactionAppenderRotationIT
             TransactionMetadataCache transactionMetadataCache, TransactionIdStore transactionIdStore, JobScheduler scheduler )
     {
         return TransactionAppenderFactory.createTransactionAppender( logFiles, transactionIdStore, transactionMetadataCache, Config.defaults(),
-                databaseHealth, scheduler, NullLogProvider.getInstance() );
+                databaseHealth, scheduler, NullLogProvider.getInstance(), new Monitors() );
     }
 
     private static TransactionToApply prepareTransaction()
@@ -181,7 +181,7 @@ class TransactionAppenderRotationIT
         @Override
         public LogForceEvent beginLogForce()
         {
-            return null;
+            return LogForceEvent.NULL;
         }
 
         @Override
@@ -26,8 +26,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.graphdb.DatabaseShutdownException;
@@ -40,12 +43,18 @@ import org.neo4j.kernel.impl.api.TestCommand;
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
 import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntry;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommand;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
+import org.neo4j.kernel.impl.transaction.log.files.LogFile;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.kernel.impl.transaction.log.files.LogFilesBuilder;
 import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
 import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.monitoring.DatabaseHealth;
+import org.neo4j.storageengine.api.StorageCommand;
 import org.neo4j.storageengine.api.StoreId;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.test.extension.Inject;
@@ -53,9 +62,12 @@ import org.neo4j.test.extension.LifeExtension;
 import org.neo4j.test.extension.Neo4jLayoutExtension;
 import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_compression;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_compression_min_size;
 import static org.neo4j.kernel.impl.transaction.log.TestLogEntryReader.logEntryReader;
 import static org.neo4j.monitoring.PanicEventGenerator.NO_OP;
 
@@ -147,9 +159,133 @@ class TransactionLogQueueIT
         assertDoesNotThrow( () -> logQueue.submit( createTransaction(), LogAppendEvent.NULL ).get() );
     }
 
+    @Test
+    void appendCommandsSerializedBySubmittersAndReportPipelineStages() throws Exception
+    {
+        LogFiles logFiles = buildLogFiles( logVersionRepository, transactionIdStore );
+        life.add( logFiles );
+
+        AtomicInteger serialized = new AtomicInteger();
+        AtomicInteger appended = new AtomicInteger();
+        AtomicInteger forced = new AtomicInteger();
+        TransactionLogQueue.Monitor monitor = new TransactionLogQueue.Monitor()
+        {
+            @Override
+            public void serialized( long bytes, long nanos )
+            {
+                serialized.incrementAndGet();
+            }
+
+            @Override
+            public void appended( int batchSize, long nanos )
+            {
+                appended.addAndGet( batchSize );
+            }
+
+            @Override
+            public void forced( int batchSize, long nanos )
+            {
+                forced.addAndGet( batchSize );
+            }
+        };
+        TransactionLogQueue logQueue =
+                new TransactionLogQueue( logFiles, transactionIdStore, databaseHealth, metadataCache, config, jobScheduler, logProvider, monitor );
+        life.add( logQueue );
+
+        LogFile logFile = logFiles.getLogFile();
+        LogPosition startPosition = logFile.getTransactionLogWriter().getCurrentPosition();
+        int transactions = 10;
+        int commandsPerTransaction = 5;
+        for ( int i = 0; i < transactions; i++ )
+        {
+            logQueue.submit( createTransaction( commandsPerTransaction ), LogAppendEvent.NULL ).get();
+        }
+
+        int commands = 0;
+        int commits = 0;
+        try ( ReadableLogChannel reader = logFile.getReader( startPosition ) )
+        {
+            LogEntryReader entryReader = logEntryReader();
+            LogEntry entry;
+            while ( (entry = entryReader.readLogEntry( reader )) != null )
+            {
+                if ( entry instanceof LogEntryCommand )
+                {
+                    commands++;
+                }
+                else if ( entry instanceof LogEntryCommit )
+                {
+                    commits++;
+                }
+            }
+        }
+        assertEquals( transactions * commandsPerTransaction, commands );
+        assertEquals( transactions, commits );
+        assertEquals( transactions, serialized.get() );
+        assertEquals( transactions, appended.get() );
+        assertEquals( transactions, forced.get() );
+    }
+
+    @Test
+    void appendCommandsCompressedBySubmitters() throws Exception
+    {
+        config = Config.newBuilder().set( tx_log_compression, true ).set( tx_log_compression_min_size, 0L ).build();
+        LogFiles logFiles = buildLogFiles( logVersionRepository, transactionIdStore );
+        life.add( logFiles );
+
+        AtomicLong serializedBytes = new AtomicLong();
+        TransactionLogQueue.Monitor monitor = new TransactionLogQueue.Monitor()
+        {
+            @Override
+            public void serialized( long bytes, long nanos )
+            {
+                serializedBytes.addAndGet( bytes );
+            }
+        };
+        TransactionLogQueue logQueue =
+                new TransactionLogQueue( logFiles, transactionIdStore, databaseHealth, metadataCache, config, jobScheduler, logProvider, monitor );
+        life.add( logQueue );
+
+        LogFile logFile = logFiles.getLogFile();
+        LogPosition startPosition = logFile.getTransactionLogWriter().getCurrentPosition();
+        int transactions = 10;
+        int commandsPerTransaction = 50;
+        for ( int i = 0; i < transactions; i++ )
+        {
+            logQueue.submit( createTransaction( commandsPerTransaction ), LogAppendEvent.NULL ).get();
+        }
+
+        int commands = 0;
+        try ( ReadableLogChannel reader = logFile.getReader( startPosition ) )
+        {
+            LogEntryReader entryReader = logEntryReader();
+            LogEntry entry;
+            while ( (entry = entryReader.readLogEntry( reader )) != null )
+            {
+                if ( entry instanceof LogEntryCommand )
+                {
+                    commands++;
+                }
+            }
+        }
+        assertEquals( transactions * commandsPerTransaction, commands );
+        // The commands are already compressed when the submitters have serialized them
+        assertThat( serializedBytes.get() ).isLessThan( (long) transactions * commandsPerTransaction * 16 );
+    }
+
     private static TransactionToApply createTransaction()
     {
-        PhysicalTransactionRepresentation tx = new PhysicalTransactionRepresentation( List.of( new TestCommand() ) );
+        return createTransaction( 1 );
+    }
+
+    private static TransactionToApply createTransaction( int commands )
+    {
+        List<StorageCommand> commandList = new ArrayList<>( commands );
+        for ( int i = 0; i < commands; i++ )
+        {
+            commandList.add( new TestCommand( 16 + i ) );
+        }
+        PhysicalTransactionRepresentation tx = new PhysicalTransactionRepresentation( commandList );
         tx.setHeader( ArrayUtils.EMPTY_BYTE_ARRAY, 1, 2, 3, 4, AuthSubject.ANONYMOUS );
         return new TransactionToApply( tx, CursorContext.NULL, StoreCursors.NULL );
     }
@@ -164,6 +300,7 @@ class TransactionLogQueueIT
         return LogFilesBuilder.builder( databaseLayout, fileSystem ).withLogVersionRepository( logVersionRepository )
                 .withRotationThreshold( ByteUnit.mebiBytes( 1 ) )
                 .withTransactionIdStore( transactionIdStore )
+                .withConfig( config )
                 .withLogEntryReader( logEntryReader() )
                 .withStoreId( StoreId.UNKNOWN ).build();
     }
@@ -21,6 +21,10 @@ package org.neo4j.kernel.impl.transaction.log.checkpoint;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -225,4 +229,32 @@ class CheckPointThresholdTest extends CheckPointThresholdTestSupport
         withIntervalTime( "100ms" );
         assertThat( createThreshold().checkFrequencyMillis() ).isEqualTo( 100L );
     }
+
+    @Test
+    void continuousPolicyMustTriggerOnAnyTransactionCommittedSinceLastCheckPoint()
+    {
+        withPolicy( "continuous" );
+        CheckPointThreshold threshold = createThreshold();
+        threshold.initialize( 2, UNSPECIFIED );
+
+        assertFalse( threshold.isCheckPointingNeeded( 2, ARBITRARY_LOG_POSITION, notTriggered ) );
+        assertTrue( threshold.isCheckPointingNeeded( 3, ARBITRARY_LOG_POSITION, triggered ) );
+        verifyTriggered( "continuous" );
+
+        threshold.checkPointHappened( 3, ARBITRARY_LOG_POSITION );
+        assertFalse( threshold.isCheckPointingNeeded( 3, ARBITRARY_LOG_POSITION, notTriggered ) );
+        assertTrue( threshold.isCheckPointingNeeded( 4, ARBITRARY_LOG_POSITION, triggered ) );
+        verifyTriggered( "continuous" );
+        verifyNoMoreTriggers();
+    }
+
+    @Test
+    void continuousPolicyMustSuggestConfiguredSchedulingFrequency()
+    {
+        withPolicy( "continuous" );
+        assertThat( createThreshold().checkFrequencyMillis() ).isEqualTo( 10_000L );
+
+        config.set( GraphDatabaseInternalSettings.continuous_check_point_interval, Duration.ofSeconds( 2 ) );
+        assertThat( createThreshold().checkFrequencyMillis() ).isEqualTo( 2_000L );
+    }
 }
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 
+import org.neo4j.io.compress.BlockCompression;
 import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.impl.api.TestCommand;
 import org.neo4j.kernel.impl.api.TestCommandReaderFactory;
@@ -185,6 +186,27 @@ class VersionAwareLogEntryReaderTest
         assertTrue( e.getMessage().contains( "The checksum chain is broken" ) );
     }
 
+    @Test
+    void shouldRejectCompressedCommandsWithInvalidLengths()
+    {
+        assertThrows( IOException.class, () -> logEntryReader.readLogEntry( compressedCommandsEntry( -1, 10 ) ) );
+        assertThrows( IOException.class, () -> logEntryReader.readLogEntry( compressedCommandsEntry( 10, -1 ) ) );
+        assertThrows( IOException.class, () -> logEntryReader.readLogEntry( compressedCommandsEntry( Integer.MAX_VALUE, 10 ) ) );
+        assertThrows( IOException.class, () -> logEntryReader.readLogEntry( compressedCommandsEntry( 10, Integer.MAX_VALUE ) ) );
+    }
+
+    private static InMemoryClosableChannel compressedCommandsEntry( int commandsLength, int compressedLength )
+    {
+        InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        channel.put( KernelVersion.V4_4.version() );
+        channel.put( LogEntryTypeCodes.COMPRESSED_COMMANDS );
+        channel.put( BlockCompression.ZSTD.id() );
+        channel.putInt( commandsLength );
+        channel.putInt( compressedLength );
+        channel.put( new byte[10], 10 );
+        return channel;
+    }
+
     private static void writeStartEntry( InMemoryClosableChannel channel, LogEntryStart start )
     {
         channel.beginChecksum();
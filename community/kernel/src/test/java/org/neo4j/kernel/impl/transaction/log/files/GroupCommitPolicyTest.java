@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupCommitPolicyTest
+{
+    private long arrivals;
+    private long nowNanos = MICROSECONDS.toNanos( 1_000_000 );
+
+    @Test
+    void shouldNotWaitWhenDisabled()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( 0, 64 );
+        simulateForces( policy, 10, 1_000, 10 );
+
+        assertThat( policy.enabled() ).isFalse();
+        assertThat( policy.maxWaitNanos() ).isZero();
+        assertThat( policy.targetBatchSize() ).isOne();
+    }
+
+    @Test
+    void shouldNotWaitForMoreThanOneTransactionUnderLightLoad()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( MICROSECONDS.toNanos( 500 ), 64 );
+        // One transaction arrives every 10ms, while a force takes 1ms
+        simulateForces( policy, 10_000, 1_000, 1 );
+
+        assertThat( policy.targetBatchSize() ).isOne();
+    }
+
+    @Test
+    void shouldTargetTransactionsArrivingDuringOneForceUnderHeavyLoad()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( MICROSECONDS.toNanos( 500 ), 64 );
+        // Twenty transactions arrive every 1ms, while a force takes 1ms
+        simulateForces( policy, 1_000, 1_000, 20 );
+
+        assertThat( policy.targetBatchSize() ).isEqualTo( 20 );
+        assertThat( policy.maxWaitNanos() ).isEqualTo( MICROSECONDS.toNanos( 500 ) );
+    }
+
+    @Test
+    void shouldBoundTargetBatchSizeAndWait()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( MICROSECONDS.toNanos( 500 ), 8 );
+        // Fifty transactions arrive every 200us, while a force takes 200us
+        simulateForces( policy, 200, 200, 50 );
+
+        assertThat( policy.targetBatchSize() ).isEqualTo( 8 );
+        assertThat( policy.maxWaitNanos() ).isEqualTo( MICROSECONDS.toNanos( 200 ) );
+    }
+
+    @Test
+    void shouldAdaptToChangingLoad()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( MICROSECONDS.toNanos( 500 ), 64 );
+        simulateForces( policy, 1_000, 1_000, 20 );
+        assertThat( policy.targetBatchSize() ).isEqualTo( 20 );
+
+        simulateForces( policy, 10_000, 1_000, 1 );
+        assertThat( policy.targetBatchSize() ).isOne();
+    }
+
+    private void simulateForces( GroupCommitPolicy policy, long intervalMicros, long forceMicros, int transactionsPerInterval )
+    {
+        for ( int i = 0; i < 100; i++ )
+        {
+            arrivals += transactionsPerInterval;
+            nowNanos += MICROSECONDS.toNanos( intervalMicros );
+            policy.forced( arrivals, nowNanos, nowNanos + MICROSECONDS.toNanos( forceMicros ) );
+        }
+    }
+}
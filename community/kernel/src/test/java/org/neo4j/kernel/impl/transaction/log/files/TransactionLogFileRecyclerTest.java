@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import org.neo4j.internal.nativeimpl.AbsentNativeAccess;
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogFileRecycler.RECYCLED_FILE_SUFFIX;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogFileRecycler.RECYCLING_FILE_SUFFIX;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogFilesHelper.DEFAULT_NAME;
+
+@TestDirectoryExtension
+class TransactionLogFileRecyclerTest
+{
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private TestDirectory testDirectory;
+
+    @Test
+    @EnabledOnOs( OS.LINUX )
+    void shouldPreallocateRecycledLogFileAndReuseItForNewLogFile() throws IOException
+    {
+        TransactionLogFileRecycler recycler = recycler( 2 );
+        Path prunedFile = logFile( 3, 1000 );
+        Path newFile = testDirectory.homePath().resolve( DEFAULT_NAME + ".7" );
+
+        assertThat( recycler.recycle( prunedFile ) ).isTrue();
+        assertThat( fs.fileExists( prunedFile ) ).isFalse();
+        assertThat( recycler.pooledFiles() ).isEqualTo( 1 );
+
+        assertThat( recycler.reuse( newFile ) ).isTrue();
+        assertThat( recycler.pooledFiles() ).isZero();
+        assertThat( fs.getFileSize( newFile ) ).isEqualTo( 1000 );
+        assertThat( readAll( newFile ) ).containsOnly( 0 );
+        assertThat( recycler.reuse( testDirectory.homePath().resolve( DEFAULT_NAME + ".8" ) ) ).isFalse();
+    }
+
+    @Test
+    @EnabledOnOs( OS.LINUX )
+    void shouldNotOverwritePrunedLogFileThatIsStillRead() throws IOException
+    {
+        TransactionLogFileRecycler recycler = recycler( 1 );
+        Path prunedFile = logFile( 3, 1000 );
+        byte[] contents = readAll( prunedFile );
+
+        try ( StoreChannel reader = fs.read( prunedFile ) )
+        {
+            assertThat( recycler.recycle( prunedFile ) ).isTrue();
+
+            ByteBuffer buffer = ByteBuffer.allocate( contents.length );
+            reader.readAll( buffer );
+            assertThat( buffer.array() ).isEqualTo( contents );
+        }
+        assertThat( recycler.pooledFiles() ).isEqualTo( 1 );
+    }
+
+    @Test
+    void shouldRecognisePoolFilesOfDefaultLogFiles()
+    {
+        Path directory = testDirectory.homePath();
+
+        assertThat( TransactionLogFileRecycler.isDefaultPoolFile( directory.resolve( DEFAULT_NAME + RECYCLED_FILE_SUFFIX + ".4" ) ) ).isTrue();
+        assertThat( TransactionLogFileRecycler.isDefaultPoolFile( directory.resolve( DEFAULT_NAME + RECYCLING_FILE_SUFFIX + ".4" ) ) ).isTrue();
+        assertThat( TransactionLogFileRecycler.isDefaultPoolFile( directory.resolve( DEFAULT_NAME + ".4" ) ) ).isFalse();
+        assertThat( TransactionLogFiles.isAuxiliaryLogFile( directory.resolve( DEFAULT_NAME + RECYCLED_FILE_SUFFIX + ".4" ) ) ).isTrue();
+    }
+
+    @Test
+    @EnabledOnOs( OS.LINUX )
+    void shouldLeaveLogFileToDeleteWhenPoolIsFull() throws IOException
+    {
+        TransactionLogFileRecycler recycler = recycler( 1 );
+        Path first = logFile( 1, 100 );
+        Path second = logFile( 2, 100 );
+
+        assertThat( recycler.recycle( first ) ).isTrue();
+        assertThat( recycler.recycle( second ) ).isFalse();
+
+        assertThat( fs.fileExists( second ) ).isTrue();
+        assertThat( recycler.pooledFiles() ).isEqualTo( 1 );
+    }
+
+    @Test
+    void shouldNotRecycleWhenDisabled() throws IOException
+    {
+        TransactionLogFileRecycler recycler = recycler( 0 );
+        Path prunedFile = logFile( 1, 100 );
+
+        assertThat( recycler.isEnabled() ).isFalse();
+        assertThat( recycler.recycle( prunedFile ) ).isFalse();
+        assertThat( fs.fileExists( prunedFile ) ).isTrue();
+    }
+
+    @Test
+    @EnabledOnOs( OS.LINUX )
+    void shouldPickUpPooledFilesOnStartAndDeletePartiallyRecycledFiles() throws IOException
+    {
+        Path directory = testDirectory.homePath();
+        Path recycled = createFile( directory.resolve( DEFAULT_NAME + RECYCLED_FILE_SUFFIX + ".4" ), 100 );
+        Path extraRecycled = createFile( directory.resolve( DEFAULT_NAME + RECYCLED_FILE_SUFFIX + ".5" ), 100 );
+        Path recycling = createFile( directory.resolve( DEFAULT_NAME + RECYCLING_FILE_SUFFIX + ".6" ), 100 );
+        Path logFile = logFile( 1, 100 );
+
+        TransactionLogFileRecycler recycler = recycler( 1 );
+        recycler.start();
+
+        assertThat( recycler.pooledFiles() ).isEqualTo( 1 );
+        assertThat( fs.fileExists( recycled ) ^ fs.fileExists( extraRecycled ) ).isTrue();
+        assertThat( fs.fileExists( recycling ) ).isFalse();
+        assertThat( fs.fileExists( logFile ) ).isTrue();
+
+        // Files recycled after the restart do not clash with the ones picked up
+        recycler.reuse( directory.resolve( DEFAULT_NAME + ".2" ) );
+        assertThat( recycler.recycle( logFile ) ).isTrue();
+        assertThat( fs.fileExists( directory.resolve( DEFAULT_NAME + RECYCLED_FILE_SUFFIX + ".7" ) ) ).isTrue();
+    }
+
+    @Test
+    void shouldNotRecycleWithoutNativeAccess() throws IOException
+    {
+        TransactionLogFileRecycler recycler = new TransactionLogFileRecycler( fs, testDirectory.homePath(), DEFAULT_NAME, 2, new AbsentNativeAccess() );
+        Path prunedFile = logFile( 1, 100 );
+
+        assertThat( recycler.isEnabled() ).isFalse();
+        assertThat( recycler.recycle( prunedFile ) ).isFalse();
+        assertThat( fs.fileExists( prunedFile ) ).isTrue();
+    }
+
+    private TransactionLogFileRecycler recycler( int poolSize )
+    {
+        return new TransactionLogFileRecycler( fs, testDirectory.homePath(), DEFAULT_NAME, poolSize, NativeAccessProvider.getNativeAccess() );
+    }
+
+    private Path logFile( long version, int size ) throws IOException
+    {
+        return createFile( testDirectory.homePath().resolve( DEFAULT_NAME + "." + version ), size );
+    }
+
+    private Path createFile( Path file, int size ) throws IOException
+    {
+        try ( StoreChannel channel = fs.write( file ) )
+        {
+            byte[] bytes = new byte[size];
+            for ( int i = 0; i < size; i++ )
+            {
+                bytes[i] = (byte) (i % 7 + 1);
+            }
+            channel.writeAll( ByteBuffer.wrap( bytes ) );
+        }
+        return file;
+    }
+
+    private byte[] readAll( Path file ) throws IOException
+    {
+        try ( StoreChannel channel = fs.read( file ) )
+        {
+            ByteBuffer buffer = ByteBuffer.allocate( (int) channel.size() );
+            channel.read( buffer );
+            return buffer.array();
+        }
+    }
+}
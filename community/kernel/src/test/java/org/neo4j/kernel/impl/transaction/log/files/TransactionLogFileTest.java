@@ -41,6 +41,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
+import org.neo4j.configuration.Config;
 import org.neo4j.internal.nativeimpl.ErrorTranslator;
 import org.neo4j.internal.nativeimpl.NativeAccess;
 import org.neo4j.internal.nativeimpl.NativeCallResult;
@@ -48,13 +49,18 @@ import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.DelegatingFileSystemAbstraction;
 import org.neo4j.io.fs.DelegatingStoreChannel;
 import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.PositionableChannel;
 import org.neo4j.io.fs.ReadableChannel;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.kernel.impl.api.tracer.DefaultTracer;
 import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
 import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.MappedLogChannel;
 import org.neo4j.kernel.impl.transaction.log.PhysicalLogicalTransactionStore;
+import org.neo4j.kernel.impl.transaction.log.ReadAheadLogChannel;
+import org.neo4j.kernel.impl.transaction.log.ReadableLogChannel;
 import org.neo4j.kernel.impl.transaction.log.TransactionLogWriter;
 import org.neo4j.kernel.impl.transaction.log.entry.IncompleteLogHeaderException;
 import org.neo4j.kernel.impl.transaction.log.entry.LogHeader;
@@ -83,6 +89,9 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_group_commit_max_wait_micros;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_mapped_reads;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_log_recycle_pool_size;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL;
 import static org.neo4j.kernel.impl.transaction.log.TestLogEntryReader.logEntryReader;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
@@ -275,6 +284,106 @@ class TransactionLogFileTest
         }
     }
 
+    @Test
+    void shouldReadOlderLogFilesThroughMemoryMapping() throws Exception
+    {
+        LogFiles logFiles = LogFilesBuilder.builder( databaseLayout, fileSystem )
+                .withRotationThreshold( rotationThreshold )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withConfig( Config.defaults( tx_log_mapped_reads, true ) )
+                .build();
+        life.add( logFiles );
+        life.start();
+
+        LogFile logFile = logFiles.getLogFile();
+        TransactionLogWriter logWriter = logFile.getTransactionLogWriter();
+        var writer = logWriter.getChannel();
+        byte[] someBytes = someBytes( 40 );
+        LogPosition position1 = logWriter.getCurrentPosition();
+        writer.putInt( 45 );
+        writer.put( someBytes, someBytes.length );
+        logFile.flush();
+        logFile.rotate();
+        LogPosition position2 = logWriter.getCurrentPosition();
+        writer.putLong( 4854587 );
+        logFile.flush();
+        logFile.rotate();
+        LogPosition position3 = logWriter.getCurrentPosition();
+        writer.putLong( 123456789L );
+        logFile.flush();
+
+        try ( ReadableLogChannel reader = logFile.getReader( position1 ) )
+        {
+            assertThat( reader ).isInstanceOf( MappedLogChannel.class );
+            assertEquals( 45, reader.getInt() );
+            assertArrayEquals( someBytes, readBytes( reader, 40 ) );
+
+            // Skip the rest of the first file to move over to the second, which is mapped as well
+            ((PositionableChannel) reader).setCurrentPosition( logFileSize( logFile, position1.getLogVersion() ) );
+            assertEquals( 4854587, reader.getLong() );
+            assertEquals( new LogPosition( position2.getLogVersion(), position2.getByteOffset() + Long.BYTES ), reader.getCurrentPosition() );
+
+            // The third file is still written to, and is read through a read-ahead buffer
+            ((PositionableChannel) reader).setCurrentPosition( logFileSize( logFile, position2.getLogVersion() ) );
+            assertEquals( 123456789L, reader.getLong() );
+            assertEquals( new LogPosition( position3.getLogVersion(), position3.getByteOffset() + Long.BYTES ), reader.getCurrentPosition() );
+        }
+        try ( ReadableLogChannel reader = logFile.getReader( position3 ) )
+        {
+            assertThat( reader ).isInstanceOf( ReadAheadLogChannel.class );
+            assertEquals( 123456789L, reader.getLong() );
+        }
+    }
+
+    @Test
+    void shouldBackNewLogFileByRecycledLogFileOnRotation() throws Exception
+    {
+        LogFiles logFiles = LogFilesBuilder.builder( databaseLayout, fileSystem )
+                .withRotationThreshold( rotationThreshold )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withConfig( Config.defaults( tx_log_recycle_pool_size, 1 ) )
+                .build();
+        life.add( logFiles );
+        life.start();
+
+        LogFile logFile = logFiles.getLogFile();
+        TransactionLogWriter logWriter = logFile.getTransactionLogWriter();
+        var writer = logWriter.getChannel();
+        writer.put( someBytes( 1000 ), 1000 );
+        logFile.flush();
+        long prunedVersion = logFile.getCurrentLogVersion();
+        logFile.rotate();
+        long prunedFileSize = logFileSize( logFile, prunedVersion );
+
+        TransactionLogFileRecycler recycler = logFile.getLogFileRecycler();
+        assertTrue( recycler.recycle( logFile.getLogFileForVersion( prunedVersion ) ) );
+        assertThat( logFile.versionExists( prunedVersion ) ).isFalse();
+        assertEquals( 1, recycler.pooledFiles() );
+
+        logFile.rotate();
+        long recycledVersion = logFile.getCurrentLogVersion();
+        LogPosition position = logWriter.getCurrentPosition();
+        writer.putLong( 123456789L );
+        logFile.flush();
+
+        assertEquals( 0, recycler.pooledFiles() );
+        assertEquals( prunedFileSize, logFileSize( logFile, recycledVersion ) );
+        LogHeader header = readLogHeader( fileSystem, logFile.getLogFileForVersion( recycledVersion ), INSTANCE );
+        assertEquals( recycledVersion, header.getLogVersion() );
+        try ( ReadableLogChannel reader = logFile.getReader( position ) )
+        {
+            assertEquals( 123456789L, reader.getLong() );
+            // The rest of the recycled file is zeroed
+            assertEquals( 0, reader.getLong() );
+        }
+    }
+
     @Test
     void shouldVisitLogFile() throws Exception
     {
@@ -439,6 +548,52 @@ class TransactionLogFileTest
         assertThat( capturingChannel.getWriteAllCounter().get() - writesBefore ).isLessThanOrEqualTo( executors );
     }
 
+    @Test
+    void shouldTraceForcedBatchesWithGroupCommit() throws Throwable
+    {
+        Config config = Config.newBuilder().set( tx_log_group_commit_max_wait_micros, 500L ).build();
+        LogFiles logFiles = LogFilesBuilder.builder( databaseLayout, wrappingFileSystem )
+                .withRotationThreshold( rotationThreshold )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withConfig( config )
+                .build();
+        life.start();
+        life.add( logFiles );
+
+        LogFile logFile = logFiles.getLogFile();
+        DefaultTracer tracer = new DefaultTracer();
+
+        int executors = 10;
+        int forcesPerExecutor = 20;
+        var executorService = Executors.newFixedThreadPool( executors );
+        try
+        {
+            List<Future<?>> futures = Stream.iterate( 0, i -> i + 1 )
+                                            .limit( executors )
+                                            .map( v -> executorService.submit( () ->
+                                            {
+                                                for ( int i = 0; i < forcesPerExecutor; i++ )
+                                                {
+                                                    logFile.forceAfterAppend( tracer.logAppend() );
+                                                }
+                                                return null;
+                                            } ) )
+                                            .collect( toList() );
+            Futures.getAll( futures );
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+
+        long forces = Arrays.stream( tracer.logForceBatchSizeHistogram() ).sum();
+        assertThat( forces ).isBetween( 1L, (long) executors * forcesPerExecutor );
+        assertThat( Arrays.stream( tracer.logForceWaitMicrosHistogram() ).sum() ).isEqualTo( forces );
+    }
+
     @Test
     void combineLogFilesFromMultipleLocationsNonOverlappingFiles() throws IOException
     {
@@ -782,6 +937,11 @@ class TransactionLogFileTest
                 .build();
     }
 
+    private long logFileSize( LogFile logFile, long version ) throws IOException
+    {
+        return fileSystem.getFileSize( logFile.getLogFileForVersion( version ) );
+    }
+
     private static byte[] someBytes( int length )
     {
         byte[] result = new byte[length];
@@ -862,6 +1022,12 @@ class TransactionLogFileTest
             return NativeCallResult.SUCCESS;
         }
 
+        @Override
+        public NativeCallResult tryAdviseSequentialMemoryAccess( long address, long length )
+        {
+            return NativeCallResult.SUCCESS;
+        }
+
         @Override
         public ErrorTranslator errorTranslator()
         {
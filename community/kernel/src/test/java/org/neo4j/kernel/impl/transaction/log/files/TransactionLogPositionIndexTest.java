@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogFilesHelper.DEFAULT_NAME;
+
+@EphemeralTestDirectoryExtension
+class TransactionLogPositionIndexTest
+{
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private TestDirectory testDirectory;
+
+    @Test
+    void shouldIndexFirstTransactionOfLogFileAndThenEveryInterval() throws IOException
+    {
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, testDirectory.homePath(), DEFAULT_NAME, 10 );
+
+        appendTransactions( index, 3, 2, 30 );
+        index.logFileSealed( 3 );
+
+        assertThat( index.lookup( 3, 1 ) ).isNull();
+        assertThat( index.lookup( 3, 2 ) ).isEqualTo( position( 3, 2 ) );
+        assertThat( index.lookup( 3, 11 ) ).isEqualTo( position( 3, 2 ) );
+        assertThat( index.lookup( 3, 12 ) ).isEqualTo( position( 3, 12 ) );
+        assertThat( index.lookup( 3, 29 ) ).isEqualTo( position( 3, 22 ) );
+        assertThat( index.lookup( 4, 31 ) ).isNull();
+    }
+
+    @Test
+    void shouldStartNewIndexForEachLogFile() throws IOException
+    {
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, testDirectory.homePath(), DEFAULT_NAME, 10 );
+
+        appendTransactions( index, 0, 2, 5 );
+        index.logFileSealed( 0 );
+        appendTransactions( index, 1, 5, 8 );
+        index.logFileSealed( 1 );
+
+        assertThat( index.lookup( 0, 4 ) ).isEqualTo( position( 0, 2 ) );
+        assertThat( index.lookup( 1, 4 ) ).isNull();
+        assertThat( index.lookup( 1, 7 ) ).isEqualTo( position( 1, 5 ) );
+    }
+
+    @Test
+    void shouldForgetPositionsTruncatedAway() throws IOException
+    {
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, testDirectory.homePath(), DEFAULT_NAME, 10 );
+
+        appendTransactions( index, 3, 2, 30 );
+        index.truncate( position( 3, 15 ) );
+        index.logFileSealed( 3 );
+
+        assertThat( index.lookup( 3, 12 ) ).isEqualTo( position( 3, 12 ) );
+        assertThat( index.lookup( 3, 29 ) ).isEqualTo( position( 3, 12 ) );
+    }
+
+    @Test
+    void shouldNotWriteIndexFilesWhenDisabled() throws IOException
+    {
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, testDirectory.homePath(), DEFAULT_NAME, 0 );
+
+        assertThat( index.isEnabled() ).isFalse();
+        assertThat( index.shouldIndex( 2 ) ).isFalse();
+        index.logFileSealed( 0 );
+
+        assertThat( fs.fileExists( index.indexFileForVersion( 0 ) ) ).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreIncompleteIndexFile() throws IOException
+    {
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, testDirectory.homePath(), DEFAULT_NAME, 10 );
+        appendTransactions( index, 0, 2, 30 );
+        index.logFileSealed( 0 );
+
+        Path indexFile = index.indexFileForVersion( 0 );
+        try ( StoreChannel channel = fs.write( indexFile ) )
+        {
+            channel.truncate( channel.size() - 1 );
+        }
+
+        assertThat( index.lookup( 0, 25 ) ).isNull();
+    }
+
+    @Test
+    void shouldDeleteIndexFile() throws IOException
+    {
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, testDirectory.homePath(), DEFAULT_NAME, 10 );
+        appendTransactions( index, 0, 2, 5 );
+        index.logFileSealed( 0 );
+
+        index.delete( 0 );
+        index.delete( 1 );
+
+        assertThat( fs.fileExists( index.indexFileForVersion( 0 ) ) ).isFalse();
+        assertThat( index.lookup( 0, 2 ) ).isNull();
+    }
+
+    @Test
+    void shouldNotBeMistakenForLogFile() throws IOException
+    {
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, testDirectory.homePath(), DEFAULT_NAME, 10 );
+        appendTransactions( index, 0, 2, 5 );
+        index.logFileSealed( 0 );
+
+        assertThat( TransactionLogFiles.DEFAULT_FILENAME_FILTER.accept( index.indexFileForVersion( 0 ) ) ).isFalse();
+        assertThat( TransactionLogFiles.isAuxiliaryLogFile( index.indexFileForVersion( 0 ) ) ).isTrue();
+        assertThat( new TransactionLogFilesHelper( fs, testDirectory.homePath() ).getMatchedFiles() ).isEmpty();
+    }
+
+    private static void appendTransactions( TransactionLogPositionIndex index, long version, long fromTxId, long toTxId )
+    {
+        for ( long txId = fromTxId; txId <= toTxId; txId++ )
+        {
+            if ( index.shouldIndex( txId ) )
+            {
+                index.transactionAppended( txId, position( version, txId ) );
+            }
+        }
+    }
+
+    private static LogPosition position( long version, long txId )
+    {
+        return new LogPosition( version, txId * 100 );
+    }
+}
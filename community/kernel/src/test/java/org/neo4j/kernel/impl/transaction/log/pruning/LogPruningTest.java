@@ -34,6 +34,8 @@ import org.neo4j.internal.helpers.collection.LongRange;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.impl.transaction.log.files.LogFile;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogFileRecycler;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogPositionIndex;
 import org.neo4j.kernel.impl.transaction.log.files.checkpoint.CheckpointFile;
 import org.neo4j.logging.AssertableLogProvider;
 import org.neo4j.logging.LogAssertions;
@@ -63,6 +65,8 @@ class LogPruningTest
     private AssertableLogProvider logProvider;
     private SystemNanoClock clock;
     private LogPruneStrategyFactory factory;
+    private TransactionLogPositionIndex positionIndex;
+    private TransactionLogFileRecycler recycler;
 
     @BeforeEach
     void setUp()
@@ -71,6 +75,10 @@ class LogPruningTest
         logFiles = mock( LogFiles.class );
         LogFile logFile = mock( LogFile.class );
         when( logFiles.getLogFile() ).thenReturn( logFile );
+        positionIndex = mock( TransactionLogPositionIndex.class );
+        when( logFile.getTransactionPositionIndex() ).thenReturn( positionIndex );
+        recycler = mock( TransactionLogFileRecycler.class );
+        when( logFile.getLogFileRecycler() ).thenReturn( recycler );
         when( logFiles.getCheckpointFile() ).thenReturn( mock( CheckpointFile.class ) );
         doAnswer( inv -> Path.of( String.valueOf( inv.getArguments()[0] ) ) )
                 .when( logFile ).getLogFileForVersion( anyLong() );
@@ -91,6 +99,23 @@ class LogPruningTest
         order.verify( fs ).deleteFile( Path.of( "4" ) );
         // Log file 5 is not deleted; it's the lowest version expected to remain after pruning.
         verifyNoMoreInteractions( fs );
+        verify( positionIndex ).delete( 3 );
+        verify( positionIndex ).delete( 4 );
+        verifyNoMoreInteractions( positionIndex );
+    }
+
+    @Test
+    void mustNotDeleteLogFilesThatAreRecycled() throws IOException
+    {
+        when( factory.strategyFromConfigValue( eq( fs ), eq( logFiles ), eq( logProvider ), eq( clock ), anyString() ) )
+                .thenReturn( upTo -> LongRange.range( 3, upTo - 1 ) );
+        when( recycler.recycle( Path.of( "3" ) ) ).thenReturn( true );
+        LogPruning pruning = new LogPruningImpl( fs, logFiles, logProvider, factory, clock, config, new ReentrantLock() );
+        pruning.pruneLogs( 5 );
+        verify( fs ).deleteFile( Path.of( "4" ) );
+        verifyNoMoreInteractions( fs );
+        verify( positionIndex ).delete( 3 );
+        verify( positionIndex ).delete( 4 );
     }
 
     @Test
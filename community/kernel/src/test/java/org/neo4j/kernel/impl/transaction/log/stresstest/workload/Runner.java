@@ -45,6 +45,7 @@ import org.neo4j.logging.Log;
 import org.neo4j.logging.NullLog;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.monitoring.DatabaseHealth;
+import org.neo4j.monitoring.Monitors;
 import org.neo4j.monitoring.PanicEventGenerator;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.StoreId;
@@ -114,7 +115,7 @@ public class Runner implements Callable<Long>
         Log log = NullLog.getInstance();
         DatabaseHealth databaseHealth = new DatabaseHealth( PanicEventGenerator.NO_OP, log );
         return createTransactionAppender( logFiles, transactionIdStore, transactionMetadataCache, config, databaseHealth,
-                jobScheduler, NullLogProvider.getInstance() );
+                jobScheduler, NullLogProvider.getInstance(), new Monitors() );
     }
 
     private LogFiles createLogFiles( TransactionIdStore transactionIdStore,
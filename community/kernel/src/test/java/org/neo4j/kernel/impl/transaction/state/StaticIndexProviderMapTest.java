@@ -25,8 +25,10 @@ import java.util.ArrayList;
 
 import org.neo4j.collection.Dependencies;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.internal.schema.IndexProviderDescriptor;
+import org.neo4j.internal.schema.IndexType;
 import org.neo4j.kernel.api.impl.fulltext.FulltextIndexProvider;
 import org.neo4j.kernel.api.impl.schema.TextIndexProvider;
 import org.neo4j.kernel.api.index.IndexProvider;
@@ -34,10 +36,12 @@ import org.neo4j.kernel.impl.index.schema.GenericNativeIndexProvider;
 import org.neo4j.kernel.impl.index.schema.PointIndexProvider;
 import org.neo4j.kernel.impl.index.schema.RangeIndexProvider;
 import org.neo4j.kernel.impl.index.schema.TokenIndexProvider;
+import org.neo4j.kernel.impl.index.schema.TrigramIndexProvider;
 import org.neo4j.kernel.impl.index.schema.fusion.FusionIndexProvider;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -54,6 +58,7 @@ class StaticIndexProviderMapTest
         var fulltextIndexProvider = mockProvider( FulltextIndexProvider.class );
         var rangeIndexProvider = mockProvider( RangeIndexProvider.class );
         var pointIndexProvider = mockProvider( PointIndexProvider.class );
+        var trigramIndexProvider = mockProvider( TrigramIndexProvider.class );
         var map = new StaticIndexProviderMap( tokenIndexProvider,
                                               btreeIndexProvider,
                                               fusionIndexProvider,
@@ -61,6 +66,7 @@ class StaticIndexProviderMapTest
                                               fulltextIndexProvider,
                                               rangeIndexProvider,
                                               pointIndexProvider,
+                                              trigramIndexProvider,
                                               Config.newBuilder().build(),
                                               new Dependencies() );
         map.init();
@@ -83,6 +89,7 @@ class StaticIndexProviderMapTest
         var fulltextIndexProvider = mockProvider( FulltextIndexProvider.class );
         var rangeIndexProvider = mockProvider( RangeIndexProvider.class );
         var pointIndexProvider = mockProvider( PointIndexProvider.class );
+        var trigramIndexProvider = mockProvider( TrigramIndexProvider.class );
         var map = new StaticIndexProviderMap( tokenIndexProvider,
                                               btreeIndexProvider,
                                               fusionIndexProvider,
@@ -90,11 +97,13 @@ class StaticIndexProviderMapTest
                                               fulltextIndexProvider,
                                               rangeIndexProvider,
                                               pointIndexProvider,
+                                              trigramIndexProvider,
                                               Config.newBuilder().build(),
                                               new Dependencies() );
         map.init();
 
-        asList( tokenIndexProvider, btreeIndexProvider, fusionIndexProvider, textIndexProvider, fulltextIndexProvider, rangeIndexProvider, pointIndexProvider )
+        asList( tokenIndexProvider, btreeIndexProvider, fusionIndexProvider, textIndexProvider, fulltextIndexProvider, rangeIndexProvider, pointIndexProvider,
+                trigramIndexProvider )
                 .forEach(
                         p ->
                         {
@@ -114,6 +123,7 @@ class StaticIndexProviderMapTest
         var fulltextIndexProvider = mockProvider( FulltextIndexProvider.class );
         var rangeIndexProvider = mockProvider( RangeIndexProvider.class );
         var pointIndexProvider = mockProvider( PointIndexProvider.class );
+        var trigramIndexProvider = mockProvider( TrigramIndexProvider.class );
         var map = new StaticIndexProviderMap( tokenIndexProvider,
                                               btreeIndexProvider,
                                               fusionIndexProvider,
@@ -121,6 +131,7 @@ class StaticIndexProviderMapTest
                                               fulltextIndexProvider,
                                               rangeIndexProvider,
                                               pointIndexProvider,
+                                              trigramIndexProvider,
                                               Config.newBuilder().build(),
                                               new Dependencies() );
         map.init();
@@ -129,7 +140,7 @@ class StaticIndexProviderMapTest
         map.accept( accepted::add );
 
         assertThat( accepted ).containsExactlyInAnyOrder( tokenIndexProvider, btreeIndexProvider, fusionIndexProvider, textIndexProvider,
-                fulltextIndexProvider, rangeIndexProvider, pointIndexProvider );
+                fulltextIndexProvider, rangeIndexProvider, pointIndexProvider, trigramIndexProvider );
     }
 
     @Test
@@ -148,6 +159,7 @@ class StaticIndexProviderMapTest
                                               mockProvider( FulltextIndexProvider.class ),
                                               mockProvider( RangeIndexProvider.class ),
                                               mockProvider( PointIndexProvider.class ),
+                                              mockProvider( TrigramIndexProvider.class ),
                                               config,
                                               dependencies );
         map.init();
@@ -160,6 +172,53 @@ class StaticIndexProviderMapTest
         assertThat( accepted ).contains( extension );
     }
 
+    @Test
+    void testConfiguredTextProvider() throws Exception
+    {
+        var textIndexProvider = mockProvider( TextIndexProvider.class );
+        var trigramIndexProvider = mockProvider( TrigramIndexProvider.class );
+        when( trigramIndexProvider.getIndexType() ).thenReturn( IndexType.TEXT );
+        var config = Config.newBuilder()
+                           .set( GraphDatabaseInternalSettings.default_text_provider, trigramIndexProvider.getProviderDescriptor().name() )
+                           .build();
+        var map = new StaticIndexProviderMap( mockProvider( TokenIndexProvider.class ),
+                                              mockProvider( GenericNativeIndexProvider.class ),
+                                              mockProvider( FusionIndexProvider.class ),
+                                              textIndexProvider,
+                                              mockProvider( FulltextIndexProvider.class ),
+                                              mockProvider( RangeIndexProvider.class ),
+                                              mockProvider( PointIndexProvider.class ),
+                                              trigramIndexProvider,
+                                              config,
+                                              new Dependencies() );
+        map.init();
+
+        assertThat( map.getTextIndexProvider() ).isEqualTo( trigramIndexProvider );
+        assertThat( map.lookup( textIndexProvider.getProviderDescriptor() ) ).isEqualTo( textIndexProvider );
+    }
+
+    @Test
+    void shouldNotAcceptConfiguredTextProviderOfOtherIndexType()
+    {
+        var rangeIndexProvider = mockProvider( RangeIndexProvider.class );
+        when( rangeIndexProvider.getIndexType() ).thenReturn( IndexType.RANGE );
+        var config = Config.newBuilder()
+                           .set( GraphDatabaseInternalSettings.default_text_provider, rangeIndexProvider.getProviderDescriptor().name() )
+                           .build();
+        var map = new StaticIndexProviderMap( mockProvider( TokenIndexProvider.class ),
+                                              mockProvider( GenericNativeIndexProvider.class ),
+                                              mockProvider( FusionIndexProvider.class ),
+                                              mockProvider( TextIndexProvider.class ),
+                                              mockProvider( FulltextIndexProvider.class ),
+                                              rangeIndexProvider,
+                                              mockProvider( PointIndexProvider.class ),
+                                              mockProvider( TrigramIndexProvider.class ),
+                                              config,
+                                              new Dependencies() );
+
+        assertThatThrownBy( map::init ).isInstanceOf( IllegalArgumentException.class );
+    }
+
     private static <T extends IndexProvider> T mockProvider( Class<? extends T> clazz )
     {
         var mock = mock( clazz );
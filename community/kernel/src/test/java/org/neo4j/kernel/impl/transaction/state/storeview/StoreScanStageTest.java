@@ -175,7 +175,7 @@ class StoreScanStageTest
         EntityIdIterator entityIdIterator = new CursorEntityIdIterator<>( data.allocateNodeCursor( NULL, StoreCursors.NULL ) );
         AtomicInteger numBatchesProcessed = new AtomicInteger();
         AtomicBoolean continueScanning = new AtomicBoolean( true );
-        AbortingExternalUpdatesCheck externalUpdatesCheck = new AbortingExternalUpdatesCheck( 1, continueScanning );
+        AbortingExternalUpdatesCheck externalUpdatesCheck = new AbortingExternalUpdatesCheck( 1, continueScanning, numBatchesProcessed );
         var writer = new PropertyConsumer( numBatchesProcessed::incrementAndGet );
         StoreScanStage<StorageNodeCursor> scan =
                 new StoreScanStage( dbConfig, config, ( ct, sc ) -> entityIdIterator, externalUpdatesCheck, continueScanning, data, any -> StoreCursors.NULL,
@@ -187,6 +187,8 @@ class StoreScanStageTest
 
         // then
         assertThat( numBatchesProcessed.get() ).isEqualTo( 2 );
+        assertThat( externalUpdatesCheck.stoppedAtEntityId ).isEqualTo( config.batchSize() * 2 - 1 );
+        assertThat( externalUpdatesCheck.batchesProcessedWhenStopped ).isEqualTo( 2 );
     }
 
     @Test
@@ -369,12 +371,16 @@ class StoreScanStageTest
     {
         private final int abortAfterBatch;
         private final AtomicBoolean continueScanning;
+        private final AtomicInteger numBatchesProcessed;
         private int callCount;
+        private volatile long stoppedAtEntityId = -1;
+        private volatile int batchesProcessedWhenStopped;
 
-        AbortingExternalUpdatesCheck( int abortAfterBatch, AtomicBoolean continueScanning )
+        AbortingExternalUpdatesCheck( int abortAfterBatch, AtomicBoolean continueScanning, AtomicInteger numBatchesProcessed )
         {
             this.abortAfterBatch = abortAfterBatch;
             this.continueScanning = continueScanning;
+            this.numBatchesProcessed = numBatchesProcessed;
         }
 
         @Override
@@ -392,5 +398,12 @@ class StoreScanStageTest
         {
             throw new IllegalStateException( "Should not be called" );
         }
+
+        @Override
+        public void scanStopped( long lastScannedEntityId )
+        {
+            stoppedAtEntityId = lastScannedEntityId;
+            batchesProcessedWhenStopped = numBatchesProcessed.get();
+        }
     }
 }
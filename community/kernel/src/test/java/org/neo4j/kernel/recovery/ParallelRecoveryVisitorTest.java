@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.neo4j.counts.CountsAccessor;
@@ -194,6 +195,43 @@ class ParallelRecoveryVisitorTest
         assertThat( applyOrder[applyOrder.length - 1] ).isEqualTo( 5 );
     }
 
+    @Test
+    void shouldLockAndApplyConsecutiveTransactionsInBatches() throws Exception
+    {
+        // given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        RecoveryControllableStorageEngine storageEngine = new RecoveryControllableStorageEngine()
+        {
+            @Override
+            public void apply( CommandsToApply batch, TransactionApplicationMode mode ) throws Exception
+            {
+                int size = 0;
+                for ( CommandsToApply tx = batch; tx != null; tx = tx.next() )
+                {
+                    size++;
+                }
+                batchSizes.add( size );
+                super.apply( batch, mode );
+            }
+        };
+
+        // when
+        ParallelRecoveryVisitor visitor = new ParallelRecoveryVisitor( storageEngine, RECOVERY, PageCacheTracer.NULL, "test", 2, 2 );
+        try ( visitor )
+        {
+            for ( long txId = 2; txId <= 6; txId++ )
+            {
+                visitor.visit( tx( txId, commandsRelatedToNode( txId ) ) );
+            }
+        }
+
+        // then
+        assertThat( storageEngine.lockOrder() ).isEqualTo( new long[]{2, 3, 4, 5, 6} );
+        assertThat( storageEngine.applyOrder() ).containsExactlyInAnyOrder( 2, 4, 6 );
+        assertThat( batchSizes ).containsExactlyInAnyOrder( 2, 2, 1 );
+        assertThat( visitor.appliedTransactions() ).isEqualTo( 5 );
+    }
+
     @Test
     void shouldPropagateApplyFailureOnVisit()
     {
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryStart;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.kernel.impl.transaction.log.LogPosition.UNSPECIFIED;
+
+class ReadAheadTransactionCursorTest
+{
+    private final ThreadPoolJobScheduler jobScheduler = new ThreadPoolJobScheduler();
+
+    @AfterEach
+    void tearDown()
+    {
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldReturnTransactionsAndPositionsInOrder() throws IOException
+    {
+        // given
+        StubTransactionCursor source = new StubTransactionCursor( 100, null );
+
+        // when
+        List<Long> txIds = new ArrayList<>();
+        try ( ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( source, 4, jobScheduler ) )
+        {
+            assertThat( cursor.position() ).isEqualTo( positionAfter( 0 ) );
+            while ( cursor.next() )
+            {
+                long txId = cursor.get().getCommitEntry().getTxId();
+                txIds.add( txId );
+                assertThat( cursor.position() ).isEqualTo( positionAfter( txId ) );
+            }
+            assertThat( cursor.next() ).isFalse();
+        }
+
+        // then
+        assertThat( txIds ).hasSize( 100 );
+        for ( int i = 0; i < txIds.size(); i++ )
+        {
+            assertThat( txIds.get( i ) ).isEqualTo( i + 1 );
+        }
+        assertThat( source.closed ).isTrue();
+    }
+
+    @Test
+    void shouldThrowReadFailureAfterTransactionsReadBeforeIt() throws IOException
+    {
+        // given
+        IOException failure = new IOException( "Deliberate failure reading transaction" );
+        StubTransactionCursor source = new StubTransactionCursor( 10, failure );
+
+        // when
+        try ( ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( source, 2, jobScheduler ) )
+        {
+            for ( int i = 1; i <= 10; i++ )
+            {
+                assertThat( cursor.next() ).isTrue();
+                assertThat( cursor.get().getCommitEntry().getTxId() ).isEqualTo( i );
+            }
+
+            // then
+            assertThatThrownBy( cursor::next ).isSameAs( failure );
+            assertThat( cursor.position() ).isEqualTo( positionAfter( 10 ) );
+            assertThat( cursor.next() ).isFalse();
+        }
+    }
+
+    @Test
+    void shouldCloseSourceWhenClosedBeforeReadingAllTransactions() throws IOException
+    {
+        // given
+        StubTransactionCursor source = new StubTransactionCursor( 1_000, null );
+
+        // when
+        try ( ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( source, 2, jobScheduler ) )
+        {
+            assertThat( cursor.next() ).isTrue();
+        }
+
+        // then
+        assertThat( source.closed ).isTrue();
+        assertThat( source.readAfterClose.get() ).isFalse();
+    }
+
+    private static LogPosition positionAfter( long txId )
+    {
+        return new LogPosition( 0, 64 + txId * 100 );
+    }
+
+    private static class StubTransactionCursor implements TransactionCursor
+    {
+        private final int numberOfTransactions;
+        private final IOException failure;
+        private final AtomicBoolean readAfterClose = new AtomicBoolean();
+        private volatile boolean closed;
+        private long txId;
+        private CommittedTransactionRepresentation current;
+
+        StubTransactionCursor( int numberOfTransactions, IOException failure )
+        {
+            this.numberOfTransactions = numberOfTransactions;
+            this.failure = failure;
+        }
+
+        @Override
+        public boolean next() throws IOException
+        {
+            if ( closed )
+            {
+                readAfterClose.set( true );
+            }
+            if ( txId == numberOfTransactions )
+            {
+                current = null;
+                if ( failure != null )
+                {
+                    throw failure;
+                }
+                return false;
+            }
+            txId++;
+            current = new CommittedTransactionRepresentation( new LogEntryStart( 0, 0, 0, new byte[0], UNSPECIFIED ),
+                    new PhysicalTransactionRepresentation( emptyList() ), new LogEntryCommit( txId, 0, 0 ) );
+            return true;
+        }
+
+        @Override
+        public CommittedTransactionRepresentation get()
+        {
+            return current;
+        }
+
+        @Override
+        public LogPosition position()
+        {
+            return positionAfter( txId );
+        }
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+    }
+}
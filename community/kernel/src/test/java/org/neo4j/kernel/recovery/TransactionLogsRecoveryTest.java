@@ -249,6 +249,12 @@ class TransactionLogsRecoveryTest
                             actual.close();
                         }
 
+                        @Override
+                        public long appliedTransactions()
+                        {
+                            return actual.appliedTransactions();
+                        }
+
                         @Override
                         public boolean visit( CommittedTransactionRepresentation tx ) throws Exception
                         {
@@ -266,7 +266,7 @@ public abstract class AbstractLuceneIndexAccessor<READER extends ValueIndexReade
             {
                 try
                 {
-                    luceneIndex.maybeRefreshBlocking();
+                    refreshIndex();
                 }
                 catch ( IOException e )
                 {
@@ -275,6 +275,15 @@ public abstract class AbstractLuceneIndexAccessor<READER extends ValueIndexReade
             }
         }
 
+        /**
+         * Makes the changes done through this updater visible to readers. Called on close, if this updater made any changes and
+         * was asked to refresh.
+         */
+        protected void refreshIndex() throws IOException
+        {
+            luceneIndex.maybeRefreshBlocking();
+        }
+
         @Override
         public void process( IndexEntryUpdate<?> update )
         {
@@ -84,6 +84,7 @@ public class LuceneIndexProvider extends AbstractLuceneIndexProvider
         {
             return queryType != IndexQueryType.FULLTEXT_SEARCH
                    && queryType != IndexQueryType.TOKEN_LOOKUP
+                   && queryType != IndexQueryType.NEAREST_NEIGHBOURS
                    && areValueCategoriesAccepted( valueCategory );
         }
 
@@ -45,6 +45,12 @@ public class AbsentNativeAccess implements NativeAccess
         return NativeCallResult.SUCCESS;
     }
 
+    @Override
+    public NativeCallResult tryAdviseSequentialMemoryAccess( long address, long length )
+    {
+        return NativeCallResult.SUCCESS;
+    }
+
     @Override
     public NativeCallResult tryPreallocateSpace( int fd, long bytes )
     {
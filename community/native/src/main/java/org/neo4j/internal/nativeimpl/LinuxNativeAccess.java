@@ -49,6 +49,12 @@ public class LinuxNativeAccess implements NativeAccess
      */
     private static final int POSIX_FADV_DONTNEED = 4;
 
+    /**
+     * Constant defined in mman.h and suggest that the pages of the specified memory range will be referenced in sequential order.
+     * For more info check man page for madvise.
+     */
+    private static final int MADV_SEQUENTIAL = 2;
+
     private static final boolean NATIVE_ACCESS_AVAILABLE;
     private static final Throwable INITIALIZATION_FAILURE;
 
@@ -97,6 +103,16 @@ public class LinuxNativeAccess implements NativeAccess
      */
     private static native int posix_fallocate( int fd, long offset, long len ) throws LastErrorException;
 
+    /**
+     * Give advice about use of memory. Announce an intention to access the memory range starting at address and extending for length bytes
+     * in a specific pattern in the future, thus allowing the kernel to perform appropriate read-ahead and caching.
+     * @param address start of the memory range, aligned to the page size
+     * @param length length of the memory range in bytes
+     * @param advice advise options
+     * @return 0 on success. On error, -1 is returned and errno is set
+     */
+    private static native int madvise( long address, long length, int advice ) throws LastErrorException;
+
     /**
      * Return pointer to a string describing error number, possibly using the LC_MESSAGES part of the current locale to select the appropriate language.
      * @param errnum error number to describe
@@ -141,6 +157,20 @@ public class LinuxNativeAccess implements NativeAccess
         return wrapResult( () -> posix_fadvise( fd, 0, 0, POSIX_FADV_WILLNEED ) );
     }
 
+    @Override
+    public NativeCallResult tryAdviseSequentialMemoryAccess( long address, long length )
+    {
+        if ( address == 0 )
+        {
+            return new NativeCallResult( ERROR, "Incorrect address." );
+        }
+        if ( length <= 0 )
+        {
+            return new NativeCallResult( ERROR, "Length of memory region should be positive. Requested: " + length );
+        }
+        return wrapResult( () -> madvise( address, length, MADV_SEQUENTIAL ) );
+    }
+
     @Override
     public NativeCallResult tryPreallocateSpace( int fd, long bytes )
     {
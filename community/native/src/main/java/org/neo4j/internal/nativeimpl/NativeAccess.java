@@ -61,6 +61,15 @@ public interface NativeAccess
      */
     NativeCallResult tryAdviseToKeepInCache( int fd );
 
+    /**
+     * Try to advice that memory mapped region starting at provided address will be accessed in a sequential fashion.
+     * Useful for mapped files that we will read from start to the end sequentially. For example: WAL files.
+     * @param address start of the region, aligned to the page size
+     * @param length length of the region in bytes
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryAdviseSequentialMemoryAccess( long address, long length );
+
     /**
      * Try to preallocate disk space for file referenced by provided file descriptor.
      * @param fd file descriptor
@@ -43,6 +43,13 @@ class AbsentNativeAccessTest
         assertFalse( absentNativeAccess.tryEvictFromCache( -1 ).isError() );
     }
 
+    @Test
+    void absentNativeAccessMemoryAdviseAlwaysFinishSuccessfully()
+    {
+        assertFalse( absentNativeAccess.tryAdviseSequentialMemoryAccess( 0, 1L ).isError() );
+        assertFalse( absentNativeAccess.tryAdviseSequentialMemoryAccess( 4096, 4096L ).isError() );
+    }
+
     @Test
     void absentNativeAccessPreallocationsAlwaysFinishSuccessfully()
     {
@@ -19,6 +19,8 @@
  */
 package org.neo4j.internal.nativeimpl;
 
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
@@ -28,6 +30,8 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.FileDescriptor;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.Channel;
 import java.nio.channels.FileChannel;
 import java.nio.file.FileStore;
@@ -151,6 +155,30 @@ class LinuxNativeAccessTest
             }
         }
 
+        @Test
+        void failToAdviseSequentialMemoryAccessOnLinuxForIncorrectRegion()
+        {
+            assertEquals( ERROR, nativeAccess.tryAdviseSequentialMemoryAccess( 0, 4096 ).getErrorCode() );
+            assertEquals( ERROR, nativeAccess.tryAdviseSequentialMemoryAccess( 4096, 0 ).getErrorCode() );
+            // not aligned to the page size
+            assertTrue( nativeAccess.tryAdviseSequentialMemoryAccess( 4097, 4096 ).isError() );
+        }
+
+        @Test
+        void adviseSequentialMemoryAccessOnLinuxForMappedFile() throws IOException
+        {
+            Path file = tempFile.resolve( "mappedFile" );
+            try ( FileChannel channel = FileChannel.open( file, READ, WRITE, CREATE ) )
+            {
+                channel.write( ByteBuffer.allocate( 8192 ) );
+                MappedByteBuffer mapped = channel.map( FileChannel.MapMode.READ_ONLY, 0, 8192 );
+                long address = Pointer.nativeValue( Native.getDirectBufferPointer( mapped ) );
+                var nativeCallResult = nativeAccess.tryAdviseSequentialMemoryAccess( address, mapped.capacity() );
+                assertEquals( 0, nativeCallResult.getErrorCode() );
+                assertFalse( nativeCallResult.isError() );
+            }
+        }
+
         @Test
         void failToSkipCacheOnLinuxForIncorrectDescriptor() throws IOException, IllegalAccessException, ClassNotFoundException
         {
@@ -73,6 +73,10 @@ public abstract class LogCommandSerialization implements CommandReader
             return readMetaDataCommand( channel );
         case NeoCommandType.UPDATE_GROUP_DEGREE_COMMAND:
             return readGroupDegreeCommand( channel );
+        case NeoCommandType.NODE_DELTA_COMMAND:
+            return readNodeDeltaCommand( channel );
+        case NeoCommandType.REL_DELTA_COMMAND:
+            return readRelationshipDeltaCommand( channel );
 
         // legacy indexes
         case NeoCommandType.INDEX_DEFINE_COMMAND:
@@ -107,6 +111,16 @@ public abstract class LogCommandSerialization implements CommandReader
         throw unsupportedInThisVersionException();
     }
 
+    protected Command readNodeDeltaCommand( ReadableChannel channel ) throws IOException
+    {
+        throw unsupportedInThisVersionException();
+    }
+
+    protected Command readRelationshipDeltaCommand( ReadableChannel channel ) throws IOException
+    {
+        throw unsupportedInThisVersionException();
+    }
+
     protected Command readSchemaRuleCommand( ReadableChannel channel ) throws IOException
     {
         throw unsupportedInThisVersionException();
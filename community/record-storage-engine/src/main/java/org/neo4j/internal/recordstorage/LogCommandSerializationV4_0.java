@@ -543,7 +543,7 @@ class LogCommandSerializationV4_0 extends LogCommandSerialization
         } // switch clause
     }
 
-    private static NodeRecord readNodeRecord( long id, ReadableChannel channel ) throws IOException
+    static NodeRecord readNodeRecord( long id, ReadableChannel channel ) throws IOException
     {
         byte flags = channel.get();
         boolean inUse = bitFlag( flags, Record.IN_USE.byteValue() );
@@ -584,7 +584,7 @@ class LogCommandSerializationV4_0 extends LogCommandSerialization
         return record;
     }
 
-    private static RelationshipRecord readRelationshipRecord( long id, ReadableChannel channel ) throws IOException
+    static RelationshipRecord readRelationshipRecord( long id, ReadableChannel channel ) throws IOException
     {
         byte flags = channel.get();
         boolean inUse = bitFlag( flags, Record.IN_USE.byteValue() );
@@ -659,7 +659,7 @@ class LogCommandSerializationV4_0 extends LogCommandSerialization
         return record;
     }
 
-    private static <T> int readDynamicRecords( ReadableChannel channel, T target, CommandReading.DynamicRecordAdder<T> adder )
+    static <T> int readDynamicRecords( ReadableChannel channel, T target, CommandReading.DynamicRecordAdder<T> adder )
             throws IOException
     {
         int numberOfRecords = channel.getInt();
@@ -888,7 +888,7 @@ class LogCommandSerializationV4_0 extends LogCommandSerialization
         writeNodeRecord( channel, command.getAfter() );
     }
 
-    private static void writeNodeRecord( WritableChannel channel, NodeRecord record ) throws IOException
+    static void writeNodeRecord( WritableChannel channel, NodeRecord record ) throws IOException
     {
         byte flags = bitFlags( bitFlag( record.inUse(), Record.IN_USE.byteValue() ),
                 bitFlag( record.isCreated(), Record.CREATED_IN_TX ),
@@ -920,7 +920,7 @@ class LogCommandSerializationV4_0 extends LogCommandSerialization
         writeRelationshipRecord( channel, command.getAfter() );
     }
 
-    private static void writeRelationshipRecord( WritableChannel channel, RelationshipRecord record ) throws IOException
+    static void writeRelationshipRecord( WritableChannel channel, RelationshipRecord record ) throws IOException
     {
         byte flags = bitFlags( bitFlag( record.inUse(), Record.IN_USE.byteValue() ),
                 bitFlag( record.isCreated(), Record.CREATED_IN_TX ),
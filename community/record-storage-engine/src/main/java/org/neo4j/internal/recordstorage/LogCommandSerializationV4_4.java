@@ -19,15 +19,261 @@
  */
 package org.neo4j.internal.recordstorage;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.io.fs.ReadableChannel;
+import org.neo4j.io.fs.WritableChannel;
 import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+
+import static org.neo4j.internal.recordstorage.CommandReading.COLLECTION_DYNAMIC_RECORD_ADDER;
+import static org.neo4j.util.Bits.bitFlag;
+import static org.neo4j.util.Bits.bitFlags;
 
+/**
+ * Can read node and relationship commands where the after record is written as the fields that differ from the before record, see
+ * {@link NeoCommandType#NODE_DELTA_COMMAND} and {@link NeoCommandType#REL_DELTA_COMMAND}. Those are only written by {@link #WITH_RECORD_DELTAS},
+ * for commands where both records are in use. Other commands are written in full, like by {@link #INSTANCE}.
+ */
 class LogCommandSerializationV4_4 extends LogCommandSerializationV4_3_D3
 {
-    static final LogCommandSerializationV4_4 INSTANCE = new LogCommandSerializationV4_4();
+    static final LogCommandSerializationV4_4 INSTANCE = new LogCommandSerializationV4_4( false );
+    static final LogCommandSerializationV4_4 WITH_RECORD_DELTAS = new LogCommandSerializationV4_4( true );
+
+    private static final byte NODE_DENSE_CHANGED = 1;
+    private static final byte NODE_NEXT_REL_CHANGED = 1 << 1;
+    private static final byte NODE_NEXT_PROP_CHANGED = 1 << 2;
+    private static final byte NODE_LABEL_FIELD_CHANGED = 1 << 3;
+    private static final byte NODE_SECONDARY_UNIT_CHANGED = 1 << 4;
+
+    private static final short REL_FIRST_NODE_CHANGED = 1;
+    private static final short REL_SECOND_NODE_CHANGED = 1 << 1;
+    private static final short REL_TYPE_CHANGED = 1 << 2;
+    private static final short REL_FIRST_PREV_CHANGED = 1 << 3;
+    private static final short REL_FIRST_NEXT_CHANGED = 1 << 4;
+    private static final short REL_SECOND_PREV_CHANGED = 1 << 5;
+    private static final short REL_SECOND_NEXT_CHANGED = 1 << 6;
+    private static final short REL_NEXT_PROP_CHANGED = 1 << 7;
+    private static final short REL_CHAIN_FLAGS_CHANGED = 1 << 8;
+    private static final short REL_SECONDARY_UNIT_CHANGED = 1 << 9;
+
+    private final boolean writeRecordDeltas;
+
+    private LogCommandSerializationV4_4( boolean writeRecordDeltas )
+    {
+        this.writeRecordDeltas = writeRecordDeltas;
+    }
 
     @Override
     KernelVersion version()
     {
         return KernelVersion.V4_4;
     }
+
+    @Override
+    public void writeNodeCommand( WritableChannel channel, Command.NodeCommand command ) throws IOException
+    {
+        NodeRecord before = command.getBefore();
+        NodeRecord after = command.getAfter();
+        if ( !writeRecordDeltas || !before.inUse() || !after.inUse() )
+        {
+            super.writeNodeCommand( channel, command );
+            return;
+        }
+
+        channel.put( NeoCommandType.NODE_DELTA_COMMAND );
+        channel.putLong( after.getId() );
+        writeNodeRecord( channel, before );
+
+        byte changed = bitFlags( bitFlag( before.isDense() != after.isDense(), NODE_DENSE_CHANGED ),
+                bitFlag( before.getNextRel() != after.getNextRel(), NODE_NEXT_REL_CHANGED ),
+                bitFlag( before.getNextProp() != after.getNextProp(), NODE_NEXT_PROP_CHANGED ),
+                bitFlag( before.getLabelField() != after.getLabelField(), NODE_LABEL_FIELD_CHANGED ),
+                bitFlag( secondaryUnitChanged( before, after ), NODE_SECONDARY_UNIT_CHANGED ) );
+        channel.put( recordFlags( after ) );
+        channel.put( changed );
+        if ( bitFlag( changed, NODE_DENSE_CHANGED ) )
+        {
+            channel.put( after.isDense() ? (byte) 1 : (byte) 0 );
+        }
+        if ( bitFlag( changed, NODE_NEXT_REL_CHANGED ) )
+        {
+            channel.putLong( after.getNextRel() );
+        }
+        if ( bitFlag( changed, NODE_NEXT_PROP_CHANGED ) )
+        {
+            channel.putLong( after.getNextProp() );
+        }
+        if ( bitFlag( changed, NODE_LABEL_FIELD_CHANGED ) )
+        {
+            channel.putLong( after.getLabelField() );
+        }
+        if ( bitFlag( changed, NODE_SECONDARY_UNIT_CHANGED ) )
+        {
+            channel.putLong( after.getSecondaryUnitId() );
+        }
+        writeDynamicRecords( channel, after.getDynamicLabelRecords() );
+    }
+
+    @Override
+    protected Command readNodeDeltaCommand( ReadableChannel channel ) throws IOException
+    {
+        long id = channel.getLong();
+        NodeRecord before = readNodeRecord( id, channel );
+
+        byte flags = channel.get();
+        byte changed = channel.get();
+        boolean dense = bitFlag( changed, NODE_DENSE_CHANGED ) ? channel.get() == 1 : before.isDense();
+        long nextRel = bitFlag( changed, NODE_NEXT_REL_CHANGED ) ? channel.getLong() : before.getNextRel();
+        long nextProp = bitFlag( changed, NODE_NEXT_PROP_CHANGED ) ? channel.getLong() : before.getNextProp();
+        long labelField = bitFlag( changed, NODE_LABEL_FIELD_CHANGED ) ? channel.getLong() : before.getLabelField();
+        NodeRecord after = new NodeRecord( id ).initialize( true, nextProp, dense, nextRel, 0 );
+        readSecondaryUnit( channel, flags, bitFlag( changed, NODE_SECONDARY_UNIT_CHANGED ), before, after );
+        List<DynamicRecord> dynamicLabelRecords = new ArrayList<>();
+        readDynamicRecords( channel, dynamicLabelRecords, COLLECTION_DYNAMIC_RECORD_ADDER );
+        after.setLabelField( labelField, dynamicLabelRecords );
+        if ( bitFlag( flags, Record.CREATED_IN_TX ) )
+        {
+            after.setCreated();
+        }
+        return new Command.NodeCommand( this, before, after );
+    }
+
+    @Override
+    public void writeRelationshipCommand( WritableChannel channel, Command.RelationshipCommand command ) throws IOException
+    {
+        RelationshipRecord before = command.getBefore();
+        RelationshipRecord after = command.getAfter();
+        if ( !writeRecordDeltas || !before.inUse() || !after.inUse() )
+        {
+            super.writeRelationshipCommand( channel, command );
+            return;
+        }
+
+        channel.put( NeoCommandType.REL_DELTA_COMMAND );
+        channel.putLong( after.getId() );
+        writeRelationshipRecord( channel, before );
+
+        short changed = (short) ((before.getFirstNode() != after.getFirstNode() ? REL_FIRST_NODE_CHANGED : 0) |
+                (before.getSecondNode() != after.getSecondNode() ? REL_SECOND_NODE_CHANGED : 0) |
+                (before.getType() != after.getType() ? REL_TYPE_CHANGED : 0) |
+                (before.getFirstPrevRel() != after.getFirstPrevRel() ? REL_FIRST_PREV_CHANGED : 0) |
+                (before.getFirstNextRel() != after.getFirstNextRel() ? REL_FIRST_NEXT_CHANGED : 0) |
+                (before.getSecondPrevRel() != after.getSecondPrevRel() ? REL_SECOND_PREV_CHANGED : 0) |
+                (before.getSecondNextRel() != after.getSecondNextRel() ? REL_SECOND_NEXT_CHANGED : 0) |
+                (before.getNextProp() != after.getNextProp() ? REL_NEXT_PROP_CHANGED : 0) |
+                (chainFlags( before ) != chainFlags( after ) ? REL_CHAIN_FLAGS_CHANGED : 0) |
+                (secondaryUnitChanged( before, after ) ? REL_SECONDARY_UNIT_CHANGED : 0));
+        channel.put( recordFlags( after ) );
+        channel.putShort( changed );
+        if ( (changed & REL_FIRST_NODE_CHANGED) != 0 )
+        {
+            channel.putLong( after.getFirstNode() );
+        }
+        if ( (changed & REL_SECOND_NODE_CHANGED) != 0 )
+        {
+            channel.putLong( after.getSecondNode() );
+        }
+        if ( (changed & REL_TYPE_CHANGED) != 0 )
+        {
+            channel.putInt( after.getType() );
+        }
+        if ( (changed & REL_FIRST_PREV_CHANGED) != 0 )
+        {
+            channel.putLong( after.getFirstPrevRel() );
+        }
+        if ( (changed & REL_FIRST_NEXT_CHANGED) != 0 )
+        {
+            channel.putLong( after.getFirstNextRel() );
+        }
+        if ( (changed & REL_SECOND_PREV_CHANGED) != 0 )
+        {
+            channel.putLong( after.getSecondPrevRel() );
+        }
+        if ( (changed & REL_SECOND_NEXT_CHANGED) != 0 )
+        {
+            channel.putLong( after.getSecondNextRel() );
+        }
+        if ( (changed & REL_NEXT_PROP_CHANGED) != 0 )
+        {
+            channel.putLong( after.getNextProp() );
+        }
+        if ( (changed & REL_CHAIN_FLAGS_CHANGED) != 0 )
+        {
+            channel.put( chainFlags( after ) );
+        }
+        if ( (changed & REL_SECONDARY_UNIT_CHANGED) != 0 )
+        {
+            channel.putLong( after.getSecondaryUnitId() );
+        }
+    }
+
+    @Override
+    protected Command readRelationshipDeltaCommand( ReadableChannel channel ) throws IOException
+    {
+        long id = channel.getLong();
+        RelationshipRecord before = readRelationshipRecord( id, channel );
+
+        byte flags = channel.get();
+        short changed = channel.getShort();
+        RelationshipRecord after = new RelationshipRecord( id );
+        long firstNode = (changed & REL_FIRST_NODE_CHANGED) != 0 ? channel.getLong() : before.getFirstNode();
+        long secondNode = (changed & REL_SECOND_NODE_CHANGED) != 0 ? channel.getLong() : before.getSecondNode();
+        int type = (changed & REL_TYPE_CHANGED) != 0 ? channel.getInt() : before.getType();
+        after.setLinks( firstNode, secondNode, type );
+        after.setInUse( true );
+        after.setFirstPrevRel( (changed & REL_FIRST_PREV_CHANGED) != 0 ? channel.getLong() : before.getFirstPrevRel() );
+        after.setFirstNextRel( (changed & REL_FIRST_NEXT_CHANGED) != 0 ? channel.getLong() : before.getFirstNextRel() );
+        after.setSecondPrevRel( (changed & REL_SECOND_PREV_CHANGED) != 0 ? channel.getLong() : before.getSecondPrevRel() );
+        after.setSecondNextRel( (changed & REL_SECOND_NEXT_CHANGED) != 0 ? channel.getLong() : before.getSecondNextRel() );
+        after.setNextProp( (changed & REL_NEXT_PROP_CHANGED) != 0 ? channel.getLong() : before.getNextProp() );
+        byte chainFlags = (changed & REL_CHAIN_FLAGS_CHANGED) != 0 ? channel.get() : chainFlags( before );
+        after.setFirstInFirstChain( (chainFlags & 0x1) > 0 );
+        after.setFirstInSecondChain( (chainFlags & 0x2) > 0 );
+        readSecondaryUnit( channel, flags, (changed & REL_SECONDARY_UNIT_CHANGED) != 0, before, after );
+        if ( bitFlag( flags, Record.CREATED_IN_TX ) )
+        {
+            after.setCreated();
+        }
+        return new Command.RelationshipCommand( this, before, after );
+    }
+
+    private static void readSecondaryUnit( ReadableChannel channel, byte flags, boolean secondaryUnitChanged, AbstractBaseRecord before,
+            AbstractBaseRecord after ) throws IOException
+    {
+        after.setRequiresSecondaryUnit( bitFlag( flags, Record.REQUIRE_SECONDARY_UNIT ) );
+        if ( bitFlag( flags, Record.HAS_SECONDARY_UNIT ) )
+        {
+            after.setSecondaryUnitIdOnLoad( secondaryUnitChanged ? channel.getLong() : before.getSecondaryUnitId() );
+        }
+        after.setUseFixedReferences( bitFlag( flags, Record.USES_FIXED_REFERENCE_FORMAT ) );
+    }
+
+    /**
+     * Same flags as written for full node and relationship records.
+     */
+    private static byte recordFlags( AbstractBaseRecord record )
+    {
+        return bitFlags( bitFlag( record.inUse(), Record.IN_USE.byteValue() ),
+                bitFlag( record.isCreated(), Record.CREATED_IN_TX ),
+                bitFlag( record.requiresSecondaryUnit(), Record.REQUIRE_SECONDARY_UNIT ),
+                bitFlag( record.hasSecondaryUnitId(), Record.HAS_SECONDARY_UNIT ),
+                bitFlag( record.isUseFixedReferences(), Record.USES_FIXED_REFERENCE_FORMAT ) );
+    }
+
+    private static boolean secondaryUnitChanged( AbstractBaseRecord before, AbstractBaseRecord after )
+    {
+        return after.hasSecondaryUnitId() && (!before.hasSecondaryUnitId() || before.getSecondaryUnitId() != after.getSecondaryUnitId());
+    }
+
+    private static byte chainFlags( RelationshipRecord record )
+    {
+        return (byte) ((record.isFirstInFirstChain() ? 1 : 0) | (record.isFirstInSecondChain() ? 2 : 0));
+    }
 }
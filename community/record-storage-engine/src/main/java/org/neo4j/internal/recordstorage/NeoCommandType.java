@@ -46,4 +46,7 @@ public interface NeoCommandType
     byte UPDATE_GROUP_DEGREE_COMMAND = (byte) 20;
 
     byte REL_GROUP_EXTENDED_COMMAND = (byte) 21; // Relationship group with 3 byte type id
+
+    byte NODE_DELTA_COMMAND = (byte) 22; // Node with the after record written as the fields that differ from the before record
+    byte REL_DELTA_COMMAND = (byte) 23; // Relationship with the after record written as the fields that differ from the before record
 }
@@ -46,4 +46,18 @@ public class RecordStorageCommandReaderFactory implements CommandReaderFactory
             throw new IllegalArgumentException( "Unsupported kernel version " + version );
         }
     }
+
+    /**
+     * @param recordDeltas whether to write the after record of node and relationship commands as the fields that differ from the before record,
+     * when the given version can read such commands.
+     * @return serialization to write commands of the given version with.
+     */
+    static LogCommandSerialization forWriting( KernelVersion version, boolean recordDeltas )
+    {
+        if ( recordDeltas && version == KernelVersion.V4_4 )
+        {
+            return LogCommandSerializationV4_4.WITH_RECORD_DELTAS;
+        }
+        return INSTANCE.get( version );
+    }
 }
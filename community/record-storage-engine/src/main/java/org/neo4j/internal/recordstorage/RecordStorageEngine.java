@@ -151,6 +151,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final GBPTreeCountsStore countsStore;
     private final RelationshipGroupDegreesStore groupDegreesStore;
     private final int denseNodeThreshold;
+    private final boolean recordDeltaCommands;
     private final IdGeneratorUpdatesWorkSync idGeneratorWorkSyncs = new IdGeneratorUpdatesWorkSync();
     private final Map<TransactionApplicationMode,TransactionApplierFactoryChain> applierChains = new EnumMap<>( TransactionApplicationMode.class );
     private final RecordDatabaseEntityCounters storeEntityCounters;
@@ -194,6 +195,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         this.otherMemoryTracker = otherMemoryTracker;
         this.commandLockVerificationFactory = commandLockVerificationFactory;
         this.lockVerificationFactory = lockVerificationFactory;
+        this.recordDeltaCommands = config.get( GraphDatabaseInternalSettings.tx_log_record_deltas );
 
         StoreFactory factory = new StoreFactory( databaseLayout, config, idGeneratorFactory, pageCache, fs, internalLogProvider, cacheTracer, readOnlyChecker );
         neoStores = factory.openAllNeoStores( createStoreIfNotExists );
@@ -381,7 +383,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
             // this storage engine itself, anything else is considered a bug. And we do know the inner workings
             // of the storage statements that we create.
             RecordStorageCommandCreationContext creationContext = (RecordStorageCommandCreationContext) commandCreationContext;
-            LogCommandSerialization serialization = RecordStorageCommandReaderFactory.INSTANCE.get( version );
+            LogCommandSerialization serialization = RecordStorageCommandReaderFactory.forWriting( version, recordDeltaCommands );
             TransactionRecordState recordState =
                     creationContext.createTransactionRecordState( integrityValidator, lastTransactionIdWhenStarted, locks, lockTracer,
                             serialization, lockVerificationFactory.create( locks, txState, neoStores, schemaRuleAccess, storeCursors ) );
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.kernel.impl.transaction.log.InMemoryClosableChannel;
+import org.neo4j.storageengine.api.CommandReader;
+import org.neo4j.storageengine.api.StorageCommand;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith( RandomExtension.class )
+class LogCommandSerializationV4_4Test extends LogCommandSerializationV4_3D_3Test
+{
+    @Inject
+    private RandomSupport random;
+
+    @Test
+    void shouldWriteNodeCommandAsDeltaWhenBothRecordsAreInUse() throws IOException
+    {
+        // Given
+        NodeRecord before = new NodeRecord( 42 ).initialize( true, 99, false, 33, 66 );
+        before.setSecondaryUnitIdOnLoad( 17 );
+        NodeRecord after = new NodeRecord( 42 ).initialize( true, 99, true, 34, 66 );
+        after.setSecondaryUnitIdOnLoad( 18 );
+        after.setRequiresSecondaryUnit( true );
+
+        // When
+        InMemoryClosableChannel deltaChannel = new InMemoryClosableChannel();
+        new Command.NodeCommand( writer(), before, after ).serialize( deltaChannel );
+        InMemoryClosableChannel fullChannel = new InMemoryClosableChannel();
+        new Command.NodeCommand( LogCommandSerializationV4_4.INSTANCE, before, after ).serialize( fullChannel );
+
+        // Then
+        assertThat( writtenBytes( deltaChannel ) ).isLessThan( writtenBytes( fullChannel ) );
+        StorageCommand command = createReader().read( deltaChannel );
+        assertTrue( command instanceof Command.NodeCommand );
+        assertBeforeAndAfterEquals( (Command.NodeCommand) command, before, after );
+    }
+
+    @RepeatedTest( 100 )
+    void shouldReadRelationshipCommandWrittenAsDelta() throws IOException
+    {
+        // Given
+        RelationshipRecord before = randomRelationship();
+        RelationshipRecord after = new RelationshipRecord( before );
+        switch ( random.nextInt( 4 ) )
+        {
+        case 0:
+            after.setFirstNextRel( random.nextLong( 1000 ) );
+            break;
+        case 1:
+            after.setSecondPrevRel( random.nextLong( 1000 ) );
+            after.setFirstInSecondChain( !before.isFirstInSecondChain() );
+            break;
+        case 2:
+            after.setNextProp( random.nextLong( 1000 ) );
+            after.setSecondaryUnitIdOnLoad( random.nextLong( 1000 ) );
+            break;
+        default:
+            after.setLinks( random.nextLong( 1000 ), random.nextLong( 1000 ), random.nextInt( 1000 ) );
+            break;
+        }
+
+        // When
+        InMemoryClosableChannel channel = new InMemoryClosableChannel();
+        new Command.RelationshipCommand( writer(), before, after ).serialize( channel );
+
+        // Then
+        StorageCommand command = createReader().read( channel );
+        assertTrue( command instanceof Command.RelationshipCommand );
+        assertBeforeAndAfterEquals( (Command.RelationshipCommand) command, before, after );
+    }
+
+    private RelationshipRecord randomRelationship()
+    {
+        RelationshipRecord record = new RelationshipRecord( 42 );
+        record.initialize( true, random.nextLong( 1000 ), random.nextLong( 1000 ), random.nextLong( 1000 ), random.nextInt( 1000 ),
+                random.nextLong( 1000 ), random.nextLong( 1000 ), random.nextLong( 1000 ), random.nextLong( 1000 ), random.nextBoolean(),
+                random.nextBoolean() );
+        if ( random.nextBoolean() )
+        {
+            record.setSecondaryUnitIdOnLoad( random.nextLong( 1000 ) );
+        }
+        record.setUseFixedReferences( random.nextBoolean() );
+        return record;
+    }
+
+    private static long writtenBytes( InMemoryClosableChannel channel )
+    {
+        return channel.writer().getCurrentPosition().getByteOffset();
+    }
+
+    @Override
+    protected CommandReader createReader()
+    {
+        return LogCommandSerializationV4_4.INSTANCE;
+    }
+
+    @Override
+    protected LogCommandSerialization writer()
+    {
+        return LogCommandSerializationV4_4.WITH_RECORD_DELTAS;
+    }
+}
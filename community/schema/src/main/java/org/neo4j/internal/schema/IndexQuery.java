@@ -45,6 +45,7 @@ public interface IndexQuery
         STRING_PREFIX,
         STRING_SUFFIX,
         STRING_CONTAINS,
-        FULLTEXT_SEARCH
+        FULLTEXT_SEARCH,
+        NEAREST_NEIGHBOURS
     }
 }
@@ -19,8 +19,19 @@
  */
 package org.neo4j.internal.schema;
 
+import org.neo4j.values.storable.IntArray;
+import org.neo4j.values.storable.Value;
+
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_INT_ARRAY;
+
 public interface IndexRef<T extends IndexRef<T>> extends SchemaDescriptorSupplier
 {
+    /**
+     * The {@link IndexConfig} setting holding the ids of the properties that a {@link IndexType#RANGE} index stores in its entries
+     * next to the values of the indexed properties. The included properties can be read from the index, but not searched.
+     */
+    String INCLUDED_PROPERTIES_SETTING = "range.included_properties";
+
     /**
      * Returns true if this index is only meant to allow one value per key.
      */
@@ -64,6 +75,15 @@ public interface IndexRef<T extends IndexRef<T>> extends SchemaDescriptorSupplie
      */
     T withIndexConfig( IndexConfig indexConfig );
 
+    /**
+     * @return the ids of the properties included in, but not indexed by, this index, as given by the {@link #INCLUDED_PROPERTIES_SETTING} setting.
+     */
+    @Override
+    default int[] getIncludedPropertyIds()
+    {
+        return includedPropertyIds( getIndexConfig() );
+    }
+
     /**
      * @return true if this {@link IndexRef index reference} is a token index, otherwise false.
      */
@@ -71,4 +91,10 @@ public interface IndexRef<T extends IndexRef<T>> extends SchemaDescriptorSupplie
     {
         return schema().isAnyTokenSchemaDescriptor() && getIndexType() == IndexType.LOOKUP;
     }
+
+    static int[] includedPropertyIds( IndexConfig indexConfig )
+    {
+        Value value = indexConfig.get( INCLUDED_PROPERTIES_SETTING );
+        return value instanceof IntArray ? ((IntArray) value).asObjectCopy() : EMPTY_INT_ARRAY;
+    }
 }
@@ -21,6 +21,8 @@ package org.neo4j.internal.schema;
 
 import org.neo4j.common.TokenNameLookup;
 
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_INT_ARRAY;
+
 public interface SchemaDescriptorSupplier
 {
     SchemaDescriptor schema();
@@ -35,4 +37,16 @@ public interface SchemaDescriptorSupplier
     {
         return schema().userDescription( tokenNameLookup );
     }
+
+    /**
+     * Ids of the properties whose values are kept together with the entries of this schema entity, without being part of its {@link #schema() schema}.
+     * Changes to these properties must be propagated the same way as changes to the schema properties, but they do not decide whether or not an entity
+     * is covered by the schema entity.
+     *
+     * @return the ids of the included properties, or an empty array if there are none.
+     */
+    default int[] getIncludedPropertyIds()
+    {
+        return EMPTY_INT_ARRAY;
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gis.spatial.index.curves;
+
+/**
+ * A {@link StandardConfiguration} that adjusts the number of extra levels to recurse, based on the false positives that searches actually see.
+ * <p>
+ * Recursing one level deeper roughly halves the part of the searched tiles that lies outside of the search area, at the cost of more and smaller
+ * ranges to seek. This configuration collects the {@link #rangesFiltered(long, long) filter results} of searches in samples of a fixed number of
+ * index entries. When the false positive ratio of a sample is above the target ratio, it recurses one level deeper for subsequent searches, and when
+ * it is below half of the target ratio, where going one level shallower is expected to still stay below the target, it recurses one level shallower.
+ * This way dense data gets deeper decompositions, while sparse data is searched with fewer ranges.
+ */
+public class AdaptiveConfiguration extends StandardConfiguration
+{
+    public static final int DEFAULT_MAX_EXTRA_LEVELS = 6;
+    public static final int DEFAULT_SAMPLE_SIZE = 1000;
+
+    private final int maxExtraLevels;
+    private final double targetFalsePositiveRatio;
+    private final long sampleSize;
+    private volatile int currentExtraLevels;
+    private volatile double lastFalsePositiveRatio = Double.NaN;
+    private long sampledCandidates;
+    private long sampledFalsePositives;
+
+    public AdaptiveConfiguration( int initialExtraLevels, double targetFalsePositiveRatio )
+    {
+        this( initialExtraLevels, Math.max( initialExtraLevels, DEFAULT_MAX_EXTRA_LEVELS ), targetFalsePositiveRatio, DEFAULT_SAMPLE_SIZE );
+    }
+
+    public AdaptiveConfiguration( int initialExtraLevels, int maxExtraLevels, double targetFalsePositiveRatio, long sampleSize )
+    {
+        super( initialExtraLevels );
+        this.maxExtraLevels = maxExtraLevels;
+        this.targetFalsePositiveRatio = targetFalsePositiveRatio;
+        this.sampleSize = sampleSize;
+        this.currentExtraLevels = initialExtraLevels;
+    }
+
+    @Override
+    protected int extraLevels()
+    {
+        return currentExtraLevels;
+    }
+
+    @Override
+    public synchronized void rangesFiltered( long candidates, long falsePositives )
+    {
+        sampledCandidates += candidates;
+        sampledFalsePositives += falsePositives;
+        if ( sampledCandidates < sampleSize )
+        {
+            return;
+        }
+
+        double falsePositiveRatio = (double) sampledFalsePositives / sampledCandidates;
+        sampledCandidates = 0;
+        sampledFalsePositives = 0;
+        lastFalsePositiveRatio = falsePositiveRatio;
+        if ( falsePositiveRatio > targetFalsePositiveRatio && currentExtraLevels < maxExtraLevels )
+        {
+            currentExtraLevels++;
+        }
+        else if ( falsePositiveRatio < targetFalsePositiveRatio / 2 && currentExtraLevels > 0 )
+        {
+            currentExtraLevels--;
+        }
+    }
+
+    /**
+     * @return the false positive ratio of the last complete sample, or {@link Double#NaN} if no sample has been completed yet.
+     */
+    public double falsePositiveRatio()
+    {
+        return lastFalsePositiveRatio;
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "(" + extraLevels() + "," + maxExtraLevels + "," + targetFalsePositiveRatio + ")";
+    }
+}
@@ -55,4 +55,15 @@ public interface SpaceFillingCurveConfiguration
      * @return the size to use when initializing the ArrayList to store ranges.
      */
     int initialRangesListCapacity();
+
+    /**
+     * Tells the configuration how well the ranges it produced matched the search area, after the index entries found in them have been filtered.
+     * Configurations that adapt to the indexed data can use this to decide how deep to recurse for later searches.
+     *
+     * @param candidates the number of index entries found in the ranges.
+     * @param falsePositives the number of those entries that were outside of the search area.
+     */
+    default void rangesFiltered( long candidates, long falsePositives )
+    {
+    }
 }
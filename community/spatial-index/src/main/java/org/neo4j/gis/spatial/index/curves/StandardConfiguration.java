@@ -72,13 +72,21 @@ public class StandardConfiguration implements SpaceFillingCurveConfiguration
             return maxLevel;
         }
         //log(2^x) = xlog(2)
-        return Math.min( maxLevel, (int) (Math.log( searchRatio ) /  (nbrDim * LOG_2)) + extraLevels );
+        return Math.min( maxLevel, (int) (Math.log( searchRatio ) /  (nbrDim * LOG_2)) + extraLevels() );
+    }
+
+    /**
+     * @return the number of levels to go deeper than the level at which tiles have approximately the same size as the search area.
+     */
+    protected int extraLevels()
+    {
+        return extraLevels;
     }
 
     @Override
     public String toString()
     {
-        return getClass().getSimpleName() + "(" + extraLevels + ")";
+        return getClass().getSimpleName() + "(" + extraLevels() + ")";
     }
 
     @Override
@@ -80,4 +80,61 @@ class SpaceFillingCurveConfigurationTest
             assertThat( standardConfiguration.maxDepth( search, range, 2, maxLevel ) ).isEqualTo( i + 1 );
         }
     }
+
+    @Test
+    void adaptiveConfigurationShouldStartAtInitialExtraLevels()
+    {
+        Envelope range = new Envelope( -180, 180, -90, 90 );
+        Envelope search = new Envelope( 0, 180, 0, 90 );
+        AdaptiveConfiguration adaptiveConfiguration = new AdaptiveConfiguration( 1, 0.5 );
+        assertThat( adaptiveConfiguration.maxDepth( search, range, 2, 30 ) ).isEqualTo( new StandardConfiguration( 1 ).maxDepth( search, range, 2, 30 ) );
+        assertThat( adaptiveConfiguration.falsePositiveRatio() ).isNaN();
+    }
+
+    @Test
+    void adaptiveConfigurationShouldGoDeeperWhenFalsePositivesAreAboveTarget()
+    {
+        Envelope range = new Envelope( -180, 180, -90, 90 );
+        Envelope search = new Envelope( 0, 1, 0, 1 );
+        AdaptiveConfiguration adaptiveConfiguration = new AdaptiveConfiguration( 1, 3, 0.2, 100 );
+        int initialDepth = adaptiveConfiguration.maxDepth( search, range, 2, 30 );
+
+        // a sample is not complete until enough candidates have been seen
+        adaptiveConfiguration.rangesFiltered( 99, 90 );
+        assertThat( adaptiveConfiguration.maxDepth( search, range, 2, 30 ) ).isEqualTo( initialDepth );
+
+        adaptiveConfiguration.rangesFiltered( 1, 0 );
+        assertThat( adaptiveConfiguration.falsePositiveRatio() ).isEqualTo( 0.9 );
+        assertThat( adaptiveConfiguration.maxDepth( search, range, 2, 30 ) ).isEqualTo( initialDepth + 1 );
+
+        // but never deeper than the max extra levels
+        for ( int i = 0; i < 10; i++ )
+        {
+            adaptiveConfiguration.rangesFiltered( 100, 90 );
+        }
+        assertThat( adaptiveConfiguration.maxDepth( search, range, 2, 30 ) ).isEqualTo( initialDepth + 2 );
+    }
+
+    @Test
+    void adaptiveConfigurationShouldGoShallowerWhenFalsePositivesAreWellBelowTarget()
+    {
+        Envelope range = new Envelope( -180, 180, -90, 90 );
+        Envelope search = new Envelope( 0, 1, 0, 1 );
+        AdaptiveConfiguration adaptiveConfiguration = new AdaptiveConfiguration( 2, 3, 0.2, 100 );
+        int initialDepth = adaptiveConfiguration.maxDepth( search, range, 2, 30 );
+
+        // within the target band nothing changes
+        adaptiveConfiguration.rangesFiltered( 100, 15 );
+        assertThat( adaptiveConfiguration.maxDepth( search, range, 2, 30 ) ).isEqualTo( initialDepth );
+
+        adaptiveConfiguration.rangesFiltered( 100, 5 );
+        assertThat( adaptiveConfiguration.maxDepth( search, range, 2, 30 ) ).isEqualTo( initialDepth - 1 );
+
+        // but never shallower than no extra levels
+        for ( int i = 0; i < 10; i++ )
+        {
+            adaptiveConfiguration.rangesFiltered( 100, 0 );
+        }
+        assertThat( adaptiveConfiguration.maxDepth( search, range, 2, 30 ) ).isEqualTo( initialDepth - 2 );
+    }
 }
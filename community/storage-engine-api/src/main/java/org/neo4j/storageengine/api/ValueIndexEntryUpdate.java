@@ -103,8 +103,8 @@ public class ValueIndexEntryUpdate<INDEX_KEY extends SchemaDescriptorSupplier> e
 
     private static void validateValuesLength( SchemaDescriptorSupplier indexKey, Value[] before, Value[] values )
     {
-        // we do not support partial index entries
-        assert indexKey.schema().getPropertyIds().length == values.length :
+        // we do not support partial index entries, included property values follow the values of the indexed properties
+        assert indexKey.schema().getPropertyIds().length + indexKey.getIncludedPropertyIds().length == values.length :
                 format( "ValueIndexEntryUpdate values must be of same length as index compositeness. " +
                         "Index on %s, but got values %s", indexKey.schema().toString(), Arrays.toString( values ) );
         assert before == null || before.length == values.length;
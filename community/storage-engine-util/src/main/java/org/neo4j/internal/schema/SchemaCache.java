@@ -242,6 +242,7 @@ public class SchemaCache
         private final SchemaDescriptorLookupSet<IndexDescriptor> indexesByRelationship;
         private final SchemaDescriptorLookupSet<IndexBackedConstraintDescriptor> uniquenessConstraintsByNode;
         private final SchemaDescriptorLookupSet<IndexBackedConstraintDescriptor> uniquenessConstraintsByRelationship;
+        private final Set<IndexDescriptor> indexesWithIncludedProperties;
         private final Map<String,IndexDescriptor> indexesByName;
         private final Map<String,ConstraintDescriptor> constrainsByName;
 
@@ -263,6 +264,7 @@ public class SchemaCache
             this.indexesByRelationship = new SchemaDescriptorLookupSet<>();
             this.uniquenessConstraintsByNode = new SchemaDescriptorLookupSet<>();
             this.uniquenessConstraintsByRelationship = new SchemaDescriptorLookupSet<>();
+            this.indexesWithIncludedProperties = new HashSet<>();
             this.indexesByName = new HashMap<>();
             this.constrainsByName = new HashMap<>();
             this.dependantState = new ConcurrentHashMap<>();
@@ -288,6 +290,7 @@ public class SchemaCache
             // Now fill the node/relationship sets
             this.indexesById.forEachValue( index -> selectIndexSetByEntityType( index.schema().entityType() ).add( index ) );
             this.constraintsById.forEachValue( this::cacheUniquenessConstraint );
+            this.indexesWithIncludedProperties = new HashSet<>( schemaCacheState.indexesWithIncludedProperties );
             this.indexesByName = new HashMap<>( schemaCacheState.indexesByName );
             this.constrainsByName = new HashMap<>( schemaCacheState.constrainsByName );
             this.dependantState = new ConcurrentHashMap<>();
@@ -408,8 +411,46 @@ public class SchemaCache
             {
                 return result;
             }
-            return indexCache.computeIfAbsent( key,
-                    k -> getSchemaRelatedTo( set, changedEntityTokens, unchangedEntityTokens, properties, propertyListIsComplete ) );
+            return indexCache.computeIfAbsent( key, k ->
+            {
+                Set<IndexDescriptor> indexes = getSchemaRelatedTo( set, changedEntityTokens, unchangedEntityTokens, properties, propertyListIsComplete );
+                addIndexesWithRelatedIncludedProperties( indexes, entityType, changedEntityTokens, unchangedEntityTokens, properties );
+                return indexes;
+            } );
+        }
+
+        /**
+         * The lookup sets only know about the indexed properties, so an entity where nothing but an included property changed
+         * would otherwise not find the indexes that store that property.
+         */
+        private void addIndexesWithRelatedIncludedProperties( Set<IndexDescriptor> indexes, EntityType entityType, long[] changedEntityTokens,
+                long[] unchangedEntityTokens, int[] properties )
+        {
+            if ( indexesWithIncludedProperties.isEmpty() || properties.length == 0 )
+            {
+                return;
+            }
+            for ( IndexDescriptor index : indexesWithIncludedProperties )
+            {
+                SchemaDescriptor schema = index.schema();
+                if ( schema.entityType() == entityType && ( schema.isAffected( changedEntityTokens ) || schema.isAffected( unchangedEntityTokens ) ) &&
+                     containsAny( index.getIncludedPropertyIds(), properties ) )
+                {
+                    indexes.add( index );
+                }
+            }
+        }
+
+        private static boolean containsAny( int[] propertyIds, int[] sortedProperties )
+        {
+            for ( int propertyId : propertyIds )
+            {
+                if ( Arrays.binarySearch( sortedProperties, propertyId ) >= 0 )
+                {
+                    return true;
+                }
+            }
+            return false;
         }
 
         Set<IndexBackedConstraintDescriptor> getUniquenessConstraintsRelatedTo( EntityType entityType, long[] changedEntityTokens,
@@ -536,6 +577,10 @@ public class SchemaCache
                 indexesBySchemaAndType.put( pair( schema, index.getIndexType() ), index );
                 indexesByName.put( rule.getName(), index );
                 selectIndexSetByEntityType( schema.entityType() ).add( index );
+                if ( index.getIncludedPropertyIds().length > 0 )
+                {
+                    indexesWithIncludedProperties.add( index );
+                }
             }
         }
 
@@ -566,6 +611,7 @@ public class SchemaCache
                 indexesBySchemaAndType.remove( pair( schema, index.getIndexType() ) );
                 indexesByName.remove( index.getName(), index );
                 selectIndexSetByEntityType( schema.entityType() ).remove( index );
+                indexesWithIncludedProperties.remove( index );
             }
         }
     }
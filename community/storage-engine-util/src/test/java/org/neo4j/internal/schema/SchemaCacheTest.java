@@ -36,6 +36,7 @@ import org.neo4j.storageengine.api.StandardConstraintRuleAccessor;
 import org.neo4j.test.Race;
 import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.ValueCategory;
+import org.neo4j.values.storable.Values;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
@@ -541,6 +542,22 @@ class SchemaCacheTest
         assertThat( cache.getValueIndexesRelatedTo( noEntityToken, entityTokens( 3, 4, 5 ), properties( 4 ), false, NODE ) ).contains( schema3_4 );
     }
 
+    @Test
+    void shouldGetRelatedIndexForIncludedProperty()
+    {
+        SchemaCache cache = newSchemaCacheWithRulesForRelatedToCalls();
+        IndexDescriptor including = IndexPrototype.forSchema( forLabel( 3, 4 ) ).withIndexType( IndexType.RANGE ).withName( "including" )
+                .withIndexConfig( IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intArray( new int[]{9} ) ) ).materialise( 20 );
+        cache.addSchemaRule( including );
+
+        assertThat( cache.getValueIndexesRelatedTo( noEntityToken, entityTokens( 3 ), properties( 9 ), false, NODE ) ).containsExactly( including );
+        assertThat( cache.getValueIndexesRelatedTo( noEntityToken, entityTokens( 5 ), properties( 9 ), false, NODE ) ).isEmpty();
+        assertThat( cache.getValueIndexesRelatedTo( noEntityToken, entityTokens( 3 ), properties( 9 ), false, RELATIONSHIP ) ).isEmpty();
+
+        cache.removeSchemaRule( including.getId() );
+        assertThat( cache.getValueIndexesRelatedTo( noEntityToken, entityTokens( 3 ), properties( 9 ), false, NODE ) ).isEmpty();
+    }
+
     @Test
     void shouldGetRelatedIndexesForLabel()
     {
@@ -19,12 +19,66 @@
  */
 package org.neo4j.kernel.impl.transaction.log.entry;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.io.compress.BlockCompression;
+import org.neo4j.io.fs.InputStreamReadableChannel;
+import org.neo4j.io.fs.ReadableChecksumChannel;
 import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.impl.transaction.log.LogPositionMarker;
+import org.neo4j.storageengine.api.CommandReader;
+import org.neo4j.storageengine.api.CommandReaderFactory;
+import org.neo4j.storageengine.api.StorageCommand;
 
 public class LogEntryParserSetV4_4 extends LogEntryParserSetV4_3
 {
     LogEntryParserSetV4_4()
     {
         super( KernelVersion.V4_4 );
+        register( new LogEntryParser( LogEntryTypeCodes.COMPRESSED_COMMANDS )
+        {
+            @Override
+            public LogEntry parse( KernelVersion version, ReadableChecksumChannel channel, LogPositionMarker marker, CommandReaderFactory commandReaderFactory )
+                    throws IOException
+            {
+                BlockCompression compression = BlockCompression.forId( channel.get() );
+                int commandsLength = channel.getInt();
+                int compressedLength = channel.getInt();
+                // The lengths are read before the checksum of the transaction can be verified, so they may be garbage in a partially written log
+                if ( commandsLength < 0 || commandsLength > BlockCompression.MAX_BLOCK_LENGTH || compressedLength < 0 ||
+                     compressedLength > compression.maxCompressedLength( commandsLength ) )
+                {
+                    throw new IOException( "Invalid compressed commands of " + commandsLength + " bytes, compressed to " + compressedLength + " bytes" );
+                }
+                byte[] compressed = new byte[compressedLength];
+                channel.get( compressed, compressedLength );
+                byte[] commands = new byte[commandsLength];
+                compression.decompress( compressed, 0, compressedLength, commands, 0, commandsLength );
+
+                // The decompressed block holds ordinary command entries, header included
+                ByteArrayInputStream input = new ByteArrayInputStream( commands );
+                InputStreamReadableChannel commandChannel = new InputStreamReadableChannel( input );
+                CommandReader commandReader = commandReaderFactory.get( version );
+                List<LogEntryCommand> entries = new ArrayList<>();
+                while ( input.available() > 0 )
+                {
+                    commandChannel.get(); // the version, same as for this entry
+                    byte type = commandChannel.get();
+                    if ( type != LogEntryTypeCodes.COMMAND )
+                    {
+                        throw new IOException( "Unexpected entry type " + type + " in compressed commands" );
+                    }
+                    StorageCommand command = commandReader.read( commandChannel );
+                    if ( command != null )
+                    {
+                        entries.add( new LogEntryCommand( version, command ) );
+                    }
+                }
+                return new LogEntryCompressedCommands( version, entries );
+            }
+        } );
     }
 }
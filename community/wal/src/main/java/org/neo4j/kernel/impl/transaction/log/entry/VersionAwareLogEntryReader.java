@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.transaction.log.entry;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 
 import org.neo4j.io.fs.PositionableChannel;
 import org.neo4j.io.fs.ReadPastEndException;
@@ -45,6 +46,10 @@ public class VersionAwareLogEntryReader implements LogEntryReader
     private final boolean verifyChecksumChain;
     private LogEntryParserSet parserSet;
     private int lastTxChecksum = BASE_TX_CHECKSUM;
+    // Commands of the last read compressed entry that are yet to be returned, valid while the channel stays right after that entry
+    private final ArrayDeque<LogEntry> pendingCommands = new ArrayDeque<>();
+    private ReadableClosablePositionAwareChecksumChannel pendingCommandsChannel;
+    private LogPosition pendingCommandsPosition;
 
     public VersionAwareLogEntryReader( CommandReaderFactory commandReaderFactory )
     {
@@ -61,6 +66,11 @@ public class VersionAwareLogEntryReader implements LogEntryReader
     @Override
     public LogEntry readLogEntry( ReadableClosablePositionAwareChecksumChannel channel ) throws IOException
     {
+        LogEntry pendingCommand = pollPendingCommand( channel );
+        if ( pendingCommand != null )
+        {
+            return pendingCommand;
+        }
         try
         {
             while ( true )
@@ -128,6 +138,15 @@ public class VersionAwareLogEntryReader implements LogEntryReader
                     throw new IOException( e );
                 }
 
+                if ( entry instanceof LogEntryCompressedCommands )
+                {
+                    entry = expandCompressedCommands( (LogEntryCompressedCommands) entry, channel );
+                    if ( entry == null )
+                    {
+                        continue;
+                    }
+                }
+
                 verifyChecksumChain( entry );
                 return entry;
             }
@@ -138,6 +157,31 @@ public class VersionAwareLogEntryReader implements LogEntryReader
         }
     }
 
+    private LogEntry expandCompressedCommands( LogEntryCompressedCommands entry, ReadableClosablePositionAwareChecksumChannel channel )
+            throws IOException
+    {
+        pendingCommands.addAll( entry.getCommands() );
+        pendingCommandsChannel = channel;
+        pendingCommandsPosition = channel.getCurrentPosition();
+        return pendingCommands.poll();
+    }
+
+    private LogEntry pollPendingCommand( ReadableClosablePositionAwareChecksumChannel channel ) throws IOException
+    {
+        if ( pendingCommands.isEmpty() )
+        {
+            return null;
+        }
+        if ( channel != pendingCommandsChannel || !channel.getCurrentPosition().equals( pendingCommandsPosition ) )
+        {
+            // The channel has moved on since the compressed entry was read, so the remaining commands are no longer next in line
+            pendingCommands.clear();
+            pendingCommandsChannel = null;
+            return null;
+        }
+        return pendingCommands.poll();
+    }
+
     private void verifyChecksumChain( LogEntry e )
     {
         if ( VERIFY_CHECKSUM_CHAIN && verifyChecksumChain )